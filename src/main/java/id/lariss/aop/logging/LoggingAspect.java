@@ -1,6 +1,8 @@
 package id.lariss.aop.logging;
 
 import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
@@ -14,17 +16,38 @@ import org.springframework.core.env.Profiles;
 import tech.jhipster.config.JHipsterConstants;
 
 /**
- * Aspect for logging execution of service and repository Spring components.
- *
- * By default, it only runs with the "dev" profile.
+ * Aspect tracing the execution of service and repository Spring components.
+ * <p>
+ * It is only registered when {@code application.tracing.enabled} is set, as in the "dev" profile, so that the
+ * components are not proxied otherwise. Once registered, each call is traced according to the level of the logger of
+ * the declaring type, which can be changed at runtime per package through the {@code loggers} actuator endpoint:
+ * <ul>
+ *     <li>{@code INFO} and above: the call is not traced;</li>
+ *     <li>{@code DEBUG}: the duration of a sample of the calls is logged;</li>
+ *     <li>{@code TRACE}: the arguments, result and duration of every call are logged.</li>
+ * </ul>
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    private final boolean development;
 
-    public LoggingAspect(Environment env) {
-        this.env = env;
+    private final double sampleRate;
+
+    private final ClassValue<Logger> loggers = new ClassValue<>() {
+        @Override
+        protected Logger computeValue(Class<?> type) {
+            return LoggerFactory.getLogger(type);
+        }
+    };
+
+    /**
+     * @param env the environment, whose profiles are read once.
+     * @param sampleRate the share of the calls whose duration is logged at the {@code DEBUG} level, from 0 to 1.
+     */
+    public LoggingAspect(Environment env, double sampleRate) {
+        this.development = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.sampleRate = sampleRate;
     }
 
     /**
@@ -54,7 +77,7 @@ public class LoggingAspect {
      * @return {@link Logger} associated to the given {@link JoinPoint}.
      */
     private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+        return loggers.get(joinPoint.getSignature().getDeclaringType());
     }
 
     /**
@@ -65,7 +88,7 @@ public class LoggingAspect {
      */
     @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
     public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
+        if (development) {
             logger(joinPoint).error(
                 "Exception in {}() with cause = '{}' and exception = '{}'",
                 joinPoint.getSignature().getName(),
@@ -83,7 +106,7 @@ public class LoggingAspect {
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Advice that traces a method call, according to the level of the logger of its declaring type.
      *
      * @param joinPoint join point for advice.
      * @return result.
@@ -92,18 +115,35 @@ public class LoggingAspect {
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         Logger log = logger(joinPoint);
-        if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
-        }
         try {
-            Object result = joinPoint.proceed();
-            if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+            if (log.isTraceEnabled()) {
+                return trace(log, joinPoint);
+            }
+            if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                return time(log, joinPoint);
             }
-            return result;
+            return joinPoint.proceed();
         } catch (IllegalArgumentException e) {
             log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
             throw e;
         }
     }
+
+    private Object trace(Logger log, ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = joinPoint.getSignature().getName();
+        log.trace("Enter: {}() with argument[s] = {}", name, Arrays.toString(joinPoint.getArgs()));
+        long start = System.nanoTime();
+        Object result = joinPoint.proceed();
+        log.trace("Exit: {}() in {} µs with result = {}", name, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), result);
+        return result;
+    }
+
+    private Object time(Logger log, ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            log.debug("{}() took {} µs", joinPoint.getSignature().getName(), TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+    }
 }
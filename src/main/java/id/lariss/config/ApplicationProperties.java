@@ -1,5 +1,10 @@
 package id.lariss.config;
 
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +18,90 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Cache cache = new Cache();
+
+    private final Database database = new Database();
+
+    private final Security security = new Security();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Analytics analytics = new Analytics();
+
+    private final CatalogImport catalogImport = new CatalogImport();
+
+    private final Tracing tracing = new Tracing();
+
+    private final CustomerMerge customerMerge = new CustomerMerge();
+
+    private final Mail mail = new Mail();
+
+    private final UserPurge userPurge = new UserPurge();
+
+    private final Jobs jobs = new Jobs();
+
+    private final Catalog catalog = new Catalog();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Analytics getAnalytics() {
+        return analytics;
+    }
+
+    public CatalogImport getCatalogImport() {
+        return catalogImport;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public CustomerMerge getCustomerMerge() {
+        return customerMerge;
+    }
+
+    public Mail getMail() {
+        return mail;
+    }
+
+    public UserPurge getUserPurge() {
+        return userPurge;
+    }
+
+    public Jobs getJobs() {
+        return jobs;
+    }
+
+    public Catalog getCatalog() {
+        return catalog;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +116,718 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class Cache {
+
+        /**
+         * Whether queries marked as cacheable are served from the Hibernate query cache.
+         */
+        private boolean cachedQueries = false;
+
+        /**
+         * Per-region overrides of the {@code jhipster.cache.caffeine} defaults,
+         * keyed by kebab-cased entity name (e.g. {@code strap-color}) or region name.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public boolean isCachedQueries() {
+            return cachedQueries;
+        }
+
+        public void setCachedQueries(boolean cachedQueries) {
+            this.cachedQueries = cachedQueries;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            private Long maxEntries;
+
+            private Integer timeToLiveSeconds;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+    }
+
+    public static class Database {
+
+        /**
+         * Maximum number of connections borrowed at once when running on virtual threads, other threads wait
+         * in front of the connection pool. {@code 0} for the maximum size of the pool.
+         */
+        private int maxConcurrency = 0;
+
+        /**
+         * Maximum time to wait for a connection in front of the pool.
+         */
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Number of ids reserved by each round trip to an entity sequence, which is also the increment of the
+         * sequences: Liquibase realigns them when it changes, and Hibernate fails to start when they differ.
+         */
+        private int sequenceAllocationSize = 50;
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public Duration getAcquireTimeout() {
+            return acquireTimeout;
+        }
+
+        public void setAcquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        public int getSequenceAllocationSize() {
+            return sequenceAllocationSize;
+        }
+
+        public void setSequenceAllocationSize(int sequenceAllocationSize) {
+            this.sequenceAllocationSize = sequenceAllocationSize;
+        }
+    }
+
+    public static class Security {
+
+        /**
+         * Maximum number of verified tokens remembered until they expire, {@code 0} to verify every token.
+         */
+        private long tokenCacheSize = 10_000;
+
+        private final Password password = new Password();
+
+        public long getTokenCacheSize() {
+            return tokenCacheSize;
+        }
+
+        public void setTokenCacheSize(long tokenCacheSize) {
+            this.tokenCacheSize = tokenCacheSize;
+        }
+
+        public Password getPassword() {
+            return password;
+        }
+
+        public static class Password {
+
+            /**
+             * Id of the encoder of new and rehashed passwords, {@code bcrypt} or {@code argon2}. Hashes made by the
+             * other encoder, or with other cost parameters, are rehashed on the next successful login.
+             */
+            private String encoder = "bcrypt";
+
+            /**
+             * Log rounds of the BCrypt encoder.
+             */
+            private int bcryptStrength = 10;
+
+            /**
+             * Memory cost of the Argon2 encoder, in KiB.
+             */
+            private int argon2Memory = 1 << 14;
+
+            /**
+             * Number of iterations of the Argon2 encoder.
+             */
+            private int argon2Iterations = 2;
+
+            /**
+             * Parallelism of the Argon2 encoder.
+             */
+            private int argon2Parallelism = 1;
+
+            /**
+             * Number of threads hashing passwords, {@code 0} for half of the available processors.
+             */
+            private int hashingThreads = 0;
+
+            /**
+             * Maximum number of hashing requests waiting for a thread, requests past the bound are rejected.
+             */
+            private int hashingQueueCapacity = 100;
+
+            /**
+             * Maximum time to wait for a hashing request to complete.
+             */
+            private Duration hashingTimeout = Duration.ofSeconds(10);
+
+            public String getEncoder() {
+                return encoder;
+            }
+
+            public void setEncoder(String encoder) {
+                this.encoder = encoder;
+            }
+
+            public int getBcryptStrength() {
+                return bcryptStrength;
+            }
+
+            public void setBcryptStrength(int bcryptStrength) {
+                this.bcryptStrength = bcryptStrength;
+            }
+
+            public int getArgon2Memory() {
+                return argon2Memory;
+            }
+
+            public void setArgon2Memory(int argon2Memory) {
+                this.argon2Memory = argon2Memory;
+            }
+
+            public int getArgon2Iterations() {
+                return argon2Iterations;
+            }
+
+            public void setArgon2Iterations(int argon2Iterations) {
+                this.argon2Iterations = argon2Iterations;
+            }
+
+            public int getArgon2Parallelism() {
+                return argon2Parallelism;
+            }
+
+            public void setArgon2Parallelism(int argon2Parallelism) {
+                this.argon2Parallelism = argon2Parallelism;
+            }
+
+            public int getHashingThreads() {
+                return hashingThreads;
+            }
+
+            public void setHashingThreads(int hashingThreads) {
+                this.hashingThreads = hashingThreads;
+            }
+
+            public int getHashingQueueCapacity() {
+                return hashingQueueCapacity;
+            }
+
+            public void setHashingQueueCapacity(int hashingQueueCapacity) {
+                this.hashingQueueCapacity = hashingQueueCapacity;
+            }
+
+            public Duration getHashingTimeout() {
+                return hashingTimeout;
+            }
+
+            public void setHashingTimeout(Duration hashingTimeout) {
+                this.hashingTimeout = hashingTimeout;
+            }
+        }
+    }
+
+    public static class Idempotency {
+
+        /**
+         * How long the response of a request sent with an {@code Idempotency-Key} is replayed to its retries.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * Maximum number of responses also kept in memory, {@code 0} to always read them from the database.
+         */
+        private long cacheSize = 10_000;
+
+        /**
+         * Maximum time a retry waits for the first execution of its request, which is also how long a request
+         * left pending by a stopped instance blocks its retries.
+         */
+        private Duration lockTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Cron expression of the purge of the expired responses.
+         */
+        private String purgeCron = "0 */15 * * * ?";
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public long getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(long cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public Duration getLockTimeout() {
+            return lockTimeout;
+        }
+
+        public void setLockTimeout(Duration lockTimeout) {
+            this.lockTimeout = lockTimeout;
+        }
+
+        public String getPurgeCron() {
+            return purgeCron;
+        }
+
+        public void setPurgeCron(String purgeCron) {
+            this.purgeCron = purgeCron;
+        }
+    }
+
+    public static class Outbox {
+
+        /**
+         * Delay between two polls of the order events outbox, as an ISO-8601 duration.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Maximum number of events published at once.
+         */
+        private int batchSize = 100;
+
+        /**
+         * How long the events of a batch are reserved to the instance publishing them, after which another instance
+         * may publish them again.
+         */
+        private Duration leaseTimeout = Duration.ofMinutes(1);
+
+        /**
+         * Delay before the first retry of a failed batch, doubled on each failure.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Maximum delay between two retries of a failed batch.
+         */
+        private Duration maxBackoff = Duration.ofMinutes(10);
+
+        /**
+         * How long published events are kept before being purged.
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        /**
+         * Log the published events, for development and tests.
+         */
+        private boolean logSinkEnabled = false;
+
+        private final Webhook webhook = new Webhook();
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getLeaseTimeout() {
+            return leaseTimeout;
+        }
+
+        public void setLeaseTimeout(Duration leaseTimeout) {
+            this.leaseTimeout = leaseTimeout;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public boolean isLogSinkEnabled() {
+            return logSinkEnabled;
+        }
+
+        public void setLogSinkEnabled(boolean logSinkEnabled) {
+            this.logSinkEnabled = logSinkEnabled;
+        }
+
+        public Webhook getWebhook() {
+            return webhook;
+        }
+
+        public static class Webhook {
+
+            /**
+             * URL the batches of events are posted to, as a JSON array; no webhook if empty.
+             */
+            private String url;
+
+            /**
+             * Connect and read timeout of the webhook.
+             */
+            private Duration timeout = Duration.ofSeconds(5);
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+        }
+    }
+
+    public static class Analytics {
+
+        /**
+         * Time zone of the days of the sales rollups; changing it requires running the sales rollup backfill again.
+         */
+        private ZoneId zone = ZoneOffset.UTC;
+
+        /**
+         * Number of order items read per transaction by the sales rollup backfill.
+         */
+        private int backfillChunkSize = 1000;
+
+        /**
+         * Maximum number of days of a sales report.
+         */
+        private int maxRangeDays = 366;
+
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        public void setZone(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        public int getBackfillChunkSize() {
+            return backfillChunkSize;
+        }
+
+        public void setBackfillChunkSize(int backfillChunkSize) {
+            this.backfillChunkSize = backfillChunkSize;
+        }
+
+        public int getMaxRangeDays() {
+            return maxRangeDays;
+        }
+
+        public void setMaxRangeDays(int maxRangeDays) {
+            this.maxRangeDays = maxRangeDays;
+        }
+    }
+
+    public static class CatalogImport {
+
+        /**
+         * Number of rows written per transaction, and per JDBC batch, by the catalog imports.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Maximum number of errors reported by a catalog import; the rows in error past it are only counted.
+         */
+        private int maxErrors = 100;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getMaxErrors() {
+            return maxErrors;
+        }
+
+        public void setMaxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+    }
+
+    public static class Tracing {
+
+        /**
+         * Whether the repositories, services and REST controllers are proxied to trace their calls, at the levels of
+         * their loggers. When disabled, no call is intercepted.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Share of the calls whose duration is logged when the logger of their type is at the {@code DEBUG} level,
+         * from 0 to 1. Every call is traced at the {@code TRACE} level.
+         */
+        private double sampleRate = 0.01;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    public static class CustomerMerge {
+
+        /**
+         * Number of customers keyed or merged per transaction by the customer merge job.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Mail {
+
+        /**
+         * Delay between two polls of the mail outbox, as an ISO-8601 duration.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Number of threads sending the emails, each over its own SMTP connection.
+         */
+        private int senders = 2;
+
+        /**
+         * Maximum number of emails sent at once, over one SMTP connection.
+         */
+        private int batchSize = 50;
+
+        /**
+         * How long the emails of a batch are reserved to the sender sending them, after which another sender may send
+         * them again.
+         */
+        private Duration leaseTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Delay before the first retry of a failed email, doubled on each failure.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        /**
+         * Maximum delay between two retries of a failed email.
+         */
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        /**
+         * How long sent emails are kept before being purged.
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getSenders() {
+            return senders;
+        }
+
+        public void setSenders(int senders) {
+            this.senders = senders;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getLeaseTimeout() {
+            return leaseTimeout;
+        }
+
+        public void setLeaseTimeout(Duration leaseTimeout) {
+            this.leaseTimeout = leaseTimeout;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+
+    public static class UserPurge {
+
+        /**
+         * Number of not activated users deleted per transaction.
+         */
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Jobs {
+
+        /**
+         * How long a job lock outlives the last heartbeat of its instance, after which another instance may run the
+         * job again.
+         */
+        private Duration leaseTimeout = Duration.ofMinutes(5);
+
+        /**
+         * Delay between two extensions of the lease of a running job.
+         */
+        private Duration heartbeatInterval = Duration.ofMinutes(1);
+
+        /**
+         * Number of runs shown per job by the jobs management endpoint.
+         */
+        private int historySize = 10;
+
+        /**
+         * How long the runs of the jobs are kept before being purged.
+         */
+        private Duration retention = Duration.ofDays(30);
+
+        public Duration getLeaseTimeout() {
+            return leaseTimeout;
+        }
+
+        public void setLeaseTimeout(Duration leaseTimeout) {
+            this.leaseTimeout = leaseTimeout;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public int getHistorySize() {
+            return historySize;
+        }
+
+        public void setHistorySize(int historySize) {
+            this.historySize = historySize;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+
+    public static class Catalog {
+
+        /**
+         * How long the catalog revision read from the database is reused by an instance before being read again, so
+         * the catalog writes of the other instances show in its entity tags and in-memory read models after at most
+         * that long.
+         */
+        private Duration revisionTtl = Duration.ofSeconds(1);
+
+        public Duration getRevisionTtl() {
+            return revisionTtl;
+        }
+
+        public void setRevisionTtl(Duration revisionTtl) {
+            this.revisionTtl = revisionTtl;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
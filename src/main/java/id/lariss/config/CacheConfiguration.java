@@ -0,0 +1,108 @@
+package id.lariss.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Hibernate second-level cache, backed by Caffeine through JCache.
+ * <p>
+ * Every region is bounded by size (W-TinyLFU eviction) and expires entries after write. Sizing and TTL default to
+ * {@code jhipster.cache.caffeine} and can be overridden per region with {@code application.cache.regions}.
+ * <p>
+ * Hibernate evicts the whole cache after a native statement it cannot attribute to a table, so the native writes of
+ * the repositories declare the tables they touch with the {@code org.hibernate.query.native.spaces} hint.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private final JHipsterProperties.Cache.Caffeine defaults;
+
+    private final ApplicationProperties.Cache cacheProperties;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.defaults = jHipsterProperties.getCache().getCaffeine();
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, cacheProperties.isCachedQueries());
+        };
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, id.lariss.domain.Category.class);
+            createCache(cm, id.lariss.domain.Product.class);
+            createCache(cm, id.lariss.domain.Color.class);
+            createCache(cm, id.lariss.domain.Processor.class);
+            createCache(cm, id.lariss.domain.Memory.class);
+            createCache(cm, id.lariss.domain.Storage.class);
+            createCache(cm, id.lariss.domain.Description.class);
+            createCache(cm, id.lariss.domain.Screen.class);
+            createCache(cm, id.lariss.domain.Connectivity.class);
+            createCache(cm, id.lariss.domain.Material.class);
+            createCache(cm, id.lariss.domain.CaseSize.class);
+            createCache(cm, id.lariss.domain.StrapColor.class);
+            createCache(cm, id.lariss.domain.StrapSize.class);
+            createCache(
+                cm,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)
+            );
+            // update timestamps must outlive every cached query result, so this region never evicts nor expires
+            createCache(cm, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+            // jhipster-needle-caffeine-add-entry
+        };
+    }
+
+    private void createCache(javax.cache.CacheManager cm, Class<?> entityClass) {
+        createCache(cm, entityClass.getName(), regionConfiguration(toKebabCase(entityClass.getSimpleName())));
+    }
+
+    private void createCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        javax.cache.configuration.Configuration<Object, Object> configuration
+    ) {
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(cacheName, configuration);
+        }
+    }
+
+    private static String toKebabCase(String simpleName) {
+        return simpleName.replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT);
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(String regionKey) {
+        ApplicationProperties.Cache.Region region = cacheProperties.getRegions().get(regionKey);
+        long maxEntries = region != null && region.getMaxEntries() != null ? region.getMaxEntries() : defaults.getMaxEntries();
+        int timeToLiveSeconds = region != null && region.getTimeToLiveSeconds() != null
+            ? region.getTimeToLiveSeconds()
+            : defaults.getTimeToLiveSeconds();
+
+        CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
+        caffeineConfiguration.setMaximumSize(OptionalLong.of(maxEntries));
+        caffeineConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(timeToLiveSeconds)));
+        caffeineConfiguration.setStatisticsEnabled(true);
+        return caffeineConfiguration;
+    }
+}
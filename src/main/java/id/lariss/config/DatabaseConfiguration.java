@@ -1,5 +1,8 @@
 package id.lariss.config;
 
+import id.lariss.domain.PooledSequenceGenerator;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -9,4 +12,11 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableJpaRepositories({ "id.lariss.repository" })
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sequenceHibernatePropertiesCustomizer(ApplicationProperties applicationProperties) {
+        int allocationSize = applicationProperties.getDatabase().getSequenceAllocationSize();
+        return hibernateProperties -> hibernateProperties.put(PooledSequenceGenerator.ALLOCATION_SIZE, allocationSize);
+    }
+}
@@ -2,8 +2,16 @@ package id.lariss.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.lariss.management.SecurityMetersService;
 import id.lariss.security.*;
+import id.lariss.service.CatalogSnapshotService;
+import id.lariss.service.CatalogVersionService;
+import id.lariss.service.IdempotencyService;
+import id.lariss.web.filter.CatalogETagFilter;
+import id.lariss.web.filter.IdempotencyFilter;
 import id.lariss.web.filter.SpaWebFilter;
+import java.util.Map;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,11 +19,14 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
 import org.springframework.security.oauth2.server.resource.web.access.BearerTokenAccessDeniedHandler;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
@@ -26,15 +37,79 @@ import tech.jhipster.config.JHipsterProperties;
 @EnableMethodSecurity(securedEnabled = true)
 public class SecurityConfiguration {
 
+    private static final String BCRYPT_ENCODER_ID = "bcrypt";
+
+    private static final String ARGON2_ENCODER_ID = "argon2";
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+
+    private static final int ARGON2_HASH_LENGTH = 32;
+
     private final JHipsterProperties jHipsterProperties;
 
-    public SecurityConfiguration(JHipsterProperties jHipsterProperties) {
+    private final CatalogVersionService catalogVersionService;
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private final IdempotencyService idempotencyService;
+
+    private final ObjectMapper objectMapper;
+
+    public SecurityConfiguration(
+        JHipsterProperties jHipsterProperties,
+        CatalogVersionService catalogVersionService,
+        CatalogSnapshotService catalogSnapshotService,
+        IdempotencyService idempotencyService,
+        ObjectMapper objectMapper
+    ) {
         this.jHipsterProperties = jHipsterProperties;
+        this.catalogVersionService = catalogVersionService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Password encoder hashing with the configured encoder, on a bounded executor.
+     * <p>
+     * Hashes are prefixed with the id of their encoder. Hashes made by another encoder or with a lower cost are upgraded
+     * on the next successful login, through {@link DomainUserDetailsService#updatePassword}; unprefixed hashes are the
+     * BCrypt hashes stored before the prefixes were introduced.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(ApplicationProperties applicationProperties, SecurityMetersService metersService) {
+        ApplicationProperties.Security.Password properties = applicationProperties.getSecurity().getPassword();
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        Map<String, PasswordEncoder> encoders = Map.of(
+            BCRYPT_ENCODER_ID,
+            bcrypt,
+            ARGON2_ENCODER_ID,
+            new Argon2PasswordEncoder(
+                ARGON2_SALT_LENGTH,
+                ARGON2_HASH_LENGTH,
+                properties.getArgon2Parallelism(),
+                properties.getArgon2Memory(),
+                properties.getArgon2Iterations()
+            )
+        );
+        if (!encoders.containsKey(properties.getEncoder())) {
+            throw new IllegalStateException(
+                "Unknown password encoder " + properties.getEncoder() + ", expected one of " + encoders.keySet()
+            );
+        }
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(properties.getEncoder(), encoders);
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int threads = properties.getHashingThreads() > 0
+            ? properties.getHashingThreads()
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(
+            delegatingPasswordEncoder,
+            threads,
+            properties.getHashingQueueCapacity(),
+            properties.getHashingTimeout(),
+            metersService
+        );
     }
 
     @Bean
@@ -43,6 +118,8 @@ public class SecurityConfiguration {
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
             .addFilterAfter(new SpaWebFilter(), BasicAuthenticationFilter.class)
+            .addFilterAfter(new CatalogETagFilter(catalogVersionService, catalogSnapshotService), AuthorizationFilter.class)
+            .addFilterAfter(new IdempotencyFilter(idempotencyService, objectMapper), AuthorizationFilter.class)
             .headers(headers ->
                 headers
                     .contentSecurityPolicy(csp -> csp.policyDirectives(jHipsterProperties.getSecurity().getContentSecurityPolicy()))
@@ -3,8 +3,13 @@ package id.lariss.config;
 import static id.lariss.security.SecurityUtils.JWT_ALGORITHM;
 
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.BadJWSException;
 import com.nimbusds.jose.util.Base64;
+import com.nimbusds.jwt.JWTParser;
 import id.lariss.management.SecurityMetersService;
+import id.lariss.security.CachingJwtDecoder;
+import java.text.ParseException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
@@ -12,8 +17,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
 
@@ -26,28 +35,60 @@ public class SecurityJwtConfiguration {
     private String jwtKey;
 
     @Bean
-    public JwtDecoder jwtDecoder(SecurityMetersService metersService) {
+    public JwtDecoder jwtDecoder(SecurityMetersService metersService, ApplicationProperties applicationProperties) {
         NimbusJwtDecoder jwtDecoder = NimbusJwtDecoder.withSecretKey(getSecretKey()).macAlgorithm(JWT_ALGORITHM).build();
-        return token -> {
+        // only validate timestamps, so that any validation failure is an expired (or not yet valid) token
+        jwtDecoder.setJwtValidator(new JwtTimestampValidator());
+        JwtDecoder trackingJwtDecoder = token -> {
             try {
                 return jwtDecoder.decode(token);
-            } catch (Exception e) {
-                if (e.getMessage().contains("Invalid signature")) {
-                    metersService.trackTokenInvalidSignature();
-                } else if (e.getMessage().contains("Jwt expired at")) {
-                    metersService.trackTokenExpired();
-                } else if (
-                    e.getMessage().contains("Invalid JWT serialization") ||
-                    e.getMessage().contains("Malformed token") ||
-                    e.getMessage().contains("Invalid unsecured/JWS/JWE")
-                ) {
-                    metersService.trackTokenMalformed();
-                } else {
-                    LOG.error("Unknown JWT error {}", e.getMessage());
-                }
+            } catch (JwtException e) {
+                trackFailure(token, e, metersService);
                 throw e;
             }
         };
+        long tokenCacheSize = applicationProperties.getSecurity().getTokenCacheSize();
+        if (tokenCacheSize <= 0) {
+            return trackingJwtDecoder;
+        }
+        return new CachingJwtDecoder(trackingJwtDecoder, tokenCacheSize, metersService);
+    }
+
+    static void trackFailure(String token, JwtException e, SecurityMetersService metersService) {
+        if (e instanceof JwtValidationException) {
+            metersService.trackTokenExpired();
+        } else if (e.getCause() instanceof BadJWSException) {
+            metersService.trackTokenInvalidSignature();
+        } else if (isMalformed(token, e)) {
+            metersService.trackTokenMalformed();
+        } else if (e.getCause() instanceof BadJOSEException) {
+            // e.g. another algorithm, or a JWE
+            metersService.trackTokenUnsupported();
+        } else {
+            LOG.error("Unknown JWT error {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A token that cannot be parsed fails with a {@link ParseException} wrapped at various depths. A token whose payload
+     * is not a valid claims set fails with a {@link BadJwtException} that drops its {@link ParseException}, so its
+     * claims are parsed again to find it.
+     */
+    private static boolean isMalformed(String token, JwtException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ParseException) {
+                return true;
+            }
+        }
+        if (!(e instanceof BadJwtException) || e.getCause() != null || token == null) {
+            return false;
+        }
+        try {
+            JWTParser.parse(token).getJWTClaimsSet();
+            return false;
+        } catch (ParseException parseException) {
+            return true;
+        }
     }
 
     @Bean
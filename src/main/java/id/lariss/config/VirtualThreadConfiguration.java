@@ -0,0 +1,61 @@
+package id.lariss.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Configuration of the virtual-thread execution mode, enabled by {@code spring.threads.virtual.enabled} on Java 21 or later.
+ * <p>
+ * Spring Boot already moves the scheduler onto virtual threads in that mode, and {@link AsyncConfiguration} does the same for
+ * {@code @Async} tasks. This configuration dispatches servlet requests on virtual threads too, as Spring Boot only does it for
+ * Tomcat and Jetty, and bounds the number of connections borrowed at once from the pool with a
+ * {@link ConcurrencyLimitingDataSource}, so that thousands of parked requests do not stampede the database.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadUndertowCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("undertow-")));
+    }
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        // bound here rather than injected: post-processors are created before configuration properties beans
+        ApplicationProperties.Database properties = Binder.get(environment)
+            .bindOrCreate("application.database", ApplicationProperties.Database.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                int maxConcurrency = properties.getMaxConcurrency();
+                if (maxConcurrency <= 0 && dataSource instanceof HikariDataSource hikariDataSource) {
+                    maxConcurrency = hikariDataSource.getMaximumPoolSize();
+                }
+                if (maxConcurrency <= 0) {
+                    return bean;
+                }
+                LOG.debug("Bounding data source '{}' to {} concurrent connections", beanName, maxConcurrency);
+                return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, properties.getAcquireTimeout());
+            }
+        };
+    }
+}
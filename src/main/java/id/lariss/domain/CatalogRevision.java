@@ -0,0 +1,74 @@
+package id.lariss.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+
+/**
+ * The revision of the catalog, the single row of the {@code catalog_revision} table.
+ * <p>
+ * The revision is bumped by database triggers once per transaction writing a catalog table, at its commit, so it is
+ * shared by all the instances and also follows the writes made outside of the application.
+ */
+@Entity
+@Table(name = "catalog_revision")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class CatalogRevision implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The identifier of the single row.
+     */
+    public static final int ID = 1;
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @NotNull
+    @Column(name = "revision", nullable = false)
+    private Long revision;
+
+    public Integer getId() {
+        return this.id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public Long getRevision() {
+        return this.revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CatalogRevision)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((CatalogRevision) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "CatalogRevision{" +
+            "id=" + getId() +
+            ", revision=" + getRevision() +
+            "}";
+    }
+}
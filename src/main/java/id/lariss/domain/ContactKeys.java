@@ -0,0 +1,48 @@
+package id.lariss.domain;
+
+import java.util.Locale;
+
+/**
+ * Normalization of the contact details of a {@link Customer} into its lookup keys, so that the same phone number or
+ * email address written differently in two chat messages finds the same customer.
+ */
+public final class ContactKeys {
+
+    private static final String COUNTRY_CODE = "62";
+
+    private ContactKeys() {}
+
+    /**
+     * Normalize a phone number to its digits in international form: {@code +62 812-3456-7890}, {@code 0062812...} and
+     * {@code 0812...} all give {@code 62812...}.
+     *
+     * @param phoneNumber the phone number, as written by the customer.
+     * @return the key of the phone number, {@code null} if it has no digit.
+     */
+    public static String phoneKey(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        phoneNumber.chars().filter(c -> c >= '0' && c <= '9').forEach(digits::appendCodePoint);
+        if (digits.indexOf("00") == 0) {
+            digits.delete(0, 2);
+        } else if (digits.indexOf("0") == 0) {
+            digits.replace(0, 1, COUNTRY_CODE);
+        }
+        return digits.isEmpty() ? null : digits.toString();
+    }
+
+    /**
+     * Normalize an email address, trimmed and in lower case.
+     *
+     * @param emailAddress the email address, as written by the customer.
+     * @return the key of the email address, {@code null} if it is blank.
+     */
+    public static String emailKey(String emailAddress) {
+        if (emailAddress == null || emailAddress.isBlank()) {
+            return null;
+        }
+        return emailAddress.trim().toLowerCase(Locale.ROOT);
+    }
+}
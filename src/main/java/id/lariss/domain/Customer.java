@@ -3,6 +3,8 @@ package id.lariss.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * A Customer.
@@ -15,8 +17,7 @@ public class Customer implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @PooledSequence("customer_seq")
     @Column(name = "id")
     private Long id;
 
@@ -35,9 +36,21 @@ public class Customer implements Serializable {
     @Column(name = "delivery_address")
     private String deliveryAddress;
 
+    /**
+     * The {@link ContactKeys#phoneKey(String) normalized phone number}, unique, set with the phone number.
+     */
+    @Column(name = "phone_key", unique = true)
+    private String phoneKey;
+
+    /**
+     * The {@link ContactKeys#emailKey(String) normalized email address}, unique, set with the email address.
+     */
+    @Column(name = "email_key", unique = true)
+    private String emailKey;
+
+    @OneToMany(fetch = FetchType.LAZY, mappedBy = "customer")
     @JsonIgnoreProperties(value = { "customer", "orderItems" }, allowSetters = true)
-    @OneToOne(fetch = FetchType.LAZY, mappedBy = "customer")
-    private Order order;
+    private Set<Order> orders = new HashSet<>();
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
@@ -91,6 +104,7 @@ public class Customer implements Serializable {
 
     public void setPhoneNumber(String phoneNumber) {
         this.phoneNumber = phoneNumber;
+        this.phoneKey = ContactKeys.phoneKey(phoneNumber);
     }
 
     public String getEmailAddress() {
@@ -104,6 +118,7 @@ public class Customer implements Serializable {
 
     public void setEmailAddress(String emailAddress) {
         this.emailAddress = emailAddress;
+        this.emailKey = ContactKeys.emailKey(emailAddress);
     }
 
     public String getDeliveryAddress() {
@@ -119,22 +134,70 @@ public class Customer implements Serializable {
         this.deliveryAddress = deliveryAddress;
     }
 
-    public Order getOrder() {
-        return this.order;
+    public String getPhoneKey() {
+        return this.phoneKey;
+    }
+
+    public String getEmailKey() {
+        return this.emailKey;
+    }
+
+    public Set<Order> getOrders() {
+        return this.orders;
     }
 
-    public void setOrder(Order order) {
-        if (this.order != null) {
-            this.order.setCustomer(null);
+    public void setOrders(Set<Order> orders) {
+        if (this.orders != null) {
+            this.orders.forEach(i -> i.setCustomer(null));
         }
-        if (order != null) {
-            order.setCustomer(this);
+        if (orders != null) {
+            orders.forEach(i -> i.setCustomer(this));
         }
-        this.order = order;
+        this.orders = orders;
+    }
+
+    public Customer orders(Set<Order> orders) {
+        this.setOrders(orders);
+        return this;
+    }
+
+    public Customer addOrder(Order order) {
+        this.orders.add(order);
+        order.setCustomer(this);
+        return this;
+    }
+
+    public Customer removeOrder(Order order) {
+        this.orders.remove(order);
+        order.setCustomer(null);
+        return this;
     }
 
-    public Customer order(Order order) {
-        this.setOrder(order);
+    /**
+     * Take the details of a later record of the same customer: its names and delivery address when it has them, and
+     * its phone number and email address when this customer has none.
+     *
+     * @param later the later record of the customer.
+     * @param phoneNumberFree whether the phone number of the later record is not the key of another customer.
+     * @param emailAddressFree whether the email address of the later record is not the key of another customer.
+     * @return this customer.
+     */
+    public Customer takeDetailsOf(Customer later, boolean phoneNumberFree, boolean emailAddressFree) {
+        if (later.getFirstName() != null && !later.getFirstName().isBlank()) {
+            setFirstName(later.getFirstName());
+        }
+        if (later.getLastName() != null && !later.getLastName().isBlank()) {
+            setLastName(later.getLastName());
+        }
+        if (later.getDeliveryAddress() != null && !later.getDeliveryAddress().isBlank()) {
+            setDeliveryAddress(later.getDeliveryAddress());
+        }
+        if (phoneKey == null && phoneNumberFree && later.getPhoneNumber() != null) {
+            setPhoneNumber(later.getPhoneNumber());
+        }
+        if (emailKey == null && emailAddressFree && later.getEmailAddress() != null) {
+            setEmailAddress(later.getEmailAddress());
+        }
         return this;
     }
 
@@ -0,0 +1,165 @@
+package id.lariss.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The response of a request sent with an {@code Idempotency-Key}, replayed to the retries of the request.
+ * <p>
+ * A record without a response status is pending: its request is being executed, until {@code expiresAt}.
+ */
+@Entity
+@Table(
+    name = "idempotency_record",
+    uniqueConstraints = @UniqueConstraint(name = "ux_idempotency_record__scope_key", columnNames = { "scope", "idempotency_key" })
+)
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class IdempotencyRecord implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @PooledSequence("idempotency_record_seq")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "scope", length = 255, nullable = false)
+    private String scope;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "idempotency_key", length = 255, nullable = false)
+    private String idempotencyKey;
+
+    @NotNull
+    @Size(max = 64)
+    @Column(name = "request_hash", length = 64, nullable = false)
+    private String requestHash;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Size(max = 4000)
+    @Column(name = "response_headers", length = 4000)
+    private String responseHeaders;
+
+    @Column(name = "response_body")
+    private byte[] responseBody;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getScope() {
+        return this.scope;
+    }
+
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+
+    public String getIdempotencyKey() {
+        return this.idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return this.requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public Integer getResponseStatus() {
+        return this.responseStatus;
+    }
+
+    public void setResponseStatus(Integer responseStatus) {
+        this.responseStatus = responseStatus;
+    }
+
+    public String getResponseHeaders() {
+        return this.responseHeaders;
+    }
+
+    public void setResponseHeaders(String responseHeaders) {
+        this.responseHeaders = responseHeaders;
+    }
+
+    public byte[] getResponseBody() {
+        return this.responseBody;
+    }
+
+    public void setResponseBody(byte[] responseBody) {
+        this.responseBody = responseBody;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getExpiresAt() {
+        return this.expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isPending() {
+        return this.responseStatus == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdempotencyRecord)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((IdempotencyRecord) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+            "id=" + getId() +
+            ", scope='" + getScope() + "'" +
+            ", idempotencyKey='" + getIdempotencyKey() + "'" +
+            ", responseStatus=" + getResponseStatus() +
+            ", expiresAt='" + getExpiresAt() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,111 @@
+package id.lariss.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The lock of a job run by one instance at a time, held by {@code lockedBy} until {@code lockedUntil}.
+ * <p>
+ * The row of a job is written on its first run, and then kept: releasing the lock only ends its lease. While the job
+ * runs, its instance extends the lease on each heartbeat, at {@code heartbeatAt}.
+ */
+@Entity
+@Table(name = "job_lock")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class JobLock implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @NotNull
+    @Size(max = 100)
+    @Id
+    @Column(name = "name", length = 100, nullable = false)
+    private String name;
+
+    @NotNull
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @NotNull
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "locked_by", length = 255, nullable = false)
+    private String lockedBy;
+
+    @Column(name = "heartbeat_at")
+    private Instant heartbeatAt;
+
+    public String getName() {
+        return this.name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Instant getLockedUntil() {
+        return this.lockedUntil;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public Instant getLockedAt() {
+        return this.lockedAt;
+    }
+
+    public void setLockedAt(Instant lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public String getLockedBy() {
+        return this.lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public Instant getHeartbeatAt() {
+        return this.heartbeatAt;
+    }
+
+    public void setHeartbeatAt(Instant heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobLock)) {
+            return false;
+        }
+        return getName() != null && getName().equals(((JobLock) o).getName());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JobLock{" +
+            "name='" + getName() + "'" +
+            ", lockedUntil='" + getLockedUntil() + "'" +
+            ", lockedAt='" + getLockedAt() + "'" +
+            ", lockedBy='" + getLockedBy() + "'" +
+            ", heartbeatAt='" + getHeartbeatAt() + "'" +
+            "}";
+    }
+}
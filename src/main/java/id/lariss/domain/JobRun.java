@@ -0,0 +1,150 @@
+package id.lariss.domain;
+
+import id.lariss.domain.enumeration.JobRunStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A run of a job on one instance, recorded by the {@code JobService}.
+ * <p>
+ * A run stays {@code RUNNING} until its job completes, or until the next run of the job on any instance finds it
+ * abandoned by a stopped instance.
+ */
+@Entity
+@Table(name = "job_run")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class JobRun implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @PooledSequence("job_run_seq")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 100)
+    @Column(name = "job_name", length = 100, nullable = false)
+    private String jobName;
+
+    @NotNull
+    @Size(max = 255)
+    @Column(name = "node", length = 255, nullable = false)
+    private String node;
+
+    @NotNull
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    @Column(name = "rows_affected")
+    private Integer rowsAffected;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private JobRunStatus status;
+
+    @Size(max = 1000)
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJobName() {
+        return this.jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getNode() {
+        return this.node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public Instant getStartedAt() {
+        return this.startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return this.finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Integer getRowsAffected() {
+        return this.rowsAffected;
+    }
+
+    public void setRowsAffected(Integer rowsAffected) {
+        this.rowsAffected = rowsAffected;
+    }
+
+    public JobRunStatus getStatus() {
+        return this.status;
+    }
+
+    public void setStatus(JobRunStatus status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return this.error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JobRun)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((JobRun) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "JobRun{" +
+            "id=" + getId() +
+            ", jobName='" + getJobName() + "'" +
+            ", node='" + getNode() + "'" +
+            ", startedAt='" + getStartedAt() + "'" +
+            ", finishedAt='" + getFinishedAt() + "'" +
+            ", rowsAffected=" + getRowsAffected() +
+            ", status='" + getStatus() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,185 @@
+package id.lariss.domain;
+
+import id.lariss.domain.enumeration.OrderEventType;
+import id.lariss.domain.enumeration.OrderStatus;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * An event of an {@link Order}, written in the transaction changing the order and published afterwards.
+ * <p>
+ * An event without {@code publishedAt} is due at {@code nextAttemptAt}.
+ */
+@Entity
+@Table(name = "order_event")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class OrderEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @PooledSequence("order_event_seq")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OrderEventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "previous_status")
+    private OrderStatus previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private OrderStatus status;
+
+    @Column(name = "total_price", precision = 21, scale = 2)
+    private BigDecimal totalPrice;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    @Size(max = 1000)
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getOrderId() {
+        return this.orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public OrderEventType getEventType() {
+        return this.eventType;
+    }
+
+    public void setEventType(OrderEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public OrderStatus getPreviousStatus() {
+        return this.previousStatus;
+    }
+
+    public void setPreviousStatus(OrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public OrderStatus getStatus() {
+        return this.status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getTotalPrice() {
+        return this.totalPrice;
+    }
+
+    public void setTotalPrice(BigDecimal totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return this.nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Instant getPublishedAt() {
+        return this.publishedAt;
+    }
+
+    public void setPublishedAt(Instant publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof OrderEvent)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((OrderEvent) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "OrderEvent{" +
+            "id=" + getId() +
+            ", orderId=" + getOrderId() +
+            ", eventType='" + getEventType() + "'" +
+            ", previousStatus='" + getPreviousStatus() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", attempts=" + getAttempts() +
+            ", publishedAt='" + getPublishedAt() + "'" +
+            "}";
+    }
+}
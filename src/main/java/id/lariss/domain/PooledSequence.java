@@ -0,0 +1,24 @@
+package id.lariss.domain;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates the id of an entity from its own database sequence, reserving a block of ids per round trip.
+ *
+ * @see PooledSequenceGenerator
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({ FIELD, METHOD })
+public @interface PooledSequence {
+    /**
+     * The name of the database sequence.
+     */
+    String value();
+}
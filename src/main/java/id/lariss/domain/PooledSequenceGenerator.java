@@ -0,0 +1,47 @@
+package id.lariss.domain;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Generator of the ids of the entities annotated with {@link PooledSequence}.
+ * <p>
+ * Each value of the sequence is the first id of a block of {@link #ALLOCATION_SIZE} ids handed out in memory
+ * (the pooled-lo optimizer), so the increment of the sequence must be the allocation size. Hibernate checks it on
+ * startup, and the Liquibase changelog realigns the sequences when the allocation size changes.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Hibernate setting with the number of ids reserved per round trip to a sequence, taken from
+     * {@code application.database.sequence-allocation-size}.
+     */
+    public static final String ALLOCATION_SIZE = "lariss.id.sequence_allocation_size";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledSequenceGenerator(PooledSequence config, Member member, CustomIdGeneratorCreationContext context) {
+        this.sequenceName = config.value();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry
+            .requireService(ConfigurationService.class)
+            .getSetting(ALLOCATION_SIZE, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
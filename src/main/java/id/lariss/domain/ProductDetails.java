@@ -19,8 +19,7 @@ public class ProductDetails implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @PooledSequence("product_details_seq")
     @Column(name = "id")
     private Long id;
 
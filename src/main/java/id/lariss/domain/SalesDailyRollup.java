@@ -0,0 +1,124 @@
+package id.lariss.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The units sold and revenue of a ProductDetails on a day, maintained incrementally from the order items.
+ * <p>
+ * Rows are only written with additive upserts, so concurrent orders never overwrite each other's contribution.
+ */
+@Entity
+@Table(name = "sales_daily_rollup")
+@IdClass(SalesDailyRollup.Key.class)
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class SalesDailyRollup implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Id
+    @Column(name = "product_details_id")
+    private Long productDetailsId;
+
+    @NotNull
+    @Column(name = "units", nullable = false)
+    private Long units;
+
+    @NotNull
+    @Column(name = "revenue", precision = 21, scale = 2, nullable = false)
+    private BigDecimal revenue;
+
+    public LocalDate getDay() {
+        return this.day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Long getProductDetailsId() {
+        return this.productDetailsId;
+    }
+
+    public void setProductDetailsId(Long productDetailsId) {
+        this.productDetailsId = productDetailsId;
+    }
+
+    public Long getUnits() {
+        return this.units;
+    }
+
+    public void setUnits(Long units) {
+        this.units = units;
+    }
+
+    public BigDecimal getRevenue() {
+        return this.revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SalesDailyRollup)) {
+            return false;
+        }
+        SalesDailyRollup other = (SalesDailyRollup) o;
+        return day != null && day.equals(other.day) && productDetailsId != null && productDetailsId.equals(other.productDetailsId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, productDetailsId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SalesDailyRollup{" +
+            "day='" + getDay() + "'" +
+            ", productDetailsId=" + getProductDetailsId() +
+            ", units=" + getUnits() +
+            ", revenue=" + getRevenue() +
+            "}";
+    }
+
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private LocalDate day;
+
+        private Long productDetailsId;
+
+        public Key() {}
+
+        public Key(LocalDate day, Long productDetailsId) {
+            this.day = day;
+            this.productDetailsId = productDetailsId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && Objects.equals(day, other.day) && Objects.equals(productDetailsId, other.productDetailsId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, productDetailsId);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package id.lariss.domain.enumeration;
+
+/**
+ * The JobRunStatus enumeration.
+ */
+public enum JobRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    ABANDONED,
+}
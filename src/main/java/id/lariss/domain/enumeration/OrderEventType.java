@@ -0,0 +1,9 @@
+package id.lariss.domain.enumeration;
+
+/**
+ * The OrderEventType enumeration.
+ */
+public enum OrderEventType {
+    CREATED,
+    STATUS_CHANGED,
+}
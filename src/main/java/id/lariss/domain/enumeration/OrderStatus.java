@@ -1,11 +1,63 @@
 package id.lariss.domain.enumeration;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * The OrderStatus enumeration.
+ * <p>
+ * An order moves forward one status at a time: {@code PENDING -> CONFIRMED -> SHIPPED -> DELIVERED}.
  */
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
     SHIPPED,
-    DELIVERED,
+    DELIVERED;
+
+    /**
+     * Get the statuses an order in this status can move to.
+     *
+     * @return the next statuses, empty for a final status.
+     */
+    public Set<OrderStatus> nextStatuses() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(CONFIRMED);
+            case CONFIRMED -> EnumSet.of(SHIPPED);
+            case SHIPPED -> EnumSet.of(DELIVERED);
+            case DELIVERED -> EnumSet.noneOf(OrderStatus.class);
+        };
+    }
+
+    /**
+     * Get the statuses from which an order can move to this status.
+     *
+     * @return the previous statuses, empty for the initial status.
+     */
+    public Set<OrderStatus> previousStatuses() {
+        Set<OrderStatus> previousStatuses = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.nextStatuses().contains(this)) {
+                previousStatuses.add(status);
+            }
+        }
+        return previousStatuses;
+    }
+
+    /**
+     * Check whether an order can move from a status to another; staying in the same status is always allowed.
+     *
+     * @param from the current status, {@code null} for an order without status, which can only move to the initial
+     * status.
+     * @param to the target status.
+     * @return whether the transition is allowed.
+     */
+    public static boolean isAllowed(OrderStatus from, OrderStatus to) {
+        if (from == to) {
+            return true;
+        }
+        if (from == null) {
+            return to != null && to.previousStatuses().isEmpty();
+        }
+        return to != null && from.nextStatuses().contains(to);
+    }
 }
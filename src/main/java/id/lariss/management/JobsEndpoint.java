@@ -0,0 +1,91 @@
+package id.lariss.management;
+
+import id.lariss.service.JobService;
+import id.lariss.service.dto.JobDTO;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.FixedRateTask;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.scheduling.config.Task;
+import org.springframework.scheduling.support.ScheduledMethodRunnable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint {@code /management/jobs}, showing the schedules of this instance, and the locks and last runs of
+ * the jobs run on one instance at a time, across all the instances.
+ */
+@Component
+@Endpoint(id = "jobs")
+public class JobsEndpoint {
+
+    private final JobService jobService;
+
+    private final ObjectProvider<ScheduledTaskHolder> scheduledTaskHolders;
+
+    /**
+     * The schedule of a task.
+     *
+     * @param target the scheduled method.
+     * @param trigger {@code cron}, {@code fixedDelay}, {@code fixedRate} or {@code custom}.
+     * @param expression the cron expression or the interval, as an ISO-8601 duration.
+     */
+    public record Schedule(String target, String trigger, String expression) {}
+
+    /**
+     * The schedules and jobs.
+     *
+     * @param schedules the scheduled tasks of this instance, empty if the scheduling is disabled.
+     * @param jobs the jobs run at least once.
+     */
+    public record Jobs(List<Schedule> schedules, List<JobDTO> jobs) {}
+
+    public JobsEndpoint(JobService jobService, ObjectProvider<ScheduledTaskHolder> scheduledTaskHolders) {
+        this.jobService = jobService;
+        this.scheduledTaskHolders = scheduledTaskHolders;
+    }
+
+    @ReadOperation
+    public Jobs jobs() {
+        List<Schedule> schedules = scheduledTaskHolders
+            .orderedStream()
+            .flatMap(holder -> holder.getScheduledTasks().stream())
+            .map(scheduledTask -> toSchedule(scheduledTask.getTask()))
+            .sorted(Comparator.comparing(Schedule::target))
+            .toList();
+        return new Jobs(schedules, jobService.getJobs());
+    }
+
+    /**
+     * @param name the name of the job.
+     * @return the job, or {@code null} for a {@code 404 (Not Found)} if it never ran.
+     */
+    @ReadOperation
+    public JobDTO job(@Selector String name) {
+        return jobService.getJob(name).orElse(null);
+    }
+
+    private static Schedule toSchedule(Task task) {
+        String target = task.getRunnable() instanceof ScheduledMethodRunnable scheduledMethod
+            ? targetOf(scheduledMethod.getMethod())
+            : task.getRunnable().getClass().getName();
+        if (task instanceof CronTask cronTask) {
+            return new Schedule(target, "cron", cronTask.getExpression());
+        }
+        if (task instanceof IntervalTask intervalTask) {
+            String trigger = task instanceof FixedRateTask ? "fixedRate" : "fixedDelay";
+            return new Schedule(target, trigger, intervalTask.getIntervalDuration().toString());
+        }
+        return new Schedule(target, "custom", task.toString());
+    }
+
+    private static String targetOf(Method method) {
+        return method.getDeclaringClass().getName() + "." + method.getName();
+    }
+}
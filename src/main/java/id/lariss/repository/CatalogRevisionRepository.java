@@ -0,0 +1,15 @@
+package id.lariss.repository;
+
+import id.lariss.domain.CatalogRevision;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the CatalogRevision entity, written by the database triggers only.
+ */
+@Repository
+public interface CatalogRevisionRepository extends JpaRepository<CatalogRevision, Integer> {
+    @Query("select catalogRevision.revision from CatalogRevision catalogRevision where catalogRevision.id = " + CatalogRevision.ID)
+    Optional<Long> findRevision();
+}
@@ -1,7 +1,16 @@
 package id.lariss.repository;
 
 import id.lariss.domain.Customer;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +18,84 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {}
+public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    /**
+     * Stream the customers, in the order of their ids. The rows are fetched from a cursor, 500 at a time, and not put in
+     * the second-level cache.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"),
+        }
+    )
+    @Query("select customer from Customer customer order by customer.id")
+    Stream<Customer> streamAll();
+
+    /**
+     * Get a page of the customers without an order, anti-joined to the orders on their customer id.
+     */
+    @Query(
+        value = "select customer from Customer customer where not exists (select 1 from Order o where o.customer = customer)",
+        countQuery = "select count(customer) from Customer customer where not exists (select 1 from Order o where o.customer = customer)"
+    )
+    Page<Customer> findAllWhereOrderIsNull(Pageable pageable);
+
+    /**
+     * Stream the customers without an order, in the order of their ids. The rows are fetched from a cursor, 500 at a
+     * time, and not put in the second-level cache.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"),
+        }
+    )
+    @Query(
+        "select customer from Customer customer where not exists (select 1 from Order o where o.customer = customer) " +
+        "order by customer.id"
+    )
+    Stream<Customer> streamAllWhereOrderIsNull();
+
+    @Query("select count(customer) from Customer customer where not exists (select 1 from Order o where o.customer = customer)")
+    long countWhereOrderIsNull();
+
+    /**
+     * Get the customer of a normalized phone number, with one probe of its unique index.
+     */
+    Optional<Customer> findOneByPhoneKey(String phoneKey);
+
+    /**
+     * Get the customer of a normalized email address, with one probe of its unique index.
+     */
+    Optional<Customer> findOneByEmailKey(String emailKey);
+
+    /**
+     * Insert a customer, unless another customer has one of its keys.
+     *
+     * @return 1 if the customer was inserted, 0 otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "customer"))
+    @Query(
+        value = "insert into customer (id, first_name, last_name, phone_number, email_address, delivery_address, phone_key, email_key) " +
+        "values (:#{#customer.id}, :#{#customer.firstName}, :#{#customer.lastName}, :#{#customer.phoneNumber}, " +
+        ":#{#customer.emailAddress}, :#{#customer.deliveryAddress}, :#{#customer.phoneKey}, :#{#customer.emailKey}) " +
+        "on conflict do nothing",
+        nativeQuery = true
+    )
+    int insertIfAbsent(@Param("customer") Customer customer);
+
+    /**
+     * Get the next customers with a phone number or email address but no key for it, in the order of their ids: the
+     * customers written before the keys existed, which may be duplicates. A phone number without digit or a blank email
+     * address has no key, so it does not select its customer.
+     */
+    @Query(
+        value = "select * from customer where id > :after and (" +
+        "(phone_key is null and phone_number ~ '[0-9]') or " +
+        "(email_key is null and trim(email_address) <> '')) order by id",
+        nativeQuery = true
+    )
+    List<Customer> findUnkeyedAfter(@Param("after") long after, Pageable pageable);
+}
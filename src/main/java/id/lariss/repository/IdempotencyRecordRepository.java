@@ -0,0 +1,20 @@
+package id.lariss.repository;
+
+import id.lariss.domain.IdempotencyRecord;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the IdempotencyRecord entity.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    Optional<IdempotencyRecord> findOneByScopeAndIdempotencyKey(String scope, String idempotencyKey);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord idempotencyRecord where idempotencyRecord.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,48 @@
+package id.lariss.repository;
+
+import id.lariss.domain.JobLock;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the JobLock entity.
+ */
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+    /**
+     * Take the lock of a job, unless another instance holds it: the upsert only writes a lock whose lease ended, and
+     * the instances trying at the same time wait for each other on the row.
+     *
+     * @return 1 if the lock was taken, 0 otherwise.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "job_lock"))
+    @Query(
+        value = "insert into job_lock (name, locked_until, locked_at, locked_by, heartbeat_at) " +
+        "values (:name, :until, :now, :owner, :now) on conflict (name) do update set locked_until = excluded.locked_until, " +
+        "locked_at = excluded.locked_at, locked_by = excluded.locked_by, heartbeat_at = excluded.heartbeat_at " +
+        "where job_lock.locked_until <= excluded.locked_at",
+        nativeQuery = true
+    )
+    int tryLock(@Param("name") String name, @Param("now") Instant now, @Param("until") Instant until, @Param("owner") String owner);
+
+    /**
+     * Extend the lease of a lock still held by an instance.
+     *
+     * @return 1 if the lease was extended, 0 if the lock was lost.
+     */
+    @Modifying
+    @Query(
+        "update JobLock jobLock set jobLock.lockedUntil = :until, jobLock.heartbeatAt = :now " +
+        "where jobLock.name = :name and jobLock.lockedBy = :owner and jobLock.lockedUntil > :now"
+    )
+    int extend(@Param("name") String name, @Param("now") Instant now, @Param("until") Instant until, @Param("owner") String owner);
+
+    @Modifying
+    @Query("update JobLock jobLock set jobLock.lockedUntil = :now where jobLock.name = :name and jobLock.lockedBy = :owner")
+    int unlock(@Param("name") String name, @Param("now") Instant now, @Param("owner") String owner);
+}
@@ -0,0 +1,37 @@
+package id.lariss.repository;
+
+import id.lariss.domain.JobRun;
+import id.lariss.domain.enumeration.JobRunStatus;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the JobRun entity.
+ */
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+    List<JobRun> findAllByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+
+    /**
+     * Close the runs of a job left running by stopped instances, once its lock is taken again.
+     */
+    @Modifying
+    @Query(
+        "update JobRun jobRun set jobRun.status = :abandoned, jobRun.finishedAt = :now " +
+        "where jobRun.jobName = :jobName and jobRun.status = :running"
+    )
+    int abandonRunning(
+        @Param("jobName") String jobName,
+        @Param("now") Instant now,
+        @Param("running") JobRunStatus running,
+        @Param("abandoned") JobRunStatus abandoned
+    );
+
+    @Modifying
+    @Query("delete from JobRun jobRun where jobRun.startedAt < :before")
+    int deleteStartedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,36 @@
+package id.lariss.repository;
+
+import id.lariss.domain.MailMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the MailMessage entity.
+ */
+@Repository
+public interface MailMessageRepository extends JpaRepository<MailMessage, Long> {
+    /**
+     * Lock the due emails, skipping the ones locked by the other senders.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select mailMessage from MailMessage mailMessage where mailMessage.sentAt is null and mailMessage.nextAttemptAt <= :now order by mailMessage.id"
+    )
+    List<MailMessage> findDueForUpdate(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("update MailMessage mailMessage set mailMessage.sentAt = :now where mailMessage.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from MailMessage mailMessage where mailMessage.sentAt < :before")
+    int deleteSentBefore(@Param("before") Instant before);
+}
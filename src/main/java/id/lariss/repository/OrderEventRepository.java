@@ -0,0 +1,36 @@
+package id.lariss.repository;
+
+import id.lariss.domain.OrderEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the OrderEvent entity.
+ */
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+    /**
+     * Lock the due events, skipping the ones locked by the dispatchers of the other instances.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select orderEvent from OrderEvent orderEvent where orderEvent.publishedAt is null and orderEvent.nextAttemptAt <= :now order by orderEvent.id"
+    )
+    List<OrderEvent> findDueForUpdate(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("update OrderEvent orderEvent set orderEvent.publishedAt = :now where orderEvent.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    @Modifying
+    @Query("delete from OrderEvent orderEvent where orderEvent.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
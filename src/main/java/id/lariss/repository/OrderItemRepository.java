@@ -1,7 +1,13 @@
 package id.lariss.repository;
 
 import id.lariss.domain.OrderItem;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,35 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {}
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+    String SALES_LINE_SELECT =
+        "select orderItem.id as id, itemOrder.orderDate as orderDate, orderItem.productDetails.id as productDetailsId, " +
+        "orderItem.quantity as quantity, orderItem.totalPrice as totalPrice from OrderItem orderItem join orderItem.order itemOrder ";
+
+    @Query(SALES_LINE_SELECT + "where orderItem.id = :id")
+    Optional<SalesLineView> findSalesLine(@Param("id") Long id);
+
+    @Query(SALES_LINE_SELECT + "where itemOrder.id = :orderId")
+    List<SalesLineView> findSalesLinesByOrderId(@Param("orderId") Long orderId);
+
+    /**
+     * Get the sales lines of the items after an id, up to another id, in the order of their ids.
+     */
+    @Query(SALES_LINE_SELECT + "where orderItem.id > :after and orderItem.id <= :last order by orderItem.id")
+    List<SalesLineView> findSalesLines(@Param("after") Long after, @Param("last") Long last, Pageable pageable);
+
+    @Query("select max(orderItem.id) from OrderItem orderItem")
+    Optional<Long> findMaxId();
+
+    interface SalesLineView {
+        Long getId();
+
+        Instant getOrderDate();
+
+        Long getProductDetailsId();
+
+        Integer getQuantity();
+
+        BigDecimal getTotalPrice();
+    }
+}
@@ -1,7 +1,15 @@
 package id.lariss.repository;
 
 import id.lariss.domain.Order;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,74 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {}
+public interface OrderRepository extends JpaRepository<Order, Long> {
+    /**
+     * Lock the orders not locked by another transaction, without loading them.
+     */
+    @Query(
+        value = "select id, status, total_price as \"totalPrice\" from orders where id in (:ids) order by id for update skip locked",
+        nativeQuery = true
+    )
+    List<OrderStatusView> lockStatuses(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select id from orders where id in (:ids)", nativeQuery = true)
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set the status of the orders, incrementing their version so that their concurrent updates fail.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"))
+    @Query(value = "update orders set status = :status, version = version + 1 where id in (:ids)", nativeQuery = true)
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    /**
+     * Move the orders of a customer to another customer, incrementing their version so that their concurrent updates
+     * fail.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "orders"))
+    @Query(value = "update orders set customer_id = :to, version = version + 1 where customer_id = :from", nativeQuery = true)
+    int reassignCustomer(@Param("from") Long from, @Param("to") Long to);
+
+    /**
+     * Stream the orders with their items, one row per item and one row for an order without items, in the order of
+     * the order ids then of the item ids. The rows are fetched from a cursor, 500 at a time.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(
+        value = "select o.id, o.status, o.total_price as \"totalPrice\", o.order_date as \"orderDate\", o.customer_id as \"customerId\", item.id as \"itemId\", item.quantity, item.total_price as \"itemTotalPrice\", item.product_details_id as \"productDetailsId\", details.name as \"productDetailsName\" from orders o left join order_item item on item.order_id = o.id left join product_details details on details.id = item.product_details_id order by o.id, item.id",
+        nativeQuery = true
+    )
+    Stream<OrderExportView> streamAllForExport();
+
+    interface OrderStatusView {
+        Long getId();
+
+        String getStatus();
+
+        BigDecimal getTotalPrice();
+    }
+
+    interface OrderExportView {
+        Long getId();
+
+        String getStatus();
+
+        BigDecimal getTotalPrice();
+
+        Instant getOrderDate();
+
+        Long getCustomerId();
+
+        Long getItemId();
+
+        Integer getQuantity();
+
+        BigDecimal getItemTotalPrice();
+
+        Long getProductDetailsId();
+
+        String getProductDetailsName();
+    }
+}
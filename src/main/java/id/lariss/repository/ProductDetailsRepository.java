@@ -1,9 +1,15 @@
 package id.lariss.repository;
 
 import id.lariss.domain.ProductDetails;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
@@ -13,7 +19,7 @@ import org.springframework.stereotype.Repository;
  * Spring Data JPA repository for the ProductDetails entity.
  */
 @Repository
-public interface ProductDetailsRepository extends JpaRepository<ProductDetails, Long> {
+public interface ProductDetailsRepository extends ProductDetailsRepositoryWithAttributes, JpaRepository<ProductDetails, Long> {
     default Optional<ProductDetails> findOneWithEagerRelationships(Long id) {
         return this.findOneWithToOneRelationships(id);
     }
@@ -26,19 +32,68 @@ public interface ProductDetailsRepository extends JpaRepository<ProductDetails,
         return this.findAllWithToOneRelationships(pageable);
     }
 
+    /**
+     * Get a page of product details with their relationships, without joining the related tables: the page is read
+     * as plain rows and the relationships are resolved with one batched, cache-backed lookup per related type.
+     *
+     * @param pageable the pagination information.
+     * @return the page of product details.
+     */
+    default Page<ProductDetails> findAllWithAssembledRelationships(Pageable pageable) {
+        Page<ProductDetailsRow> rows = this.findAllRows(pageable);
+        return new PageImpl<>(this.assembleWithToOneRelationships(rows.getContent()), rows.getPageable(), rows.getTotalElements());
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(
+        value = "select new id.lariss.repository.ProductDetailsRow(productDetails.id, productDetails.name, productDetails.price, productDetails.thumbnail, productDetails.product.id, productDetails.description.id, productDetails.color.id, productDetails.processor.id, productDetails.memory.id, productDetails.storage.id, productDetails.screen.id, productDetails.connectivity.id, productDetails.material.id, productDetails.caseSize.id, productDetails.strapColor.id, productDetails.strapSize.id) from ProductDetails productDetails",
+        countQuery = "select count(productDetails) from ProductDetails productDetails"
+    )
+    Page<ProductDetailsRow> findAllRows(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query(
         value = "select productDetails from ProductDetails productDetails left join fetch productDetails.product left join fetch productDetails.description left join fetch productDetails.color left join fetch productDetails.processor left join fetch productDetails.memory left join fetch productDetails.storage left join fetch productDetails.screen left join fetch productDetails.connectivity left join fetch productDetails.material left join fetch productDetails.caseSize left join fetch productDetails.strapColor left join fetch productDetails.strapSize",
         countQuery = "select count(productDetails) from ProductDetails productDetails"
     )
     Page<ProductDetails> findAllWithToOneRelationships(Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query(
         "select productDetails from ProductDetails productDetails left join fetch productDetails.product left join fetch productDetails.description left join fetch productDetails.color left join fetch productDetails.processor left join fetch productDetails.memory left join fetch productDetails.storage left join fetch productDetails.screen left join fetch productDetails.connectivity left join fetch productDetails.material left join fetch productDetails.caseSize left join fetch productDetails.strapColor left join fetch productDetails.strapSize"
     )
     List<ProductDetails> findAllWithToOneRelationships();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query(
         "select productDetails from ProductDetails productDetails left join fetch productDetails.product left join fetch productDetails.description left join fetch productDetails.color left join fetch productDetails.processor left join fetch productDetails.memory left join fetch productDetails.storage left join fetch productDetails.screen left join fetch productDetails.connectivity left join fetch productDetails.material left join fetch productDetails.caseSize left join fetch productDetails.strapColor left join fetch productDetails.strapSize where productDetails.id =:id"
     )
     Optional<ProductDetails> findOneWithToOneRelationships(@Param("id") Long id);
+
+    /**
+     * Stream the product details with their relationships, in the order of their ids. The rows are fetched from a
+     * cursor, 500 at a time, and not put in the second-level cache.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS"),
+        }
+    )
+    @Query(
+        "select productDetails from ProductDetails productDetails left join fetch productDetails.product product left join fetch product.category left join fetch productDetails.description left join fetch productDetails.color left join fetch productDetails.processor left join fetch productDetails.memory left join fetch productDetails.storage left join fetch productDetails.screen left join fetch productDetails.connectivity left join fetch productDetails.material left join fetch productDetails.caseSize left join fetch productDetails.strapColor left join fetch productDetails.strapSize order by productDetails.id"
+    )
+    Stream<ProductDetails> streamAllWithToOneRelationships();
+
+    /**
+     * Get the product details of some products with some names, to match the imported rows with the product details
+     * they update. The result includes the product details whose product and name were not asked together.
+     */
+    @Query(
+        "select productDetails from ProductDetails productDetails where productDetails.product.id in :productIds and productDetails.name in :names"
+    )
+    List<ProductDetails> findAllByProductIdInAndNameIn(
+        @Param("productIds") Collection<Long> productIds,
+        @Param("names") Collection<String> names
+    );
 }
@@ -0,0 +1,15 @@
+package id.lariss.repository;
+
+import id.lariss.domain.ProductDetails;
+import java.util.List;
+
+public interface ProductDetailsRepositoryWithAttributes {
+    /**
+     * Assemble {@link ProductDetails} from their rows, resolving every related entity with one batched lookup per
+     * related type. The lookups are served from the second-level cache first, and only the misses hit the database.
+     *
+     * @param rows the product details rows.
+     * @return the detached product details, in the order of the rows.
+     */
+    List<ProductDetails> assembleWithToOneRelationships(List<ProductDetailsRow> rows);
+}
@@ -0,0 +1,94 @@
+package id.lariss.repository;
+
+import id.lariss.domain.CaseSize;
+import id.lariss.domain.Color;
+import id.lariss.domain.Connectivity;
+import id.lariss.domain.Description;
+import id.lariss.domain.Material;
+import id.lariss.domain.Memory;
+import id.lariss.domain.Processor;
+import id.lariss.domain.Product;
+import id.lariss.domain.ProductDetails;
+import id.lariss.domain.Screen;
+import id.lariss.domain.Storage;
+import id.lariss.domain.StrapColor;
+import id.lariss.domain.StrapSize;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnitUtil;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import org.hibernate.Session;
+
+/**
+ * Utility repository to assemble product details from their rows and batched lookups of their relationships.
+ */
+public class ProductDetailsRepositoryWithAttributesImpl implements ProductDetailsRepositoryWithAttributes {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductDetails> assembleWithToOneRelationships(List<ProductDetailsRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Product> products = findAllById(Product.class, rows, ProductDetailsRow::productId);
+        Map<Long, Description> descriptions = findAllById(Description.class, rows, ProductDetailsRow::descriptionId);
+        Map<Long, Color> colors = findAllById(Color.class, rows, ProductDetailsRow::colorId);
+        Map<Long, Processor> processors = findAllById(Processor.class, rows, ProductDetailsRow::processorId);
+        Map<Long, Memory> memories = findAllById(Memory.class, rows, ProductDetailsRow::memoryId);
+        Map<Long, Storage> storages = findAllById(Storage.class, rows, ProductDetailsRow::storageId);
+        Map<Long, Screen> screens = findAllById(Screen.class, rows, ProductDetailsRow::screenId);
+        Map<Long, Connectivity> connectivities = findAllById(Connectivity.class, rows, ProductDetailsRow::connectivityId);
+        Map<Long, Material> materials = findAllById(Material.class, rows, ProductDetailsRow::materialId);
+        Map<Long, CaseSize> caseSizes = findAllById(CaseSize.class, rows, ProductDetailsRow::caseSizeId);
+        Map<Long, StrapColor> strapColors = findAllById(StrapColor.class, rows, ProductDetailsRow::strapColorId);
+        Map<Long, StrapSize> strapSizes = findAllById(StrapSize.class, rows, ProductDetailsRow::strapSizeId);
+
+        return rows
+            .stream()
+            .map(row ->
+                new ProductDetails()
+                    .id(row.id())
+                    .name(row.name())
+                    .price(row.price())
+                    .thumbnail(row.thumbnail())
+                    .product(get(products, row.productId()))
+                    .description(get(descriptions, row.descriptionId()))
+                    .color(get(colors, row.colorId()))
+                    .processor(get(processors, row.processorId()))
+                    .memory(get(memories, row.memoryId()))
+                    .storage(get(storages, row.storageId()))
+                    .screen(get(screens, row.screenId()))
+                    .connectivity(get(connectivities, row.connectivityId()))
+                    .material(get(materials, row.materialId()))
+                    .caseSize(get(caseSizes, row.caseSizeId()))
+                    .strapColor(get(strapColors, row.strapColorId()))
+                    .strapSize(get(strapSizes, row.strapSizeId()))
+            )
+            .toList();
+    }
+
+    private <T> Map<Long, T> findAllById(Class<T> entityClass, List<ProductDetailsRow> rows, Function<ProductDetailsRow, Long> foreignKey) {
+        List<Long> ids = rows.stream().map(foreignKey).filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Map<Long, T> entities = new HashMap<>();
+        for (T entity : entityManager.unwrap(Session.class).byMultipleIds(entityClass).enableSessionCheck(true).multiLoad(ids)) {
+            if (entity != null) {
+                entities.put((Long) persistenceUnitUtil.getIdentifier(entity), entity);
+            }
+        }
+        return entities;
+    }
+
+    private static <T> T get(Map<Long, T> entities, Long id) {
+        return id == null ? null : entities.get(id);
+    }
+}
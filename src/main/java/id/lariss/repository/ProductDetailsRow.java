@@ -0,0 +1,27 @@
+package id.lariss.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Scalar columns and foreign keys of one {@link id.lariss.domain.ProductDetails} row.
+ * <p>
+ * Read without joining any of the related tables, see {@link ProductDetailsRepository#findAllRows}.
+ */
+public record ProductDetailsRow(
+    Long id,
+    String name,
+    BigDecimal price,
+    String thumbnail,
+    Long productId,
+    Long descriptionId,
+    Long colorId,
+    Long processorId,
+    Long memoryId,
+    Long storageId,
+    Long screenId,
+    Long connectivityId,
+    Long materialId,
+    Long caseSizeId,
+    Long strapColorId,
+    Long strapSizeId
+) {}
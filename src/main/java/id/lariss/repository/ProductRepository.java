@@ -1,8 +1,10 @@
 package id.lariss.repository;
 
 import id.lariss.domain.Product;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -26,15 +28,18 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         return this.findAllWithToOneRelationships(pageable);
     }
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query(
         value = "select product from Product product left join fetch product.category",
         countQuery = "select count(product) from Product product"
     )
     Page<Product> findAllWithToOneRelationships(Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("select product from Product product left join fetch product.category")
     List<Product> findAllWithToOneRelationships();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("select product from Product product left join fetch product.category where product.id =:id")
     Optional<Product> findOneWithToOneRelationships(@Param("id") Long id);
 
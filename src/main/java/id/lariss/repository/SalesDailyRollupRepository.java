@@ -0,0 +1,83 @@
+package id.lariss.repository;
+
+import id.lariss.domain.SalesDailyRollup;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the SalesDailyRollup entity.
+ * <p>
+ * The queries only read the rollups of the requested days, whatever the number of orders.
+ */
+@Repository
+public interface SalesDailyRollupRepository extends JpaRepository<SalesDailyRollup, SalesDailyRollup.Key> {
+    /**
+     * Add units and revenue, possibly negative, to the rollup of a ProductDetails on a day, creating it if needed.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_daily_rollup"))
+    @Query(
+        value = "insert into sales_daily_rollup (day, product_details_id, units, revenue) values (:day, :productDetailsId, :units, :revenue) " +
+        "on conflict (day, product_details_id) do update " +
+        "set units = sales_daily_rollup.units + excluded.units, revenue = sales_daily_rollup.revenue + excluded.revenue",
+        nativeQuery = true
+    )
+    void add(
+        @Param("day") LocalDate day,
+        @Param("productDetailsId") Long productDetailsId,
+        @Param("units") long units,
+        @Param("revenue") BigDecimal revenue
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sales_daily_rollup"))
+    @Query(value = "delete from sales_daily_rollup", nativeQuery = true)
+    int deleteAllRollups();
+
+    @Query(
+        "select rollup.day as day, sum(rollup.units) as units, sum(rollup.revenue) as revenue from SalesDailyRollup rollup " +
+        "where rollup.day between :from and :to group by rollup.day order by rollup.day"
+    )
+    List<DailySalesView> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(
+        "select category.id as id, category.name as name, sum(rollup.units) as units, sum(rollup.revenue) as revenue " +
+        "from SalesDailyRollup rollup join ProductDetails productDetails on productDetails.id = rollup.productDetailsId " +
+        "left join productDetails.product product left join product.category category " +
+        "where rollup.day between :from and :to group by category.id, category.name order by sum(rollup.revenue) desc"
+    )
+    List<SalesView> sumByCategory(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query(
+        "select productDetails.id as id, productDetails.name as name, sum(rollup.units) as units, sum(rollup.revenue) as revenue " +
+        "from SalesDailyRollup rollup join ProductDetails productDetails on productDetails.id = rollup.productDetailsId " +
+        "where rollup.day between :from and :to group by productDetails.id, productDetails.name " +
+        "order by sum(rollup.revenue) desc, productDetails.id"
+    )
+    List<SalesView> findTopProductDetails(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    interface DailySalesView {
+        LocalDate getDay();
+
+        Long getUnits();
+
+        BigDecimal getRevenue();
+    }
+
+    interface SalesView {
+        Long getId();
+
+        String getName();
+
+        Long getUnits();
+
+        BigDecimal getRevenue();
+    }
+}
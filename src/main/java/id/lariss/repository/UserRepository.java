@@ -2,11 +2,15 @@ package id.lariss.repository;
 
 import id.lariss.domain.User;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -27,4 +31,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+
+    Window<User> findAllByIdNotNull(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<User> findAllByIdNotNullAndActivatedIsTrue(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Lock the next not activated users created before a date, in the order of their ids, skipping the ones locked by
+     * an activation.
+     */
+    @Query(
+        value = "select u.id from jhi_user u where u.activated = false and u.activation_key is not null and u.created_date < :before " +
+        "and u.id > :after order by u.id limit :limit for update skip locked",
+        nativeQuery = true
+    )
+    List<Long> findNotActivatedIdsForUpdate(@Param("before") Instant before, @Param("after") long after, @Param("limit") int limit);
+
+    /**
+     * Delete users and their rows of {@code jhi_user_authority}, one statement each: the bulk delete of an entity first
+     * clears the join tables it owns. Unlike a native delete, it leaves the second-level cache of the other entities
+     * alone.
+     */
+    @Modifying
+    @Query("delete from User user where user.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,95 @@
+package id.lariss.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import id.lariss.management.SecurityMetersService;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} remembering the tokens it already verified until they expire.
+ * <p>
+ * Tokens are keyed by their SHA-256 digest, so that the cache never holds usable credentials, and are evicted at their
+ * {@code exp} claim. Tokens without an expiry are never cached. Failures are never cached either: only the delegate decides
+ * that a token is invalid.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final Cache<String, Jwt> verifiedTokens;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize, SecurityMetersService metersService) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.verifiedTokens = Caffeine.newBuilder().maximumSize(maximumSize).expireAfter(new ExpiresAtExpiry()).build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        if (token == null) {
+            return delegate.decode(token);
+        }
+        String key = digest(token);
+        Jwt jwt = verifiedTokens.getIfPresent(key);
+        if (jwt != null) {
+            metersService.trackTokenCacheHit();
+            return jwt;
+        }
+        metersService.trackTokenCacheMiss();
+        jwt = delegate.decode(token);
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && expiresAt.isAfter(Instant.now())) {
+            verifiedTokens.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    long size() {
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class ExpiresAtExpiry implements Expiry<String, Jwt> {
+
+        private static final Duration MAX_EXPIRY = Duration.ofNanos(Long.MAX_VALUE);
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), jwt.getExpiresAt());
+            if (remaining.isNegative()) {
+                return 0L;
+            }
+            return remaining.compareTo(MAX_EXPIRY) > 0 ? Long.MAX_VALUE : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package id.lariss.service;
+
+/**
+ * Published by the catalog services whenever a catalog entity is created, updated or deleted.
+ * <p>
+ * Listeners interested in the committed state should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener}.
+ *
+ * @param entityName the simple name of the modified entity.
+ */
+public record CatalogChangedEvent(String entityName) {}
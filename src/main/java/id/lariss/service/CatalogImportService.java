@@ -0,0 +1,432 @@
+package id.lariss.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.CaseSize;
+import id.lariss.domain.Category;
+import id.lariss.domain.Color;
+import id.lariss.domain.Connectivity;
+import id.lariss.domain.Description;
+import id.lariss.domain.Material;
+import id.lariss.domain.Memory;
+import id.lariss.domain.Processor;
+import id.lariss.domain.Product;
+import id.lariss.domain.ProductDetails;
+import id.lariss.domain.Screen;
+import id.lariss.domain.Storage;
+import id.lariss.domain.StrapColor;
+import id.lariss.domain.StrapSize;
+import id.lariss.repository.ProductDetailsRepository;
+import id.lariss.service.dto.CatalogImportDTO;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing product details in bulk, in the background, from the CSV or NDJSON files written by the
+ * {@link ExportService}.
+ * <p>
+ * The file is read one row at a time. The products, categories and attributes are named in the rows, and resolved to
+ * their ids with a dictionary loaded once per import, which creates the missing ones. The category of a row only
+ * applies to the products created by the import: an existing product keeps its category. The product details are
+ * matched on their product and name, created or updated in chunks of {@code application.catalog-import.chunk-size}
+ * rows, each in its own transaction and JDBC batch. The rows in error are skipped and reported, up to
+ * {@code application.catalog-import.max-errors}.
+ * <p>
+ * The import is a job of the {@link JobService}, run under its lock, so that two instances never create the same
+ * products, categories or attributes at a time.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogImportService.class);
+
+    public static final String IMPORT_JOB = "importProductDetails";
+
+    static final int MAX_NAME_LENGTH = 255;
+
+    static final List<Attribute<?>> ATTRIBUTES = List.of(
+        new Attribute<>("description", Description.class, name -> new Description().name(name), ProductDetails::setDescription),
+        new Attribute<>("color", Color.class, name -> new Color().name(name), ProductDetails::setColor),
+        new Attribute<>("processor", Processor.class, name -> new Processor().name(name), ProductDetails::setProcessor),
+        new Attribute<>("memory", Memory.class, name -> new Memory().name(name), ProductDetails::setMemory),
+        new Attribute<>("storage", Storage.class, name -> new Storage().name(name), ProductDetails::setStorage),
+        new Attribute<>("screen", Screen.class, name -> new Screen().name(name), ProductDetails::setScreen),
+        new Attribute<>("connectivity", Connectivity.class, name -> new Connectivity().name(name), ProductDetails::setConnectivity),
+        new Attribute<>("material", Material.class, name -> new Material().name(name), ProductDetails::setMaterial),
+        new Attribute<>("caseSize", CaseSize.class, name -> new CaseSize().name(name), ProductDetails::setCaseSize),
+        new Attribute<>("strapColor", StrapColor.class, name -> new StrapColor().name(name), ProductDetails::setStrapColor),
+        new Attribute<>("strapSize", StrapSize.class, name -> new StrapSize().name(name), ProductDetails::setStrapSize)
+    );
+
+    private final ProductDetailsRepository productDetailsRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor taskExecutor;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ApplicationProperties.CatalogImport properties;
+
+    private final JobService jobService;
+
+    private final AtomicBoolean importRunning = new AtomicBoolean();
+
+    private volatile CatalogImportDTO lastImport;
+
+    public CatalogImportService(
+        ProductDetailsRepository productDetailsRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ObjectMapper objectMapper,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties,
+        JobService jobService
+    ) {
+        this.productDetailsRepository = productDetailsRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.properties = applicationProperties.getCatalogImport();
+        this.jobService = jobService;
+    }
+
+    /**
+     * Start importing product details from a file on the task executor, unless an import is already running on this
+     * instance or another one.
+     *
+     * @param format the format of the file.
+     * @param file the file, deleted once imported, or right away if the import is not started.
+     * @return {@code true} if the import was started, {@code false} if an import is already running.
+     */
+    public boolean startImport(ExportFormat format, Path file) {
+        if (!importRunning.compareAndSet(false, true)) {
+            delete(file);
+            return false;
+        }
+        CatalogImportDTO previousImport = lastImport;
+        CatalogImportDTO catalogImport = CatalogImportDTO.builder().running(true).startedAt(Instant.now()).build();
+        lastImport = catalogImport;
+        boolean started = false;
+        try {
+            started = jobService.start(IMPORT_JOB, taskExecutor, () -> importFile(catalogImport, format, file));
+        } finally {
+            if (!started) {
+                lastImport = previousImport;
+                importRunning.set(false);
+                delete(file);
+            }
+        }
+        return started;
+    }
+
+    /**
+     * Get the progress of the running import, or the outcome of the last one.
+     *
+     * @return the import, empty if none ran since the start of this instance.
+     */
+    public Optional<CatalogImportDTO> getLastImport() {
+        return Optional.ofNullable(lastImport);
+    }
+
+    private int importFile(CatalogImportDTO catalogImport, ExportFormat format, Path file) {
+        LOG.info("Importing product details from {}", file);
+        try (InputStream in = Files.newInputStream(file)) {
+            importProductDetails(catalogImport, format, in);
+            LOG.info(
+                "Imported product details: {} created, {} updated, {} failed",
+                catalogImport.getCreatedRows(),
+                catalogImport.getUpdatedRows(),
+                catalogImport.getFailedRows()
+            );
+            return (int) Math.min(catalogImport.getCreatedRows() + catalogImport.getUpdatedRows(), Integer.MAX_VALUE);
+        } catch (IOException e) {
+            LOG.warn("Could not import product details after {} rows", catalogImport.getReadRows());
+            catalogImport.setError(e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not import product details after {} rows", catalogImport.getReadRows());
+            catalogImport.setError(e.getMessage());
+            throw e;
+        } finally {
+            catalogImport.setFinishedAt(Instant.now());
+            catalogImport.setRunning(false);
+            importRunning.set(false);
+            delete(file);
+        }
+    }
+
+    void importProductDetails(CatalogImportDTO catalogImport, ExportFormat format, InputStream in) throws IOException {
+        Dictionary dictionary = new Dictionary();
+        try (ImportReader reader = ImportReader.of(format, in, objectMapper)) {
+            List<ImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+            while (true) {
+                Map<String, String> values;
+                try {
+                    values = reader.next();
+                } catch (ImportReader.MalformedRowException e) {
+                    catalogImport.setReadRows(catalogImport.getReadRows() + 1);
+                    fail(catalogImport, 1, "Line " + reader.line() + ": " + e.getMessage());
+                    continue;
+                }
+                if (values == null) {
+                    break;
+                }
+                catalogImport.setReadRows(catalogImport.getReadRows() + 1);
+                try {
+                    chunk.add(ImportRow.of(reader.line(), values));
+                } catch (IllegalArgumentException e) {
+                    fail(catalogImport, 1, "Line " + reader.line() + ": " + e.getMessage());
+                }
+                if (chunk.size() == properties.getChunkSize()) {
+                    writeChunk(catalogImport, chunk, dictionary);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(catalogImport, chunk, dictionary);
+            }
+        } finally {
+            if (catalogImport.getCreatedRows() + catalogImport.getUpdatedRows() > 0) {
+                eventPublisher.publishEvent(new CatalogChangedEvent(dictionary.createdProducts ? "Product" : "ProductDetails"));
+            }
+        }
+    }
+
+    private void writeChunk(CatalogImportDTO catalogImport, List<ImportRow> chunk, Dictionary dictionary) {
+        int[] written;
+        try {
+            written = transactionTemplate.execute(status -> write(chunk, dictionary));
+        } catch (RuntimeException e) {
+            dictionary.rollback();
+            long first = chunk.get(0).line();
+            long last = chunk.get(chunk.size() - 1).line();
+            LOG.warn("Could not import product details from lines {} to {}", first, last, e);
+            fail(catalogImport, chunk.size(), "Lines " + first + " to " + last + ": " + e.getMessage());
+            return;
+        }
+        dictionary.commit();
+        catalogImport.setCreatedRows(catalogImport.getCreatedRows() + written[0]);
+        catalogImport.setUpdatedRows(catalogImport.getUpdatedRows() + written[1]);
+    }
+
+    /**
+     * Create or update the product details of a chunk of rows, in the current transaction.
+     *
+     * @return the numbers of product details created and updated.
+     */
+    private int[] write(List<ImportRow> chunk, Dictionary dictionary) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(properties.getChunkSize());
+        Map<String, Product> products = new HashMap<>();
+        for (ImportRow row : chunk) {
+            products.computeIfAbsent(row.product(), name -> dictionary.product(name, row.category()));
+        }
+        Set<Long> productIds = new HashSet<>();
+        products.values().forEach(product -> productIds.add(product.getId()));
+        Set<String> names = new HashSet<>();
+        chunk.forEach(row -> names.add(row.name()));
+        Map<ProductDetailsKey, ProductDetails> existing = new HashMap<>();
+        for (ProductDetails productDetails : productDetailsRepository.findAllByProductIdInAndNameIn(productIds, names)) {
+            existing.putIfAbsent(new ProductDetailsKey(productDetails.getProduct().getId(), productDetails.getName()), productDetails);
+        }
+
+        int[] written = new int[2];
+        for (ImportRow row : chunk) {
+            Product product = products.get(row.product());
+            ProductDetailsKey key = new ProductDetailsKey(product.getId(), row.name());
+            ProductDetails productDetails = existing.get(key);
+            boolean created = productDetails == null;
+            if (created) {
+                productDetails = new ProductDetails().name(row.name()).product(product);
+            }
+            productDetails.setPrice(row.price());
+            productDetails.setThumbnail(row.thumbnail());
+            for (Attribute<?> attribute : ATTRIBUTES) {
+                attribute.set(productDetails, row.attributes().get(attribute.column()), dictionary);
+            }
+            if (created) {
+                entityManager.persist(productDetails);
+                existing.put(key, productDetails);
+                written[0]++;
+            } else {
+                written[1]++;
+            }
+        }
+        return written;
+    }
+
+    private void fail(CatalogImportDTO catalogImport, int rows, String error) {
+        catalogImport.setFailedRows(catalogImport.getFailedRows() + rows);
+        if (catalogImport.getErrors().size() < properties.getMaxErrors()) {
+            catalogImport.getErrors().add(error);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Could not delete the imported file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * An attribute of the product details, named by a column of the imported rows.
+     */
+    record Attribute<T>(String column, Class<T> type, Function<String, T> create, BiConsumer<ProductDetails, T> setter) {
+        void set(ProductDetails productDetails, String name, Dictionary dictionary) {
+            setter.accept(productDetails, name != null ? dictionary.getOrCreate(type, name, create) : null);
+        }
+    }
+
+    private record ProductDetailsKey(Long productId, String name) {}
+
+    /**
+     * A valid imported row.
+     */
+    record ImportRow(
+        long line,
+        String name,
+        BigDecimal price,
+        String thumbnail,
+        String product,
+        String category,
+        Map<String, String> attributes
+    ) {
+        static ImportRow of(long line, Map<String, String> values) {
+            BigDecimal price;
+            try {
+                price = new BigDecimal(required(values, "price"));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("the price is not a number");
+            }
+            if (price.signum() < 0) {
+                throw new IllegalArgumentException("the price is negative");
+            }
+            Map<String, String> attributes = new HashMap<>();
+            for (Attribute<?> attribute : ATTRIBUTES) {
+                attributes.put(attribute.column(), optional(values, attribute.column()));
+            }
+            return new ImportRow(
+                line,
+                required(values, "name"),
+                price,
+                required(values, "thumbnail"),
+                required(values, "product"),
+                optional(values, "category"),
+                attributes
+            );
+        }
+
+        private static String required(Map<String, String> values, String column) {
+            String value = optional(values, column);
+            if (value == null) {
+                throw new IllegalArgumentException("the " + column + " is required");
+            }
+            return value;
+        }
+
+        private static String optional(Map<String, String> values, String column) {
+            String value = values.get(column);
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            value = value.trim();
+            if (value.length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("the " + column + " is longer than " + MAX_NAME_LENGTH + " characters");
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Ids of the products, categories and attributes by name, loaded once per type and import.
+     * <p>
+     * The entities created by a chunk are only added to the dictionary once the chunk is committed.
+     */
+    private final class Dictionary {
+
+        private final Map<Class<?>, Map<String, Long>> ids = new HashMap<>();
+
+        private final Map<Class<?>, Map<String, Long>> created = new HashMap<>();
+
+        private boolean createdProducts;
+
+        /**
+         * Get a product by name, or create it in the given category; the category of an existing product is not changed.
+         */
+        Product product(String name, String category) {
+            return getOrCreate(Product.class, name, productName -> {
+                Product product = new Product().name(productName);
+                if (category != null) {
+                    product.setCategory(getOrCreate(Category.class, category, categoryName -> new Category().name(categoryName)));
+                }
+                return product;
+            });
+        }
+
+        <T> T getOrCreate(Class<T> type, String name, Function<String, T> create) {
+            Long id = ids.computeIfAbsent(type, this::load).get(name);
+            if (id == null) {
+                id = created.computeIfAbsent(type, t -> new HashMap<>()).get(name);
+            }
+            if (id != null) {
+                return entityManager.getReference(type, id);
+            }
+            T entity = create.apply(name);
+            entityManager.persist(entity);
+            created.get(type).put(name, (Long) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity));
+            return entity;
+        }
+
+        void commit() {
+            created.forEach((type, createdIds) -> ids.get(type).putAll(createdIds));
+            createdProducts |= !created.getOrDefault(Product.class, Map.of()).isEmpty();
+            created.clear();
+        }
+
+        void rollback() {
+            created.clear();
+        }
+
+        private Map<String, Long> load(Class<?> type) {
+            Map<String, Long> byName = new HashMap<>();
+            String query = "select min(entity.id), entity.name from " + type.getSimpleName() + " entity group by entity.name";
+            entityManager.createQuery(query, Object[].class).getResultStream().forEach(row -> byName.put((String) row[1], (Long) row[0]));
+            LOG.debug("Loaded {} {} names", byName.size(), type.getSimpleName());
+            return byName;
+        }
+    }
+}
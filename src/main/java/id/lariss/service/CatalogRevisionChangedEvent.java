@@ -0,0 +1,11 @@
+package id.lariss.service;
+
+/**
+ * Published by the {@link CatalogVersionService} whenever it reads a new catalog revision from the database, whether
+ * the catalog was written by this instance or another one.
+ * <p>
+ * The in-memory read models listen to it to follow the catalog writes of the other instances.
+ *
+ * @param revision the revision read.
+ */
+public record CatalogRevisionChangedEvent(long revision) {}
@@ -0,0 +1,174 @@
+package id.lariss.service;
+
+import id.lariss.domain.Category;
+import id.lariss.domain.Product;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, read-optimized copy of the categories and products of the catalog.
+ * <p>
+ * Categories and products are stored in parallel arrays ordered by id, with case-folded name
+ * indexes and a category to products adjacency array, so lookups never touch the database.
+ * A snapshot is never modified once built: catalog writes produce a new snapshot with a higher version.
+ */
+public final class CatalogSnapshot {
+
+    public static final CatalogSnapshot EMPTY = new CatalogSnapshot(0L, List.of(), List.of());
+
+    private static final int[] NO_PRODUCTS = new int[0];
+
+    private final long version;
+
+    private final long[] categoryIds;
+
+    private final String[] categoryNames;
+
+    private final Map<Long, Integer> categoryIndexById;
+
+    private final Map<String, Integer> categoryIndexByName;
+
+    private final long[] productIds;
+
+    private final String[] productNames;
+
+    private final int[][] productsByCategory;
+
+    private CatalogSnapshot(long version, List<Category> categories, List<Product> products) {
+        this.version = version;
+
+        List<Category> sortedCategories = new ArrayList<>(categories);
+        sortedCategories.sort(Comparator.comparing(Category::getId));
+        int categoryCount = sortedCategories.size();
+        this.categoryIds = new long[categoryCount];
+        this.categoryNames = new String[categoryCount];
+        Map<Long, Integer> indexById = new HashMap<>(capacity(categoryCount));
+        Map<String, Integer> indexByName = new HashMap<>(capacity(categoryCount));
+        for (int i = 0; i < categoryCount; i++) {
+            Category category = sortedCategories.get(i);
+            categoryIds[i] = category.getId();
+            categoryNames[i] = category.getName();
+            indexById.put(category.getId(), i);
+            if (category.getName() != null) {
+                // keep the first category for a given name, as the former linear scan did
+                indexByName.putIfAbsent(foldCase(category.getName()), i);
+            }
+        }
+        this.categoryIndexById = Collections.unmodifiableMap(indexById);
+        this.categoryIndexByName = Collections.unmodifiableMap(indexByName);
+
+        List<Product> sortedProducts = new ArrayList<>(products);
+        sortedProducts.sort(Comparator.comparing(Product::getId));
+        int productCount = sortedProducts.size();
+        this.productIds = new long[productCount];
+        this.productNames = new String[productCount];
+        int[] productCategory = new int[productCount];
+        int[] productsPerCategory = new int[categoryCount];
+        for (int i = 0; i < productCount; i++) {
+            Product product = sortedProducts.get(i);
+            productIds[i] = product.getId();
+            productNames[i] = product.getName();
+            Integer categoryIndex = product.getCategory() == null ? null : indexById.get(product.getCategory().getId());
+            productCategory[i] = categoryIndex == null ? -1 : categoryIndex;
+            if (categoryIndex != null) {
+                productsPerCategory[categoryIndex]++;
+            }
+        }
+        this.productsByCategory = new int[categoryCount][];
+        for (int c = 0; c < categoryCount; c++) {
+            productsByCategory[c] = productsPerCategory[c] == 0 ? NO_PRODUCTS : new int[productsPerCategory[c]];
+        }
+        int[] fill = new int[categoryCount];
+        for (int i = 0; i < productCount; i++) {
+            int c = productCategory[i];
+            if (c >= 0) {
+                productsByCategory[c][fill[c]++] = i;
+            }
+        }
+    }
+
+    /**
+     * Build a snapshot from the given entities. Products must have their category id accessible.
+     *
+     * @param version the version of the snapshot.
+     * @param categories all the categories.
+     * @param products all the products.
+     * @return the snapshot.
+     */
+    public static CatalogSnapshot of(long version, List<Category> categories, List<Product> products) {
+        return new CatalogSnapshot(version, categories, products);
+    }
+
+    public static String foldCase(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getCategoryCount() {
+        return categoryIds.length;
+    }
+
+    public long getCategoryId(int categoryIndex) {
+        return categoryIds[categoryIndex];
+    }
+
+    public String getCategoryName(int categoryIndex) {
+        return categoryNames[categoryIndex];
+    }
+
+    /**
+     * Get the index of the category with the given id.
+     *
+     * @param categoryId the id of the category.
+     * @return the index of the category, or {@code -1} if there is none.
+     */
+    public int findCategoryIndexById(Long categoryId) {
+        Integer index = categoryId == null ? null : categoryIndexById.get(categoryId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Get the index of the category with the given name, ignoring case.
+     *
+     * @param name the name of the category.
+     * @return the index of the category, or {@code -1} if there is none.
+     */
+    public int findCategoryIndexByName(String name) {
+        Integer index = name == null ? null : categoryIndexByName.get(foldCase(name));
+        return index == null ? -1 : index;
+    }
+
+    public int getProductCount() {
+        return productIds.length;
+    }
+
+    public long getProductId(int productIndex) {
+        return productIds[productIndex];
+    }
+
+    public String getProductName(int productIndex) {
+        return productNames[productIndex];
+    }
+
+    /**
+     * Get the indexes of the products of a category. The returned array must not be modified.
+     *
+     * @param categoryIndex the index of the category.
+     * @return the product indexes, ordered by product id.
+     */
+    public int[] getProductIndexes(int categoryIndex) {
+        return categoryIndex < 0 ? NO_PRODUCTS : productsByCategory[categoryIndex];
+    }
+}
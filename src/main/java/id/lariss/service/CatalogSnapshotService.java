@@ -0,0 +1,138 @@
+package id.lariss.service;
+
+import id.lariss.domain.Category;
+import id.lariss.domain.Product;
+import id.lariss.repository.CatalogRevisionRepository;
+import id.lariss.repository.CategoryRepository;
+import id.lariss.repository.ProductRepository;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service holding the current {@link CatalogSnapshot}.
+ * <p>
+ * Reads are lock-free: they only dereference the current snapshot. The snapshot is built on first use, and rebuilt
+ * and swapped atomically after every committed {@link CatalogChangedEvent} on a category or a product, and after every
+ * {@link CatalogRevisionChangedEvent} newer than the snapshot, for the writes of the other instances.
+ * <p>
+ * The version of a snapshot is the catalog revision it was read at, in the same repeatable read transaction as the
+ * categories and products, so two instances serve the same menu under the same version.
+ */
+@Service
+public class CatalogSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+    /**
+     * The entities the snapshot is built from: changes to the other catalog entities do not affect it.
+     */
+    private static final Set<String> SNAPSHOT_ENTITIES = Set.of("Category", "Product");
+
+    private final CategoryRepository categoryRepository;
+
+    private final ProductRepository productRepository;
+
+    private final CatalogRevisionRepository catalogRevisionRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile CatalogSnapshot snapshot;
+
+    public CatalogSnapshotService(
+        CategoryRepository categoryRepository,
+        ProductRepository productRepository,
+        CatalogRevisionRepository catalogRevisionRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.productRepository = productRepository;
+        this.catalogRevisionRepository = catalogRevisionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // the revision and the rows it stamps are read from the same database snapshot
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        // refreshes run after the writer's commit, so they must not join its (completed) transaction
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Get the current catalog snapshot, building it if needed.
+     *
+     * @return the current snapshot.
+     */
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            current = initialize();
+        }
+        return current;
+    }
+
+    private synchronized CatalogSnapshot initialize() {
+        if (snapshot == null) {
+            refresh();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in.
+     * <p>
+     * Rebuilds are serialized, so the last rebuild to complete always reads the most recently committed catalog.
+     */
+    public synchronized void refresh() {
+        CatalogSnapshot rebuilt = readOnlyTransaction.execute(status -> {
+            long revision = catalogRevisionRepository.findRevision().orElse(0L);
+            List<Category> categories = categoryRepository.findAll();
+            List<Product> products = productRepository.findAll(Sort.by("id"));
+            return CatalogSnapshot.of(revision, categories, products);
+        });
+        snapshot = rebuilt;
+        LOG.debug(
+            "Catalog snapshot {} built: {} categories, {} products",
+            rebuilt.getVersion(),
+            rebuilt.getCategoryCount(),
+            rebuilt.getProductCount()
+        );
+    }
+
+    @Order(CatalogVersionService.READ_MODEL_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (!SNAPSHOT_ENTITIES.contains(event.entityName())) {
+            return;
+        }
+        LOG.debug("Catalog changed ({}), refreshing snapshot", event.entityName());
+        refreshOrDrop(event.entityName() + " change");
+    }
+
+    @Order(CatalogVersionService.READ_MODEL_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogRevisionChanged(CatalogRevisionChangedEvent event) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || current.getVersion() >= event.revision()) {
+            return;
+        }
+        LOG.debug("Catalog revision {} after snapshot {}, refreshing snapshot", event.revision(), current.getVersion());
+        refreshOrDrop("revision " + event.revision());
+    }
+
+    private void refreshOrDrop(String change) {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // the write is already committed: drop the stale snapshot so the next read rebuilds it
+            LOG.warn("Could not refresh catalog snapshot after {}: {}", change, e.getMessage());
+            snapshot = null;
+        }
+    }
+}
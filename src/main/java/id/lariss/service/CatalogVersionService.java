@@ -0,0 +1,179 @@
+package id.lariss.service;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.repository.CatalogRevisionRepository;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Service holding the version stamps of the catalog, which change after every committed catalog write.
+ * <p>
+ * The catalog is stamped with the {@code catalog_revision} row, bumped by database triggers in every transaction writing
+ * the catalog, so the stamp is the same on all the instances and follows any write. The revision is read again at most
+ * once per {@code application.catalog.revision-ttl}, and after every catalog write of this instance, so the conditional
+ * GETs do not cost a query each. It is also polled at that interval, and every new revision is published as a
+ * {@link CatalogRevisionChangedEvent}, so the in-memory read models rebuild after the writes of the other instances.
+ * <p>
+ * The {@link CatalogSnapshot} records the revision it was read at, which stamps the menu. The product search index is
+ * updated document by document, so it is stamped with a version of this instance instead, bumped by the last listener
+ * of the catalog events, after the read models (annotated with {@link #READ_MODEL_LISTENER_ORDER}) have been
+ * refreshed, so a client can never get a new stamp along with a stale body. This version starts from a random epoch,
+ * so that the stamps of two instances, or of two runs of an instance, never match.
+ */
+@Service
+public class CatalogVersionService {
+
+    /**
+     * Order of the listeners refreshing the in-memory catalog read models, which run before the version bump.
+     */
+    public static final int READ_MODEL_LISTENER_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogVersionService.class);
+
+    /**
+     * A version stamp of the product search index of this instance.
+     *
+     * @param epoch the random epoch of this instance.
+     * @param version the number of catalog writes and revisions seen by this instance since startup.
+     */
+    public record CatalogVersion(long epoch, long version) {
+        /**
+         * Get the entity tag of this version, without quotes.
+         *
+         * @return the entity tag.
+         */
+        public String getETag() {
+            return Long.toUnsignedString(epoch, Character.MAX_RADIX) + "-" + version;
+        }
+    }
+
+    /**
+     * A catalog revision read from the database.
+     *
+     * @param revision the revision.
+     * @param readAt the {@link System#nanoTime() time} of the read.
+     */
+    private record Revision(long revision, long readAt) {}
+
+    private final CatalogRevisionRepository catalogRevisionRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final long revisionTtl;
+
+    private final ReentrantLock revisionLock = new ReentrantLock();
+
+    private volatile CatalogVersion current;
+
+    private volatile Revision revision;
+
+    private long publishedRevision;
+
+    public CatalogVersionService(
+        CatalogRevisionRepository catalogRevisionRepository,
+        ApplicationEventPublisher applicationEventPublisher,
+        ApplicationProperties applicationProperties
+    ) {
+        this.catalogRevisionRepository = catalogRevisionRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.revisionTtl = applicationProperties.getCatalog().getRevisionTtl().toNanos();
+        this.current = new CatalogVersion(ThreadLocalRandom.current().nextLong(), 0L);
+    }
+
+    /**
+     * Get the version of the product search index of this instance.
+     *
+     * @return the version.
+     */
+    public CatalogVersion getCurrentVersion() {
+        return current;
+    }
+
+    /**
+     * Get the entity tag of the catalog stored in the database, without quotes.
+     *
+     * @return the entity tag of the last committed catalog revision.
+     */
+    public String getRevisionETag() {
+        return "r" + getRevision();
+    }
+
+    /**
+     * Get the last committed catalog revision, as read at most {@code application.catalog.revision-ttl} ago.
+     *
+     * @return the revision.
+     */
+    public long getRevision() {
+        Revision read = revision;
+        if (read == null || System.nanoTime() - read.readAt() >= revisionTtl) {
+            read = readRevision(read);
+        }
+        return read.revision();
+    }
+
+    private Revision readRevision(Revision stale) {
+        revisionLock.lock();
+        try {
+            Revision read = revision;
+            if (read == null || read == stale) {
+                read = new Revision(catalogRevisionRepository.findRevision().orElse(0L), System.nanoTime());
+                revision = read;
+            }
+            return read;
+        } finally {
+            revisionLock.unlock();
+        }
+    }
+
+    /**
+     * Publish the last committed catalog revision if it changed since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${application.catalog.revision-ttl:PT1S}")
+    public void pollRevision() {
+        long current = getRevision();
+        if (current == publishedRevision) {
+            return;
+        }
+        publishedRevision = current;
+        LOG.debug("Catalog revision {}", current);
+        applicationEventPublisher.publishEvent(new CatalogRevisionChangedEvent(current));
+    }
+
+    @Order
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        bump(event.entityName());
+    }
+
+    @Order
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductDetailsChanged(ProductDetailsChangedEvent event) {
+        bump("ProductDetails");
+    }
+
+    @Order
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogRevisionChanged(CatalogRevisionChangedEvent event) {
+        bump("CatalogRevision");
+    }
+
+    private synchronized void bump(String entityName) {
+        revisionLock.lock();
+        try {
+            revision = null;
+        } finally {
+            revisionLock.unlock();
+        }
+        CatalogVersion previous = current;
+        current = new CatalogVersion(previous.epoch(), previous.version() + 1);
+        LOG.debug("Catalog changed ({}), version {}", entityName, current.version());
+    }
+}
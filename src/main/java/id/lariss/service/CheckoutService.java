@@ -0,0 +1,19 @@
+package id.lariss.service;
+
+import id.lariss.service.dto.CartDTO;
+import id.lariss.service.dto.CheckoutDTO;
+
+/**
+ * Service Interface for checking out a cart into an {@link id.lariss.domain.Order}.
+ */
+public interface CheckoutService {
+    /**
+     * Create the customer, the order and its items of a cart in one transaction, pricing them from the product details.
+     *
+     * @param cart the cart to check out.
+     * @return the created order and its items.
+     * @throws InvalidCartException if a product of the cart does not exist, or its lines sum to more than
+     * {@link id.lariss.service.dto.CartItemDTO#MAX_QUANTITY}.
+     */
+    CheckoutDTO checkout(CartDTO cart);
+}
@@ -0,0 +1,176 @@
+package id.lariss.service;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.ContactKeys;
+import id.lariss.domain.Customer;
+import id.lariss.repository.CustomerRepository;
+import id.lariss.repository.OrderRepository;
+import id.lariss.service.dto.CustomerMergeDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service collapsing the duplicate customers written before the customers had contact keys, when every checkout
+ * inserted a new customer.
+ * <p>
+ * The customers without keys are walked in the order of their ids, by chunks of
+ * {@code application.customer-merge.chunk-size}, each chunk in its own transaction. A customer whose phone or email key
+ * belongs to another customer is merged into it: its orders are moved to the other customer, which takes its details,
+ * and it is deleted. Otherwise, its keys are set, and the later duplicates are merged into it.
+ * <p>
+ * The merge is a job of the {@link JobService}, run under its lock, so that it never runs on two instances at a time.
+ */
+@Service
+public class CustomerMergeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CustomerMergeService.class);
+
+    public static final String MERGE_JOB = "mergeCustomers";
+
+    private final CustomerRepository customerRepository;
+
+    private final OrderRepository orderRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor taskExecutor;
+
+    private final ApplicationProperties.CustomerMerge properties;
+
+    private final JobService jobService;
+
+    private final AtomicBoolean mergeRunning = new AtomicBoolean();
+
+    private volatile CustomerMergeDTO lastMerge;
+
+    public CustomerMergeService(
+        CustomerRepository customerRepository,
+        OrderRepository orderRepository,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties,
+        JobService jobService
+    ) {
+        this.customerRepository = customerRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.properties = applicationProperties.getCustomerMerge();
+        this.jobService = jobService;
+    }
+
+    /**
+     * Start merging the duplicate customers, in the background, unless it is already running on this instance or
+     * another one.
+     * <p>
+     * A chunk fails if a customer with the same key is inserted by a checkout while it runs; the merge can then be
+     * started again, and continues with the customers still without keys.
+     *
+     * @return whether the merge was started.
+     */
+    public boolean startMerge() {
+        if (!mergeRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        CustomerMergeDTO previousMerge = lastMerge;
+        CustomerMergeDTO merge = CustomerMergeDTO.builder().running(true).startedAt(Instant.now()).build();
+        lastMerge = merge;
+        boolean started = false;
+        try {
+            started = jobService.start(MERGE_JOB, taskExecutor, () -> merge(merge));
+        } finally {
+            if (!started) {
+                lastMerge = previousMerge;
+                mergeRunning.set(false);
+            }
+        }
+        return started;
+    }
+
+    /**
+     * Get the progress of the running merge, or the outcome of the last one.
+     *
+     * @return the merge, empty if none ran since the start of this instance.
+     */
+    public Optional<CustomerMergeDTO> getLastMerge() {
+        return Optional.ofNullable(lastMerge);
+    }
+
+    int merge(CustomerMergeDTO merge) {
+        LOG.info("Merging the duplicate customers");
+        try {
+            long after = 0;
+            while (true) {
+                long from = after;
+                List<Customer> chunk = transactionTemplate.execute(status -> {
+                    List<Customer> customers = customerRepository.findUnkeyedAfter(from, PageRequest.of(0, properties.getChunkSize()));
+                    customers.forEach(customer -> {
+                        if (mergeOrKey(customer)) {
+                            merge.setMergedCustomers(merge.getMergedCustomers() + 1);
+                        }
+                    });
+                    return customers;
+                });
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                after = chunk.get(chunk.size() - 1).getId();
+                merge.setProcessedCustomers(merge.getProcessedCustomers() + chunk.size());
+            }
+            LOG.info("Merged {} of {} customers without keys", merge.getMergedCustomers(), merge.getProcessedCustomers());
+            return (int) Math.min(merge.getProcessedCustomers(), Integer.MAX_VALUE);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not merge the duplicate customers after {} customers", merge.getProcessedCustomers());
+            merge.setError(e.getMessage());
+            throw e;
+        } finally {
+            merge.setFinishedAt(Instant.now());
+            merge.setRunning(false);
+            mergeRunning.set(false);
+        }
+    }
+
+    /**
+     * Merge a customer without keys into the customer of its phone or email key, or set its keys if there is none.
+     *
+     * @return whether the customer was merged.
+     */
+    boolean mergeOrKey(Customer customer) {
+        String phoneKey = ContactKeys.phoneKey(customer.getPhoneNumber());
+        String emailKey = ContactKeys.emailKey(customer.getEmailAddress());
+        // a customer keyed for one contact only finds itself by that key
+        Optional<Customer> byPhone = Optional.ofNullable(phoneKey)
+            .flatMap(customerRepository::findOneByPhoneKey)
+            .filter(other -> !other.getId().equals(customer.getId()));
+        Optional<Customer> byEmail = Optional.ofNullable(emailKey)
+            .flatMap(customerRepository::findOneByEmailKey)
+            .filter(other -> !other.getId().equals(customer.getId()));
+        Optional<Customer> survivor = byPhone.or(() -> byEmail);
+        if (survivor.isEmpty()) {
+            // the setters set the keys
+            customer.phoneNumber(customer.getPhoneNumber()).emailAddress(customer.getEmailAddress());
+            return false;
+        }
+        Customer target = survivor.get();
+        LOG.debug("Merging customer {} into customer {}", customer.getId(), target.getId());
+        orderRepository.reassignCustomer(customer.getId(), target.getId());
+        customerRepository.delete(customer);
+        // a target inserted by a checkout since the keys exist is the newer one: it keeps its details, and only takes
+        // the contacts it has none of
+        Customer details = customer.getId() > target.getId()
+            ? customer
+            : new Customer().phoneNumber(customer.getPhoneNumber()).emailAddress(customer.getEmailAddress());
+        target.takeDetailsOf(details, byPhone.isEmpty(), byEmail.isEmpty());
+        return true;
+    }
+}
@@ -1,10 +1,12 @@
 package id.lariss.service;
 
 import id.lariss.service.dto.CustomerDTO;
-import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 /**
  * Service Interface for managing {@link id.lariss.domain.Customer}.
@@ -18,6 +20,15 @@ public interface CustomerService {
      */
     CustomerDTO save(CustomerDTO customerDTO);
 
+    /**
+     * Get the customer of the phone number or email address of a customer, taking its other details, or save it as a
+     * new customer if there is none.
+     *
+     * @param customerDTO the customer, as given in a chat message.
+     * @return the persisted entity.
+     */
+    CustomerDTO upsertByContact(CustomerDTO customerDTO);
+
     /**
      * Updates a customer.
      *
@@ -43,11 +54,29 @@ public interface CustomerService {
     Page<CustomerDTO> findAll(Pageable pageable);
 
     /**
-     * Get all the CustomerDTO where Order is {@code null}.
+     * Get a window of the customers, using keyset pagination.
+     *
+     * @param position the keyset position to scroll from.
+     * @param sort the sort of the window, completed by the id to make it stable.
+     * @param limit the maximum number of entities in the window.
+     * @return the window of entities.
+     */
+    Window<CustomerDTO> findAll(KeysetScrollPosition position, Sort sort, int limit);
+
+    /**
+     * Get a page of the customers where Order is {@code null}.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    Page<CustomerDTO> findAllWhereOrderIsNull(Pageable pageable);
+
+    /**
+     * Count the customers where Order is {@code null}.
      *
-     * @return the {@link List} of entities.
+     * @return the number of customers without an order.
      */
-    List<CustomerDTO> findAllWhereOrderIsNull();
+    long countWhereOrderIsNull();
 
     /**
      * Get the "id" customer.
@@ -0,0 +1,34 @@
+package id.lariss.service;
+
+/**
+ * The formats of the exports written by the {@link ExportService}, and of the imports read by the
+ * {@link CatalogImportService}.
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values, with a header row, as specified by RFC 4180.
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Newline-delimited JSON, one object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,288 @@
+package id.lariss.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.lariss.domain.CaseSize;
+import id.lariss.domain.Category;
+import id.lariss.domain.Color;
+import id.lariss.domain.Connectivity;
+import id.lariss.domain.Customer;
+import id.lariss.domain.Description;
+import id.lariss.domain.Material;
+import id.lariss.domain.Memory;
+import id.lariss.domain.Processor;
+import id.lariss.domain.Product;
+import id.lariss.domain.ProductDetails;
+import id.lariss.domain.Screen;
+import id.lariss.domain.Storage;
+import id.lariss.domain.StrapColor;
+import id.lariss.domain.StrapSize;
+import id.lariss.repository.CustomerRepository;
+import id.lariss.repository.OrderRepository;
+import id.lariss.repository.ProductDetailsRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting the orders, customers and product details as CSV or NDJSON.
+ * <p>
+ * Each export reads its rows from a database cursor, in one read-only transaction, and writes each row to the output
+ * stream as soon as it is read. The entities are detached once written, so neither the persistence context nor the
+ * writer grow with the number of rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportService.class);
+
+    static final List<String> ORDER_COLUMNS = List.of(
+        "id",
+        "status",
+        "totalPrice",
+        "orderDate",
+        "customerId",
+        "itemId",
+        "quantity",
+        "itemTotalPrice",
+        "productDetailsId",
+        "productDetailsName"
+    );
+
+    static final List<String> CUSTOMER_COLUMNS = List.of(
+        "id",
+        "firstName",
+        "lastName",
+        "phoneNumber",
+        "emailAddress",
+        "deliveryAddress"
+    );
+
+    static final List<String> PRODUCT_DETAILS_COLUMNS = List.of(
+        "id",
+        "name",
+        "price",
+        "thumbnail",
+        "product",
+        "category",
+        "description",
+        "color",
+        "processor",
+        "memory",
+        "storage",
+        "screen",
+        "connectivity",
+        "material",
+        "caseSize",
+        "strapColor",
+        "strapSize"
+    );
+
+    private final OrderRepository orderRepository;
+
+    private final CustomerRepository customerRepository;
+
+    private final ProductDetailsRepository productDetailsRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    public ExportService(
+        OrderRepository orderRepository,
+        CustomerRepository customerRepository,
+        ProductDetailsRepository productDetailsRepository,
+        EntityManager entityManager,
+        ObjectMapper objectMapper
+    ) {
+        this.orderRepository = orderRepository;
+        this.customerRepository = customerRepository;
+        this.productDetailsRepository = productDetailsRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Export the orders with their items, in the order of their ids.
+     * <p>
+     * The CSV export has one line per item, repeating the order columns, and one line without item columns for an
+     * order without items. The NDJSON export has one object per order, with its items in an {@code items} array.
+     *
+     * @param format the format of the export.
+     * @param out the output stream to write the export to, left open.
+     * @throws IOException if the output stream fails.
+     */
+    public void exportOrders(ExportFormat format, OutputStream out) throws IOException {
+        LOG.debug("Request to export the orders as {}", format);
+        ExportWriter writer = ExportWriter.of(format, ORDER_COLUMNS, out, objectMapper);
+        long orders = 0;
+        try (Stream<OrderRepository.OrderExportView> rows = orderRepository.streamAllForExport()) {
+            Iterator<OrderRepository.OrderExportView> iterator = rows.iterator();
+            Long orderId = null;
+            Map<String, Object> order = null;
+            List<Map<String, Object>> items = null;
+            while (iterator.hasNext()) {
+                OrderRepository.OrderExportView row = iterator.next();
+                if (!row.getId().equals(orderId)) {
+                    if (order != null) {
+                        writer.write(order);
+                    }
+                    orderId = row.getId();
+                    orders++;
+                    if (format == ExportFormat.NDJSON) {
+                        order = orderRow(row);
+                        items = new ArrayList<>();
+                        order.put("items", items);
+                    }
+                }
+                if (format == ExportFormat.CSV) {
+                    writer.write(orderLine(row));
+                } else if (row.getItemId() != null) {
+                    items.add(itemRow(row));
+                }
+            }
+            if (order != null) {
+                writer.write(order);
+            }
+        }
+        writer.flush();
+        LOG.debug("Exported {} orders", orders);
+    }
+
+    /**
+     * Export the customers, in the order of their ids. Their orders are in the export of the orders, by customer id.
+     *
+     * @param format the format of the export.
+     * @param out the output stream to write the export to, left open.
+     * @throws IOException if the output stream fails.
+     */
+    public void exportCustomers(ExportFormat format, OutputStream out) throws IOException {
+        LOG.debug("Request to export the customers as {}", format);
+        exportCustomers(format, customerRepository.streamAll(), out);
+    }
+
+    /**
+     * Export the customers without an order, in the order of their ids.
+     *
+     * @param format the format of the export.
+     * @param out the output stream to write the export to, left open.
+     * @throws IOException if the output stream fails.
+     */
+    public void exportCustomersWhereOrderIsNull(ExportFormat format, OutputStream out) throws IOException {
+        LOG.debug("Request to export the customers where order is null as {}", format);
+        exportCustomers(format, customerRepository.streamAllWhereOrderIsNull(), out);
+    }
+
+    private void exportCustomers(ExportFormat format, Stream<Customer> customerStream, OutputStream out) throws IOException {
+        ExportWriter writer = ExportWriter.of(format, CUSTOMER_COLUMNS, out, objectMapper);
+        long customers = 0;
+        try (Stream<Customer> rows = customerStream) {
+            Iterator<Customer> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Customer customer = iterator.next();
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", customer.getId());
+                row.put("firstName", customer.getFirstName());
+                row.put("lastName", customer.getLastName());
+                row.put("phoneNumber", customer.getPhoneNumber());
+                row.put("emailAddress", customer.getEmailAddress());
+                row.put("deliveryAddress", customer.getDeliveryAddress());
+                writer.write(row);
+                entityManager.detach(customer);
+                customers++;
+            }
+        }
+        writer.flush();
+        LOG.debug("Exported {} customers", customers);
+    }
+
+    /**
+     * Export the product details, with the names of their product, category and attributes, in the order of their ids.
+     * <p>
+     * Only the product details are detached once written: their products, categories and attributes are shared by many
+     * product details, and are bounded by the size of the catalog.
+     *
+     * @param format the format of the export.
+     * @param out the output stream to write the export to, left open.
+     * @throws IOException if the output stream fails.
+     */
+    public void exportProductDetails(ExportFormat format, OutputStream out) throws IOException {
+        LOG.debug("Request to export the product details as {}", format);
+        ExportWriter writer = ExportWriter.of(format, PRODUCT_DETAILS_COLUMNS, out, objectMapper);
+        long productDetails = 0;
+        try (Stream<ProductDetails> rows = productDetailsRepository.streamAllWithToOneRelationships()) {
+            Iterator<ProductDetails> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ProductDetails details = iterator.next();
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", details.getId());
+                row.put("name", details.getName());
+                row.put("price", details.getPrice());
+                row.put("thumbnail", details.getThumbnail());
+                row.put("product", name(details.getProduct(), Product::getName));
+                row.put("category", details.getProduct() != null ? name(details.getProduct().getCategory(), Category::getName) : null);
+                row.put("description", name(details.getDescription(), Description::getName));
+                row.put("color", name(details.getColor(), Color::getName));
+                row.put("processor", name(details.getProcessor(), Processor::getName));
+                row.put("memory", name(details.getMemory(), Memory::getName));
+                row.put("storage", name(details.getStorage(), Storage::getName));
+                row.put("screen", name(details.getScreen(), Screen::getName));
+                row.put("connectivity", name(details.getConnectivity(), Connectivity::getName));
+                row.put("material", name(details.getMaterial(), Material::getName));
+                row.put("caseSize", name(details.getCaseSize(), CaseSize::getName));
+                row.put("strapColor", name(details.getStrapColor(), StrapColor::getName));
+                row.put("strapSize", name(details.getStrapSize(), StrapSize::getName));
+                writer.write(row);
+                entityManager.detach(details);
+                productDetails++;
+            }
+        }
+        writer.flush();
+        LOG.debug("Exported {} product details", productDetails);
+    }
+
+    private static Map<String, Object> orderRow(OrderRepository.OrderExportView row) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("id", row.getId());
+        order.put("status", row.getStatus());
+        order.put("totalPrice", row.getTotalPrice());
+        order.put("orderDate", row.getOrderDate());
+        order.put("customerId", row.getCustomerId());
+        return order;
+    }
+
+    private static Map<String, Object> itemRow(OrderRepository.OrderExportView row) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", row.getItemId());
+        item.put("quantity", row.getQuantity());
+        item.put("totalPrice", row.getItemTotalPrice());
+        item.put("productDetailsId", row.getProductDetailsId());
+        item.put("productDetailsName", row.getProductDetailsName());
+        return item;
+    }
+
+    private static Map<String, Object> orderLine(OrderRepository.OrderExportView row) {
+        Map<String, Object> line = orderRow(row);
+        line.put("itemId", row.getItemId());
+        line.put("quantity", row.getQuantity());
+        line.put("itemTotalPrice", row.getItemTotalPrice());
+        line.put("productDetailsId", row.getProductDetailsId());
+        line.put("productDetailsName", row.getProductDetailsName());
+        return line;
+    }
+
+    private static <T> String name(T entity, Function<T, String> name) {
+        return entity != null ? name.apply(entity) : null;
+    }
+}
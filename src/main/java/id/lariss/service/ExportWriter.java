@@ -0,0 +1,128 @@
+package id.lariss.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writer of the exported rows to an output stream, in an {@link ExportFormat}.
+ * <p>
+ * The rows are written as soon as they are given, through a fixed size buffer: the writer never holds more than one
+ * row. It does not close the output stream, which belongs to the caller.
+ */
+abstract class ExportWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    static ExportWriter of(ExportFormat format, List<String> columns, OutputStream out, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new Csv(columns, out);
+            case NDJSON -> new Ndjson(out, objectMapper);
+        };
+    }
+
+    /**
+     * Write a row.
+     *
+     * @param row the values of the row by column. The CSV rows only get the values of the columns, while the NDJSON
+     * rows get every value, including the nested ones.
+     * @throws IOException if the output stream fails.
+     */
+    abstract void write(Map<String, ?> row) throws IOException;
+
+    /**
+     * Write the buffered rows to the output stream, and flush it.
+     *
+     * @throws IOException if the output stream fails.
+     */
+    abstract void flush() throws IOException;
+
+    /**
+     * CSV writer, quoting the values as specified by RFC 4180.
+     */
+    static final class Csv extends ExportWriter {
+
+        private final List<String> columns;
+
+        private final Writer writer;
+
+        private boolean headerWritten;
+
+        private Csv(List<String> columns, OutputStream out) {
+            this.columns = columns;
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        @Override
+        void write(Map<String, ?> row) throws IOException {
+            writeHeader();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(cell(row.get(columns.get(i))));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void flush() throws IOException {
+            writeHeader();
+            writer.flush();
+        }
+
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                headerWritten = true;
+                writer.write(String.join(",", columns));
+                writer.write("\r\n");
+            }
+        }
+
+        static String cell(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    /**
+     * NDJSON writer, serializing each row with the application {@link ObjectMapper}.
+     */
+    static final class Ndjson extends ExportWriter {
+
+        private final OutputStream out;
+
+        private final ObjectWriter objectWriter;
+
+        private Ndjson(OutputStream out, ObjectMapper objectMapper) {
+            this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+            this.objectWriter = objectMapper.writer();
+        }
+
+        @Override
+        void write(Map<String, ?> row) throws IOException {
+            out.write(objectWriter.writeValueAsBytes(row));
+            out.write('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package id.lariss.service;
+
+/**
+ * This exception is thrown when an {@code Idempotency-Key} is sent again with a different request.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super("Idempotency key " + idempotencyKey + " was already used for a different request");
+    }
+}
@@ -0,0 +1,303 @@
+package id.lariss.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.IdempotencyRecord;
+import id.lariss.repository.IdempotencyRecordRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service executing requests sent with an {@code Idempotency-Key} at most once, and replaying their response to retries.
+ * <p>
+ * Responses are stored in the database, shared by all the instances, and in a bounded in-memory cache. Concurrent
+ * duplicates on one instance wait for the first execution and get its response; a duplicate arriving while another
+ * instance executes the request gets an {@link IdempotentRequestInProgressException}. Server errors, conflicts and
+ * rate limiting responses are not stored, so a retry executes the request again.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final String PURGE_JOB = "purgeExpiredIdempotencyRecords";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final Duration ttl;
+
+    private final Duration lockTimeout;
+
+    private final Cache<String, Execution> executed;
+
+    private final ConcurrentMap<String, CompletableFuture<Execution>> inFlight = new ConcurrentHashMap<>();
+
+    private final JobService jobService;
+
+    /**
+     * A response to replay.
+     *
+     * @param status the status code.
+     * @param headers the headers to replay, including the {@code Content-Type}.
+     * @param body the body bytes.
+     */
+    public record IdempotentResponse(int status, Map<String, List<String>> headers, byte[] body) {}
+
+    /**
+     * The outcome of a request.
+     *
+     * @param response the response of the request.
+     * @param replayed whether the response is the one of a previous execution.
+     */
+    public record Outcome(IdempotentResponse response, boolean replayed) {}
+
+    private record Execution(String requestHash, IdempotentResponse response) {}
+
+    public IdempotencyService(
+        IdempotencyRecordRepository idempotencyRecordRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        JobService jobService
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.jobService = jobService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // records must be visible to the other instances before, and regardless of, the request's own transactions
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ApplicationProperties.Idempotency properties = applicationProperties.getIdempotency();
+        this.ttl = properties.getTtl();
+        this.lockTimeout = properties.getLockTimeout();
+        this.executed = Caffeine.newBuilder().maximumSize(properties.getCacheSize()).expireAfterWrite(ttl).build();
+    }
+
+    /**
+     * Execute a request, unless it was already executed.
+     *
+     * @param scope the scope of the key, such as the caller and the endpoint.
+     * @param idempotencyKey the key sent by the client.
+     * @param requestHash the hash of the request, which must be the same for all the retries of a key.
+     * @param request the execution of the request.
+     * @return the response of the first execution of the request.
+     * @throws IdempotencyKeyReusedException if the key was used for a request with another hash.
+     * @throws IdempotentRequestInProgressException if the first execution does not complete in time.
+     * @throws Exception if the execution of the request fails.
+     */
+    public Outcome execute(String scope, String idempotencyKey, String requestHash, Callable<IdempotentResponse> request)
+        throws Exception {
+        String id = scope + '\n' + idempotencyKey;
+        long deadline = System.nanoTime() + lockTimeout.toNanos();
+        while (true) {
+            Execution execution = executed.getIfPresent(id);
+            if (execution != null) {
+                return replay(execution, idempotencyKey, requestHash);
+            }
+            CompletableFuture<Execution> pending = new CompletableFuture<>();
+            CompletableFuture<Execution> first = inFlight.putIfAbsent(id, pending);
+            if (first == null) {
+                try {
+                    return executeOnce(id, scope, idempotencyKey, requestHash, request, pending);
+                } finally {
+                    inFlight.remove(id, pending);
+                    // wake up the duplicates if the execution failed, so that one of them executes the request
+                    pending.complete(null);
+                }
+            }
+            execution = await(first, deadline, idempotencyKey);
+            if (execution != null) {
+                return replay(execution, idempotencyKey, requestHash);
+            }
+        }
+    }
+
+    private Outcome executeOnce(
+        String id,
+        String scope,
+        String idempotencyKey,
+        String requestHash,
+        Callable<IdempotentResponse> request,
+        CompletableFuture<Execution> pending
+    ) throws Exception {
+        Execution stored;
+        try {
+            stored = transaction.execute(status -> claim(scope, idempotencyKey, requestHash));
+        } catch (DataIntegrityViolationException e) {
+            // another instance claimed the key first
+            throw new IdempotentRequestInProgressException(idempotencyKey);
+        }
+        if (stored != null) {
+            executed.put(id, stored);
+            pending.complete(stored);
+            return replay(stored, idempotencyKey, requestHash);
+        }
+
+        IdempotentResponse response;
+        try {
+            response = request.call();
+        } catch (Exception e) {
+            release(scope, idempotencyKey);
+            throw e;
+        }
+        if (!isStored(response.status())) {
+            release(scope, idempotencyKey);
+            return new Outcome(response, false);
+        }
+        Execution execution = new Execution(requestHash, response);
+        try {
+            transaction.executeWithoutResult(status -> store(scope, idempotencyKey, requestHash, response));
+        } catch (RuntimeException e) {
+            // the request was executed anyway, the retries reaching this instance still get its response
+            LOG.warn("Could not store the response of idempotency key {}: {}", idempotencyKey, e.getMessage());
+        }
+        executed.put(id, execution);
+        pending.complete(execution);
+        return new Outcome(response, false);
+    }
+
+    private Execution claim(String scope, String idempotencyKey, String requestHash) {
+        Instant now = Instant.now();
+        IdempotencyRecord existing = idempotencyRecordRepository
+            .findOneByScopeAndIdempotencyKey(scope, idempotencyKey)
+            .orElse(null);
+        if (existing != null) {
+            if (existing.getExpiresAt().isAfter(now)) {
+                if (!existing.getRequestHash().equals(requestHash)) {
+                    throw new IdempotencyKeyReusedException(idempotencyKey);
+                }
+                if (existing.isPending()) {
+                    throw new IdempotentRequestInProgressException(idempotencyKey);
+                }
+                IdempotentResponse response = new IdempotentResponse(
+                    existing.getResponseStatus(),
+                    decodeHeaders(existing.getResponseHeaders()),
+                    existing.getResponseBody()
+                );
+                return new Execution(existing.getRequestHash(), response);
+            }
+            idempotencyRecordRepository.delete(existing);
+            idempotencyRecordRepository.flush();
+        }
+        IdempotencyRecord idempotencyRecord = new IdempotencyRecord();
+        idempotencyRecord.setScope(scope);
+        idempotencyRecord.setIdempotencyKey(idempotencyKey);
+        idempotencyRecord.setRequestHash(requestHash);
+        idempotencyRecord.setCreatedDate(now);
+        idempotencyRecord.setExpiresAt(now.plus(lockTimeout));
+        idempotencyRecordRepository.saveAndFlush(idempotencyRecord);
+        return null;
+    }
+
+    private void store(String scope, String idempotencyKey, String requestHash, IdempotentResponse response) {
+        Instant now = Instant.now();
+        IdempotencyRecord idempotencyRecord = idempotencyRecordRepository
+            .findOneByScopeAndIdempotencyKey(scope, idempotencyKey)
+            .orElseGet(() -> {
+                IdempotencyRecord purged = new IdempotencyRecord();
+                purged.setScope(scope);
+                purged.setIdempotencyKey(idempotencyKey);
+                purged.setRequestHash(requestHash);
+                purged.setCreatedDate(now);
+                return purged;
+            });
+        idempotencyRecord.setResponseStatus(response.status());
+        idempotencyRecord.setResponseHeaders(encodeHeaders(response.headers()));
+        idempotencyRecord.setResponseBody(response.body());
+        idempotencyRecord.setExpiresAt(now.plus(ttl));
+        idempotencyRecordRepository.save(idempotencyRecord);
+    }
+
+    private void release(String scope, String idempotencyKey) {
+        try {
+            transaction.executeWithoutResult(status ->
+                idempotencyRecordRepository
+                    .findOneByScopeAndIdempotencyKey(scope, idempotencyKey)
+                    .filter(IdempotencyRecord::isPending)
+                    .ifPresent(idempotencyRecordRepository::delete)
+            );
+        } catch (RuntimeException e) {
+            // the record expires after the lock timeout anyway
+            LOG.warn("Could not release idempotency key {}: {}", idempotencyKey, e.getMessage());
+        }
+    }
+
+    private static Execution await(CompletableFuture<Execution> first, long deadline, String idempotencyKey) {
+        try {
+            return first.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException(idempotencyKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException(idempotencyKey);
+        } catch (ExecutionException e) {
+            // never completed exceptionally
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Outcome replay(Execution execution, String idempotencyKey, String requestHash) {
+        if (!execution.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+        return new Outcome(execution.response(), true);
+    }
+
+    static boolean isStored(int status) {
+        return status < 500 && status != 409 && status != 429;
+    }
+
+    static String encodeHeaders(Map<String, List<String>> headers) {
+        StringBuilder encoded = new StringBuilder();
+        headers.forEach((name, values) -> values.forEach(value -> encoded.append(name).append(": ").append(value).append('\n')));
+        return encoded.toString();
+    }
+
+    static Map<String, List<String>> decodeHeaders(String encoded) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (encoded == null) {
+            return headers;
+        }
+        for (String line : encoded.split("\n")) {
+            int separator = line.indexOf(": ");
+            if (separator > 0) {
+                headers.computeIfAbsent(line.substring(0, separator), name -> new ArrayList<>()).add(line.substring(separator + 2));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Delete the expired responses, and the requests left pending by stopped instances.
+     * <p>
+     * This is scheduled to get fired every 15 minutes by default, see {@code application.idempotency.purge-cron}, and runs
+     * on one instance at a time.
+     */
+    @Scheduled(cron = "${application.idempotency.purge-cron:0 */15 * * * ?}")
+    public void purgeExpired() {
+        jobService.run(PURGE_JOB, () -> {
+            Integer purged = transaction.execute(status -> idempotencyRecordRepository.deleteExpired(Instant.now()));
+            LOG.debug("Purged {} expired idempotency records", purged);
+            return purged;
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package id.lariss.service;
+
+/**
+ * This exception is thrown when the first execution of a request with the same {@code Idempotency-Key} is still in
+ * progress, on another instance or for longer than the lock timeout.
+ */
+public class IdempotentRequestInProgressException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotentRequestInProgressException(String idempotencyKey) {
+        super("A request with idempotency key " + idempotencyKey + " is already in progress");
+    }
+}
@@ -0,0 +1,218 @@
+package id.lariss.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reader of the imported rows from an input stream, in an {@link ExportFormat}, the format of the exports.
+ * <p>
+ * The rows are parsed one at a time, as they are asked for: the reader never holds more than one row, whatever the size
+ * of the input. A malformed row is reported with a {@link MalformedRowException}, after which the next rows can still
+ * be read.
+ */
+abstract class ImportReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    final BufferedReader reader;
+
+    long line;
+
+    private ImportReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static ImportReader of(ExportFormat format, InputStream in, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new Csv(in);
+            case NDJSON -> new Ndjson(in, objectMapper);
+        };
+    }
+
+    /**
+     * Read the next row.
+     *
+     * @return the values of the row by column, {@code null} for the empty ones, or {@code null} after the last row.
+     * @throws MalformedRowException if the row cannot be parsed.
+     * @throws IOException if the input stream fails.
+     */
+    abstract Map<String, String> next() throws IOException;
+
+    /**
+     * Get the line of the input where the last row read starts, from 1.
+     *
+     * @return the line.
+     */
+    abstract long line();
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Thrown when a row cannot be parsed.
+     */
+    static final class MalformedRowException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        MalformedRowException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * CSV reader, with a header row naming the columns, parsing the quoted values as specified by RFC 4180.
+     */
+    static final class Csv extends ImportReader {
+
+        private List<String> columns;
+
+        private long rowLine;
+
+        private Csv(InputStream in) {
+            super(in);
+            line = 1;
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            if (columns == null) {
+                columns = record();
+                if (columns == null) {
+                    return null;
+                }
+                if (!columns.isEmpty() && columns.get(0).startsWith("\uFEFF")) {
+                    columns.set(0, columns.get(0).substring(1));
+                }
+                columns.replaceAll(String::trim);
+            }
+            List<String> values;
+            do {
+                values = record();
+            } while (values != null && values.size() == 1 && values.get(0).isEmpty());
+            if (values == null) {
+                return null;
+            }
+            if (values.size() > columns.size()) {
+                throw new MalformedRowException("expected at most " + columns.size() + " values but got " + values.size());
+            }
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < values.size(); i++) {
+                row.put(columns.get(i), values.get(i).isEmpty() ? null : values.get(i));
+            }
+            return row;
+        }
+
+        @Override
+        long line() {
+            return rowLine;
+        }
+
+        private List<String> record() throws IOException {
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+            rowLine = line;
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        throw new MalformedRowException("unterminated quoted value");
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    value.append((char) c);
+                } else if (c == '"' && value.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\r' || c == '\n' || c < 0) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    line++;
+                    values.add(value.toString());
+                    return values;
+                } else {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+
+    /**
+     * NDJSON reader, parsing each line as a JSON object of scalar values.
+     */
+    static final class Ndjson extends ImportReader {
+
+        private final ObjectReader objectReader;
+
+        private Ndjson(InputStream in, ObjectMapper objectMapper) {
+            super(in);
+            this.objectReader = objectMapper.readerForMapOf(Object.class).with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        }
+
+        @Override
+        Map<String, String> next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+            Map<String, Object> object;
+            try {
+                object = objectReader.readValue(text);
+            } catch (JsonProcessingException e) {
+                throw new MalformedRowException(e.getOriginalMessage());
+            }
+            if (object == null) {
+                throw new MalformedRowException("expected an object");
+            }
+            Map<String, String> row = new HashMap<>();
+            object.forEach((column, value) -> {
+                if (value != null) {
+                    row.put(column, value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString());
+                }
+            });
+            return row;
+        }
+
+        @Override
+        long line() {
+            return line;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package id.lariss.service;
+
+import id.lariss.domain.enumeration.OrderStatus;
+
+public class InvalidOrderStatusTransitionException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidOrderStatusTransitionException(OrderStatus initialStatus) {
+        super("A new order cannot start as " + initialStatus);
+    }
+
+    public InvalidOrderStatusTransitionException(Long orderId, OrderStatus from, OrderStatus to) {
+        super("Order " + orderId + " cannot move from " + from + " to " + to);
+    }
+}
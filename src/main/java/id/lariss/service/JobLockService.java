@@ -0,0 +1,97 @@
+package id.lariss.service;
+
+import id.lariss.repository.JobLockRepository;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for the locks of the scheduled jobs, so that a job fired on every instance at the same time runs on one of
+ * them only.
+ * <p>
+ * A lock is a row of the {@code job_lock} table, leased for a given time, taken and released in their own transaction
+ * so that the other instances see it at once. A lock whose instance stopped without releasing it is free again when its
+ * lease ends: the lease must outlast the job, or be extended while it runs.
+ */
+@Service
+public class JobLockService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobLockService.class);
+
+    private final JobLockRepository jobLockRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String owner;
+
+    public JobLockService(JobLockRepository jobLockRepository, PlatformTransactionManager transactionManager) {
+        this.jobLockRepository = jobLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Get the name of this instance in the locks it holds.
+     *
+     * @return the host name, followed by an identifier of this instance.
+     */
+    public String getOwner() {
+        return owner;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Take the lock of a job, unless another instance holds it.
+     *
+     * @param name the name of the job.
+     * @param lease how long the lock is held, unless released before.
+     * @return whether the lock was taken.
+     */
+    public boolean tryLock(String name, Duration lease) {
+        Instant now = Instant.now();
+        Integer locked = transactionTemplate.execute(status -> jobLockRepository.tryLock(name, now, now.plus(lease), owner));
+        if (locked == null || locked == 0) {
+            LOG.debug("Job {} is locked by another instance", name);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Extend the lease of a lock held by this instance.
+     *
+     * @param name the name of the job.
+     * @param lease how long the lock is held from now, unless released before.
+     * @return whether the lease was extended, {@code false} if the lease had ended.
+     */
+    public boolean extend(String name, Duration lease) {
+        Instant now = Instant.now();
+        Integer extended = transactionTemplate.execute(status -> jobLockRepository.extend(name, now, now.plus(lease), owner));
+        return extended != null && extended > 0;
+    }
+
+    /**
+     * Release the lock of a job taken by this instance.
+     *
+     * @param name the name of the job.
+     */
+    public void unlock(String name) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.unlock(name, Instant.now(), owner));
+    }
+}
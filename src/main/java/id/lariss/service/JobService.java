@@ -0,0 +1,259 @@
+package id.lariss.service;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.JobLock;
+import id.lariss.domain.JobRun;
+import id.lariss.domain.enumeration.JobRunStatus;
+import id.lariss.repository.JobLockRepository;
+import id.lariss.repository.JobRunRepository;
+import id.lariss.service.dto.JobDTO;
+import id.lariss.service.dto.JobRunDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service running the scheduled jobs that must run on one instance at a time, such as the purges, and recording their
+ * runs.
+ * <p>
+ * Every instance fires the scheduled jobs at the same time: the first to take the lock of a job runs it, the others
+ * skip it. While the job runs, its lock is extended every {@code application.jobs.heartbeat-interval}, on a thread of
+ * its own, so that the lease only has to outlast a heartbeat and not the job: the lock of a stopped instance is free
+ * again after {@code application.jobs.lease-timeout}. Each run is recorded with its instance, duration, outcome and
+ * number of rows affected.
+ * <p>
+ * The outbox dispatchers are not run through here: every instance drains the outboxes at the same time, the batches
+ * being claimed with {@code SELECT ... FOR UPDATE SKIP LOCKED}.
+ */
+@Service
+public class JobService implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobService.class);
+
+    public static final String PURGE_JOB_RUNS_JOB = "purgeJobRuns";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobLockService jobLockService;
+
+    private final JobLockRepository jobLockRepository;
+
+    private final JobRunRepository jobRunRepository;
+
+    private final TransactionTemplate transaction;
+
+    private final ApplicationProperties.Jobs properties;
+
+    private final ThreadPoolTaskScheduler heartbeats;
+
+    public JobService(
+        JobLockService jobLockService,
+        JobLockRepository jobLockRepository,
+        JobRunRepository jobRunRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.jobLockService = jobLockService;
+        this.jobLockRepository = jobLockRepository;
+        this.jobRunRepository = jobRunRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        // the runs are recorded whatever the outcome of the transaction of the job
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = applicationProperties.getJobs();
+        this.heartbeats = new ThreadPoolTaskScheduler();
+        heartbeats.setPoolSize(1);
+        heartbeats.setThreadNamePrefix("job-heartbeat-");
+        heartbeats.initialize();
+    }
+
+    /**
+     * Run a job, unless another instance is running it.
+     *
+     * @param name the name of the job, which is the name of its lock.
+     * @param job the job, returning the number of rows it affected.
+     * @return the number of rows affected, empty if the job was skipped.
+     */
+    public OptionalInt run(String name, IntSupplier job) {
+        if (!jobLockService.tryLock(name, properties.getLeaseTimeout())) {
+            LOG.debug("Skipping job {}, run by another instance", name);
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(runLocked(name, job));
+    }
+
+    /**
+     * Start a job in the background, unless another instance is running it. The lock is taken at once, so that the
+     * caller knows whether the job started, then the job runs on the executor as by {@link #run(String, IntSupplier)}.
+     *
+     * @param name the name of the job, which is the name of its lock.
+     * @param executor the executor running the job.
+     * @param job the job, returning the number of rows it affected.
+     * @return whether the job was started, {@code false} if another instance is running it.
+     */
+    public boolean start(String name, Executor executor, IntSupplier job) {
+        if (!jobLockService.tryLock(name, properties.getLeaseTimeout())) {
+            LOG.debug("Not starting job {}, run by another instance", name);
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    runLocked(name, job);
+                } catch (RuntimeException e) {
+                    LOG.error("Job {} failed", name, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            jobLockService.unlock(name);
+            throw e;
+        }
+        return true;
+    }
+
+    private int runLocked(String name, IntSupplier job) {
+        Duration interval = properties.getHeartbeatInterval();
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleWithFixedDelay(() -> heartbeat(name), Instant.now().plus(interval), interval);
+        try {
+            Long runId = transaction.execute(status -> start(name));
+            int rowsAffected;
+            try {
+                rowsAffected = job.getAsInt();
+            } catch (RuntimeException e) {
+                transaction.executeWithoutResult(status -> finish(runId, JobRunStatus.FAILED, null, e));
+                throw e;
+            }
+            transaction.executeWithoutResult(status -> finish(runId, JobRunStatus.SUCCEEDED, rowsAffected, null));
+            return rowsAffected;
+        } finally {
+            heartbeat.cancel(false);
+            jobLockService.unlock(name);
+        }
+    }
+
+    private void heartbeat(String name) {
+        try {
+            if (!jobLockService.extend(name, properties.getLeaseTimeout())) {
+                LOG.warn("Lost the lock of job {}, which another instance may now run", name);
+            }
+        } catch (RuntimeException e) {
+            // an exception would cancel the next heartbeats
+            LOG.warn("Could not extend the lock of job {}", name, e);
+        }
+    }
+
+    private Long start(String name) {
+        Instant now = Instant.now();
+        // the lock is held: a run still running is the one of a stopped instance
+        int abandoned = jobRunRepository.abandonRunning(name, now, JobRunStatus.RUNNING, JobRunStatus.ABANDONED);
+        if (abandoned > 0) {
+            LOG.warn("Job {} was left running by a stopped instance", name);
+        }
+        JobRun jobRun = new JobRun();
+        jobRun.setJobName(name);
+        jobRun.setNode(jobLockService.getOwner());
+        jobRun.setStartedAt(now);
+        jobRun.setStatus(JobRunStatus.RUNNING);
+        return jobRunRepository.save(jobRun).getId();
+    }
+
+    private void finish(Long runId, JobRunStatus status, Integer rowsAffected, Exception error) {
+        jobRunRepository
+            .findById(runId)
+            .ifPresent(jobRun -> {
+                jobRun.setFinishedAt(Instant.now());
+                jobRun.setStatus(status);
+                jobRun.setRowsAffected(rowsAffected);
+                if (error != null) {
+                    String message = String.valueOf(error);
+                    jobRun.setError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+                }
+            });
+    }
+
+    /**
+     * Get the jobs run at least once, with their lock and last runs.
+     *
+     * @return the jobs, by name.
+     */
+    @Transactional(readOnly = true)
+    public List<JobDTO> getJobs() {
+        return jobLockRepository.findAll(Sort.by("name")).stream().map(this::toDto).toList();
+    }
+
+    /**
+     * Get a job, with its lock and last runs.
+     *
+     * @param name the name of the job.
+     * @return the job, empty if it never ran.
+     */
+    @Transactional(readOnly = true)
+    public Optional<JobDTO> getJob(String name) {
+        return jobLockRepository.findById(name).map(this::toDto);
+    }
+
+    private JobDTO toDto(JobLock jobLock) {
+        List<JobRunDTO> lastRuns = jobRunRepository
+            .findAllByJobNameOrderByStartedAtDesc(jobLock.getName(), PageRequest.of(0, properties.getHistorySize()))
+            .stream()
+            .map(JobService::toDto)
+            .toList();
+        return JobDTO.builder()
+            .name(jobLock.getName())
+            .lockedBy(jobLock.getLockedBy())
+            .lockedAt(jobLock.getLockedAt())
+            .lockedUntil(jobLock.getLockedUntil())
+            .heartbeatAt(jobLock.getHeartbeatAt())
+            .lastRuns(lastRuns)
+            .build();
+    }
+
+    private static JobRunDTO toDto(JobRun jobRun) {
+        return JobRunDTO.builder()
+            .node(jobRun.getNode())
+            .startedAt(jobRun.getStartedAt())
+            .finishedAt(jobRun.getFinishedAt())
+            .durationMs(jobRun.getFinishedAt() == null ? null : Duration.between(jobRun.getStartedAt(), jobRun.getFinishedAt()).toMillis())
+            .rowsAffected(jobRun.getRowsAffected())
+            .status(jobRun.getStatus())
+            .error(jobRun.getError())
+            .build();
+    }
+
+    /**
+     * Delete the runs of the jobs past their retention.
+     * <p>
+     * This is scheduled to get fired every day, at 03:00 (am).
+     */
+    @Scheduled(cron = "0 0 3 * * ?")
+    public void purgeRuns() {
+        run(PURGE_JOB_RUNS_JOB, () -> {
+            Integer purged = transaction.execute(status ->
+                jobRunRepository.deleteStartedBefore(Instant.now().minus(properties.getRetention()))
+            );
+            LOG.debug("Purged {} job runs", purged);
+            return purged;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdown();
+    }
+}
@@ -0,0 +1,245 @@
+package id.lariss.service;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.MailMessage;
+import id.lariss.repository.MailMessageRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service draining the mail outbox to the SMTP server, on its own pool of {@code application.mail.senders} threads, so
+ * that a burst of emails neither waits behind nor delays the other asynchronous tasks.
+ * <p>
+ * Each sender claims the due emails in batches with {@code SELECT ... FOR UPDATE SKIP LOCKED}, leased for
+ * {@code application.mail.lease-timeout}, and sends a batch over one SMTP connection, outside any transaction. A
+ * sender finding a full batch starts another one, up to the size of the pool. The emails the server refused are retried
+ * with an exponential backoff, the others marked sent; an email whose sender stopped before marking it is sent again
+ * when its lease expires.
+ */
+@Service
+public class MailDispatcher implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String PURGE_JOB = "purgeSentEmails";
+
+    private final MailMessageRepository mailMessageRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final TransactionTemplate transaction;
+
+    private final ApplicationProperties.Mail properties;
+
+    private final ThreadPoolTaskExecutor senders;
+
+    private final AtomicInteger activeSenders = new AtomicInteger();
+
+    private final JobService jobService;
+
+    public MailDispatcher(
+        MailMessageRepository mailMessageRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        JobService jobService
+    ) {
+        this.mailMessageRepository = mailMessageRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getMail();
+        this.jobService = jobService;
+        this.senders = new ThreadPoolTaskExecutor();
+        senders.setCorePoolSize(properties.getSenders());
+        senders.setMaxPoolSize(properties.getSenders());
+        senders.setQueueCapacity(properties.getSenders());
+        senders.setThreadNamePrefix("mail-sender-");
+        senders.initialize();
+    }
+
+    /**
+     * Start a sender if none is running, to send the due emails.
+     */
+    @Scheduled(
+        initialDelayString = "${application.mail.poll-interval:PT1S}",
+        fixedDelayString = "${application.mail.poll-interval:PT1S}"
+    )
+    public void dispatch() {
+        if (activeSenders.get() == 0) {
+            startSender();
+        }
+    }
+
+    private void startSender() {
+        int active = activeSenders.get();
+        while (active < properties.getSenders()) {
+            if (activeSenders.compareAndSet(active, active + 1)) {
+                senders.execute(() -> {
+                    try {
+                        drain(true);
+                    } catch (RuntimeException e) {
+                        LOG.error("Mail sender failed", e);
+                    } finally {
+                        activeSenders.decrementAndGet();
+                    }
+                });
+                return;
+            }
+            active = activeSenders.get();
+        }
+    }
+
+    /**
+     * Send the due emails from the calling thread, batch after batch, until none is left or a batch fails.
+     *
+     * @return the number of emails sent.
+     */
+    public int sendDue() {
+        return drain(false);
+    }
+
+    private int drain(boolean scaleOut) {
+        int sent = 0;
+        List<MailMessage> batch;
+        do {
+            batch = transaction.execute(status -> claim());
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (scaleOut && batch.size() == properties.getBatchSize()) {
+                startSender();
+            }
+            int batchSent = send(batch);
+            sent += batchSent;
+            if (batchSent < batch.size()) {
+                break;
+            }
+        } while (batch.size() == properties.getBatchSize());
+        return sent;
+    }
+
+    private List<MailMessage> claim() {
+        Instant now = Instant.now();
+        List<MailMessage> mailMessages = mailMessageRepository.findDueForUpdate(now, PageRequest.of(0, properties.getBatchSize()));
+        mailMessages.forEach(mailMessage -> mailMessage.setNextAttemptAt(now.plus(properties.getLeaseTimeout())));
+        return mailMessages;
+    }
+
+    /**
+     * Send a batch of emails over one SMTP connection, then mark the ones sent and reschedule the others.
+     *
+     * @return the number of emails sent.
+     */
+    private int send(List<MailMessage> batch) {
+        Map<Long, Exception> failures = new HashMap<>();
+        // MimeMessage keeps the identity equality, and the batch is sent in the order of the ids
+        Map<MimeMessage, MailMessage> mimeMessages = new LinkedHashMap<>();
+        for (MailMessage mailMessage : batch) {
+            try {
+                mimeMessages.put(toMimeMessage(mailMessage), mailMessage);
+            } catch (MessagingException e) {
+                failures.put(mailMessage.getId(), e);
+            }
+        }
+        try {
+            if (!mimeMessages.isEmpty()) {
+                javaMailSender.send(mimeMessages.keySet().toArray(MimeMessage[]::new));
+            }
+        } catch (MailSendException e) {
+            // the failed messages are the ones refused by the server, or all of them when the connection failed
+            if (e.getFailedMessages().isEmpty()) {
+                mimeMessages.values().forEach(mailMessage -> failures.put(mailMessage.getId(), e));
+            } else {
+                e.getFailedMessages().forEach((mimeMessage, failure) -> failures.put(mimeMessages.get(mimeMessage).getId(), failure));
+            }
+        } catch (MailException e) {
+            mimeMessages.values().forEach(mailMessage -> failures.put(mailMessage.getId(), e));
+        }
+
+        List<Long> sent = batch.stream().map(MailMessage::getId).filter(id -> !failures.containsKey(id)).toList();
+        transaction.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                mailMessageRepository.markSent(sent, Instant.now());
+            }
+            if (!failures.isEmpty()) {
+                reschedule(failures);
+            }
+        });
+        if (!failures.isEmpty()) {
+            LOG.warn("Could not send {} of {} emails, will retry: {}", failures.size(), batch.size(), failures.values().iterator().next());
+        }
+        LOG.debug("Sent {} emails", sent.size());
+        return sent.size();
+    }
+
+    private MimeMessage toMimeMessage(MailMessage mailMessage) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper message = new MimeMessageHelper(mimeMessage, mailMessage.getMultipart(), StandardCharsets.UTF_8.name());
+        message.setTo(mailMessage.getRecipient());
+        message.setFrom(jHipsterProperties.getMail().getFrom());
+        message.setSubject(mailMessage.getSubject());
+        message.setText(mailMessage.getContent(), mailMessage.getHtml());
+        return mimeMessage;
+    }
+
+    private void reschedule(Map<Long, Exception> failures) {
+        Instant now = Instant.now();
+        for (MailMessage mailMessage : mailMessageRepository.findAllById(failures.keySet())) {
+            int attempts = mailMessage.getAttempts() + 1;
+            String error = String.valueOf(failures.get(mailMessage.getId()));
+            mailMessage.setAttempts(attempts);
+            mailMessage.setNextAttemptAt(
+                now.plus(RetryBackoff.delay(attempts, properties.getInitialBackoff(), properties.getMaxBackoff()))
+            );
+            mailMessage.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        }
+    }
+
+    /**
+     * Delete the sent emails past their retention.
+     * <p>
+     * This is scheduled to get fired every day, at 02:30 (am), and runs on one instance at a time.
+     */
+    @Scheduled(cron = "0 30 2 * * ?")
+    public void purgeSent() {
+        jobService.run(PURGE_JOB, () -> {
+            Integer purged = transaction.execute(status ->
+                mailMessageRepository.deleteSentBefore(Instant.now().minus(properties.getRetention()))
+            );
+            LOG.debug("Purged {} sent emails", purged);
+            return purged;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,135 @@
+package id.lariss.service;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.OrderEvent;
+import id.lariss.repository.OrderEventRepository;
+import id.lariss.service.dto.OrderEventDTO;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service draining the order events outbox to the {@link OrderEventSink sinks}, on the scheduling pool.
+ * <p>
+ * Due events are claimed in batches with {@code SELECT ... FOR UPDATE SKIP LOCKED} and leased for
+ * {@code application.outbox.lease-timeout}, so the instances never publish a batch concurrently, then delivered outside
+ * any transaction. A failed batch is retried with an exponential backoff; a batch whose instance stopped before
+ * marking it published is retried when its lease expires.
+ */
+@Service
+public class OrderEventDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderEventDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private static final String PURGE_JOB = "purgePublishedOrderEvents";
+
+    private final OrderEventRepository orderEventRepository;
+
+    private final List<OrderEventSink> sinks;
+
+    private final TransactionTemplate transaction;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final JobService jobService;
+
+    public OrderEventDispatcher(
+        OrderEventRepository orderEventRepository,
+        List<OrderEventSink> sinks,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        JobService jobService
+    ) {
+        this.orderEventRepository = orderEventRepository;
+        this.sinks = sinks;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getOutbox();
+        this.jobService = jobService;
+    }
+
+    /**
+     * Publish the due events, batch after batch, until none is left or a batch fails.
+     */
+    @Scheduled(fixedDelayString = "${application.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        List<OrderEventDTO> batch;
+        do {
+            batch = transaction.execute(status -> claim());
+            if (batch.isEmpty() || !publish(batch)) {
+                return;
+            }
+        } while (batch.size() == properties.getBatchSize());
+    }
+
+    private List<OrderEventDTO> claim() {
+        Instant now = Instant.now();
+        List<OrderEvent> events = orderEventRepository.findDueForUpdate(now, PageRequest.of(0, properties.getBatchSize()));
+        events.forEach(event -> event.setNextAttemptAt(now.plus(properties.getLeaseTimeout())));
+        return events.stream().map(OrderEventDispatcher::toDto).toList();
+    }
+
+    private boolean publish(List<OrderEventDTO> batch) {
+        List<Long> ids = batch.stream().map(OrderEventDTO::getId).toList();
+        try {
+            for (OrderEventSink sink : sinks) {
+                sink.publish(batch);
+            }
+        } catch (Exception e) {
+            LOG.warn("Could not publish {} order events, will retry: {}", batch.size(), e.toString());
+            transaction.executeWithoutResult(status -> reschedule(ids, e));
+            return false;
+        }
+        transaction.executeWithoutResult(status -> orderEventRepository.markPublished(ids, Instant.now()));
+        LOG.debug("Published {} order events", batch.size());
+        return true;
+    }
+
+    private void reschedule(List<Long> ids, Exception failure) {
+        Instant now = Instant.now();
+        String error = String.valueOf(failure);
+        for (OrderEvent event : orderEventRepository.findAllById(ids)) {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setNextAttemptAt(
+                now.plus(RetryBackoff.delay(attempts, properties.getInitialBackoff(), properties.getMaxBackoff()))
+            );
+            event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        }
+    }
+
+    /**
+     * Delete the published events past their retention.
+     * <p>
+     * This is scheduled to get fired every day, at 02:00 (am), and runs on one instance at a time.
+     */
+    @Scheduled(cron = "0 0 2 * * ?")
+    public void purgePublished() {
+        jobService.run(PURGE_JOB, () -> {
+            Integer purged = transaction.execute(status ->
+                orderEventRepository.deletePublishedBefore(Instant.now().minus(properties.getRetention()))
+            );
+            LOG.debug("Purged {} published order events", purged);
+            return purged;
+        });
+    }
+
+    private static OrderEventDTO toDto(OrderEvent event) {
+        return OrderEventDTO.builder()
+            .id(event.getId())
+            .orderId(event.getOrderId())
+            .eventType(event.getEventType())
+            .previousStatus(event.getPreviousStatus())
+            .status(event.getStatus())
+            .totalPrice(event.getTotalPrice())
+            .occurredAt(event.getCreatedDate())
+            .build();
+    }
+}
@@ -0,0 +1,100 @@
+package id.lariss.service;
+
+import id.lariss.domain.Order;
+import id.lariss.domain.OrderEvent;
+import id.lariss.domain.enumeration.OrderEventType;
+import id.lariss.domain.enumeration.OrderStatus;
+import id.lariss.repository.OrderEventRepository;
+import id.lariss.repository.OrderRepository;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Objects;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing the order events to the outbox, in the transaction changing the order.
+ * <p>
+ * Nothing is sent from here: the {@link OrderEventDispatcher} publishes the committed events in the background.
+ */
+@Service
+public class OrderEventOutbox {
+
+    private final OrderEventRepository orderEventRepository;
+
+    public OrderEventOutbox(OrderEventRepository orderEventRepository) {
+        this.orderEventRepository = orderEventRepository;
+    }
+
+    /**
+     * Record the creation of an order.
+     *
+     * @param order the created order, with its id.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Order order) {
+        orderEventRepository.save(event(order, OrderEventType.CREATED, null));
+    }
+
+    /**
+     * Record the status change of an order, if its status changed.
+     *
+     * @param order the updated order.
+     * @param previousStatus the status of the order before the update.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderUpdated(Order order, OrderStatus previousStatus) {
+        if (!Objects.equals(order.getStatus(), previousStatus)) {
+            orderEventRepository.save(event(order, OrderEventType.STATUS_CHANGED, previousStatus));
+        }
+    }
+
+    /**
+     * Record the status change of orders updated in bulk, without loading them.
+     *
+     * @param orders the orders, with their status before the update, {@code null} for an order without status.
+     * @param status the status the orders were moved to.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void ordersMoved(Collection<OrderRepository.OrderStatusView> orders, OrderStatus status) {
+        orderEventRepository.saveAll(
+            orders
+                .stream()
+                .map(order ->
+                    event(
+                        order.getId(),
+                        OrderEventType.STATUS_CHANGED,
+                        order.getStatus() != null ? OrderStatus.valueOf(order.getStatus()) : null,
+                        status,
+                        order.getTotalPrice()
+                    )
+                )
+                .toList()
+        );
+    }
+
+    private static OrderEvent event(Order order, OrderEventType eventType, OrderStatus previousStatus) {
+        return event(order.getId(), eventType, previousStatus, order.getStatus(), order.getTotalPrice());
+    }
+
+    private static OrderEvent event(
+        Long orderId,
+        OrderEventType eventType,
+        OrderStatus previousStatus,
+        OrderStatus status,
+        BigDecimal totalPrice
+    ) {
+        Instant now = Instant.now();
+        OrderEvent event = new OrderEvent();
+        event.setOrderId(orderId);
+        event.setEventType(eventType);
+        event.setPreviousStatus(previousStatus);
+        event.setStatus(status);
+        event.setTotalPrice(totalPrice);
+        event.setCreatedDate(now);
+        event.setNextAttemptAt(now);
+        return event;
+    }
+}
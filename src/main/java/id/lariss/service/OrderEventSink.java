@@ -0,0 +1,20 @@
+package id.lariss.service;
+
+import id.lariss.service.dto.OrderEventDTO;
+import java.util.List;
+
+/**
+ * Destination of the order events drained from the outbox by the {@link OrderEventDispatcher}.
+ * <p>
+ * Delivery is at-least-once: a batch is delivered again, to every sink, when any sink fails, so sinks must tolerate
+ * duplicates, for instance by the event id.
+ */
+public interface OrderEventSink {
+    /**
+     * Deliver a batch of events, in the order of their ids.
+     *
+     * @param events the events to deliver.
+     * @throws Exception if the batch could not be delivered, it is then retried later.
+     */
+    void publish(List<OrderEventDTO> events) throws Exception;
+}
@@ -1,9 +1,15 @@
 package id.lariss.service;
 
+import id.lariss.domain.enumeration.OrderStatus;
 import id.lariss.service.dto.OrderDTO;
+import id.lariss.service.dto.OrderStatusTransitionResultDTO;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 /**
  * Service Interface for managing {@link id.lariss.domain.Order}.
@@ -33,6 +39,15 @@ public interface OrderService {
      */
     Optional<OrderDTO> partialUpdate(OrderDTO orderDTO);
 
+    /**
+     * Move orders to a status, by chunks of orders each updated in its own transaction, without loading them.
+     *
+     * @param ids the ids of the orders.
+     * @param status the status to move the orders to.
+     * @return the number of orders moved, and the orders which could not be moved.
+     */
+    OrderStatusTransitionResultDTO transitionStatus(List<Long> ids, OrderStatus status);
+
     /**
      * Get all the orders.
      *
@@ -41,6 +56,16 @@ public interface OrderService {
      */
     Page<OrderDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a window of the orders, using keyset pagination.
+     *
+     * @param position the keyset position to scroll from.
+     * @param sort the sort of the window, completed by the id to make it stable.
+     * @param limit the maximum number of entities in the window.
+     * @return the window of entities.
+     */
+    Window<OrderDTO> findAll(KeysetScrollPosition position, Sort sort, int limit);
+
     /**
      * Get the "id" order.
      *
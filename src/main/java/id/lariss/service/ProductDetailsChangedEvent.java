@@ -0,0 +1,11 @@
+package id.lariss.service;
+
+/**
+ * Published by the product details service whenever a product details is created, updated or deleted.
+ * <p>
+ * Listeners interested in the committed state should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener}.
+ *
+ * @param id the id of the modified product details.
+ */
+public record ProductDetailsChangedEvent(Long id) {}
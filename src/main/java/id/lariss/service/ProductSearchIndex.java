@@ -0,0 +1,440 @@
+package id.lariss.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the product details of the catalog, their product and their attributes.
+ * <p>
+ * Every query token must match at least one indexed term, either exactly, as a prefix, or within a small
+ * edit distance for alphabetic tokens of 4 characters or more. Query tokens matching no indexed term at all
+ * are ignored, so free text such as "blue iphone please" still finds the blue iPhones. Hits are ranked by
+ * the sum of the match qualities, and facet counts are computed over all the matching documents.
+ * <p>
+ * The fuzzy candidates of a token are looked up from a deletion index instead of the whole vocabulary: two terms
+ * within {@code n} edits both reduce to a common string after at most {@code n} deletions each, so only the terms
+ * sharing such a string with the token have their edit distance computed.
+ * <p>
+ * The index is safe for concurrent use: searches share a read lock, and incremental updates take the write lock.
+ */
+public final class ProductSearchIndex {
+
+    public static final String FACET_CATEGORY = "category";
+    public static final String FACET_PRODUCT = "product";
+    public static final String FACET_COLOR = "color";
+    public static final String FACET_PROCESSOR = "processor";
+    public static final String FACET_MEMORY = "memory";
+    public static final String FACET_STORAGE = "storage";
+    public static final String FACET_SCREEN = "screen";
+    public static final String FACET_CONNECTIVITY = "connectivity";
+    public static final String FACET_MATERIAL = "material";
+    public static final String FACET_CASE_SIZE = "caseSize";
+    public static final String FACET_STRAP_COLOR = "strapColor";
+    public static final String FACET_STRAP_SIZE = "strapSize";
+
+    /**
+     * The facets, in the order they are reported.
+     */
+    public static final List<String> FACETS = List.of(
+        FACET_CATEGORY,
+        FACET_PRODUCT,
+        FACET_COLOR,
+        FACET_PROCESSOR,
+        FACET_MEMORY,
+        FACET_STORAGE,
+        FACET_SCREEN,
+        FACET_CONNECTIVITY,
+        FACET_MATERIAL,
+        FACET_CASE_SIZE,
+        FACET_STRAP_COLOR,
+        FACET_STRAP_SIZE
+    );
+
+    static final int EXACT_SCORE = 4;
+    static final int PREFIX_SCORE = 2;
+    static final int FUZZY_SCORE = 1;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int MIN_TWO_EDITS_LENGTH = 8;
+    private static final int MAX_EDITS = 2;
+
+    /**
+     * A searchable product details.
+     *
+     * @param id the id of the product details.
+     * @param name the name of the product details.
+     * @param price the price.
+     * @param thumbnail the thumbnail.
+     * @param productId the id of the product, if any.
+     * @param facets the attribute names, by facet; absent attributes have no entry.
+     */
+    public record Document(Long id, String name, BigDecimal price, String thumbnail, Long productId, Map<String, String> facets) {}
+
+    /**
+     * A matching document and its score.
+     *
+     * @param document the document.
+     * @param score the score, higher is better.
+     */
+    public record Hit(Document document, int score) {}
+
+    /**
+     * The result of a search.
+     *
+     * @param total the number of matching documents.
+     * @param hits the best matching documents, best first.
+     * @param facets the number of matching documents per attribute name, by facet, most frequent first.
+     */
+    public record Result(int total, List<Hit> hits, Map<String, Map<String, Integer>> facets) {
+        public static final Result EMPTY = new Result(0, List.of(), Map.of());
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private final Map<Long, Set<String>> termsByDocument = new HashMap<>();
+
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+
+    private final Map<String, Set<String>> termsByDeletion = new HashMap<>();
+
+    /**
+     * Add a document to the index, replacing the document with the same id if any.
+     *
+     * @param document the document.
+     */
+    public void put(Document document) {
+        Set<String> terms = new HashSet<>(indexTerms(document.name()));
+        document.facets().values().forEach(value -> terms.addAll(indexTerms(value)));
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(document.id());
+            documents.put(document.id(), document);
+            termsByDocument.put(document.id(), terms);
+            for (String term : terms) {
+                Set<Long> ids = postings.get(term);
+                if (ids == null) {
+                    ids = new HashSet<>();
+                    postings.put(term, ids);
+                    deletions(term, maxDeletions(term)).forEach(deletion ->
+                        termsByDeletion.computeIfAbsent(deletion, key -> new HashSet<>()).add(term)
+                    );
+                }
+                ids.add(document.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a document from the index.
+     *
+     * @param id the id of the document.
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeUnlocked(Long id) {
+        documents.remove(id);
+        Set<String> terms = termsByDocument.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Set<Long> ids = postings.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+                for (String deletion : deletions(term, maxDeletions(term))) {
+                    Set<String> deletionTerms = termsByDeletion.get(deletion);
+                    deletionTerms.remove(term);
+                    if (deletionTerms.isEmpty()) {
+                        termsByDeletion.remove(deletion);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Search the index.
+     *
+     * @param query the free text query.
+     * @param limit the maximum number of hits to return.
+     * @return the result; facet counts cover all the matching documents, not only the returned hits.
+     */
+    public Result search(String query, int limit) {
+        List<String> tokens = queryTokens(query);
+        if (tokens.isEmpty()) {
+            return Result.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String token : tokens) {
+                Map<Long, Integer> matches = match(token);
+                if (matches.isEmpty()) {
+                    continue;
+                }
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    Map<Long, Integer> intersection = new HashMap<>();
+                    for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                        Integer score = matches.get(entry.getKey());
+                        if (score != null) {
+                            intersection.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = intersection;
+                }
+                if (scores.isEmpty()) {
+                    return Result.EMPTY;
+                }
+            }
+            if (scores == null) {
+                return Result.EMPTY;
+            }
+            return new Result(scores.size(), rank(scores, limit), countFacets(scores.keySet()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Integer> match(String token) {
+        Map<Long, Integer> matches = new HashMap<>();
+        Set<Long> exact = postings.get(token);
+        if (exact != null) {
+            exact.forEach(id -> matches.put(id, EXACT_SCORE));
+        }
+        if (!isAlphabetic(token)) {
+            // "256" must not match "258" nor "2560"
+            return matches;
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (Set<Long> ids : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                ids.forEach(id -> matches.merge(id, PREFIX_SCORE, Math::max));
+            }
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= MIN_TWO_EDITS_LENGTH ? 2 : 1;
+            Set<String> candidates = new HashSet<>();
+            for (String deletion : deletions(token, maxEdits)) {
+                Set<String> terms = termsByDeletion.get(deletion);
+                if (terms != null) {
+                    candidates.addAll(terms);
+                }
+            }
+            for (String term : candidates) {
+                if (Math.abs(term.length() - token.length()) <= maxEdits && editDistance(token, term, maxEdits) <= maxEdits) {
+                    postings.get(term).forEach(id -> matches.merge(id, FUZZY_SCORE, Math::max));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private List<Hit> rank(Map<Long, Integer> scores, int limit) {
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> hits.add(new Hit(documents.get(id), score)));
+        hits.sort(Comparator.comparingInt(Hit::score).reversed().thenComparing(hit -> hit.document().id()));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, Math.max(limit, 0))) : hits;
+    }
+
+    private Map<String, Map<String, Integer>> countFacets(Set<Long> ids) {
+        Map<String, Map<String, Integer>> counts = new HashMap<>();
+        for (Long id : ids) {
+            documents
+                .get(id)
+                .facets()
+                .forEach((facet, value) -> counts.computeIfAbsent(facet, key -> new HashMap<>()).merge(value, 1, Integer::sum));
+        }
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        for (String facet : FACETS) {
+            Map<String, Integer> values = counts.get(facet);
+            if (values == null) {
+                continue;
+            }
+            Map<String, Integer> sorted = new LinkedHashMap<>();
+            values
+                .entrySet()
+                .stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            facets.put(facet, sorted);
+        }
+        return facets;
+    }
+
+    /**
+     * Split an indexed text into terms: lower-cased runs of letters and digits, plus the letter and digit
+     * parts of mixed runs, so that "256GB" is found by "256gb" as well as by "256 gb".
+     *
+     * @param text the text, may be {@code null}.
+     * @return the terms.
+     */
+    static List<String> indexTerms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String run : runs(text)) {
+            terms.add(run);
+            List<String> parts = parts(run);
+            if (parts.size() > 1) {
+                terms.addAll(parts);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Split a query into distinct tokens: lower-cased runs of letters and digits, mixed runs being split
+     * into their letter and digit parts.
+     *
+     * @param query the query, may be {@code null}.
+     * @return the tokens.
+     */
+    static List<String> queryTokens(String query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String run : runs(query)) {
+            tokens.addAll(parts(run));
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static List<String> runs(String text) {
+        List<String> runs = new ArrayList<>();
+        if (text == null) {
+            return runs;
+        }
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean inRun = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (inRun && start < 0) {
+                start = i;
+            } else if (!inRun && start >= 0) {
+                runs.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return runs;
+    }
+
+    private static List<String> parts(String run) {
+        List<String> parts = new ArrayList<>(1);
+        int start = 0;
+        for (int i = 1; i <= run.length(); i++) {
+            if (i == run.length() || Character.isDigit(run.charAt(i)) != Character.isDigit(run.charAt(i - 1))) {
+                parts.add(run.substring(start, i));
+                start = i;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Number of deletions indexed for a term: enough for the tokens it can be a fuzzy match of, the tokens taking two
+     * edits being at least {@link #MIN_TWO_EDITS_LENGTH} long.
+     */
+    private static int maxDeletions(String term) {
+        return term.length() >= MIN_TWO_EDITS_LENGTH - MAX_EDITS ? MAX_EDITS : 1;
+    }
+
+    /**
+     * The strings left after deleting up to {@code maxDeletions} characters from a term, the term itself included.
+     * Strings shorter than any deletion of a fuzzy token are left out.
+     *
+     * @return the deletions.
+     */
+    static Set<String> deletions(String term, int maxDeletions) {
+        Set<String> deletions = new HashSet<>();
+        if (term.length() < MIN_FUZZY_LENGTH - MAX_EDITS) {
+            return deletions;
+        }
+        deletions.add(term);
+        Set<String> previous = Set.of(term);
+        for (int n = 1; n <= maxDeletions; n++) {
+            Set<String> next = new HashSet<>();
+            for (String deletion : previous) {
+                if (deletion.length() > MIN_FUZZY_LENGTH - MAX_EDITS) {
+                    for (int i = 0; i < deletion.length(); i++) {
+                        next.add(deletion.substring(0, i) + deletion.substring(i + 1));
+                    }
+                }
+            }
+            deletions.addAll(next);
+            previous = next;
+        }
+        return deletions;
+    }
+
+    private static boolean isAlphabetic(String token) {
+        return !Character.isDigit(token.charAt(0));
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein distance counting adjacent transpositions as one edit),
+     * bounded by {@code maxEdits}.
+     *
+     * @return the distance, or {@code maxEdits + 1} if it exceeds {@code maxEdits}.
+     */
+    static int editDistance(String a, String b, int maxEdits) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int distance = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    distance = Math.min(distance, previousPrevious[j - 2] + 1);
+                }
+                current[j] = distance;
+                rowMin = Math.min(rowMin, distance);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], maxEdits + 1);
+    }
+}
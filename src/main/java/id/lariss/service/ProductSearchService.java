@@ -0,0 +1,7 @@
+package id.lariss.service;
+
+import id.lariss.service.dto.ProductSearchDTO;
+
+public interface ProductSearchService {
+    ProductSearchDTO search(String query, int limit);
+}
@@ -0,0 +1,25 @@
+package id.lariss.service;
+
+import java.time.Duration;
+
+/**
+ * Exponential backoff of the retried deliveries: the order events and the emails.
+ */
+final class RetryBackoff {
+
+    private RetryBackoff() {}
+
+    /**
+     * Get the delay before the next attempt: the initial backoff, doubled on each failed attempt, up to the maximum.
+     *
+     * @param attempts the number of failed attempts, starting at 1.
+     * @param initialBackoff the delay after the first failed attempt.
+     * @param maxBackoff the maximum delay.
+     * @return the delay before the next attempt.
+     */
+    static Duration delay(int attempts, Duration initialBackoff, Duration maxBackoff) {
+        int doublings = Math.min(attempts - 1, 30);
+        Duration backoff = initialBackoff.multipliedBy(1L << doublings);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,79 @@
+package id.lariss.service;
+
+import id.lariss.repository.SalesDailyRollupRepository;
+import id.lariss.service.dto.DailySalesDTO;
+import id.lariss.service.dto.SalesDTO;
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service reporting the sales from the rollups maintained by the {@link SalesRollupService}.
+ * <p>
+ * The reports read one rollup per day and product details sold in the range, never the orders.
+ */
+@Service
+@Transactional(readOnly = true)
+public class SalesAnalyticsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SalesAnalyticsService.class);
+
+    private final SalesDailyRollupRepository salesDailyRollupRepository;
+
+    public SalesAnalyticsService(SalesDailyRollupRepository salesDailyRollupRepository) {
+        this.salesDailyRollupRepository = salesDailyRollupRepository;
+    }
+
+    /**
+     * Get the sales of each day of a range, skipping the days without sales.
+     *
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @return the sales by day.
+     */
+    public List<DailySalesDTO> getDailySales(LocalDate from, LocalDate to) {
+        LOG.debug("Request to get the daily sales from {} to {}", from, to);
+        return salesDailyRollupRepository
+            .sumByDay(from, to)
+            .stream()
+            .map(sales -> new DailySalesDTO(sales.getDay(), sales.getUnits(), sales.getRevenue()))
+            .toList();
+    }
+
+    /**
+     * Get the sales of each category over a range of days, best selling first.
+     *
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @return the sales by category, with a {@code null} category for the products without category.
+     */
+    public List<SalesDTO> getCategorySales(LocalDate from, LocalDate to) {
+        LOG.debug("Request to get the category sales from {} to {}", from, to);
+        return salesDailyRollupRepository.sumByCategory(from, to).stream().map(SalesAnalyticsService::toDto).toList();
+    }
+
+    /**
+     * Get the best selling product details over a range of days, by revenue.
+     *
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @param limit the maximum number of product details.
+     * @return the sales of the best selling product details, best first.
+     */
+    public List<SalesDTO> getTopProductDetails(LocalDate from, LocalDate to, int limit) {
+        LOG.debug("Request to get the top {} product details from {} to {}", limit, from, to);
+        return salesDailyRollupRepository
+            .findTopProductDetails(from, to, PageRequest.of(0, limit))
+            .stream()
+            .map(SalesAnalyticsService::toDto)
+            .toList();
+    }
+
+    private static SalesDTO toDto(SalesDailyRollupRepository.SalesView sales) {
+        return new SalesDTO(sales.getId(), sales.getName(), sales.getUnits(), sales.getRevenue());
+    }
+}
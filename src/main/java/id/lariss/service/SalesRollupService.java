@@ -0,0 +1,268 @@
+package id.lariss.service;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.Order;
+import id.lariss.domain.OrderItem;
+import id.lariss.repository.OrderItemRepository;
+import id.lariss.repository.SalesDailyRollupRepository;
+import id.lariss.service.dto.SalesRollupBackfillDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service maintaining the sales rollups, in the transactions writing the order items.
+ * <p>
+ * Every write adds the difference it makes to the units and revenue of the days and product details it touches, so the
+ * rollups never need to be recomputed from the orders, except once by the {@link #startBackfill() backfill}, for the
+ * orders written before the rollups existed.
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SalesRollupService.class);
+
+    public static final String BACKFILL_JOB = "backfillSalesRollups";
+
+    private static final Comparator<RollupKey> ROLLUP_ORDER = Comparator.comparing(RollupKey::day).thenComparing(
+        RollupKey::productDetailsId
+    );
+
+    private final SalesDailyRollupRepository salesDailyRollupRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor taskExecutor;
+
+    private final ApplicationProperties.Analytics properties;
+
+    private final JobService jobService;
+
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+
+    private volatile SalesRollupBackfillDTO lastBackfill;
+
+    public SalesRollupService(
+        SalesDailyRollupRepository salesDailyRollupRepository,
+        OrderItemRepository orderItemRepository,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ApplicationProperties applicationProperties,
+        JobService jobService
+    ) {
+        this.salesDailyRollupRepository = salesDailyRollupRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.properties = applicationProperties.getAnalytics();
+        this.jobService = jobService;
+    }
+
+    /**
+     * A sold quantity of a product details, on the date of its order.
+     *
+     * @param orderDate the date of the order.
+     * @param productDetailsId the id of the product details sold.
+     * @param units the quantity sold.
+     * @param revenue the total price of the quantity sold.
+     */
+    public record SalesLine(Instant orderDate, Long productDetailsId, long units, BigDecimal revenue) {
+        public static List<SalesLine> of(Order order, Collection<OrderItem> orderItems) {
+            return orderItems.stream().map(orderItem -> of(order, orderItem)).toList();
+        }
+
+        public static SalesLine of(Order order, OrderItem orderItem) {
+            return new SalesLine(
+                order.getOrderDate(),
+                orderItem.getProductDetails() != null ? orderItem.getProductDetails().getId() : null,
+                orderItem.getQuantity() != null ? orderItem.getQuantity() : 0,
+                orderItem.getTotalPrice()
+            );
+        }
+
+        static SalesLine of(OrderItemRepository.SalesLineView view) {
+            return new SalesLine(
+                view.getOrderDate(),
+                view.getProductDetailsId(),
+                view.getQuantity() != null ? view.getQuantity() : 0,
+                view.getTotalPrice()
+            );
+        }
+
+        SalesLine withOrderDate(Instant orderDate) {
+            return new SalesLine(orderDate, productDetailsId, units, revenue);
+        }
+    }
+
+    private record RollupKey(LocalDate day, Long productDetailsId) {}
+
+    /**
+     * Get the current sales line of an order item, to subtract it before the item changes.
+     *
+     * @param orderItemId the id of the order item.
+     * @return the sales line of the item, empty if it does not exist or has no order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<SalesLine> currentLines(Long orderItemId) {
+        return orderItemRepository.findSalesLine(orderItemId).map(SalesLine::of).stream().toList();
+    }
+
+    /**
+     * Add sales lines to the rollups.
+     *
+     * @param lines the lines; the ones without order date or product details are ignored.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(Collection<SalesLine> lines) {
+        apply(lines, 1);
+    }
+
+    /**
+     * Subtract sales lines from the rollups, for the items changed or deleted.
+     *
+     * @param lines the lines, as added before.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void subtract(Collection<SalesLine> lines) {
+        apply(lines, -1);
+    }
+
+    /**
+     * Move the sales of an order whose date changed, once the order is flushed with its new date.
+     *
+     * @param orderId the id of the order.
+     * @param previousOrderDate the date of the order before the update.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderDateChanged(Long orderId, Instant previousOrderDate) {
+        List<SalesLine> lines = orderItemRepository.findSalesLinesByOrderId(orderId).stream().map(SalesLine::of).toList();
+        subtract(lines.stream().map(line -> line.withOrderDate(previousOrderDate)).toList());
+        add(lines);
+    }
+
+    private void apply(Collection<SalesLine> lines, int sign) {
+        Map<RollupKey, SalesLine> deltas = new TreeMap<>(ROLLUP_ORDER);
+        for (SalesLine line : lines) {
+            if (line.orderDate() == null || line.productDetailsId() == null) {
+                continue;
+            }
+            RollupKey key = new RollupKey(LocalDate.ofInstant(line.orderDate(), properties.getZone()), line.productDetailsId());
+            deltas.merge(key, line, (a, b) ->
+                new SalesLine(a.orderDate(), a.productDetailsId(), a.units() + b.units(), revenue(a).add(revenue(b)))
+            );
+        }
+        // Upserted in the order of their keys, so that concurrent orders never deadlock on the rollup rows.
+        deltas.forEach((key, delta) -> {
+            BigDecimal revenue = revenue(delta);
+            if (delta.units() != 0 || revenue.signum() != 0) {
+                salesDailyRollupRepository.add(
+                    key.day(),
+                    key.productDetailsId(),
+                    sign * delta.units(),
+                    sign < 0 ? revenue.negate() : revenue
+                );
+            }
+        });
+    }
+
+    private static BigDecimal revenue(SalesLine line) {
+        return Objects.requireNonNullElse(line.revenue(), BigDecimal.ZERO);
+    }
+
+    /**
+     * Start rebuilding the rollups from all the order items, in the background, unless it is already running on this
+     * instance or another one: the backfill is a job of the {@link JobService}, run under its lock.
+     * <p>
+     * The rollups are emptied, then the items existing at the start are streamed by chunks of
+     * {@code application.analytics.backfill-chunk-size}, each chunk added in its own transaction; the items written
+     * during the backfill are added by their own transactions. Changes to the pre-existing items while the backfill
+     * runs may be counted twice or not at all, so it is best run when the orders are quiet.
+     *
+     * @return whether the backfill was started.
+     */
+    public boolean startBackfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        SalesRollupBackfillDTO previousBackfill = lastBackfill;
+        SalesRollupBackfillDTO backfill = SalesRollupBackfillDTO.builder().running(true).startedAt(Instant.now()).build();
+        lastBackfill = backfill;
+        boolean started = false;
+        try {
+            started = jobService.start(BACKFILL_JOB, taskExecutor, () -> backfill(backfill));
+        } finally {
+            if (!started) {
+                lastBackfill = previousBackfill;
+                backfillRunning.set(false);
+            }
+        }
+        return started;
+    }
+
+    /**
+     * Get the progress of the running backfill, or the outcome of the last one.
+     *
+     * @return the backfill, empty if none ran since the start of this instance.
+     */
+    public Optional<SalesRollupBackfillDTO> getLastBackfill() {
+        return Optional.ofNullable(lastBackfill);
+    }
+
+    int backfill(SalesRollupBackfillDTO backfill) {
+        LOG.info("Rebuilding the sales rollups");
+        try {
+            Long lastId = transactionTemplate.execute(status -> {
+                salesDailyRollupRepository.deleteAllRollups();
+                return orderItemRepository.findMaxId().orElse(0L);
+            });
+            long after = 0;
+            while (after < lastId) {
+                long from = after;
+                List<OrderItemRepository.SalesLineView> chunk = transactionTemplate.execute(status -> {
+                    List<OrderItemRepository.SalesLineView> views = orderItemRepository.findSalesLines(
+                        from,
+                        lastId,
+                        PageRequest.of(0, properties.getBackfillChunkSize())
+                    );
+                    add(views.stream().map(SalesLine::of).toList());
+                    return views;
+                });
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                after = chunk.get(chunk.size() - 1).getId();
+                backfill.setProcessedItems(backfill.getProcessedItems() + chunk.size());
+            }
+            LOG.info("Rebuilt the sales rollups from {} order items", backfill.getProcessedItems());
+            return (int) Math.min(backfill.getProcessedItems(), Integer.MAX_VALUE);
+        } catch (RuntimeException e) {
+            LOG.warn("Could not rebuild the sales rollups after {} order items", backfill.getProcessedItems());
+            backfill.setError(e.getMessage());
+            throw e;
+        } finally {
+            backfill.setFinishedAt(Instant.now());
+            backfill.setRunning(false);
+            backfillRunning.set(false);
+        }
+    }
+}
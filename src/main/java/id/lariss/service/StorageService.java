@@ -2,8 +2,11 @@ package id.lariss.service;
 
 import id.lariss.service.dto.StorageDTO;
 import java.util.Optional;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 /**
  * Service Interface for managing {@link id.lariss.domain.Storage}.
@@ -41,6 +44,16 @@ public interface StorageService {
      */
     Page<StorageDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a window of the storages, using keyset pagination.
+     *
+     * @param position the keyset position to scroll from.
+     * @param sort the sort of the window, completed by the id to make it stable.
+     * @param limit the maximum number of entities in the window.
+     * @return the window of entities.
+     */
+    Window<StorageDTO> findAll(KeysetScrollPosition position, Sort sort, int limit);
+
     /**
      * Get the "id" storage.
      *
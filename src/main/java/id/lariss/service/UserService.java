@@ -1,5 +1,6 @@
 package id.lariss.service;
 
+import id.lariss.config.ApplicationProperties;
 import id.lariss.config.Constants;
 import id.lariss.domain.Authority;
 import id.lariss.domain.User;
@@ -9,18 +10,28 @@ import id.lariss.security.AuthoritiesConstants;
 import id.lariss.security.SecurityUtils;
 import id.lariss.service.dto.AdminUserDTO;
 import id.lariss.service.dto.UserDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -32,16 +43,50 @@ public class UserService {
 
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
+    public static final String REMOVE_NOT_ACTIVATED_USERS_JOB = "removeNotActivatedUsers";
+
+    public static final String NOT_ACTIVATED_USERS_DELETED_METER_NAME = "users.not-activated.deleted";
+
+    public static final String NOT_ACTIVATED_USERS_PURGE_METER_NAME = "users.not-activated.purge";
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final JobService jobService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.UserPurge userPurgeProperties;
+
+    private final Counter notActivatedUsersDeletedCounter;
+
+    private final Timer notActivatedUsersPurgeTimer;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        JobService jobService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.jobService = jobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userPurgeProperties = applicationProperties.getUserPurge();
+        this.notActivatedUsersDeletedCounter = Counter.builder(NOT_ACTIVATED_USERS_DELETED_METER_NAME)
+            .baseUnit("users")
+            .description("Indicates the number of not activated users deleted after 3 days.")
+            .register(meterRegistry);
+        this.notActivatedUsersPurgeTimer = Timer.builder(NOT_ACTIVATED_USERS_PURGE_METER_NAME)
+            .description("Indicates the duration of the purges of the not activated users.")
+            .register(meterRegistry);
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -255,11 +300,21 @@ public class UserService {
         return userRepository.findAll(pageable).map(AdminUserDTO::new);
     }
 
+    @Transactional(readOnly = true)
+    public Window<AdminUserDTO> getAllManagedUsers(KeysetScrollPosition position, Sort sort, int limit) {
+        return userRepository.findAllByIdNotNull(position, sort, Limit.of(limit)).map(AdminUserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
+    @Transactional(readOnly = true)
+    public Window<UserDTO> getAllPublicUsers(KeysetScrollPosition position, Sort sort, int limit) {
+        return userRepository.findAllByIdNotNullAndActivatedIsTrue(position, sort, Limit.of(limit)).map(UserDTO::new);
+    }
+
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
@@ -273,16 +328,44 @@ public class UserService {
     /**
      * Not activated users should be automatically deleted after 3 days.
      * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * This is scheduled to get fired everyday, at 01:00 (am), and runs on one instance at a time. The users are deleted
+     * in the order of their ids, by chunks of {@code application.user-purge.chunk-size}, each chunk in its own
+     * transaction, so that the rows of {@code jhi_user} are only locked for the time of a chunk.
+     *
+     * @return the number of users deleted, or -1 if another instance is running the purge.
      */
     @Scheduled(cron = "0 0 1 * * ?")
-    public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(user -> {
-                LOG.debug("Deleting not activated user {}", user.getLogin());
-                userRepository.delete(user);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int removeNotActivatedUsers() {
+        return jobService
+            .run(REMOVE_NOT_ACTIVATED_USERS_JOB, () ->
+                notActivatedUsersPurgeTimer.record(() -> removeNotActivatedUsersCreatedBefore(Instant.now().minus(3, ChronoUnit.DAYS)))
+            )
+            .orElse(-1);
+    }
+
+    private int removeNotActivatedUsersCreatedBefore(Instant before) {
+        int deleted = 0;
+        long after = 0;
+        while (true) {
+            long from = after;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = userRepository.findNotActivatedIdsForUpdate(before, from, userPurgeProperties.getChunkSize());
+                if (!chunk.isEmpty()) {
+                    userRepository.deleteByIdIn(chunk);
+                }
+                return chunk;
             });
+            if (ids.isEmpty()) {
+                break;
+            }
+            LOG.debug("Deleted {} not activated users", ids.size());
+            notActivatedUsersDeletedCounter.increment(ids.size());
+            deleted += ids.size();
+            after = ids.get(ids.size() - 1);
+        }
+        LOG.info("Deleted {} not activated users created before {}", deleted, before);
+        return deleted;
     }
 
     /**
@@ -0,0 +1,24 @@
+package id.lariss.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CartDTO {
+
+    @NotNull
+    @Valid
+    private CustomerDTO customer;
+
+    @NotEmpty
+    private List<@NotNull @Valid CartItemDTO> items;
+}
@@ -0,0 +1,29 @@
+package id.lariss.service.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CartItemDTO {
+
+    /**
+     * The maximum quantity of a product details in a cart, on one line or summed over its lines.
+     */
+    public static final int MAX_QUANTITY = 1000;
+
+    @NotNull
+    private Long productDetailsId;
+
+    @NotNull
+    @Min(value = 1)
+    @Max(value = MAX_QUANTITY)
+    private Integer quantity;
+}
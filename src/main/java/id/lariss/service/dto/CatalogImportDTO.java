@@ -0,0 +1,35 @@
+package id.lariss.service.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CatalogImportDTO {
+
+    private boolean running;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private long readRows;
+
+    private long createdRows;
+
+    private long updatedRows;
+
+    private long failedRows;
+
+    @Builder.Default
+    private List<String> errors = new CopyOnWriteArrayList<>();
+
+    private String error;
+}
@@ -0,0 +1,17 @@
+package id.lariss.service.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CheckoutDTO {
+
+    private OrderDTO order;
+    private List<OrderItemDTO> orderItems;
+}
@@ -0,0 +1,26 @@
+package id.lariss.service.dto;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CustomerMergeDTO {
+
+    private boolean running;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private long processedCustomers;
+
+    private long mergedCustomers;
+
+    private String error;
+}
@@ -0,0 +1,21 @@
+package id.lariss.service.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DailySalesDTO {
+
+    private LocalDate day;
+
+    private long units;
+
+    private BigDecimal revenue;
+}
@@ -0,0 +1,27 @@
+package id.lariss.service.dto;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JobDTO {
+
+    private String name;
+
+    private String lockedBy;
+
+    private Instant lockedAt;
+
+    private Instant lockedUntil;
+
+    private Instant heartbeatAt;
+
+    private List<JobRunDTO> lastRuns;
+}
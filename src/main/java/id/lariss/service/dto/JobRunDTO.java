@@ -0,0 +1,29 @@
+package id.lariss.service.dto;
+
+import id.lariss.domain.enumeration.JobRunStatus;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class JobRunDTO {
+
+    private String node;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private Long durationMs;
+
+    private Integer rowsAffected;
+
+    private JobRunStatus status;
+
+    private String error;
+}
@@ -22,6 +22,8 @@ public class OrderDTO implements Serializable {
 
     private CustomerDTO customer;
 
+    private Integer version;
+
     public Long getId() {
         return id;
     }
@@ -62,6 +64,14 @@ public class OrderDTO implements Serializable {
         this.customer = customer;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,25 @@
+package id.lariss.service.dto;
+
+import id.lariss.domain.enumeration.OrderEventType;
+import id.lariss.domain.enumeration.OrderStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderEventDTO {
+
+    private Long id;
+    private Long orderId;
+    private OrderEventType eventType;
+    private OrderStatus previousStatus;
+    private OrderStatus status;
+    private BigDecimal totalPrice;
+    private Instant occurredAt;
+}
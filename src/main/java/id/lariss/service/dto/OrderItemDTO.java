@@ -22,6 +22,8 @@ public class OrderItemDTO implements Serializable {
 
     private ProductDetailsDTO productDetails;
 
+    private Integer version;
+
     public Long getId() {
         return id;
     }
@@ -62,6 +64,14 @@ public class OrderItemDTO implements Serializable {
         this.productDetails = productDetails;
     }
 
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,35 @@
+package id.lariss.service.dto;
+
+import id.lariss.domain.enumeration.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderStatusConflictDTO {
+
+    private Long id;
+
+    private OrderStatus currentStatus;
+
+    private Reason reason;
+
+    public enum Reason {
+        /**
+         * No order has this id.
+         */
+        NOT_FOUND,
+        /**
+         * The order is being updated by another request, the transition can be retried.
+         */
+        LOCKED,
+        /**
+         * The order cannot move from its current status to the requested one.
+         */
+        INVALID_TRANSITION,
+    }
+}
@@ -0,0 +1,27 @@
+package id.lariss.service.dto;
+
+import id.lariss.domain.enumeration.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderStatusTransitionDTO {
+
+    public static final int MAX_ORDERS = 10_000;
+
+    @NotNull
+    private OrderStatus status;
+
+    @NotEmpty
+    @Size(max = MAX_ORDERS)
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,31 @@
+package id.lariss.service.dto;
+
+import id.lariss.domain.enumeration.OrderStatus;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OrderStatusTransitionResultDTO {
+
+    private OrderStatus status;
+
+    /**
+     * Number of orders moved to the status.
+     */
+    private int transitioned;
+
+    /**
+     * Number of orders already in the status.
+     */
+    private int unchanged;
+
+    @Builder.Default
+    private List<OrderStatusConflictDTO> conflicts = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package id.lariss.service.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSearchDTO {
+
+    private String query;
+    private Integer total;
+    private List<ProductSearchItemDTO> items;
+    private Map<String, Map<String, Integer>> facets;
+}
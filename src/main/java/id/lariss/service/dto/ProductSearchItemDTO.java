@@ -0,0 +1,24 @@
+package id.lariss.service.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductSearchItemDTO {
+
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private String thumbnail;
+    private Long productNumber;
+    private String productName;
+    private Map<String, String> attributes;
+    private Integer score;
+}
@@ -0,0 +1,25 @@
+package id.lariss.service.dto;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The units sold and revenue of a category or a product details, over a range of days.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SalesDTO {
+
+    private Long id;
+
+    private String name;
+
+    private long units;
+
+    private BigDecimal revenue;
+}
@@ -0,0 +1,27 @@
+package id.lariss.service.impl;
+
+import id.lariss.service.OrderEventSink;
+import id.lariss.service.dto.OrderEventDTO;
+import java.util.List;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sink publishing each order event to the in-process {@code @EventListener}s, as an {@link OrderEventDTO}.
+ * <p>
+ * Listeners run on the dispatcher thread: a failing listener fails the whole batch, which is retried.
+ */
+@Service
+public class ApplicationEventOrderEventSink implements OrderEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public ApplicationEventOrderEventSink(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(List<OrderEventDTO> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
@@ -3,13 +3,19 @@ package id.lariss.service.impl;
 import id.lariss.domain.CaseSize;
 import id.lariss.repository.CaseSizeRepository;
 import id.lariss.service.CaseSizeService;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.dto.CaseSizeDTO;
 import id.lariss.service.mapper.CaseSizeMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,16 @@ public class CaseSizeServiceImpl implements CaseSizeService {
 
     private final CaseSizeMapper caseSizeMapper;
 
-    public CaseSizeServiceImpl(CaseSizeRepository caseSizeRepository, CaseSizeMapper caseSizeMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CaseSizeServiceImpl(
+        CaseSizeRepository caseSizeRepository,
+        CaseSizeMapper caseSizeMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.caseSizeRepository = caseSizeRepository;
         this.caseSizeMapper = caseSizeMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +49,7 @@ public class CaseSizeServiceImpl implements CaseSizeService {
         LOG.debug("Request to save CaseSize : {}", caseSizeDTO);
         CaseSize caseSize = caseSizeMapper.toEntity(caseSizeDTO);
         caseSize = caseSizeRepository.save(caseSize);
+        eventPublisher.publishEvent(new CatalogChangedEvent("CaseSize"));
         return caseSizeMapper.toDto(caseSize);
     }
 
@@ -44,6 +58,7 @@ public class CaseSizeServiceImpl implements CaseSizeService {
         LOG.debug("Request to update CaseSize : {}", caseSizeDTO);
         CaseSize caseSize = caseSizeMapper.toEntity(caseSizeDTO);
         caseSize = caseSizeRepository.save(caseSize);
+        eventPublisher.publishEvent(new CatalogChangedEvent("CaseSize"));
         return caseSizeMapper.toDto(caseSize);
     }
 
@@ -59,7 +74,10 @@ public class CaseSizeServiceImpl implements CaseSizeService {
                 return existingCaseSize;
             })
             .map(caseSizeRepository::save)
-            .map(caseSizeMapper::toDto);
+            .map(savedCaseSize -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("CaseSize"));
+                return caseSizeMapper.toDto(savedCaseSize);
+            });
     }
 
     @Override
@@ -69,6 +87,15 @@ public class CaseSizeServiceImpl implements CaseSizeService {
         return caseSizeRepository.findAll(pageable).map(caseSizeMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<CaseSizeDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of CaseSizes");
+        return caseSizeRepository
+            .findBy(Example.of(new CaseSize()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(caseSizeMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<CaseSizeDTO> findOne(Long id) {
@@ -80,5 +107,6 @@ public class CaseSizeServiceImpl implements CaseSizeService {
     public void delete(Long id) {
         LOG.debug("Request to delete CaseSize : {}", id);
         caseSizeRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("CaseSize"));
     }
 }
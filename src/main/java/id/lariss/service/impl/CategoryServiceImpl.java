@@ -2,6 +2,7 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Category;
 import id.lariss.repository.CategoryRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.CategoryService;
 import id.lariss.service.dto.CategoryDTO;
 import id.lariss.service.mapper.CategoryMapper;
@@ -9,8 +10,13 @@ import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,9 +33,16 @@ public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryMapper categoryMapper;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CategoryServiceImpl(
+        CategoryRepository categoryRepository,
+        CategoryMapper categoryMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -37,6 +50,7 @@ public class CategoryServiceImpl implements CategoryService {
         LOG.debug("Request to save Category : {}", categoryDTO);
         Category category = categoryMapper.toEntity(categoryDTO);
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Category"));
         return categoryMapper.toDto(category);
     }
 
@@ -45,6 +59,7 @@ public class CategoryServiceImpl implements CategoryService {
         LOG.debug("Request to update Category : {}", categoryDTO);
         Category category = categoryMapper.toEntity(categoryDTO);
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Category"));
         return categoryMapper.toDto(category);
     }
 
@@ -60,7 +75,10 @@ public class CategoryServiceImpl implements CategoryService {
                 return existingCategory;
             })
             .map(categoryRepository::save)
-            .map(categoryMapper::toDto);
+            .map(savedCategory -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Category"));
+                return categoryMapper.toDto(savedCategory);
+            });
     }
 
     @Override
@@ -70,6 +88,15 @@ public class CategoryServiceImpl implements CategoryService {
         return categoryRepository.findAll(pageable).map(categoryMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<CategoryDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Categories");
+        return categoryRepository
+            .findBy(Example.of(new Category()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(categoryMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<CategoryDTO> findOne(Long id) {
@@ -81,6 +108,7 @@ public class CategoryServiceImpl implements CategoryService {
     public void delete(Long id) {
         LOG.debug("Request to delete Category : {}", id);
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Category"));
     }
 
     @Override
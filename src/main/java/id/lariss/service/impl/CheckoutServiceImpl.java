@@ -0,0 +1,152 @@
+package id.lariss.service.impl;
+
+import id.lariss.domain.Customer;
+import id.lariss.domain.Order;
+import id.lariss.domain.OrderItem;
+import id.lariss.domain.ProductDetails;
+import id.lariss.domain.enumeration.OrderStatus;
+import id.lariss.repository.CustomerRepository;
+import id.lariss.repository.OrderItemRepository;
+import id.lariss.repository.OrderRepository;
+import id.lariss.repository.ProductDetailsRepository;
+import id.lariss.service.CheckoutService;
+import id.lariss.service.CustomerService;
+import id.lariss.service.InvalidCartException;
+import id.lariss.service.OrderEventOutbox;
+import id.lariss.service.SalesRollupService;
+import id.lariss.service.dto.CartDTO;
+import id.lariss.service.dto.CartItemDTO;
+import id.lariss.service.dto.CheckoutDTO;
+import id.lariss.service.dto.CustomerDTO;
+import id.lariss.service.dto.OrderDTO;
+import id.lariss.service.mapper.OrderItemMapper;
+import id.lariss.service.mapper.OrderMapper;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service Implementation for checking out a cart into an {@link Order}.
+ * <p>
+ * The customer is looked up by its phone number or email address, or inserted (see
+ * {@link CustomerService#upsertByContact}), so that a returning customer places all its orders under one row. The
+ * customer, the order and its items are written in one transaction; the item inserts are sent as one JDBC batch
+ * (see {@code hibernate.jdbc.batch_size}). Prices are never taken from the client: the totals are computed from the
+ * prices of the product details, all loaded with one query.
+ */
+@Service
+@Transactional
+public class CheckoutServiceImpl implements CheckoutService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CheckoutServiceImpl.class);
+
+    private static final int PRICE_SCALE = 2;
+
+    private final CustomerRepository customerRepository;
+
+    private final OrderRepository orderRepository;
+
+    private final OrderItemRepository orderItemRepository;
+
+    private final ProductDetailsRepository productDetailsRepository;
+
+    private final CustomerService customerService;
+
+    private final OrderMapper orderMapper;
+
+    private final OrderItemMapper orderItemMapper;
+
+    private final OrderEventOutbox orderEventOutbox;
+
+    private final SalesRollupService salesRollupService;
+
+    public CheckoutServiceImpl(
+        CustomerRepository customerRepository,
+        OrderRepository orderRepository,
+        OrderItemRepository orderItemRepository,
+        ProductDetailsRepository productDetailsRepository,
+        CustomerService customerService,
+        OrderMapper orderMapper,
+        OrderItemMapper orderItemMapper,
+        OrderEventOutbox orderEventOutbox,
+        SalesRollupService salesRollupService
+    ) {
+        this.customerRepository = customerRepository;
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productDetailsRepository = productDetailsRepository;
+        this.customerService = customerService;
+        this.orderMapper = orderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.orderEventOutbox = orderEventOutbox;
+        this.salesRollupService = salesRollupService;
+    }
+
+    @Override
+    public CheckoutDTO checkout(CartDTO cart) {
+        LOG.debug("Request to checkout Cart : {}", cart);
+        Map<Long, Integer> quantities = quantitiesByProductDetails(cart.getItems());
+        Map<Long, ProductDetails> productDetails = productDetailsRepository
+            .findAllById(quantities.keySet())
+            .stream()
+            .collect(Collectors.toMap(ProductDetails::getId, Function.identity()));
+        List<Long> unknownIds = quantities.keySet().stream().filter(id -> !productDetails.containsKey(id)).toList();
+        if (!unknownIds.isEmpty()) {
+            throw new InvalidCartException("Unknown product details " + unknownIds);
+        }
+
+        CustomerDTO customerDTO = customerService.upsertByContact(cart.getCustomer());
+        Customer customer = customerRepository.getReferenceById(customerDTO.getId());
+
+        Order order = new Order().status(OrderStatus.PENDING).orderDate(Instant.now()).customer(customer);
+        List<OrderItem> orderItems = new ArrayList<>(quantities.size());
+        BigDecimal orderTotal = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> quantity : quantities.entrySet()) {
+            ProductDetails details = productDetails.get(quantity.getKey());
+            BigDecimal itemTotal = lineTotal(details.getPrice(), quantity.getValue());
+            OrderItem orderItem = new OrderItem().quantity(quantity.getValue()).totalPrice(itemTotal).productDetails(details);
+            order.addOrderItem(orderItem);
+            orderItems.add(orderItem);
+            orderTotal = orderTotal.add(itemTotal);
+        }
+        order.setTotalPrice(orderTotal);
+        order = orderRepository.save(order);
+        orderItemRepository.saveAll(orderItems);
+        salesRollupService.add(SalesRollupService.SalesLine.of(order, orderItems));
+        orderEventOutbox.orderCreated(order);
+
+        OrderDTO orderDTO = orderMapper.toDto(order);
+        orderDTO.setCustomer(customerDTO);
+        return CheckoutDTO.builder().order(orderDTO).orderItems(orderItemMapper.toDto(orderItems)).build();
+    }
+
+    /**
+     * Sum the quantities of the lines of a same product details, keeping the order of the cart.
+     */
+    private static Map<Long, Integer> quantitiesByProductDetails(List<CartItemDTO> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (CartItemDTO item : items) {
+            int quantity = quantities.merge(item.getProductDetailsId(), item.getQuantity(), Integer::sum);
+            if (quantity > CartItemDTO.MAX_QUANTITY) {
+                throw new InvalidCartException(
+                    "Quantity of product details " + item.getProductDetailsId() + " over " + CartItemDTO.MAX_QUANTITY
+                );
+            }
+        }
+        return quantities;
+    }
+
+    static BigDecimal lineTotal(BigDecimal price, int quantity) {
+        return price.multiply(BigDecimal.valueOf(quantity)).setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+    }
+}
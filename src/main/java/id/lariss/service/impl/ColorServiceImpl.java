@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Color;
 import id.lariss.repository.ColorRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.ColorService;
 import id.lariss.service.dto.ColorDTO;
 import id.lariss.service.mapper.ColorMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,12 @@ public class ColorServiceImpl implements ColorService {
 
     private final ColorMapper colorMapper;
 
-    public ColorServiceImpl(ColorRepository colorRepository, ColorMapper colorMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ColorServiceImpl(ColorRepository colorRepository, ColorMapper colorMapper, ApplicationEventPublisher eventPublisher) {
         this.colorRepository = colorRepository;
         this.colorMapper = colorMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +45,7 @@ public class ColorServiceImpl implements ColorService {
         LOG.debug("Request to save Color : {}", colorDTO);
         Color color = colorMapper.toEntity(colorDTO);
         color = colorRepository.save(color);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Color"));
         return colorMapper.toDto(color);
     }
 
@@ -44,6 +54,7 @@ public class ColorServiceImpl implements ColorService {
         LOG.debug("Request to update Color : {}", colorDTO);
         Color color = colorMapper.toEntity(colorDTO);
         color = colorRepository.save(color);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Color"));
         return colorMapper.toDto(color);
     }
 
@@ -59,7 +70,10 @@ public class ColorServiceImpl implements ColorService {
                 return existingColor;
             })
             .map(colorRepository::save)
-            .map(colorMapper::toDto);
+            .map(savedColor -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Color"));
+                return colorMapper.toDto(savedColor);
+            });
     }
 
     @Override
@@ -69,6 +83,15 @@ public class ColorServiceImpl implements ColorService {
         return colorRepository.findAll(pageable).map(colorMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<ColorDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Colors");
+        return colorRepository
+            .findBy(Example.of(new Color()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(colorMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<ColorDTO> findOne(Long id) {
@@ -80,5 +103,6 @@ public class ColorServiceImpl implements ColorService {
     public void delete(Long id) {
         LOG.debug("Request to delete Color : {}", id);
         colorRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Color"));
     }
 }
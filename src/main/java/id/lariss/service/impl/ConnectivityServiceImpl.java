@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Connectivity;
 import id.lariss.repository.ConnectivityRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.ConnectivityService;
 import id.lariss.service.dto.ConnectivityDTO;
 import id.lariss.service.mapper.ConnectivityMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,16 @@ public class ConnectivityServiceImpl implements ConnectivityService {
 
     private final ConnectivityMapper connectivityMapper;
 
-    public ConnectivityServiceImpl(ConnectivityRepository connectivityRepository, ConnectivityMapper connectivityMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ConnectivityServiceImpl(
+        ConnectivityRepository connectivityRepository,
+        ConnectivityMapper connectivityMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.connectivityRepository = connectivityRepository;
         this.connectivityMapper = connectivityMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +49,7 @@ public class ConnectivityServiceImpl implements ConnectivityService {
         LOG.debug("Request to save Connectivity : {}", connectivityDTO);
         Connectivity connectivity = connectivityMapper.toEntity(connectivityDTO);
         connectivity = connectivityRepository.save(connectivity);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Connectivity"));
         return connectivityMapper.toDto(connectivity);
     }
 
@@ -44,6 +58,7 @@ public class ConnectivityServiceImpl implements ConnectivityService {
         LOG.debug("Request to update Connectivity : {}", connectivityDTO);
         Connectivity connectivity = connectivityMapper.toEntity(connectivityDTO);
         connectivity = connectivityRepository.save(connectivity);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Connectivity"));
         return connectivityMapper.toDto(connectivity);
     }
 
@@ -59,7 +74,10 @@ public class ConnectivityServiceImpl implements ConnectivityService {
                 return existingConnectivity;
             })
             .map(connectivityRepository::save)
-            .map(connectivityMapper::toDto);
+            .map(savedConnectivity -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Connectivity"));
+                return connectivityMapper.toDto(savedConnectivity);
+            });
     }
 
     @Override
@@ -69,6 +87,15 @@ public class ConnectivityServiceImpl implements ConnectivityService {
         return connectivityRepository.findAll(pageable).map(connectivityMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<ConnectivityDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Connectivities");
+        return connectivityRepository
+            .findBy(Example.of(new Connectivity()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(connectivityMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<ConnectivityDTO> findOne(Long id) {
@@ -80,5 +107,6 @@ public class ConnectivityServiceImpl implements ConnectivityService {
     public void delete(Long id) {
         LOG.debug("Request to delete Connectivity : {}", id);
         connectivityRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Connectivity"));
     }
 }
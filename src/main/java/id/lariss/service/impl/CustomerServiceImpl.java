@@ -5,15 +5,19 @@ import id.lariss.repository.CustomerRepository;
 import id.lariss.service.CustomerService;
 import id.lariss.service.dto.CustomerDTO;
 import id.lariss.service.mapper.CustomerMapper;
-import java.util.LinkedList;
-import java.util.List;
+import jakarta.persistence.EntityManager;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,9 +34,12 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerMapper customerMapper;
 
-    public CustomerServiceImpl(CustomerRepository customerRepository, CustomerMapper customerMapper) {
+    private final EntityManager entityManager;
+
+    public CustomerServiceImpl(CustomerRepository customerRepository, CustomerMapper customerMapper, EntityManager entityManager) {
         this.customerRepository = customerRepository;
         this.customerMapper = customerMapper;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -43,6 +50,50 @@ public class CustomerServiceImpl implements CustomerService {
         return customerMapper.toDto(customer);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The customer is looked up by its phone key then its email key, each one probe of a unique index. A new customer
+     * is inserted unless one of its keys exists by then: when two messages of a new customer race, the insert of the
+     * second one waits for the first one on the index, then does nothing, and the customer inserted by the first one
+     * is looked up again. No statement fails, so the transaction of the caller goes on.
+     */
+    @Override
+    public CustomerDTO upsertByContact(CustomerDTO customerDTO) {
+        LOG.debug("Request to upsert Customer by contact : {}", customerDTO);
+        Customer contact = customerMapper.toEntity(customerDTO);
+        contact.setId(null);
+        Optional<CustomerDTO> existing = takeDetailsOf(contact);
+        if (existing.isPresent()) {
+            return existing.orElseThrow();
+        }
+        contact.setId(nextId(contact));
+        if (customerRepository.insertIfAbsent(contact) == 1) {
+            return customerMapper.toDto(contact);
+        }
+        LOG.debug("Customer inserted concurrently, looking it up again: {}", customerDTO);
+        return takeDetailsOf(contact).orElseThrow();
+    }
+
+    private Optional<CustomerDTO> takeDetailsOf(Customer contact) {
+        Optional<Customer> byPhone = Optional.ofNullable(contact.getPhoneKey()).flatMap(customerRepository::findOneByPhoneKey);
+        Optional<Customer> byEmail = Optional.ofNullable(contact.getEmailKey()).flatMap(customerRepository::findOneByEmailKey);
+        return byPhone
+            .or(() -> byEmail)
+            .map(existing -> existing.takeDetailsOf(contact, byPhone.isEmpty(), byEmail.isEmpty()))
+            .map(customerRepository::save)
+            .map(customerMapper::toDto);
+    }
+
+    /**
+     * Take the next id of the customer sequence, from the block held in memory by its generator.
+     */
+    private Long nextId(Customer customer) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator) session.getEntityPersister(null, customer).getGenerator();
+        return (Long) generator.generate(session, customer, null, EventType.INSERT);
+    }
+
     @Override
     public CustomerDTO update(CustomerDTO customerDTO) {
         LOG.debug("Request to update Customer : {}", customerDTO);
@@ -73,17 +124,27 @@ public class CustomerServiceImpl implements CustomerService {
         return customerRepository.findAll(pageable).map(customerMapper::toDto);
     }
 
-    /**
-     *  Get all the customers where Order is {@code null}.
-     *  @return the list of entities.
-     */
+    @Override
+    @Transactional(readOnly = true)
+    public Window<CustomerDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Customers");
+        return customerRepository
+            .findBy(Example.of(new Customer()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(customerMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CustomerDTO> findAllWhereOrderIsNull(Pageable pageable) {
+        LOG.debug("Request to get a page of Customers where Order is null");
+        return customerRepository.findAllWhereOrderIsNull(pageable).map(customerMapper::toDto);
+    }
+
+    @Override
     @Transactional(readOnly = true)
-    public List<CustomerDTO> findAllWhereOrderIsNull() {
-        LOG.debug("Request to get all customers where Order is null");
-        return StreamSupport.stream(customerRepository.findAll().spliterator(), false)
-            .filter(customer -> customer.getOrder() == null)
-            .map(customerMapper::toDto)
-            .collect(Collectors.toCollection(LinkedList::new));
+    public long countWhereOrderIsNull() {
+        LOG.debug("Request to count Customers where Order is null");
+        return customerRepository.countWhereOrderIsNull();
     }
 
     @Override
@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Description;
 import id.lariss.repository.DescriptionRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.DescriptionService;
 import id.lariss.service.dto.DescriptionDTO;
 import id.lariss.service.mapper.DescriptionMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,16 @@ public class DescriptionServiceImpl implements DescriptionService {
 
     private final DescriptionMapper descriptionMapper;
 
-    public DescriptionServiceImpl(DescriptionRepository descriptionRepository, DescriptionMapper descriptionMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public DescriptionServiceImpl(
+        DescriptionRepository descriptionRepository,
+        DescriptionMapper descriptionMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.descriptionRepository = descriptionRepository;
         this.descriptionMapper = descriptionMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +49,7 @@ public class DescriptionServiceImpl implements DescriptionService {
         LOG.debug("Request to save Description : {}", descriptionDTO);
         Description description = descriptionMapper.toEntity(descriptionDTO);
         description = descriptionRepository.save(description);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Description"));
         return descriptionMapper.toDto(description);
     }
 
@@ -44,6 +58,7 @@ public class DescriptionServiceImpl implements DescriptionService {
         LOG.debug("Request to update Description : {}", descriptionDTO);
         Description description = descriptionMapper.toEntity(descriptionDTO);
         description = descriptionRepository.save(description);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Description"));
         return descriptionMapper.toDto(description);
     }
 
@@ -59,7 +74,10 @@ public class DescriptionServiceImpl implements DescriptionService {
                 return existingDescription;
             })
             .map(descriptionRepository::save)
-            .map(descriptionMapper::toDto);
+            .map(savedDescription -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Description"));
+                return descriptionMapper.toDto(savedDescription);
+            });
     }
 
     @Override
@@ -69,6 +87,15 @@ public class DescriptionServiceImpl implements DescriptionService {
         return descriptionRepository.findAll(pageable).map(descriptionMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<DescriptionDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Descriptions");
+        return descriptionRepository
+            .findBy(Example.of(new Description()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(descriptionMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<DescriptionDTO> findOne(Long id) {
@@ -80,5 +107,6 @@ public class DescriptionServiceImpl implements DescriptionService {
     public void delete(Long id) {
         LOG.debug("Request to delete Description : {}", id);
         descriptionRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Description"));
     }
 }
@@ -0,0 +1,24 @@
+package id.lariss.service.impl;
+
+import id.lariss.service.OrderEventSink;
+import id.lariss.service.dto.OrderEventDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sink logging the order events, enabled with {@code application.outbox.log-sink-enabled}.
+ */
+@Service
+@ConditionalOnProperty(name = "application.outbox.log-sink-enabled", havingValue = "true")
+public class LoggingOrderEventSink implements OrderEventSink {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoggingOrderEventSink.class);
+
+    @Override
+    public void publish(List<OrderEventDTO> events) {
+        events.forEach(event -> LOG.info("Order event : {}", event));
+    }
+}
@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Material;
 import id.lariss.repository.MaterialRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.MaterialService;
 import id.lariss.service.dto.MaterialDTO;
 import id.lariss.service.mapper.MaterialMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,16 @@ public class MaterialServiceImpl implements MaterialService {
 
     private final MaterialMapper materialMapper;
 
-    public MaterialServiceImpl(MaterialRepository materialRepository, MaterialMapper materialMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MaterialServiceImpl(
+        MaterialRepository materialRepository,
+        MaterialMapper materialMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.materialRepository = materialRepository;
         this.materialMapper = materialMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +49,7 @@ public class MaterialServiceImpl implements MaterialService {
         LOG.debug("Request to save Material : {}", materialDTO);
         Material material = materialMapper.toEntity(materialDTO);
         material = materialRepository.save(material);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Material"));
         return materialMapper.toDto(material);
     }
 
@@ -44,6 +58,7 @@ public class MaterialServiceImpl implements MaterialService {
         LOG.debug("Request to update Material : {}", materialDTO);
         Material material = materialMapper.toEntity(materialDTO);
         material = materialRepository.save(material);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Material"));
         return materialMapper.toDto(material);
     }
 
@@ -59,7 +74,10 @@ public class MaterialServiceImpl implements MaterialService {
                 return existingMaterial;
             })
             .map(materialRepository::save)
-            .map(materialMapper::toDto);
+            .map(savedMaterial -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Material"));
+                return materialMapper.toDto(savedMaterial);
+            });
     }
 
     @Override
@@ -69,6 +87,15 @@ public class MaterialServiceImpl implements MaterialService {
         return materialRepository.findAll(pageable).map(materialMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<MaterialDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Materials");
+        return materialRepository
+            .findBy(Example.of(new Material()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(materialMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<MaterialDTO> findOne(Long id) {
@@ -80,5 +107,6 @@ public class MaterialServiceImpl implements MaterialService {
     public void delete(Long id) {
         LOG.debug("Request to delete Material : {}", id);
         materialRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Material"));
     }
 }
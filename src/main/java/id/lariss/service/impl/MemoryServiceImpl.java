@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Memory;
 import id.lariss.repository.MemoryRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.MemoryService;
 import id.lariss.service.dto.MemoryDTO;
 import id.lariss.service.mapper.MemoryMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,12 @@ public class MemoryServiceImpl implements MemoryService {
 
     private final MemoryMapper memoryMapper;
 
-    public MemoryServiceImpl(MemoryRepository memoryRepository, MemoryMapper memoryMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public MemoryServiceImpl(MemoryRepository memoryRepository, MemoryMapper memoryMapper, ApplicationEventPublisher eventPublisher) {
         this.memoryRepository = memoryRepository;
         this.memoryMapper = memoryMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +45,7 @@ public class MemoryServiceImpl implements MemoryService {
         LOG.debug("Request to save Memory : {}", memoryDTO);
         Memory memory = memoryMapper.toEntity(memoryDTO);
         memory = memoryRepository.save(memory);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Memory"));
         return memoryMapper.toDto(memory);
     }
 
@@ -44,6 +54,7 @@ public class MemoryServiceImpl implements MemoryService {
         LOG.debug("Request to update Memory : {}", memoryDTO);
         Memory memory = memoryMapper.toEntity(memoryDTO);
         memory = memoryRepository.save(memory);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Memory"));
         return memoryMapper.toDto(memory);
     }
 
@@ -59,7 +70,10 @@ public class MemoryServiceImpl implements MemoryService {
                 return existingMemory;
             })
             .map(memoryRepository::save)
-            .map(memoryMapper::toDto);
+            .map(savedMemory -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Memory"));
+                return memoryMapper.toDto(savedMemory);
+            });
     }
 
     @Override
@@ -69,6 +83,15 @@ public class MemoryServiceImpl implements MemoryService {
         return memoryRepository.findAll(pageable).map(memoryMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<MemoryDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Memories");
+        return memoryRepository
+            .findBy(Example.of(new Memory()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(memoryMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<MemoryDTO> findOne(Long id) {
@@ -80,5 +103,6 @@ public class MemoryServiceImpl implements MemoryService {
     public void delete(Long id) {
         LOG.debug("Request to delete Memory : {}", id);
         memoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Memory"));
     }
 }
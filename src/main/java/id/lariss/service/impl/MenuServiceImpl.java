@@ -1,9 +1,8 @@
 package id.lariss.service.impl;
 
-import id.lariss.service.CategoryService;
+import id.lariss.service.CatalogSnapshot;
+import id.lariss.service.CatalogSnapshotService;
 import id.lariss.service.MenuService;
-import id.lariss.service.ProductService;
-import id.lariss.service.dto.CategoryDTO;
 import id.lariss.service.dto.MenuDTO;
 import id.lariss.service.dto.MenuItemDTO;
 import java.util.ArrayList;
@@ -14,70 +13,61 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+/**
+ * Service Implementation for the public menu, answered from the in-memory {@link CatalogSnapshot}.
+ */
 @Service
 public class MenuServiceImpl implements MenuService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MenuServiceImpl.class);
 
-    private final CategoryService categoryService;
+    private final CatalogSnapshotService catalogSnapshotService;
 
-    private final ProductService productService;
-
-    public MenuServiceImpl(CategoryService categoryService, ProductService productService) {
-        this.categoryService = categoryService;
-        this.productService = productService;
+    public MenuServiceImpl(CatalogSnapshotService catalogSnapshotService) {
+        this.catalogSnapshotService = catalogSnapshotService;
     }
 
     @Override
     public MenuDTO getMenuByProductNumber(Long productNumber) {
         LOG.info("Request to get Menu by number: {}", productNumber);
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
         return MenuDTO.builder()
-            .items(Objects.isNull(productNumber) ? buildMenuItems(categoryService.findAll()) : buildMenuItems(productNumber))
+            .items(
+                Objects.isNull(productNumber)
+                    ? buildMenuItems(snapshot)
+                    : buildMenuItems(snapshot, snapshot.findCategoryIndexById(productNumber))
+            )
             .build();
     }
 
     @Override
     public MenuDTO getMenuByProductName(String productName) {
         LOG.info("Request to get menu by product name: {}", productName);
-        List<CategoryDTO> categories = categoryService.findAll();
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
         return MenuDTO.builder()
-            .items(StringUtils.isBlank(productName) ? buildMenuItems(categories) : buildMenuItems(categories, productName))
+            .items(
+                StringUtils.isBlank(productName)
+                    ? buildMenuItems(snapshot)
+                    : buildMenuItems(snapshot, snapshot.findCategoryIndexByName(productName))
+            )
             .build();
     }
 
-    private List<MenuItemDTO> buildMenuItems(List<CategoryDTO> categories) {
-        return categories
-            .stream()
-            .map(category -> MenuItemDTO.builder().productNumber(category.getId()).productName(category.getName()).build())
-            .toList();
-    }
-
-    private List<MenuItemDTO> buildMenuItems(List<CategoryDTO> categories, String name) {
-        Long categoryId = getCategoryId(categories, name);
-        if (Objects.nonNull(categoryId)) {
-            return productService
-                .findAllProductByCategoryId(categoryId)
-                .stream()
-                .map(product -> MenuItemDTO.builder().productNumber(product.getId()).productName(product.getName()).build())
-                .toList();
+    private List<MenuItemDTO> buildMenuItems(CatalogSnapshot snapshot) {
+        int categoryCount = snapshot.getCategoryCount();
+        List<MenuItemDTO> items = new ArrayList<>(categoryCount);
+        for (int c = 0; c < categoryCount; c++) {
+            items.add(MenuItemDTO.builder().productNumber(snapshot.getCategoryId(c)).productName(snapshot.getCategoryName(c)).build());
         }
-        return new ArrayList<>();
+        return items;
     }
 
-    private List<MenuItemDTO> buildMenuItems(Long number) {
-        return productService
-            .findAllProductByCategoryId(number)
-            .stream()
-            .map(product -> MenuItemDTO.builder().productNumber(product.getId()).productName(product.getName()).build())
-            .toList();
-    }
-
-    private Long getCategoryId(List<CategoryDTO> categories, String name) {
-        return categories
-            .stream()
-            .filter(category -> name.equalsIgnoreCase(category.getName()))
-            .findAny()
-            .orElse(new CategoryDTO())
-            .getId();
+    private List<MenuItemDTO> buildMenuItems(CatalogSnapshot snapshot, int categoryIndex) {
+        int[] productIndexes = snapshot.getProductIndexes(categoryIndex);
+        List<MenuItemDTO> items = new ArrayList<>(productIndexes.length);
+        for (int p : productIndexes) {
+            items.add(MenuItemDTO.builder().productNumber(snapshot.getProductId(p)).productName(snapshot.getProductName(p)).build());
+        }
+        return items;
     }
 }
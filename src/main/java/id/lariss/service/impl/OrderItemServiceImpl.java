@@ -3,13 +3,20 @@ package id.lariss.service.impl;
 import id.lariss.domain.OrderItem;
 import id.lariss.repository.OrderItemRepository;
 import id.lariss.service.OrderItemService;
+import id.lariss.service.SalesRollupService;
 import id.lariss.service.dto.OrderItemDTO;
 import id.lariss.service.mapper.OrderItemMapper;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,24 +33,39 @@ public class OrderItemServiceImpl implements OrderItemService {
 
     private final OrderItemMapper orderItemMapper;
 
-    public OrderItemServiceImpl(OrderItemRepository orderItemRepository, OrderItemMapper orderItemMapper) {
+    private final SalesRollupService salesRollupService;
+
+    public OrderItemServiceImpl(
+        OrderItemRepository orderItemRepository,
+        OrderItemMapper orderItemMapper,
+        SalesRollupService salesRollupService
+    ) {
         this.orderItemRepository = orderItemRepository;
         this.orderItemMapper = orderItemMapper;
+        this.salesRollupService = salesRollupService;
     }
 
     @Override
     public OrderItemDTO save(OrderItemDTO orderItemDTO) {
         LOG.debug("Request to save OrderItem : {}", orderItemDTO);
         OrderItem orderItem = orderItemMapper.toEntity(orderItemDTO);
-        orderItem = orderItemRepository.save(orderItem);
+        orderItem = orderItemRepository.saveAndFlush(orderItem);
+        salesRollupService.add(salesRollupService.currentLines(orderItem.getId()));
         return orderItemMapper.toDto(orderItem);
     }
 
     @Override
     public OrderItemDTO update(OrderItemDTO orderItemDTO) {
         LOG.debug("Request to update OrderItem : {}", orderItemDTO);
+        List<SalesRollupService.SalesLine> previousLines = salesRollupService.currentLines(orderItemDTO.getId());
         OrderItem orderItem = orderItemMapper.toEntity(orderItemDTO);
-        orderItem = orderItemRepository.save(orderItem);
+        if (orderItem.getVersion() == null) {
+            // Without a version, the item would be merged as a new one.
+            orderItemRepository.findById(orderItemDTO.getId()).map(OrderItem::getVersion).ifPresent(orderItem::setVersion);
+        }
+        orderItem = orderItemRepository.saveAndFlush(orderItem);
+        salesRollupService.subtract(previousLines);
+        salesRollupService.add(salesRollupService.currentLines(orderItem.getId()));
         return orderItemMapper.toDto(orderItem);
     }
 
@@ -54,11 +76,16 @@ public class OrderItemServiceImpl implements OrderItemService {
         return orderItemRepository
             .findById(orderItemDTO.getId())
             .map(existingOrderItem -> {
+                if (orderItemDTO.getVersion() != null && !orderItemDTO.getVersion().equals(existingOrderItem.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(OrderItem.class, existingOrderItem.getId());
+                }
+                List<SalesRollupService.SalesLine> previousLines = salesRollupService.currentLines(existingOrderItem.getId());
                 orderItemMapper.partialUpdate(existingOrderItem, orderItemDTO);
-
-                return existingOrderItem;
+                OrderItem orderItem = orderItemRepository.saveAndFlush(existingOrderItem);
+                salesRollupService.subtract(previousLines);
+                salesRollupService.add(salesRollupService.currentLines(orderItem.getId()));
+                return orderItem;
             })
-            .map(orderItemRepository::save)
             .map(orderItemMapper::toDto);
     }
 
@@ -69,6 +96,15 @@ public class OrderItemServiceImpl implements OrderItemService {
         return orderItemRepository.findAll(pageable).map(orderItemMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<OrderItemDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of OrderItems");
+        return orderItemRepository
+            .findBy(Example.of(new OrderItem()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(orderItemMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<OrderItemDTO> findOne(Long id) {
@@ -79,6 +115,7 @@ public class OrderItemServiceImpl implements OrderItemService {
     @Override
     public void delete(Long id) {
         LOG.debug("Request to delete OrderItem : {}", id);
+        salesRollupService.subtract(salesRollupService.currentLines(id));
         orderItemRepository.deleteById(id);
     }
 }
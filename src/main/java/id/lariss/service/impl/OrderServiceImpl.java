@@ -1,17 +1,39 @@
 package id.lariss.service.impl;
 
 import id.lariss.domain.Order;
+import id.lariss.domain.enumeration.OrderStatus;
 import id.lariss.repository.OrderRepository;
+import id.lariss.service.InvalidOrderStatusTransitionException;
+import id.lariss.service.OrderEventOutbox;
 import id.lariss.service.OrderService;
+import id.lariss.service.SalesRollupService;
 import id.lariss.service.dto.OrderDTO;
+import id.lariss.service.dto.OrderStatusConflictDTO;
+import id.lariss.service.dto.OrderStatusTransitionResultDTO;
 import id.lariss.service.mapper.OrderMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service Implementation for managing {@link id.lariss.domain.Order}.
@@ -22,28 +44,64 @@ public class OrderServiceImpl implements OrderService {
 
     private static final Logger LOG = LoggerFactory.getLogger(OrderServiceImpl.class);
 
+    /**
+     * Number of orders moved to a status per transaction by {@link #transitionStatus(List, OrderStatus)}.
+     */
+    static final int TRANSITION_CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepository;
 
     private final OrderMapper orderMapper;
 
-    public OrderServiceImpl(OrderRepository orderRepository, OrderMapper orderMapper) {
+    private final OrderEventOutbox orderEventOutbox;
+
+    private final SalesRollupService salesRollupService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderServiceImpl(
+        OrderRepository orderRepository,
+        OrderMapper orderMapper,
+        OrderEventOutbox orderEventOutbox,
+        SalesRollupService salesRollupService,
+        PlatformTransactionManager transactionManager
+    ) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
+        this.orderEventOutbox = orderEventOutbox;
+        this.salesRollupService = salesRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public OrderDTO save(OrderDTO orderDTO) {
         LOG.debug("Request to save Order : {}", orderDTO);
+        if (orderDTO.getStatus() != null && !orderDTO.getStatus().previousStatuses().isEmpty()) {
+            throw new InvalidOrderStatusTransitionException(orderDTO.getStatus());
+        }
         Order order = orderMapper.toEntity(orderDTO);
         order = orderRepository.save(order);
+        orderEventOutbox.orderCreated(order);
         return orderMapper.toDto(order);
     }
 
     @Override
     public OrderDTO update(OrderDTO orderDTO) {
         LOG.debug("Request to update Order : {}", orderDTO);
+        Optional<Order> existingOrder = orderRepository.findById(orderDTO.getId());
+        OrderStatus previousStatus = existingOrder.map(Order::getStatus).orElse(null);
+        Instant previousOrderDate = existingOrder.map(Order::getOrderDate).orElse(null);
+        checkTransition(orderDTO.getId(), previousStatus, orderDTO.getStatus());
         Order order = orderMapper.toEntity(orderDTO);
-        order = orderRepository.save(order);
+        if (order.getVersion() == null) {
+            // Clients not sending the version overwrite the current one, as before the optimistic locking.
+            existingOrder.map(Order::getVersion).ifPresent(order::setVersion);
+        }
+        order = orderRepository.saveAndFlush(order);
+        orderEventOutbox.orderUpdated(order, previousStatus);
+        if (!Objects.equals(order.getOrderDate(), previousOrderDate)) {
+            salesRollupService.orderDateChanged(order.getId(), previousOrderDate);
+        }
         return orderMapper.toDto(order);
     }
 
@@ -54,14 +112,84 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository
             .findById(orderDTO.getId())
             .map(existingOrder -> {
+                if (orderDTO.getVersion() != null && !orderDTO.getVersion().equals(existingOrder.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Order.class, existingOrder.getId());
+                }
+                OrderStatus previousStatus = existingOrder.getStatus();
+                Instant previousOrderDate = existingOrder.getOrderDate();
+                if (orderDTO.getStatus() != null) {
+                    checkTransition(existingOrder.getId(), previousStatus, orderDTO.getStatus());
+                }
                 orderMapper.partialUpdate(existingOrder, orderDTO);
-
-                return existingOrder;
+                Order order = orderRepository.saveAndFlush(existingOrder);
+                orderEventOutbox.orderUpdated(order, previousStatus);
+                if (!Objects.equals(order.getOrderDate(), previousOrderDate)) {
+                    salesRollupService.orderDateChanged(order.getId(), previousOrderDate);
+                }
+                return order;
             })
-            .map(orderRepository::save)
             .map(orderMapper::toDto);
     }
 
+    private static void checkTransition(Long id, OrderStatus from, OrderStatus to) {
+        if (!OrderStatus.isAllowed(from, to)) {
+            throw new InvalidOrderStatusTransitionException(id, from, to);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderStatusTransitionResultDTO transitionStatus(List<Long> ids, OrderStatus status) {
+        LOG.debug("Request to move {} Orders to {}", ids.size(), status);
+        OrderStatusTransitionResultDTO result = OrderStatusTransitionResultDTO.builder().status(status).build();
+        // Sorted, so that concurrent bulk transitions lock the orders in the same order.
+        List<Long> sortedIds = ids.stream().distinct().sorted().toList();
+        for (int from = 0; from < sortedIds.size(); from += TRANSITION_CHUNK_SIZE) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + TRANSITION_CHUNK_SIZE, sortedIds.size()));
+            transactionTemplate.executeWithoutResult(transaction -> transitionChunk(chunk, status, result));
+        }
+        return result;
+    }
+
+    private void transitionChunk(List<Long> ids, OrderStatus status, OrderStatusTransitionResultDTO result) {
+        Map<Long, OrderRepository.OrderStatusView> locked = new HashMap<>();
+        orderRepository.lockStatuses(ids).forEach(order -> locked.put(order.getId(), order));
+        Set<Long> existing = locked.size() < ids.size() ? new HashSet<>(orderRepository.findExistingIds(ids)) : Set.of();
+
+        List<OrderRepository.OrderStatusView> moved = new ArrayList<>();
+        for (Long id : ids) {
+            OrderRepository.OrderStatusView order = locked.get(id);
+            if (order == null) {
+                OrderStatusConflictDTO.Reason reason = existing.contains(id)
+                    ? OrderStatusConflictDTO.Reason.LOCKED
+                    : OrderStatusConflictDTO.Reason.NOT_FOUND;
+                result.getConflicts().add(OrderStatusConflictDTO.builder().id(id).reason(reason).build());
+                continue;
+            }
+            OrderStatus currentStatus = order.getStatus() != null ? OrderStatus.valueOf(order.getStatus()) : null;
+            if (currentStatus == status) {
+                result.setUnchanged(result.getUnchanged() + 1);
+            } else if (OrderStatus.isAllowed(currentStatus, status)) {
+                moved.add(order);
+            } else {
+                result
+                    .getConflicts()
+                    .add(
+                        OrderStatusConflictDTO.builder()
+                            .id(id)
+                            .currentStatus(currentStatus)
+                            .reason(OrderStatusConflictDTO.Reason.INVALID_TRANSITION)
+                            .build()
+                    );
+            }
+        }
+        if (!moved.isEmpty()) {
+            orderRepository.updateStatus(moved.stream().map(OrderRepository.OrderStatusView::getId).toList(), status.name());
+            orderEventOutbox.ordersMoved(moved, status);
+            result.setTransitioned(result.getTransitioned() + moved.size());
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<OrderDTO> findAll(Pageable pageable) {
@@ -69,6 +197,15 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findAll(pageable).map(orderMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<OrderDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Orders");
+        return orderRepository
+            .findBy(Example.of(new Order()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(orderMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<OrderDTO> findOne(Long id) {
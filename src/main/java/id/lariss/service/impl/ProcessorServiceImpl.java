@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Processor;
 import id.lariss.repository.ProcessorRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.ProcessorService;
 import id.lariss.service.dto.ProcessorDTO;
 import id.lariss.service.mapper.ProcessorMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,16 @@ public class ProcessorServiceImpl implements ProcessorService {
 
     private final ProcessorMapper processorMapper;
 
-    public ProcessorServiceImpl(ProcessorRepository processorRepository, ProcessorMapper processorMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProcessorServiceImpl(
+        ProcessorRepository processorRepository,
+        ProcessorMapper processorMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.processorRepository = processorRepository;
         this.processorMapper = processorMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +49,7 @@ public class ProcessorServiceImpl implements ProcessorService {
         LOG.debug("Request to save Processor : {}", processorDTO);
         Processor processor = processorMapper.toEntity(processorDTO);
         processor = processorRepository.save(processor);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Processor"));
         return processorMapper.toDto(processor);
     }
 
@@ -44,6 +58,7 @@ public class ProcessorServiceImpl implements ProcessorService {
         LOG.debug("Request to update Processor : {}", processorDTO);
         Processor processor = processorMapper.toEntity(processorDTO);
         processor = processorRepository.save(processor);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Processor"));
         return processorMapper.toDto(processor);
     }
 
@@ -59,7 +74,10 @@ public class ProcessorServiceImpl implements ProcessorService {
                 return existingProcessor;
             })
             .map(processorRepository::save)
-            .map(processorMapper::toDto);
+            .map(savedProcessor -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Processor"));
+                return processorMapper.toDto(savedProcessor);
+            });
     }
 
     @Override
@@ -69,6 +87,15 @@ public class ProcessorServiceImpl implements ProcessorService {
         return processorRepository.findAll(pageable).map(processorMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<ProcessorDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Processors");
+        return processorRepository
+            .findBy(Example.of(new Processor()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(processorMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<ProcessorDTO> findOne(Long id) {
@@ -80,5 +107,6 @@ public class ProcessorServiceImpl implements ProcessorService {
     public void delete(Long id) {
         LOG.debug("Request to delete Processor : {}", id);
         processorRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Processor"));
     }
 }
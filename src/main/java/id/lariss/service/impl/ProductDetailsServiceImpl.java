@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.ProductDetails;
 import id.lariss.repository.ProductDetailsRepository;
+import id.lariss.service.ProductDetailsChangedEvent;
 import id.lariss.service.ProductDetailsService;
 import id.lariss.service.dto.ProductDetailsDTO;
 import id.lariss.service.mapper.ProductDetailsMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,16 @@ public class ProductDetailsServiceImpl implements ProductDetailsService {
 
     private final ProductDetailsMapper productDetailsMapper;
 
-    public ProductDetailsServiceImpl(ProductDetailsRepository productDetailsRepository, ProductDetailsMapper productDetailsMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductDetailsServiceImpl(
+        ProductDetailsRepository productDetailsRepository,
+        ProductDetailsMapper productDetailsMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.productDetailsRepository = productDetailsRepository;
         this.productDetailsMapper = productDetailsMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +49,7 @@ public class ProductDetailsServiceImpl implements ProductDetailsService {
         LOG.debug("Request to save ProductDetails : {}", productDetailsDTO);
         ProductDetails productDetails = productDetailsMapper.toEntity(productDetailsDTO);
         productDetails = productDetailsRepository.save(productDetails);
+        eventPublisher.publishEvent(new ProductDetailsChangedEvent(productDetails.getId()));
         return productDetailsMapper.toDto(productDetails);
     }
 
@@ -44,6 +58,7 @@ public class ProductDetailsServiceImpl implements ProductDetailsService {
         LOG.debug("Request to update ProductDetails : {}", productDetailsDTO);
         ProductDetails productDetails = productDetailsMapper.toEntity(productDetailsDTO);
         productDetails = productDetailsRepository.save(productDetails);
+        eventPublisher.publishEvent(new ProductDetailsChangedEvent(productDetails.getId()));
         return productDetailsMapper.toDto(productDetails);
     }
 
@@ -59,7 +74,10 @@ public class ProductDetailsServiceImpl implements ProductDetailsService {
                 return existingProductDetails;
             })
             .map(productDetailsRepository::save)
-            .map(productDetailsMapper::toDto);
+            .map(savedProductDetails -> {
+                eventPublisher.publishEvent(new ProductDetailsChangedEvent(savedProductDetails.getId()));
+                return productDetailsMapper.toDto(savedProductDetails);
+            });
     }
 
     @Override
@@ -69,8 +87,18 @@ public class ProductDetailsServiceImpl implements ProductDetailsService {
         return productDetailsRepository.findAll(pageable).map(productDetailsMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<ProductDetailsDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of ProductDetails");
+        return productDetailsRepository
+            .findBy(Example.of(new ProductDetails()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(productDetailsMapper::toDto);
+    }
+
+    @Transactional(readOnly = true)
     public Page<ProductDetailsDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return productDetailsRepository.findAllWithEagerRelationships(pageable).map(productDetailsMapper::toDto);
+        return productDetailsRepository.findAllWithAssembledRelationships(pageable).map(productDetailsMapper::toDto);
     }
 
     @Override
@@ -84,5 +112,6 @@ public class ProductDetailsServiceImpl implements ProductDetailsService {
     public void delete(Long id) {
         LOG.debug("Request to delete ProductDetails : {}", id);
         productDetailsRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductDetailsChangedEvent(id));
     }
 }
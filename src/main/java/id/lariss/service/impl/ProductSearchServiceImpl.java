@@ -0,0 +1,243 @@
+package id.lariss.service.impl;
+
+import id.lariss.domain.CaseSize;
+import id.lariss.domain.Category;
+import id.lariss.domain.Color;
+import id.lariss.domain.Connectivity;
+import id.lariss.domain.Material;
+import id.lariss.domain.Memory;
+import id.lariss.domain.Processor;
+import id.lariss.domain.Product;
+import id.lariss.domain.ProductDetails;
+import id.lariss.domain.Screen;
+import id.lariss.domain.Storage;
+import id.lariss.domain.StrapColor;
+import id.lariss.domain.StrapSize;
+import id.lariss.repository.CatalogRevisionRepository;
+import id.lariss.repository.ProductDetailsRepository;
+import id.lariss.service.CatalogChangedEvent;
+import id.lariss.service.CatalogRevisionChangedEvent;
+import id.lariss.service.CatalogVersionService;
+import id.lariss.service.ProductDetailsChangedEvent;
+import id.lariss.service.ProductSearchIndex;
+import id.lariss.service.ProductSearchService;
+import id.lariss.service.dto.ProductSearchDTO;
+import id.lariss.service.dto.ProductSearchItemDTO;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service Implementation for the public product search, answered from an in-memory {@link ProductSearchIndex}.
+ * <p>
+ * The index is built when the application is ready, updated document by document after every committed
+ * {@link ProductDetailsChangedEvent}, and rebuilt after every committed {@link CatalogChangedEvent}, as
+ * product, category and attribute names are part of the indexed text. It is also rebuilt after every
+ * {@link CatalogRevisionChangedEvent} newer than the revision of its last rebuild, which covers the writes of the other
+ * instances; the revisions are bumped per transaction, so a revision does not tell which documents it changed.
+ */
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductSearchServiceImpl.class);
+
+    private static final int MAX_LIMIT = 100;
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+
+    private final ProductDetailsRepository productDetailsRepository;
+
+    private final CatalogRevisionRepository catalogRevisionRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private volatile ProductSearchIndex index;
+
+    private long indexRevision;
+
+    public ProductSearchServiceImpl(
+        ProductDetailsRepository productDetailsRepository,
+        CatalogRevisionRepository catalogRevisionRepository,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.productDetailsRepository = productDetailsRepository;
+        this.catalogRevisionRepository = catalogRevisionRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // updates run after the writer's commit, so they must not join its (completed) transaction
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public ProductSearchDTO search(String query, int limit) {
+        LOG.debug("Request to search products: {}", query);
+        ProductSearchIndex.Result result = getIndex().search(query, Math.min(Math.max(limit, 0), MAX_LIMIT));
+        List<ProductSearchItemDTO> items = new ArrayList<>(result.hits().size());
+        for (ProductSearchIndex.Hit hit : result.hits()) {
+            ProductSearchIndex.Document document = hit.document();
+            items.add(
+                ProductSearchItemDTO.builder()
+                    .id(document.id())
+                    .name(document.name())
+                    .price(document.price())
+                    .thumbnail(document.thumbnail())
+                    .productNumber(document.productId())
+                    .productName(document.facets().get(ProductSearchIndex.FACET_PRODUCT))
+                    .attributes(document.facets())
+                    .score(hit.score())
+                    .build()
+            );
+        }
+        return ProductSearchDTO.builder().query(query).total(result.total()).items(items).facets(result.facets()).build();
+    }
+
+    private ProductSearchIndex getIndex() {
+        ProductSearchIndex current = index;
+        if (current == null) {
+            current = initialize();
+        }
+        return current;
+    }
+
+    private synchronized ProductSearchIndex initialize() {
+        if (index == null) {
+            rebuild();
+        }
+        return index;
+    }
+
+    /**
+     * Rebuild the index from the database and swap it in.
+     */
+    public synchronized void rebuild() {
+        ProductSearchIndex rebuilt = new ProductSearchIndex();
+        // read first, so the index is at least as recent as its revision
+        long revision = readOnlyTransaction.execute(status -> {
+            long read = catalogRevisionRepository.findRevision().orElse(0L);
+            Pageable pageable = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+            Page<ProductDetails> page;
+            do {
+                page = productDetailsRepository.findAllWithAssembledRelationships(pageable);
+                page.forEach(productDetails -> rebuilt.put(toDocument(productDetails)));
+                pageable = pageable.next();
+            } while (page.hasNext());
+            return read;
+        });
+        index = rebuilt;
+        indexRevision = revision;
+        LOG.debug("Product search index built: {} product details", rebuilt.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            initialize();
+        } catch (RuntimeException e) {
+            // the index is built on first search instead
+            LOG.warn("Could not build product search index on startup: {}", e.getMessage());
+        }
+    }
+
+    @Order(CatalogVersionService.READ_MODEL_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductDetailsChanged(ProductDetailsChangedEvent event) {
+        ProductSearchIndex current = index;
+        if (current == null) {
+            return;
+        }
+        LOG.debug("ProductDetails {} changed, updating search index", event.id());
+        try {
+            ProductSearchIndex.Document document = readOnlyTransaction.execute(status ->
+                productDetailsRepository.findOneWithEagerRelationships(event.id()).map(this::toDocument).orElse(null)
+            );
+            if (document != null) {
+                current.put(document);
+            } else {
+                current.remove(event.id());
+            }
+        } catch (RuntimeException e) {
+            // the write is already committed: drop the stale index so the next search rebuilds it
+            LOG.warn("Could not update product search index after ProductDetails {} change: {}", event.id(), e.getMessage());
+            index = null;
+        }
+    }
+
+    @Order(CatalogVersionService.READ_MODEL_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChanged(CatalogChangedEvent event) {
+        if (index == null) {
+            return;
+        }
+        LOG.debug("Catalog changed ({}), rebuilding search index", event.entityName());
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not rebuild product search index after {} change: {}", event.entityName(), e.getMessage());
+            index = null;
+        }
+    }
+
+    @Order(CatalogVersionService.READ_MODEL_LISTENER_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogRevisionChanged(CatalogRevisionChangedEvent event) {
+        if (index == null || indexRevision >= event.revision()) {
+            return;
+        }
+        LOG.debug("Catalog revision {} after search index {}, rebuilding search index", event.revision(), indexRevision);
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            LOG.warn("Could not rebuild product search index after revision {}: {}", event.revision(), e.getMessage());
+            index = null;
+        }
+    }
+
+    private ProductSearchIndex.Document toDocument(ProductDetails productDetails) {
+        Map<String, String> facets = new LinkedHashMap<>();
+        if (productDetails.getProduct() != null) {
+            putFacet(facets, ProductSearchIndex.FACET_CATEGORY, productDetails.getProduct().getCategory(), Category::getName);
+        }
+        putFacet(facets, ProductSearchIndex.FACET_PRODUCT, productDetails.getProduct(), Product::getName);
+        putFacet(facets, ProductSearchIndex.FACET_COLOR, productDetails.getColor(), Color::getName);
+        putFacet(facets, ProductSearchIndex.FACET_PROCESSOR, productDetails.getProcessor(), Processor::getName);
+        putFacet(facets, ProductSearchIndex.FACET_MEMORY, productDetails.getMemory(), Memory::getName);
+        putFacet(facets, ProductSearchIndex.FACET_STORAGE, productDetails.getStorage(), Storage::getName);
+        putFacet(facets, ProductSearchIndex.FACET_SCREEN, productDetails.getScreen(), Screen::getName);
+        putFacet(facets, ProductSearchIndex.FACET_CONNECTIVITY, productDetails.getConnectivity(), Connectivity::getName);
+        putFacet(facets, ProductSearchIndex.FACET_MATERIAL, productDetails.getMaterial(), Material::getName);
+        putFacet(facets, ProductSearchIndex.FACET_CASE_SIZE, productDetails.getCaseSize(), CaseSize::getName);
+        putFacet(facets, ProductSearchIndex.FACET_STRAP_COLOR, productDetails.getStrapColor(), StrapColor::getName);
+        putFacet(facets, ProductSearchIndex.FACET_STRAP_SIZE, productDetails.getStrapSize(), StrapSize::getName);
+        return new ProductSearchIndex.Document(
+            productDetails.getId(),
+            productDetails.getName(),
+            productDetails.getPrice(),
+            productDetails.getThumbnail(),
+            productDetails.getProduct() == null ? null : productDetails.getProduct().getId(),
+            facets
+        );
+    }
+
+    private static <T> void putFacet(Map<String, String> facets, String facet, T attribute, Function<T, String> name) {
+        String value = attribute == null ? null : name.apply(attribute);
+        if (value != null) {
+            facets.put(facet, value);
+        }
+    }
+}
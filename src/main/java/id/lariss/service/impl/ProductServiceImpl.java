@@ -2,6 +2,7 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Product;
 import id.lariss.repository.ProductRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.ProductService;
 import id.lariss.service.dto.ProductDTO;
 import id.lariss.service.mapper.ProductMapper;
@@ -9,8 +10,13 @@ import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,9 +33,12 @@ public class ProductServiceImpl implements ProductService {
 
     private final ProductMapper productMapper;
 
-    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductServiceImpl(ProductRepository productRepository, ProductMapper productMapper, ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
         this.productMapper = productMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -37,6 +46,7 @@ public class ProductServiceImpl implements ProductService {
         LOG.debug("Request to save Product : {}", productDTO);
         Product product = productMapper.toEntity(productDTO);
         product = productRepository.save(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Product"));
         return productMapper.toDto(product);
     }
 
@@ -45,6 +55,7 @@ public class ProductServiceImpl implements ProductService {
         LOG.debug("Request to update Product : {}", productDTO);
         Product product = productMapper.toEntity(productDTO);
         product = productRepository.save(product);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Product"));
         return productMapper.toDto(product);
     }
 
@@ -60,7 +71,10 @@ public class ProductServiceImpl implements ProductService {
                 return existingProduct;
             })
             .map(productRepository::save)
-            .map(productMapper::toDto);
+            .map(savedProduct -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Product"));
+                return productMapper.toDto(savedProduct);
+            });
     }
 
     @Override
@@ -70,6 +84,15 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findAll(pageable).map(productMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<ProductDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Products");
+        return productRepository
+            .findBy(Example.of(new Product()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(productMapper::toDto);
+    }
+
     public Page<ProductDTO> findAllWithEagerRelationships(Pageable pageable) {
         return productRepository.findAllWithEagerRelationships(pageable).map(productMapper::toDto);
     }
@@ -85,6 +108,7 @@ public class ProductServiceImpl implements ProductService {
     public void delete(Long id) {
         LOG.debug("Request to delete Product : {}", id);
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Product"));
     }
 
     @Override
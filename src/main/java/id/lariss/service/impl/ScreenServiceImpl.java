@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Screen;
 import id.lariss.repository.ScreenRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.ScreenService;
 import id.lariss.service.dto.ScreenDTO;
 import id.lariss.service.mapper.ScreenMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,12 @@ public class ScreenServiceImpl implements ScreenService {
 
     private final ScreenMapper screenMapper;
 
-    public ScreenServiceImpl(ScreenRepository screenRepository, ScreenMapper screenMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ScreenServiceImpl(ScreenRepository screenRepository, ScreenMapper screenMapper, ApplicationEventPublisher eventPublisher) {
         this.screenRepository = screenRepository;
         this.screenMapper = screenMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +45,7 @@ public class ScreenServiceImpl implements ScreenService {
         LOG.debug("Request to save Screen : {}", screenDTO);
         Screen screen = screenMapper.toEntity(screenDTO);
         screen = screenRepository.save(screen);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Screen"));
         return screenMapper.toDto(screen);
     }
 
@@ -44,6 +54,7 @@ public class ScreenServiceImpl implements ScreenService {
         LOG.debug("Request to update Screen : {}", screenDTO);
         Screen screen = screenMapper.toEntity(screenDTO);
         screen = screenRepository.save(screen);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Screen"));
         return screenMapper.toDto(screen);
     }
 
@@ -59,7 +70,10 @@ public class ScreenServiceImpl implements ScreenService {
                 return existingScreen;
             })
             .map(screenRepository::save)
-            .map(screenMapper::toDto);
+            .map(savedScreen -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Screen"));
+                return screenMapper.toDto(savedScreen);
+            });
     }
 
     @Override
@@ -69,6 +83,15 @@ public class ScreenServiceImpl implements ScreenService {
         return screenRepository.findAll(pageable).map(screenMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<ScreenDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Screens");
+        return screenRepository
+            .findBy(Example.of(new Screen()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(screenMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<ScreenDTO> findOne(Long id) {
@@ -80,5 +103,6 @@ public class ScreenServiceImpl implements ScreenService {
     public void delete(Long id) {
         LOG.debug("Request to delete Screen : {}", id);
         screenRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Screen"));
     }
 }
@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.Storage;
 import id.lariss.repository.StorageRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.StorageService;
 import id.lariss.service.dto.StorageDTO;
 import id.lariss.service.mapper.StorageMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,12 @@ public class StorageServiceImpl implements StorageService {
 
     private final StorageMapper storageMapper;
 
-    public StorageServiceImpl(StorageRepository storageRepository, StorageMapper storageMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StorageServiceImpl(StorageRepository storageRepository, StorageMapper storageMapper, ApplicationEventPublisher eventPublisher) {
         this.storageRepository = storageRepository;
         this.storageMapper = storageMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +45,7 @@ public class StorageServiceImpl implements StorageService {
         LOG.debug("Request to save Storage : {}", storageDTO);
         Storage storage = storageMapper.toEntity(storageDTO);
         storage = storageRepository.save(storage);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Storage"));
         return storageMapper.toDto(storage);
     }
 
@@ -44,6 +54,7 @@ public class StorageServiceImpl implements StorageService {
         LOG.debug("Request to update Storage : {}", storageDTO);
         Storage storage = storageMapper.toEntity(storageDTO);
         storage = storageRepository.save(storage);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Storage"));
         return storageMapper.toDto(storage);
     }
 
@@ -59,7 +70,10 @@ public class StorageServiceImpl implements StorageService {
                 return existingStorage;
             })
             .map(storageRepository::save)
-            .map(storageMapper::toDto);
+            .map(savedStorage -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("Storage"));
+                return storageMapper.toDto(savedStorage);
+            });
     }
 
     @Override
@@ -69,6 +83,15 @@ public class StorageServiceImpl implements StorageService {
         return storageRepository.findAll(pageable).map(storageMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<StorageDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of Storages");
+        return storageRepository
+            .findBy(Example.of(new Storage()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(storageMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<StorageDTO> findOne(Long id) {
@@ -80,5 +103,6 @@ public class StorageServiceImpl implements StorageService {
     public void delete(Long id) {
         LOG.debug("Request to delete Storage : {}", id);
         storageRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("Storage"));
     }
 }
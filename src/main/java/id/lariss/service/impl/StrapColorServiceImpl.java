@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.StrapColor;
 import id.lariss.repository.StrapColorRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.StrapColorService;
 import id.lariss.service.dto.StrapColorDTO;
 import id.lariss.service.mapper.StrapColorMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,16 @@ public class StrapColorServiceImpl implements StrapColorService {
 
     private final StrapColorMapper strapColorMapper;
 
-    public StrapColorServiceImpl(StrapColorRepository strapColorRepository, StrapColorMapper strapColorMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StrapColorServiceImpl(
+        StrapColorRepository strapColorRepository,
+        StrapColorMapper strapColorMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.strapColorRepository = strapColorRepository;
         this.strapColorMapper = strapColorMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +49,7 @@ public class StrapColorServiceImpl implements StrapColorService {
         LOG.debug("Request to save StrapColor : {}", strapColorDTO);
         StrapColor strapColor = strapColorMapper.toEntity(strapColorDTO);
         strapColor = strapColorRepository.save(strapColor);
+        eventPublisher.publishEvent(new CatalogChangedEvent("StrapColor"));
         return strapColorMapper.toDto(strapColor);
     }
 
@@ -44,6 +58,7 @@ public class StrapColorServiceImpl implements StrapColorService {
         LOG.debug("Request to update StrapColor : {}", strapColorDTO);
         StrapColor strapColor = strapColorMapper.toEntity(strapColorDTO);
         strapColor = strapColorRepository.save(strapColor);
+        eventPublisher.publishEvent(new CatalogChangedEvent("StrapColor"));
         return strapColorMapper.toDto(strapColor);
     }
 
@@ -59,7 +74,10 @@ public class StrapColorServiceImpl implements StrapColorService {
                 return existingStrapColor;
             })
             .map(strapColorRepository::save)
-            .map(strapColorMapper::toDto);
+            .map(savedStrapColor -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("StrapColor"));
+                return strapColorMapper.toDto(savedStrapColor);
+            });
     }
 
     @Override
@@ -69,6 +87,15 @@ public class StrapColorServiceImpl implements StrapColorService {
         return strapColorRepository.findAll(pageable).map(strapColorMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<StrapColorDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of StrapColors");
+        return strapColorRepository
+            .findBy(Example.of(new StrapColor()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(strapColorMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<StrapColorDTO> findOne(Long id) {
@@ -80,5 +107,6 @@ public class StrapColorServiceImpl implements StrapColorService {
     public void delete(Long id) {
         LOG.debug("Request to delete StrapColor : {}", id);
         strapColorRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("StrapColor"));
     }
 }
@@ -2,14 +2,20 @@ package id.lariss.service.impl;
 
 import id.lariss.domain.StrapSize;
 import id.lariss.repository.StrapSizeRepository;
+import id.lariss.service.CatalogChangedEvent;
 import id.lariss.service.StrapSizeService;
 import id.lariss.service.dto.StrapSizeDTO;
 import id.lariss.service.mapper.StrapSizeMapper;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,9 +32,16 @@ public class StrapSizeServiceImpl implements StrapSizeService {
 
     private final StrapSizeMapper strapSizeMapper;
 
-    public StrapSizeServiceImpl(StrapSizeRepository strapSizeRepository, StrapSizeMapper strapSizeMapper) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StrapSizeServiceImpl(
+        StrapSizeRepository strapSizeRepository,
+        StrapSizeMapper strapSizeMapper,
+        ApplicationEventPublisher eventPublisher
+    ) {
         this.strapSizeRepository = strapSizeRepository;
         this.strapSizeMapper = strapSizeMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -36,6 +49,7 @@ public class StrapSizeServiceImpl implements StrapSizeService {
         LOG.debug("Request to save StrapSize : {}", strapSizeDTO);
         StrapSize strapSize = strapSizeMapper.toEntity(strapSizeDTO);
         strapSize = strapSizeRepository.save(strapSize);
+        eventPublisher.publishEvent(new CatalogChangedEvent("StrapSize"));
         return strapSizeMapper.toDto(strapSize);
     }
 
@@ -44,6 +58,7 @@ public class StrapSizeServiceImpl implements StrapSizeService {
         LOG.debug("Request to update StrapSize : {}", strapSizeDTO);
         StrapSize strapSize = strapSizeMapper.toEntity(strapSizeDTO);
         strapSize = strapSizeRepository.save(strapSize);
+        eventPublisher.publishEvent(new CatalogChangedEvent("StrapSize"));
         return strapSizeMapper.toDto(strapSize);
     }
 
@@ -59,7 +74,10 @@ public class StrapSizeServiceImpl implements StrapSizeService {
                 return existingStrapSize;
             })
             .map(strapSizeRepository::save)
-            .map(strapSizeMapper::toDto);
+            .map(savedStrapSize -> {
+                eventPublisher.publishEvent(new CatalogChangedEvent("StrapSize"));
+                return strapSizeMapper.toDto(savedStrapSize);
+            });
     }
 
     @Override
@@ -69,6 +87,15 @@ public class StrapSizeServiceImpl implements StrapSizeService {
         return strapSizeRepository.findAll(pageable).map(strapSizeMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Window<StrapSizeDTO> findAll(KeysetScrollPosition position, Sort sort, int limit) {
+        LOG.debug("Request to get a window of StrapSizes");
+        return strapSizeRepository
+            .findBy(Example.of(new StrapSize()), query -> query.sortBy(sort).limit(limit).scroll(position))
+            .map(strapSizeMapper::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<StrapSizeDTO> findOne(Long id) {
@@ -80,5 +107,6 @@ public class StrapSizeServiceImpl implements StrapSizeService {
     public void delete(Long id) {
         LOG.debug("Request to delete StrapSize : {}", id);
         strapSizeRepository.deleteById(id);
+        eventPublisher.publishEvent(new CatalogChangedEvent("StrapSize"));
     }
 }
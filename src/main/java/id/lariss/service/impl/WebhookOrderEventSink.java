@@ -0,0 +1,36 @@
+package id.lariss.service.impl;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.service.OrderEventSink;
+import id.lariss.service.dto.OrderEventDTO;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Sink posting each batch of order events to {@code application.outbox.webhook.url}, as a JSON array.
+ * <p>
+ * Any non-2xx response fails the batch, which is retried: the receiver should deduplicate the events by id.
+ */
+@Service
+@ConditionalOnExpression("!'${application.outbox.webhook.url:}'.isEmpty()")
+public class WebhookOrderEventSink implements OrderEventSink {
+
+    private final RestClient restClient;
+
+    public WebhookOrderEventSink(RestClient.Builder restClientBuilder, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Outbox.Webhook webhook = applicationProperties.getOutbox().getWebhook();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(webhook.getTimeout());
+        requestFactory.setReadTimeout(webhook.getTimeout());
+        this.restClient = restClientBuilder.baseUrl(webhook.getUrl()).requestFactory(requestFactory).build();
+    }
+
+    @Override
+    public void publish(List<OrderEventDTO> events) {
+        restClient.post().contentType(MediaType.APPLICATION_JSON).body(events).retrieve().toBodilessEntity();
+    }
+}
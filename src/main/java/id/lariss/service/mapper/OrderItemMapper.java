@@ -17,6 +17,12 @@ public interface OrderItemMapper extends EntityMapper<OrderItemDTO, OrderItem> {
     @Mapping(target = "productDetails", source = "productDetails", qualifiedByName = "productDetailsId")
     OrderItemDTO toDto(OrderItem s);
 
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget OrderItem entity, OrderItemDTO dto);
+
     @Named("orderId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
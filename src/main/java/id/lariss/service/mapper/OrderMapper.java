@@ -14,6 +14,15 @@ public interface OrderMapper extends EntityMapper<OrderDTO, Order> {
     @Mapping(target = "customer", source = "customer", qualifiedByName = "customerId")
     OrderDTO toDto(Order s);
 
+    /**
+     * The version is checked against the current one by the service, never copied from the DTO.
+     */
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Order entity, OrderDTO dto);
+
     @Named("customerId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
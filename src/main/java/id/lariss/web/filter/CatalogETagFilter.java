@@ -0,0 +1,90 @@
+package id.lariss.web.filter;
+
+import id.lariss.service.CatalogSnapshot;
+import id.lariss.service.CatalogSnapshotService;
+import id.lariss.service.CatalogVersionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Conditional GET for the catalog read endpoints, based on the {@link CatalogVersionService catalog version stamps}.
+ * <p>
+ * Responses carry a weak {@code ETag} derived from the stamp of the catalog they are served from: the revision of the
+ * {@link CatalogSnapshot} for the public menu, the version of the search index of this instance for the public search,
+ * the database revision for the other endpoints.
+ * The tag is weak because the gzip and identity encodings of a response share it, which a strong tag would not allow.
+ * Requests whose {@code If-None-Match} is still current are answered {@code 304 (Not Modified)} before reaching any
+ * resource or service. No {@code Last-Modified} is sent, as its one second precision cannot tell two writes apart.
+ */
+public class CatalogETagFilter extends OncePerRequestFilter {
+
+    /**
+     * The endpoints served from the catalog snapshot.
+     */
+    static final List<String> SNAPSHOT_PATHS = List.of("/api/public/menu");
+
+    /**
+     * The endpoints served from the search index.
+     */
+    static final List<String> SEARCH_PATHS = List.of("/api/public/search");
+
+    /**
+     * The endpoints served from the database.
+     */
+    static final List<String> DATABASE_PATHS = List.of("/api/categories", "/api/products", "/api/product-details");
+
+    private final CatalogVersionService catalogVersionService;
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    public CatalogETagFilter(CatalogVersionService catalogVersionService, CatalogSnapshotService catalogSnapshotService) {
+        this.catalogVersionService = catalogVersionService;
+        this.catalogSnapshotService = catalogSnapshotService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        String path = getPath(request);
+        return !matches(SNAPSHOT_PATHS, path) && !matches(SEARCH_PATHS, path) && !matches(DATABASE_PATHS, path);
+    }
+
+    private static String getPath(HttpServletRequest request) {
+        // Request URI includes the contextPath if any, removed it.
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean matches(List<String> catalogPaths, String path) {
+        return catalogPaths.stream().anyMatch(catalogPath -> path.equals(catalogPath) || path.startsWith(catalogPath + "/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String path = getPath(request);
+        String etag;
+        if (matches(SNAPSHOT_PATHS, path)) {
+            etag = "m" + catalogSnapshotService.getSnapshot().getVersion();
+        } else if (matches(SEARCH_PATHS, path)) {
+            etag = catalogVersionService.getCurrentVersion().getETag();
+        } else {
+            etag = catalogVersionService.getRevisionETag();
+        }
+        // let clients keep the body, but revalidate it on every use
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache, private");
+        if (new ServletWebRequest(request, response).checkNotModified("W/\"" + etag + "\"")) {
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
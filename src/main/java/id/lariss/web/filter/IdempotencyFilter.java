@@ -0,0 +1,239 @@
+package id.lariss.web.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.lariss.service.IdempotencyKeyReusedException;
+import id.lariss.service.IdempotencyService;
+import id.lariss.service.IdempotentRequestInProgressException;
+import id.lariss.web.rest.errors.ErrorConstants;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes the order creation endpoints idempotent for the requests sent with an {@code Idempotency-Key} header.
+ * <p>
+ * The first request with a key is executed and its response recorded by the {@link IdempotencyService}; its retries,
+ * including the concurrent ones, get the recorded status, headers and body bytes, with an {@code Idempotent-Replayed}
+ * header, without executing anything. Keys are scoped to the caller and the endpoint. Reusing a key for another
+ * request is answered {@code 422 (Unprocessable Entity)}, and a retry of a request still executing on another instance
+ * {@code 409 (Conflict)}, with a problem body.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final List<String> IDEMPOTENT_PATHS = List.of("/api/orders", "/api/checkout");
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Headers written by Spring Security on every response, which must not be replayed.
+     */
+    private static final Set<String> SECURITY_HEADERS = Set.of("x-content-type-options", "x-frame-options", "x-xss-protection");
+
+    private final IdempotencyService idempotencyService;
+
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        return !IDEMPOTENT_PATHS.contains(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (idempotencyKey.isEmpty() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            sendProblem(request, response, HttpStatus.BAD_REQUEST, "Invalid " + IDEMPOTENCY_KEY_HEADER + " header");
+            return;
+        }
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String caller = Objects.requireNonNullElse(request.getRemoteUser(), "anonymous");
+        String scope = caller + " " + request.getMethod() + " " + path(request);
+        ContentCachingResponseWrapper capturedResponse = new ContentCachingResponseWrapper(response);
+
+        IdempotencyService.Outcome outcome;
+        try {
+            outcome = idempotencyService.execute(scope, idempotencyKey, requestHash(request, body), () -> {
+                filterChain.doFilter(new CachedBodyRequest(request, body), capturedResponse);
+                return new IdempotencyService.IdempotentResponse(
+                    capturedResponse.getStatus(),
+                    replayedHeaders(capturedResponse),
+                    capturedResponse.getContentAsByteArray()
+                );
+            });
+        } catch (IdempotencyKeyReusedException e) {
+            sendProblem(request, response, HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+            return;
+        } catch (IdempotentRequestInProgressException e) {
+            sendProblem(request, response, HttpStatus.CONFLICT, e.getMessage());
+            return;
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+
+        if (!outcome.replayed()) {
+            capturedResponse.copyBodyToResponse();
+            return;
+        }
+        IdempotencyService.IdempotentResponse replayed = outcome.response();
+        response.setStatus(replayed.status());
+        replayed.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+        response.setContentLength(replayed.body().length);
+        response.getOutputStream().write(replayed.body());
+    }
+
+    /**
+     * Answer with a problem, shaped like the ones of the {@link id.lariss.web.rest.errors.ExceptionTranslator}.
+     */
+    private void sendProblem(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String detail)
+        throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setType(ErrorConstants.DEFAULT_TYPE);
+        problem.setInstance(URI.create(request.getRequestURI()));
+        problem.setProperty("message", "error.http." + status.value());
+        problem.setProperty("path", request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+
+    private static String path(HttpServletRequest request) {
+        // Request URI includes the contextPath if any, removed it.
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    static String requestHash(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String target = request.getMethod() + " " + path(request);
+            if (request.getQueryString() != null) {
+                target += "?" + request.getQueryString();
+            }
+            digest.update((target + "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static Map<String, List<String>> replayedHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (response.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+        }
+        for (String name : response.getHeaderNames()) {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            boolean replayed =
+                lowerCaseName.equals("location") ||
+                lowerCaseName.equals("content-language") ||
+                (lowerCaseName.startsWith("x-") && !SECURITY_HEADERS.contains(lowerCaseName));
+            if (replayed && !headers.containsKey(name)) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    /**
+     * Request whose body was already read, served again to the rest of the chain.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // the body is already in memory: it is all available, and read as soon as it is
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package id.lariss.web.rest;
+
+import id.lariss.service.CatalogImportService;
+import id.lariss.service.ExportFormat;
+import id.lariss.service.dto.CatalogImportDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller importing the catalog in bulk, for the administrators.
+ */
+@RestController
+@RequestMapping("/api/admin/imports")
+public class CatalogImportResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CatalogImportResource.class);
+
+    private final CatalogImportService catalogImportService;
+
+    public CatalogImportResource(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+
+    /**
+     * {@code POST  /admin/imports/product-details} : create or update product details from the request body, in the
+     * background.
+     * <p>
+     * The body is a {@code text/csv} or {@code application/x-ndjson} file with the columns of the product details
+     * export, and is stored in a temporary file before the import starts. The body is not read while an import is
+     * running. The category of a row only applies to the products it creates: the category of an existing product is
+     * left unchanged.
+     *
+     * @param request the request, with the file in body.
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and the started import in body,
+     * or with status {@code 409 (Conflict)} and the last import of this instance in body if an import is already
+     * running, on this instance or another one.
+     * @throws IOException if the body cannot be stored.
+     */
+    @PostMapping(value = "/product-details", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<CatalogImportDTO> importProductDetails(HttpServletRequest request) throws IOException {
+        ExportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+            ? ExportFormat.CSV
+            : ExportFormat.NDJSON;
+        LOG.debug("REST request to import product details as {}", format);
+        Optional<CatalogImportDTO> lastImport = catalogImportService.getLastImport();
+        if (lastImport.filter(CatalogImportDTO::isRunning).isPresent()) {
+            // rejected before storing the body; the import service checks again, for the concurrent requests
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(lastImport.orElseThrow());
+        }
+        Path file = Files.createTempFile("product-details-import-", "." + format.getExtension());
+        try {
+            Files.copy(request.getInputStream(), file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        HttpStatus status = catalogImportService.startImport(format, file) ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(catalogImportService.getLastImport().orElse(null));
+    }
+
+    /**
+     * {@code GET  /admin/imports/product-details} : get the progress of the running import, or the outcome of the last
+     * one.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the import in body,
+     * or with status {@code 404 (Not Found)} if no import ran since the start of this instance.
+     */
+    @GetMapping("/product-details")
+    public ResponseEntity<CatalogImportDTO> getProductDetailsImport() {
+        LOG.debug("REST request to get the product details import");
+        return ResponseUtil.wrapOrNotFound(catalogImportService.getLastImport());
+    }
+}
@@ -1,9 +1,11 @@
 package id.lariss.web.rest;
 
+import id.lariss.domain.Category;
 import id.lariss.repository.CategoryRepository;
 import id.lariss.service.CategoryService;
 import id.lariss.service.dto.CategoryDTO;
 import id.lariss.web.rest.errors.BadRequestAlertException;
+import id.lariss.web.rest.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -16,6 +18,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -149,6 +152,28 @@ public class CategoryResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /categories?after=} : get a window of the categories, using keyset pagination.
+     *
+     * @param after the cursor of the previous window, empty for the first window.
+     * @param pageable the sort and size of the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of categories in body.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<CategoryDTO>> getAllCategoriesAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a window of Categories");
+        Window<CategoryDTO> window = categoryService.findAll(
+            KeysetPaginationUtil.decodeCursor(after, pageable.getSort(), Category.class, ENTITY_NAME),
+            pageable.getSort(),
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
     /**
      * {@code GET  /categories/:id} : get the "id" category.
      *
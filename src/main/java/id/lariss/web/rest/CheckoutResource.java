@@ -0,0 +1,56 @@
+package id.lariss.web.rest;
+
+import id.lariss.service.CheckoutService;
+import id.lariss.service.dto.CartDTO;
+import id.lariss.service.dto.CheckoutDTO;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.net.URISyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for checking out a cart into an {@link id.lariss.domain.Order}.
+ */
+@RestController
+@RequestMapping("/api/checkout")
+public class CheckoutResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CheckoutResource.class);
+
+    private static final String ENTITY_NAME = "order";
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final CheckoutService checkoutService;
+
+    public CheckoutResource(CheckoutService checkoutService) {
+        this.checkoutService = checkoutService;
+    }
+
+    /**
+     * {@code POST  /checkout} : Create the customer, the order and the order items of a cart.
+     *
+     * @param cartDTO the cart to check out.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new order and its items,
+     * or with status {@code 400 (Bad Request)} if the cart is not valid.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("")
+    public ResponseEntity<CheckoutDTO> checkout(@Valid @RequestBody CartDTO cartDTO) throws URISyntaxException {
+        LOG.debug("REST request to checkout Cart : {}", cartDTO);
+        CheckoutDTO checkoutDTO = checkoutService.checkout(cartDTO);
+        Long orderId = checkoutDTO.getOrder().getId();
+        return ResponseEntity.created(new URI("/api/orders/" + orderId))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, orderId.toString()))
+            .body(checkoutDTO);
+    }
+}
@@ -1,9 +1,11 @@
 package id.lariss.web.rest;
 
+import id.lariss.domain.Connectivity;
 import id.lariss.repository.ConnectivityRepository;
 import id.lariss.service.ConnectivityService;
 import id.lariss.service.dto.ConnectivityDTO;
 import id.lariss.web.rest.errors.BadRequestAlertException;
+import id.lariss.web.rest.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -16,6 +18,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -150,6 +153,28 @@ public class ConnectivityResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /connectivities?after=} : get a window of the connectivities, using keyset pagination.
+     *
+     * @param after the cursor of the previous window, empty for the first window.
+     * @param pageable the sort and size of the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of connectivities in body.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<ConnectivityDTO>> getAllConnectivitiesAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a window of Connectivities");
+        Window<ConnectivityDTO> window = connectivityService.findAll(
+            KeysetPaginationUtil.decodeCursor(after, pageable.getSort(), Connectivity.class, ENTITY_NAME),
+            pageable.getSort(),
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
     /**
      * {@code GET  /connectivities/:id} : get the "id" connectivity.
      *
@@ -0,0 +1,53 @@
+package id.lariss.web.rest;
+
+import id.lariss.service.CustomerMergeService;
+import id.lariss.service.dto.CustomerMergeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller merging the duplicate customers, for the administrators.
+ */
+@RestController
+@RequestMapping("/api/admin/customers")
+public class CustomerMergeResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CustomerMergeResource.class);
+
+    private final CustomerMergeService customerMergeService;
+
+    public CustomerMergeResource(CustomerMergeService customerMergeService) {
+        this.customerMergeService = customerMergeService;
+    }
+
+    /**
+     * {@code POST  /admin/customers/merge} : merge the duplicate customers by phone number and email address, in the
+     * background.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and the started merge in body,
+     * or with status {@code 409 (Conflict)} and the last merge of this instance in body if a merge is already running,
+     * on this instance or another one.
+     */
+    @PostMapping("/merge")
+    public ResponseEntity<CustomerMergeDTO> startMerge() {
+        LOG.debug("REST request to merge the duplicate customers");
+        HttpStatus status = customerMergeService.startMerge() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(customerMergeService.getLastMerge().orElse(null));
+    }
+
+    /**
+     * {@code GET  /admin/customers/merge} : get the progress of the running merge, or the outcome of the last one.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the merge in body,
+     * or with status {@code 404 (Not Found)} if no merge ran since the start of this instance.
+     */
+    @GetMapping("/merge")
+    public ResponseEntity<CustomerMergeDTO> getMerge() {
+        LOG.debug("REST request to get the customer merge");
+        return ResponseUtil.wrapOrNotFound(customerMergeService.getLastMerge());
+    }
+}
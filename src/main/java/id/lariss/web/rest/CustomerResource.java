@@ -1,9 +1,12 @@
 package id.lariss.web.rest;
 
+import id.lariss.domain.ContactKeys;
+import id.lariss.domain.Customer;
 import id.lariss.repository.CustomerRepository;
 import id.lariss.service.CustomerService;
 import id.lariss.service.dto.CustomerDTO;
 import id.lariss.web.rest.errors.BadRequestAlertException;
+import id.lariss.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,8 +17,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -34,6 +37,8 @@ public class CustomerResource {
 
     private static final String ENTITY_NAME = "customer";
 
+    private static final String ORDER_IS_NULL = "order-is-null";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -50,7 +55,7 @@ public class CustomerResource {
      * {@code POST  /customers} : Create a new customer.
      *
      * @param customerDTO the customerDTO to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new customerDTO, or with status {@code 400 (Bad Request)} if the customer has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new customerDTO, or with status {@code 400 (Bad Request)} if the customer has already an ID, or a phone number or email address of another customer.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
@@ -59,6 +64,7 @@ public class CustomerResource {
         if (customerDTO.getId() != null) {
             throw new BadRequestAlertException("A new customer cannot already have an ID", ENTITY_NAME, "idexists");
         }
+        checkContactKeys(customerDTO);
         customerDTO = customerService.save(customerDTO);
         return ResponseEntity.created(new URI("/api/customers/" + customerDTO.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, customerDTO.getId().toString()))
@@ -92,6 +98,7 @@ public class CustomerResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        checkContactKeys(customerDTO);
         customerDTO = customerService.update(customerDTO);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, customerDTO.getId().toString()))
@@ -126,6 +133,7 @@ public class CustomerResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
+        checkContactKeys(customerDTO);
         Optional<CustomerDTO> result = customerService.partialUpdate(customerDTO);
 
         return ResponseUtil.wrapOrNotFound(
@@ -138,7 +146,7 @@ public class CustomerResource {
      * {@code GET  /customers} : get all the customers.
      *
      * @param pageable the pagination information.
-     * @param filter the filter of the request.
+     * @param filter the filter of the request, {@code order-is-null} for the customers without an order.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of customers in body.
      */
     @GetMapping("")
@@ -146,16 +154,62 @@ public class CustomerResource {
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
         @RequestParam(name = "filter", required = false) String filter
     ) {
-        if ("order-is-null".equals(filter)) {
-            LOG.debug("REST request to get all Customers where order is null");
-            return new ResponseEntity<>(customerService.findAllWhereOrderIsNull(), HttpStatus.OK);
+        Page<CustomerDTO> page;
+        if (ORDER_IS_NULL.equals(filter)) {
+            LOG.debug("REST request to get a page of Customers where order is null");
+            page = customerService.findAllWhereOrderIsNull(pageable);
+        } else {
+            LOG.debug("REST request to get a page of Customers");
+            page = customerService.findAll(pageable);
         }
-        LOG.debug("REST request to get a page of Customers");
-        Page<CustomerDTO> page = customerService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /customers/count} : count the customers.
+     *
+     * @param filter the filter of the request, {@code order-is-null} for the customers without an order.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Long> countCustomers(@RequestParam(name = "filter", required = false) String filter) {
+        if (ORDER_IS_NULL.equals(filter)) {
+            LOG.debug("REST request to count Customers where order is null");
+            return ResponseEntity.ok().body(customerService.countWhereOrderIsNull());
+        }
+        LOG.debug("REST request to count Customers");
+        return ResponseEntity.ok().body(customerRepository.count());
+    }
+
+    /**
+     * {@code GET  /customers?after=} : get a window of the customers, using keyset pagination.
+     *
+     * @param after the cursor of the previous window, empty for the first window.
+     * @param pageable the sort and size of the window.
+     * @param filter the filter of the request, which keyset pagination does not support.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of customers in body,
+     * or with status {@code 400 (Bad Request)} if a filter is given.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<CustomerDTO>> getAllCustomersAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "filter", required = false) String filter
+    ) {
+        LOG.debug("REST request to get a window of Customers");
+        if (filter != null) {
+            throw new BadRequestAlertException("Keyset pagination does not support the filter " + filter, ENTITY_NAME, "filterunsupported");
+        }
+        Window<CustomerDTO> window = customerService.findAll(
+            KeysetPaginationUtil.decodeCursor(after, pageable.getSort(), Customer.class, ENTITY_NAME),
+            pageable.getSort(),
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
     /**
      * {@code GET  /customers/:id} : get the "id" customer.
      *
@@ -169,6 +223,26 @@ public class CustomerResource {
         return ResponseUtil.wrapOrNotFound(customerDTO);
     }
 
+    /**
+     * Reject the phone number and email address of a customer that normalize to the key of another customer, before
+     * they hit the unique indexes. A {@code null} contact is not checked: it has no key, or is left unchanged by a
+     * partial update.
+     */
+    private void checkContactKeys(CustomerDTO customerDTO) {
+        String phoneKey = ContactKeys.phoneKey(customerDTO.getPhoneNumber());
+        if (phoneKey != null && isKeyOfAnotherCustomer(customerRepository.findOneByPhoneKey(phoneKey), customerDTO)) {
+            throw new BadRequestAlertException("Phone number already used by another customer", ENTITY_NAME, "phoneexists");
+        }
+        String emailKey = ContactKeys.emailKey(customerDTO.getEmailAddress());
+        if (emailKey != null && isKeyOfAnotherCustomer(customerRepository.findOneByEmailKey(emailKey), customerDTO)) {
+            throw new BadRequestAlertException("Email address already used by another customer", ENTITY_NAME, "emailexists");
+        }
+    }
+
+    private static boolean isKeyOfAnotherCustomer(Optional<Customer> keyed, CustomerDTO customerDTO) {
+        return keyed.filter(customer -> !customer.getId().equals(customerDTO.getId())).isPresent();
+    }
+
     /**
      * {@code DELETE  /customers/:id} : delete the "id" customer.
      *
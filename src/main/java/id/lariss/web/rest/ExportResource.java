@@ -0,0 +1,108 @@
+package id.lariss.web.rest;
+
+import id.lariss.service.ExportFormat;
+import id.lariss.service.ExportService;
+import id.lariss.web.rest.errors.BadRequestAlertException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller exporting the orders, customers and product details, for the administrators.
+ * <p>
+ * The exports are written to the response as they are read from the database, in the {@code format} requested:
+ * {@code csv}, the default, or {@code ndjson}.
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+public class ExportResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportResource.class);
+
+    private static final String ENTITY_NAME = "export";
+
+    private final ExportService exportService;
+
+    public ExportResource(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * {@code GET  /admin/exports/orders} : export all the orders with their items.
+     *
+     * @param format the format of the export.
+     * @param response the response to write the export to.
+     * @throws IOException if the export cannot be written to the response.
+     */
+    @GetMapping("/orders")
+    public void exportOrders(@RequestParam(value = "format", defaultValue = "csv") String format, HttpServletResponse response)
+        throws IOException {
+        LOG.debug("REST request to export the orders as {}", format);
+        ExportFormat exportFormat = start(response, "orders", format);
+        exportService.exportOrders(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * {@code GET  /admin/exports/customers} : export all the customers.
+     *
+     * @param format the format of the export.
+     * @param filter the filter of the export, {@code order-is-null} for the customers without an order.
+     * @param response the response to write the export to.
+     * @throws IOException if the export cannot be written to the response.
+     */
+    @GetMapping("/customers")
+    public void exportCustomers(
+        @RequestParam(value = "format", defaultValue = "csv") String format,
+        @RequestParam(value = "filter", required = false) String filter,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to export the customers as {} with filter {}", format, filter);
+        ExportFormat exportFormat = start(response, "customers", format);
+        if ("order-is-null".equals(filter)) {
+            exportService.exportCustomersWhereOrderIsNull(exportFormat, response.getOutputStream());
+        } else {
+            exportService.exportCustomers(exportFormat, response.getOutputStream());
+        }
+    }
+
+    /**
+     * {@code GET  /admin/exports/product-details} : export all the product details with the names of their attributes.
+     *
+     * @param format the format of the export.
+     * @param response the response to write the export to.
+     * @throws IOException if the export cannot be written to the response.
+     */
+    @GetMapping("/product-details")
+    public void exportProductDetails(
+        @RequestParam(value = "format", defaultValue = "csv") String format,
+        HttpServletResponse response
+    ) throws IOException {
+        LOG.debug("REST request to export the product details as {}", format);
+        ExportFormat exportFormat = start(response, "product-details", format);
+        exportService.exportProductDetails(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * Parse the format and set the headers of the export response.
+     */
+    private static ExportFormat start(HttpServletResponse response, String name, String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("The format must be csv or ndjson", ENTITY_NAME, "invalidformat");
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        String filename = name + "-" + LocalDate.now() + "." + exportFormat.getExtension();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        return exportFormat;
+    }
+}
@@ -1,29 +1,62 @@
 package id.lariss.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.lariss.service.CatalogSnapshot;
+import id.lariss.service.CatalogSnapshotService;
 import id.lariss.service.MenuService;
-import id.lariss.service.dto.MenuDTO;
+import id.lariss.web.rest.util.PrecomputedResponseCache;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+/**
+ * REST controller for the public menu.
+ * <p>
+ * Menus are pure functions of the {@link CatalogSnapshot}, so their JSON (and gzipped JSON) bodies are encoded once per
+ * snapshot version and normalized parameter, and written as-is afterwards.
+ */
 @RestController
 @RequestMapping("/api/public/menu")
 public class MenuResource {
 
+    private static final int MAX_CACHED_RESPONSES = 1024;
+
     private final MenuService menuService;
 
-    public MenuResource(MenuService menuService) {
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    private final PrecomputedResponseCache responseCache;
+
+    public MenuResource(MenuService menuService, CatalogSnapshotService catalogSnapshotService, ObjectMapper objectMapper) {
         this.menuService = menuService;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.responseCache = new PrecomputedResponseCache(objectMapper, MAX_CACHED_RESPONSES);
     }
 
-    @GetMapping("/by-number")
-    public MenuDTO getMenuByNumber(@RequestParam(required = false) Long number) {
-        return menuService.getMenuByProductNumber(number);
+    @GetMapping(value = "/by-number", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getMenuByNumber(
+        @RequestParam(required = false) Long number,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        long version = catalogSnapshotService.getSnapshot().getVersion();
+        String key = "by-number:" + (number == null ? "" : number);
+        return responseCache.get(version, key, () -> menuService.getMenuByProductNumber(number)).toResponseEntity(acceptEncoding);
     }
 
-    @GetMapping("/by-name")
-    public MenuDTO getMenuByName(@RequestParam(required = false) String name) {
-        return menuService.getMenuByProductName(name);
+    @GetMapping(value = "/by-name", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getMenuByName(
+        @RequestParam(required = false) String name,
+        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        long version = catalogSnapshotService.getSnapshot().getVersion();
+        // category names are matched ignoring case, and blank names list all the categories
+        String key = "by-name:" + (StringUtils.isBlank(name) ? "" : CatalogSnapshot.foldCase(name));
+        return responseCache.get(version, key, () -> menuService.getMenuByProductName(name)).toResponseEntity(acceptEncoding);
     }
 }
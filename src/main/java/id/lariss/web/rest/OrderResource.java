@@ -1,9 +1,15 @@
 package id.lariss.web.rest;
 
+import id.lariss.domain.Order;
 import id.lariss.repository.OrderRepository;
+import id.lariss.security.AuthoritiesConstants;
 import id.lariss.service.OrderService;
 import id.lariss.service.dto.OrderDTO;
+import id.lariss.service.dto.OrderStatusTransitionDTO;
+import id.lariss.service.dto.OrderStatusTransitionResultDTO;
 import id.lariss.web.rest.errors.BadRequestAlertException;
+import id.lariss.web.rest.util.KeysetPaginationUtil;
+import jakarta.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -14,8 +20,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
@@ -133,6 +141,23 @@ public class OrderResource {
         );
     }
 
+    /**
+     * {@code POST  /orders/status-transitions} : Move orders to a status, in bulk.
+     * <p>
+     * The orders are moved by chunks, each in its own transaction. The orders which are not found, locked by another
+     * update or cannot move to the status are listed with the reason, the others are moved.
+     *
+     * @param transition the orders and the status to move them to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of orders moved and the
+     * orders which could not be moved, or with status {@code 400 (Bad Request)} if the transition is not valid.
+     */
+    @PostMapping("/status-transitions")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<OrderStatusTransitionResultDTO> transitionOrderStatus(@Valid @RequestBody OrderStatusTransitionDTO transition) {
+        LOG.debug("REST request to move {} Orders to {}", transition.getIds().size(), transition.getStatus());
+        return ResponseEntity.ok(orderService.transitionStatus(transition.getIds(), transition.getStatus()));
+    }
+
     /**
      * {@code GET  /orders} : get all the orders.
      *
@@ -147,6 +172,28 @@ public class OrderResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /orders?after=} : get a window of the orders, using keyset pagination.
+     *
+     * @param after the cursor of the previous window, empty for the first window.
+     * @param pageable the sort and size of the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of orders in body.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<OrderDTO>> getAllOrdersAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a window of Orders");
+        Window<OrderDTO> window = orderService.findAll(
+            KeysetPaginationUtil.decodeCursor(after, pageable.getSort(), Order.class, ENTITY_NAME),
+            pageable.getSort(),
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
     /**
      * {@code GET  /orders/:id} : get the "id" order.
      *
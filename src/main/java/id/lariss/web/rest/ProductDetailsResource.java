@@ -1,9 +1,11 @@
 package id.lariss.web.rest;
 
+import id.lariss.domain.ProductDetails;
 import id.lariss.repository.ProductDetailsRepository;
 import id.lariss.service.ProductDetailsService;
 import id.lariss.service.dto.ProductDetailsDTO;
 import id.lariss.web.rest.errors.BadRequestAlertException;
+import id.lariss.web.rest.util.KeysetPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -16,6 +18,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -159,6 +162,34 @@ public class ProductDetailsResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /product-details?after=} : get a window of the productDetails, using keyset pagination.
+     *
+     * @param after the cursor of the previous window, empty for the first window.
+     * @param pageable the sort and size of the window.
+     * @param eagerload flag to eager load entities from relationships, which keyset pagination does not support.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the window of productDetails in body,
+     * or with status {@code 400 (Bad Request)} if eager loading is requested.
+     */
+    @GetMapping(value = "", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<ProductDetailsDTO>> getAllProductDetailsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "eagerload", required = false, defaultValue = "false") boolean eagerload
+    ) {
+        LOG.debug("REST request to get a window of ProductDetails");
+        if (eagerload) {
+            throw new BadRequestAlertException("Keyset pagination does not support eager loading", ENTITY_NAME, "eagerloadunsupported");
+        }
+        Window<ProductDetailsDTO> window = productDetailsService.findAll(
+            KeysetPaginationUtil.decodeCursor(after, pageable.getSort(), ProductDetails.class, ENTITY_NAME),
+            pageable.getSort(),
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return ResponseEntity.ok().headers(headers).body(window.getContent());
+    }
+
     /**
      * {@code GET  /product-details/:id} : get the "id" productDetails.
      *
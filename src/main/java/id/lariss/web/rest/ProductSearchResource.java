@@ -0,0 +1,44 @@
+package id.lariss.web.rest;
+
+import id.lariss.service.ProductSearchService;
+import id.lariss.service.dto.ProductSearchDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the public product search, answered from the in-memory search index.
+ */
+@RestController
+@RequestMapping("/api/public/search")
+public class ProductSearchResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductSearchResource.class);
+
+    private final ProductSearchService productSearchService;
+
+    public ProductSearchResource(ProductSearchService productSearchService) {
+        this.productSearchService = productSearchService;
+    }
+
+    /**
+     * {@code GET  /public/search?q=} : search the product details.
+     *
+     * @param query the free text query; blank queries match nothing.
+     * @param size the maximum number of product details to return, up to 100.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the matching product details and their facet
+     * counts in body.
+     */
+    @GetMapping("")
+    public ResponseEntity<ProductSearchDTO> search(
+        @RequestParam(name = "q", required = false) String query,
+        @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        LOG.debug("REST request to search ProductDetails : {}", query);
+        return ResponseEntity.ok(productSearchService.search(query, size));
+    }
+}
@@ -1,7 +1,9 @@
 package id.lariss.web.rest;
 
+import id.lariss.domain.User;
 import id.lariss.service.UserService;
 import id.lariss.service.dto.UserDTO;
+import id.lariss.web.rest.util.KeysetPaginationUtil;
 import java.util.*;
 import java.util.Collections;
 import org.slf4j.Logger;
@@ -9,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -50,6 +53,32 @@ public class PublicUserResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET /users?after=} : get a window of users with only public information, using keyset pagination - calling this method is allowed for anyone.
+     *
+     * @param after the cursor of the previous window, empty for the first window.
+     * @param pageable the sort and size of the window.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the window of users.
+     */
+    @GetMapping(value = "/users", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public ResponseEntity<List<UserDTO>> getAllPublicUsersAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+    ) {
+        LOG.debug("REST request to get a window of public User names");
+        if (!onlyContainsAllowedProperties(pageable)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        final Window<UserDTO> window = userService.getAllPublicUsers(
+            KeysetPaginationUtil.decodeCursor(after, pageable.getSort(), User.class, "userManagement"),
+            pageable.getSort(),
+            pageable.getPageSize()
+        );
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), window);
+        return new ResponseEntity<>(window.getContent(), headers, HttpStatus.OK);
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
@@ -0,0 +1,143 @@
+package id.lariss.web.rest;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.service.SalesAnalyticsService;
+import id.lariss.service.SalesRollupService;
+import id.lariss.service.dto.DailySalesDTO;
+import id.lariss.service.dto.SalesDTO;
+import id.lariss.service.dto.SalesRollupBackfillDTO;
+import id.lariss.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.ResponseUtil;
+
+/**
+ * REST controller reporting the sales, for the administrators.
+ */
+@RestController
+@RequestMapping("/api/admin/sales")
+public class SalesAnalyticsResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SalesAnalyticsResource.class);
+
+    private static final String ENTITY_NAME = "sales";
+
+    static final int MAX_TOP_LIMIT = 100;
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    private final SalesRollupService salesRollupService;
+
+    private final ApplicationProperties applicationProperties;
+
+    public SalesAnalyticsResource(
+        SalesAnalyticsService salesAnalyticsService,
+        SalesRollupService salesRollupService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.salesAnalyticsService = salesAnalyticsService;
+        this.salesRollupService = salesRollupService;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * {@code GET  /admin/sales/daily} : get the sales of each day of a range.
+     * <p>
+     * The ranges are checked against {@code application.analytics.max-range-days}, here and in the other reports.
+     *
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @return the sales of the days with sales.
+     */
+    @GetMapping("/daily")
+    public List<DailySalesDTO> getDailySales(
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LOG.debug("REST request to get the daily sales from {} to {}", from, to);
+        checkRange(from, to);
+        return salesAnalyticsService.getDailySales(from, to);
+    }
+
+    /**
+     * {@code GET  /admin/sales/categories} : get the sales of each category over a range of days.
+     *
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @return the sales by category, best selling first.
+     */
+    @GetMapping("/categories")
+    public List<SalesDTO> getCategorySales(
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        LOG.debug("REST request to get the category sales from {} to {}", from, to);
+        checkRange(from, to);
+        return salesAnalyticsService.getCategorySales(from, to);
+    }
+
+    /**
+     * {@code GET  /admin/sales/top-products} : get the best selling product details over a range of days.
+     *
+     * @param from the first day, included.
+     * @param to the last day, included.
+     * @param limit the maximum number of product details, up to {@value #MAX_TOP_LIMIT}.
+     * @return the sales of the best selling product details, best first.
+     */
+    @GetMapping("/top-products")
+    public List<SalesDTO> getTopProductDetails(
+        @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        LOG.debug("REST request to get the top {} product details from {} to {}", limit, from, to);
+        checkRange(from, to);
+        if (limit < 1 || limit > MAX_TOP_LIMIT) {
+            throw new BadRequestAlertException("The limit must be between 1 and " + MAX_TOP_LIMIT, ENTITY_NAME, "invalidlimit");
+        }
+        return salesAnalyticsService.getTopProductDetails(from, to, limit);
+    }
+
+    /**
+     * {@code POST  /admin/sales/backfill} : rebuild the sales rollups from all the orders, in the background.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and the started backfill in body,
+     * or with status {@code 409 (Conflict)} and the last backfill of this instance in body if a backfill is already
+     * running, on this instance or another one.
+     */
+    @PostMapping("/backfill")
+    public ResponseEntity<SalesRollupBackfillDTO> startBackfill() {
+        LOG.debug("REST request to rebuild the sales rollups");
+        HttpStatus status = salesRollupService.startBackfill() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(salesRollupService.getLastBackfill().orElse(null));
+    }
+
+    /**
+     * {@code GET  /admin/sales/backfill} : get the progress of the running backfill, or the outcome of the last one.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the backfill in body,
+     * or with status {@code 404 (Not Found)} if no backfill ran since the start of this instance.
+     */
+    @GetMapping("/backfill")
+    public ResponseEntity<SalesRollupBackfillDTO> getBackfill() {
+        LOG.debug("REST request to get the sales rollups backfill");
+        return ResponseUtil.wrapOrNotFound(salesRollupService.getLastBackfill());
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestAlertException("The range must not end before it starts", ENTITY_NAME, "invalidrange");
+        }
+        int maxRangeDays = applicationProperties.getAnalytics().getMaxRangeDays();
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new BadRequestAlertException("The range must not exceed " + maxRangeDays + " days", ENTITY_NAME, "invalidrange");
+        }
+    }
+}
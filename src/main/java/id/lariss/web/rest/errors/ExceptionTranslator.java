@@ -87,6 +87,14 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
             .getBody();
         if (ex instanceof id.lariss.service.InvalidPasswordException) return (ProblemDetailWithCause) new InvalidPasswordException()
             .getBody();
+        if (ex instanceof id.lariss.service.InvalidCartException) return (ProblemDetailWithCause) new BadRequestAlertException(
+            ex.getMessage(),
+            "checkout",
+            "invalidcart"
+        ).getBody();
+        if (
+            ex instanceof id.lariss.service.InvalidOrderStatusTransitionException
+        ) return (ProblemDetailWithCause) new BadRequestAlertException(ex.getMessage(), "order", "invalidstatustransition").getBody();
 
         if (
             ex instanceof ErrorResponseException exp && exp.getBody() instanceof ProblemDetailWithCause problemDetailWithCause
@@ -0,0 +1,160 @@
+package id.lariss.web.rest.util;
+
+import id.lariss.web.rest.errors.BadRequestAlertException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotNull;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for keyset (seek) pagination.
+ * <p>
+ * A keyset page is requested with an {@code after} parameter, holding the opaque cursor of the last entity of the
+ * previous window, or an empty value for the first window. The cursor encodes the values of the sort properties
+ * and of the id, so the next window is read with a seek predicate instead of an offset, and no count is run.
+ * The cursor of the next window is returned in a {@code Link} header with {@code rel="next"}.
+ * <p>
+ * Only the non-null columns of the entity itself can be sorted on: a nested property, such as {@code product.name},
+ * is rejected, and so is a nullable column, as the seek predicate {@code prop > :value} is never true when the value
+ * or the column is null, which would silently skip the rows past a null boundary.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String ID_PROPERTY = "id";
+
+    private static final ConversionService conversionService = new DefaultFormattingConversionService();
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Decode a cursor into the keyset position to scroll from.
+     *
+     * @param after the cursor, empty for the first window.
+     * @param sort the sort of the request, on non-null columns of the entity only, which must be the one the cursor
+     * was created with.
+     * @param entityClass the class of the scrolled entity, used to restore the type of the keys.
+     * @param entityName the name of the entity, for error reporting.
+     * @return the keyset position.
+     */
+    public static KeysetScrollPosition decodeCursor(String after, Sort sort, Class<?> entityClass, String entityName) {
+        for (Sort.Order order : sort) {
+            if (order.getProperty().contains(".")) {
+                throw new BadRequestAlertException(
+                    "Keyset pagination cannot sort on the nested property " + order.getProperty(),
+                    entityName,
+                    "sortnested"
+                );
+            }
+            if (BeanUtils.getPropertyDescriptor(entityClass, order.getProperty()) == null) {
+                throw new BadRequestAlertException("Unknown sort property " + order.getProperty(), entityName, "sortinvalid");
+            }
+            if (!isNonNullColumn(entityClass, order.getProperty())) {
+                throw new BadRequestAlertException(
+                    "Keyset pagination cannot sort on the nullable property " + order.getProperty(),
+                    entityName,
+                    "sortinvalid"
+                );
+            }
+        }
+        if (StringUtils.isBlank(after)) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            for (String pair : decoded.split("&")) {
+                int separator = pair.indexOf('=');
+                String property = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, property);
+                if (descriptor == null || separator < 0) {
+                    throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+                }
+                Object value = conversionService.convert(
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8),
+                    descriptor.getPropertyType()
+                );
+                keys.put(property, value);
+            }
+        } catch (IllegalArgumentException | ConversionException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+        if (!keys.containsKey(ID_PROPERTY) || !sort.stream().map(Sort.Order::getProperty).allMatch(keys::containsKey)) {
+            throw new BadRequestAlertException("Cursor does not match the sort", entityName, "cursorinvalid");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static boolean isNonNullColumn(Class<?> entityClass, String property) {
+        Field field = ReflectionUtils.findField(entityClass, property);
+        if (field == null) {
+            return false;
+        }
+        Column column = field.getAnnotation(Column.class);
+        return field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(NotNull.class) || (column != null && !column.nullable());
+    }
+
+    /**
+     * Encode a keyset position into an opaque cursor.
+     *
+     * @param position the keyset position.
+     * @return the cursor.
+     */
+    public static String encodeCursor(KeysetScrollPosition position) {
+        StringJoiner joiner = new StringJoiner("&");
+        position
+            .getKeys()
+            .forEach((property, value) -> {
+                String key = URLEncoder.encode(property, StandardCharsets.UTF_8);
+                joiner.add(value == null ? key : key + "=" + URLEncoder.encode(toCursorValue(value), StandardCharsets.UTF_8));
+            });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String toCursorValue(Object value) {
+        return conversionService.convert(value, String.class);
+    }
+
+    /**
+     * Generate the keyset pagination headers for a window: a {@code Link} to the next window, if there is one.
+     *
+     * @param uriBuilder the URI of the current request.
+     * @param window the window of entities.
+     * @param <T> the type of the entities.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Window<T> window) {
+        HttpHeaders headers = new HttpHeaders();
+        if (window.hasNext() && !window.isEmpty() && window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position) {
+            String next = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam(AFTER_PARAMETER, encodeCursor(position))
+                .toUriString()
+                .replace(",", "%2C")
+                .replace(";", "%3B");
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
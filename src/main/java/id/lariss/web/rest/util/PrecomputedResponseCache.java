@@ -0,0 +1,139 @@
+package id.lariss.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cache of pre-encoded JSON response bodies, and of their gzipped form when large enough to be worth compressing.
+ * <p>
+ * Entries belong to a version of the underlying data: reading with a new version drops all the entries of the previous
+ * one. The number of entries per version is bounded, bodies past the bound are encoded on every call.
+ */
+public final class PrecomputedResponseCache {
+
+    /**
+     * Same threshold as the {@code server.compression.min-response-size} of the production profile.
+     */
+    static final int MIN_GZIP_SIZE = 1024;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxEntries;
+
+    private volatile Generation generation = new Generation(Long.MIN_VALUE);
+
+    private record Generation(long version, ConcurrentMap<String, PrecomputedResponse> responses) {
+        Generation(long version) {
+            this(version, new ConcurrentHashMap<>());
+        }
+    }
+
+    public PrecomputedResponseCache(ObjectMapper objectMapper, int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the pre-encoded response for a key, encoding the body on a miss.
+     *
+     * @param version the version of the data, read before computing the body.
+     * @param key the normalized key of the request.
+     * @param body supplier of the body to encode on a miss.
+     * @return the pre-encoded response.
+     */
+    public PrecomputedResponse get(long version, String key, Supplier<?> body) {
+        Generation current = generation;
+        if (current.version() != version) {
+            current = swap(version);
+        }
+        PrecomputedResponse response = current.responses().get(key);
+        if (response == null) {
+            response = encode(body.get());
+            if (current.responses().size() < maxEntries) {
+                current.responses().putIfAbsent(key, response);
+            }
+        }
+        return response;
+    }
+
+    private synchronized Generation swap(long version) {
+        // never go back to an older version if a slower reader arrives after a newer one
+        if (generation.version() < version) {
+            generation = new Generation(version);
+        }
+        return generation.version() == version ? generation : new Generation(version);
+    }
+
+    int size() {
+        return generation.responses().size();
+    }
+
+    private PrecomputedResponse encode(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new PrecomputedResponse(json, json.length < MIN_GZIP_SIZE ? null : gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response body", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * A pre-encoded JSON body.
+     *
+     * @param json the JSON bytes.
+     * @param gzip the gzipped JSON bytes, or {@code null} if the body is too small to be compressed.
+     */
+    public record PrecomputedResponse(byte[] json, byte[] gzip) {
+        /**
+         * Build the response entity, gzipped if the client accepts it.
+         *
+         * @param acceptEncoding the {@code Accept-Encoding} header of the request, may be {@code null}.
+         * @return the response entity.
+         */
+        public ResponseEntity<byte[]> toResponseEntity(String acceptEncoding) {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+            if (gzip == null) {
+                return builder.body(json);
+            }
+            builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(acceptEncoding)) {
+                return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzip);
+            }
+            return builder.body(json);
+        }
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parameters.length < 2 || !parameters[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
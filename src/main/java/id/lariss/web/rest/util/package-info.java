@@ -0,0 +1,4 @@
+/**
+ * Rest layer utilities.
+ */
+package id.lariss.web.rest.util;
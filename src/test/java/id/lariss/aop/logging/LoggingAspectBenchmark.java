@@ -0,0 +1,97 @@
+package id.lariss.aop.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import id.lariss.repository.SampleRepository;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * JMH benchmark of the overhead of the {@link LoggingAspect} on a repository method, in each of its tracing modes: not
+ * registered, registered with the logger above {@code DEBUG}, sampled timing at {@code DEBUG}, and full tracing at
+ * {@code TRACE} (formatted but not written, as the logger has no appender).
+ * <p>
+ * Run the {@link #main(String[])} method with the test classpath, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    private static final double SAMPLE_RATE = 0.01;
+
+    private final Logger repositoryLogger = (Logger) LoggerFactory.getLogger(SampleRepository.class);
+
+    @Param({ "unregistered", "info", "debug", "trace" })
+    private String mode;
+
+    private SampleRepository repository;
+
+    private long id;
+
+    @Setup
+    public void setUp() {
+        repositoryLogger.setAdditive(false);
+        switch (mode) {
+            case "unregistered" -> {
+                repositoryLogger.setLevel(Level.INFO);
+                repository = new SampleRepository();
+            }
+            case "info" -> {
+                repositoryLogger.setLevel(Level.INFO);
+                repository = tracedRepository();
+            }
+            case "debug" -> {
+                repositoryLogger.setLevel(Level.DEBUG);
+                repository = tracedRepository();
+            }
+            case "trace" -> {
+                repositoryLogger.setLevel(Level.TRACE);
+                repository = tracedRepository();
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        repositoryLogger.setLevel(null);
+        repositoryLogger.setAdditive(true);
+    }
+
+    @Benchmark
+    public long findOneById() {
+        return repository.findOneById(id++);
+    }
+
+    private static SampleRepository tracedRepository() {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new SampleRepository());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(new MockEnvironment(), SAMPLE_RATE));
+        return proxyFactory.getProxy();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LoggingAspectBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package id.lariss.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+/**
+ * Test class for the {@link LoggingAspect}.
+ */
+class LoggingAspectTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(Traced.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private Environment env;
+
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        appender.start();
+        logger.addAppender(appender);
+        logger.setAdditive(false);
+        env = mock(Environment.class);
+        Signature signature = mock(Signature.class);
+        when(signature.getDeclaringType()).thenReturn(Traced.class);
+        when(signature.getName()).thenReturn("find");
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[] { 42L });
+        when(joinPoint.proceed()).thenReturn("result");
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+        logger.setAdditive(true);
+    }
+
+    @Test
+    void shouldNotTraceAboveDebug() throws Throwable {
+        logger.setLevel(Level.INFO);
+
+        assertThat(new LoggingAspect(env, 1).logAround(joinPoint)).isEqualTo("result");
+
+        assertThat(appender.list).isEmpty();
+        verify(joinPoint, times(0)).getArgs();
+    }
+
+    @Test
+    void shouldTimeASampleOfTheCallsAtDebug() throws Throwable {
+        logger.setLevel(Level.DEBUG);
+
+        new LoggingAspect(env, 0).logAround(joinPoint);
+        assertThat(appender.list).isEmpty();
+
+        new LoggingAspect(env, 1).logAround(joinPoint);
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.DEBUG);
+            assertThat(event.getFormattedMessage()).startsWith("find() took ");
+        });
+    }
+
+    @Test
+    void shouldTraceEveryCallAtTrace() throws Throwable {
+        logger.setLevel(Level.TRACE);
+
+        new LoggingAspect(env, 0).logAround(joinPoint);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage).satisfiesExactly(
+            enter -> assertThat(enter).isEqualTo("Enter: find() with argument[s] = [42]"),
+            exit -> assertThat(exit).startsWith("Exit: find() in ").endsWith(" with result = result")
+        );
+    }
+
+    @Test
+    void shouldResolveTheProfileOnce() {
+        when(env.acceptsProfiles(any(Profiles.class))).thenReturn(false);
+        LoggingAspect loggingAspect = new LoggingAspect(env, 0);
+
+        loggingAspect.logAfterThrowing(joinPoint, new IllegalStateException("first"));
+        loggingAspect.logAfterThrowing(joinPoint, new IllegalStateException("second"));
+
+        verify(env, times(1)).acceptsProfiles(any(Profiles.class));
+        assertThat(appender.list).hasSize(2).allSatisfy(event -> assertThat(event.getLevel()).isEqualTo(Level.ERROR));
+    }
+
+    private static class Traced {}
+}
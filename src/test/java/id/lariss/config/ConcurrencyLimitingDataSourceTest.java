@@ -0,0 +1,74 @@
+package id.lariss.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ConcurrencyLimitingDataSource} class.
+ */
+class ConcurrencyLimitingDataSourceTest {
+
+    private DataSource target;
+
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConcurrencyLimitingDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void shouldTimeOutPastTheBound() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void shouldReleaseOnCloseOnlyOnce() throws SQLException {
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        first.close();
+        first.close();
+
+        assertThat(dataSource.getConnection()).isNotNull();
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void shouldReleaseWhenTheTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("down");
+        }
+    }
+
+    @Test
+    void shouldDelegateToTheTargetConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.setAutoCommit(false);
+
+        assertThat(connection.isWrapperFor(Connection.class)).isTrue();
+        assertThat(connection).isEqualTo(connection);
+        assertThat(dataSource.getQueueLength()).isZero();
+    }
+}
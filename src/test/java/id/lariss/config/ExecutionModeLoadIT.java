@@ -0,0 +1,135 @@
+package id.lariss.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import id.lariss.LarissAsstApp;
+import id.lariss.security.AuthoritiesConstants;
+import id.lariss.web.rest.AuthenticateController;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Load test comparing the platform-thread and the virtual-thread execution modes on a database-bound endpoint,
+ * served by Undertow on a random port.
+ * <p>
+ * Run with {@code ./mvnw verify -Dit.test=ExecutionModeLoadIT -Dbenchmark=true}; the virtual-thread mode requires Java 21.
+ */
+@SpringBootTest(classes = { LarissAsstApp.class, JacksonConfiguration.class }, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EmbeddedSQL
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExecutionModeLoadIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutionModeLoadIT.class);
+
+    private static final int REQUESTS = 20_000;
+
+    private static final int CONCURRENCY = 2_000;
+
+    private static final String ENDPOINT = "/api/customers?page=0&size=20";
+
+    @Nested
+    class PlatformThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private AuthenticateController authenticateController;
+
+        @Test
+        void load() throws Exception {
+            run("platform threads", port, authenticateController);
+        }
+    }
+
+    @Nested
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private AuthenticateController authenticateController;
+
+        @Test
+        void load() throws Exception {
+            run("virtual threads", port, authenticateController);
+        }
+    }
+
+    private static void run(String mode, int port, AuthenticateController authenticateController) throws Exception {
+        String token = authenticateController.createToken(
+            new UsernamePasswordAuthenticationToken("admin", null, List.of(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN))),
+            false
+        );
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + ENDPOINT))
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .GET()
+            .build();
+
+        // warm up
+        for (int i = 0; i < 200; i++) {
+            assertThat(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+        }
+
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger failures = new AtomicInteger();
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[REQUESTS];
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            responses[i] = client
+                .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    latencies[index] = System.nanoTime() - sent;
+                    if (error != null || response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    }
+                    inFlight.release();
+                });
+        }
+        CompletableFuture.allOf(responses).exceptionally(error -> null).join();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        LOG.info(
+            "{}: {} requests, {} concurrent, {} failed, {} req/s, p50 {} ms, p99 {} ms, max {} ms",
+            mode,
+            REQUESTS,
+            CONCURRENCY,
+            failures.get(),
+            REQUESTS * 1_000_000_000L / elapsed,
+            latencies[REQUESTS / 2] / 1_000_000,
+            latencies[REQUESTS * 99 / 100] / 1_000_000,
+            latencies[REQUESTS - 1] / 1_000_000
+        );
+        assertThat(failures).hasValue(0);
+    }
+}
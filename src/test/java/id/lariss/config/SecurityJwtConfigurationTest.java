@@ -0,0 +1,86 @@
+package id.lariss.config;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.proc.BadJWTException;
+import id.lariss.management.SecurityMetersService;
+import java.text.ParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+/**
+ * Unit tests for the classification of the JWT failures of {@link SecurityJwtConfiguration}.
+ */
+class SecurityJwtConfigurationTest {
+
+    private static final String DECODING_ERROR = "An error occurred while attempting to decode the Jwt: ";
+
+    private static final String HEADER = Base64URL.encode("{\"alg\":\"HS512\"}").toString();
+
+    private static final String SIGNATURE = Base64URL.encode("signature").toString();
+
+    private SecurityMetersService metersService;
+
+    @BeforeEach
+    void setUp() {
+        metersService = mock(SecurityMetersService.class);
+    }
+
+    private static String token(String payload) {
+        return HEADER + "." + Base64URL.encode(payload) + "." + SIGNATURE;
+    }
+
+    @Test
+    void shouldClassifyAMalformedPayloadWithoutCauseAsMalformed() {
+        String token = token("{\"sub\":\"user\",\"exp\":\"tomorrow\"}");
+
+        SecurityJwtConfiguration.trackFailure(token, new BadJwtException(DECODING_ERROR + "Malformed payload"), metersService);
+
+        verify(metersService).trackTokenMalformed();
+        verifyNoMoreInteractions(metersService);
+    }
+
+    @Test
+    void shouldClassifyAPayloadThatIsNotJsonAsMalformed() {
+        String token = token("not a claims set");
+
+        SecurityJwtConfiguration.trackFailure(token, new BadJwtException(DECODING_ERROR + "Malformed payload"), metersService);
+
+        verify(metersService).trackTokenMalformed();
+        verifyNoMoreInteractions(metersService);
+    }
+
+    @Test
+    void shouldNotClassifyAFailureWithoutCauseOfAValidPayloadAsMalformed() {
+        String token = token("{\"sub\":\"user\"}");
+
+        SecurityJwtConfiguration.trackFailure(token, new BadJwtException(DECODING_ERROR + "Malformed payload"), metersService);
+
+        verifyNoMoreInteractions(metersService);
+    }
+
+    @Test
+    void shouldClassifyAWrappedParseExceptionAsMalformed() {
+        BadJWTException cause = new BadJWTException("Unexpected type of JSON object member with key exp", new ParseException("exp", 0));
+
+        SecurityJwtConfiguration.trackFailure(token("{}"), new BadJwtException(DECODING_ERROR + "Malformed payload", cause), metersService);
+
+        verify(metersService).trackTokenMalformed();
+        verifyNoMoreInteractions(metersService);
+    }
+
+    @Test
+    void shouldClassifyOtherJoseFailuresAsUnsupported() {
+        BadJOSEException cause = new BadJOSEException("Encrypted JWT rejected");
+
+        SecurityJwtConfiguration.trackFailure(token("{}"), new BadJwtException(DECODING_ERROR + cause.getMessage(), cause), metersService);
+
+        verify(metersService).trackTokenUnsupported();
+        verifyNoMoreInteractions(metersService);
+    }
+}
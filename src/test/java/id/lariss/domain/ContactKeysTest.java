@@ -0,0 +1,32 @@
+package id.lariss.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ContactKeys}.
+ */
+class ContactKeysTest {
+
+    @Test
+    void shouldNormalizeThePhoneNumbersToTheInternationalForm() {
+        assertThat(ContactKeys.phoneKey("+62 812-3456-7890")).isEqualTo("6281234567890");
+        assertThat(ContactKeys.phoneKey("0062 812 3456 7890")).isEqualTo("6281234567890");
+        assertThat(ContactKeys.phoneKey("0812.3456.7890")).isEqualTo("6281234567890");
+        assertThat(ContactKeys.phoneKey("(+1) 415 555 0100")).isEqualTo("14155550100");
+    }
+
+    @Test
+    void shouldNotKeyAPhoneNumberWithoutDigits() {
+        assertThat(ContactKeys.phoneKey(null)).isNull();
+        assertThat(ContactKeys.phoneKey(" - ")).isNull();
+    }
+
+    @Test
+    void shouldNormalizeTheEmailAddresses() {
+        assertThat(ContactKeys.emailKey("  Jane.Doe@Example.COM\t")).isEqualTo("jane.doe@example.com");
+        assertThat(ContactKeys.emailKey(null)).isNull();
+        assertThat(ContactKeys.emailKey("  ")).isNull();
+    }
+}
@@ -5,6 +5,8 @@ import static id.lariss.domain.OrderTestSamples.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import id.lariss.web.rest.TestUtil;
+import java.util.HashSet;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class CustomerTest {
@@ -28,12 +30,31 @@ class CustomerTest {
         Customer customer = getCustomerRandomSampleGenerator();
         Order orderBack = getOrderRandomSampleGenerator();
 
-        customer.setOrder(orderBack);
-        assertThat(customer.getOrder()).isEqualTo(orderBack);
+        customer.addOrder(orderBack);
+        assertThat(customer.getOrders()).containsOnly(orderBack);
         assertThat(orderBack.getCustomer()).isEqualTo(customer);
 
-        customer.order(null);
-        assertThat(customer.getOrder()).isNull();
+        customer.removeOrder(orderBack);
+        assertThat(customer.getOrders()).doesNotContain(orderBack);
         assertThat(orderBack.getCustomer()).isNull();
+
+        customer.orders(new HashSet<>(Set.of(orderBack)));
+        assertThat(customer.getOrders()).containsOnly(orderBack);
+        assertThat(orderBack.getCustomer()).isEqualTo(customer);
+
+        customer.setOrders(new HashSet<>());
+        assertThat(customer.getOrders()).doesNotContain(orderBack);
+        assertThat(orderBack.getCustomer()).isNull();
+    }
+
+    @Test
+    void contactKeysTest() {
+        Customer customer = new Customer().phoneNumber("+62 812-3456-7890").emailAddress(" Jane.Doe@Example.com ");
+        assertThat(customer.getPhoneKey()).isEqualTo("6281234567890");
+        assertThat(customer.getEmailKey()).isEqualTo("jane.doe@example.com");
+
+        customer.phoneNumber(null).emailAddress("");
+        assertThat(customer.getPhoneKey()).isNull();
+        assertThat(customer.getEmailKey()).isNull();
     }
 }
@@ -0,0 +1,105 @@
+package id.lariss.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link PooledSequenceGenerator}.
+ */
+class PooledSequenceGeneratorTest {
+
+    private StandardServiceRegistry registry;
+
+    private SessionFactory sessionFactory;
+
+    @AfterEach
+    void tearDown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    private SequenceStyleGenerator buildGenerator(Integer allocationSize) {
+        StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+            .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false);
+        if (allocationSize != null) {
+            builder.applySetting(PooledSequenceGenerator.ALLOCATION_SIZE, allocationSize);
+        }
+        registry = builder.build();
+        sessionFactory = new MetadataSources(registry).addAnnotatedClass(Sample.class).buildMetadata().buildSessionFactory();
+        return (SequenceStyleGenerator) sessionFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .getEntityDescriptor(Sample.class)
+            .getGenerator();
+    }
+
+    @Test
+    void shouldReadTheEntitySequenceWithThePooledLoOptimizer() {
+        SequenceStyleGenerator generator = buildGenerator(null);
+
+        assertThat(generator).isInstanceOf(PooledSequenceGenerator.class);
+        assertThat(generator.getDatabaseStructure().getPhysicalName().render()).isEqualTo("sample_seq");
+        assertThat(generator.getOptimizer()).isInstanceOf(PooledLoOptimizer.class);
+        assertThat(generator.getOptimizer().getIncrementSize()).isEqualTo(PooledSequenceGenerator.DEFAULT_ALLOCATION_SIZE);
+    }
+
+    @Test
+    void shouldHandOutABlockOfIdsPerRoundTrip() {
+        SequenceStyleGenerator generator = buildGenerator(20);
+        AtomicInteger roundTrips = new AtomicInteger();
+        AccessCallback sequence = new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                // the sequence starts at 1 and is incremented by the allocation size
+                long value = 1 + 20L * roundTrips.getAndIncrement();
+                return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(value);
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < 45; i++) {
+            ids.add(generator.getOptimizer().generate(sequence));
+        }
+
+        assertThat(generator.getOptimizer().getIncrementSize()).isEqualTo(20);
+        assertThat(roundTrips).hasValue(3);
+        assertThat(ids).first().isEqualTo(1L);
+        assertThat(ids).last().isEqualTo(45L);
+        assertThat(ids).doesNotHaveDuplicates();
+    }
+
+    @Entity
+    static class Sample {
+
+        @Id
+        @PooledSequence("sample_seq")
+        private Long id;
+    }
+}
@@ -0,0 +1,45 @@
+package id.lariss.domain.enumeration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the transitions of the {@link OrderStatus}.
+ */
+class OrderStatusTest {
+
+    @Test
+    void shouldMoveForwardOneStatusAtATime() {
+        assertThat(OrderStatus.isAllowed(OrderStatus.PENDING, OrderStatus.CONFIRMED)).isTrue();
+        assertThat(OrderStatus.isAllowed(OrderStatus.CONFIRMED, OrderStatus.SHIPPED)).isTrue();
+        assertThat(OrderStatus.isAllowed(OrderStatus.SHIPPED, OrderStatus.DELIVERED)).isTrue();
+
+        assertThat(OrderStatus.isAllowed(OrderStatus.PENDING, OrderStatus.SHIPPED)).isFalse();
+        assertThat(OrderStatus.isAllowed(OrderStatus.SHIPPED, OrderStatus.CONFIRMED)).isFalse();
+        assertThat(OrderStatus.isAllowed(OrderStatus.DELIVERED, OrderStatus.PENDING)).isFalse();
+        assertThat(OrderStatus.isAllowed(OrderStatus.CONFIRMED, null)).isFalse();
+    }
+
+    @Test
+    void shouldAllowStayingInTheSameStatus() {
+        for (OrderStatus status : OrderStatus.values()) {
+            assertThat(OrderStatus.isAllowed(status, status)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldOnlyAllowTheInitialStatusForOrdersWithoutStatus() {
+        assertThat(OrderStatus.isAllowed(null, OrderStatus.PENDING)).isTrue();
+        assertThat(OrderStatus.isAllowed(null, null)).isTrue();
+        assertThat(OrderStatus.isAllowed(null, OrderStatus.CONFIRMED)).isFalse();
+        assertThat(OrderStatus.isAllowed(null, OrderStatus.DELIVERED)).isFalse();
+    }
+
+    @Test
+    void shouldListThePreviousStatuses() {
+        assertThat(OrderStatus.PENDING.previousStatuses()).isEmpty();
+        assertThat(OrderStatus.SHIPPED.previousStatuses()).containsExactly(OrderStatus.CONFIRMED);
+        assertThat(OrderStatus.DELIVERED.nextStatuses()).isEmpty();
+    }
+}
@@ -0,0 +1,62 @@
+package id.lariss.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import id.lariss.IntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.mapping.ForeignKeyDescriptor;
+import org.hibernate.metamodel.mapping.internal.ToOneAttributeMapping;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks that the join column of every {@code @ManyToOne} and owning {@code @OneToOne} relationship leads an index of the
+ * schema built by Liquibase, so that joins, lookups by parent and deletes of the parent rows do not scan the table.
+ */
+@IntegrationTest
+class JoinColumnIndexIT {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void everyJoinColumnLeadsAnIndex() {
+        Set<String> joinColumns = new TreeSet<>();
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel()
+            .forEachEntityDescriptor(entity ->
+                entity.forEachAttributeMapping(attribute -> {
+                    if (attribute instanceof ToOneAttributeMapping toOne && toOne.getSideNature() == ForeignKeyDescriptor.Nature.KEY) {
+                        toOne
+                            .getForeignKeyDescriptor()
+                            .getKeyPart()
+                            .forEachSelectable((index, column) ->
+                                joinColumns.add(column.getContainingTableExpression() + "." + column.getSelectionExpression())
+                            );
+                    }
+                })
+            );
+        Set<String> indexedColumns = new HashSet<>(
+            jdbcTemplate.queryForList(
+                "select t.relname || '.' || a.attname from pg_index i " +
+                "join pg_class t on t.oid = i.indrelid " +
+                "join pg_namespace n on n.oid = t.relnamespace " +
+                "join pg_attribute a on a.attrelid = t.oid and a.attnum = i.indkey[0] " +
+                "where n.nspname = current_schema()",
+                String.class
+            )
+        );
+
+        assertThat(joinColumns).isNotEmpty().contains("order_item.order_id", "product.category_id");
+        assertThat(joinColumns).as("join columns without an index").allSatisfy(column -> assertThat(indexedColumns).contains(column));
+    }
+}
@@ -0,0 +1,111 @@
+package id.lariss.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import id.lariss.IntegrationTest;
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.OrderItem;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark of the {@link OrderItem} inserts, one statement per row against JDBC batches of {@code hibernate.jdbc.batch_size}
+ * rows, with the ids reserved in blocks from the {@code order_item_seq} sequence.
+ * <p>
+ * Run with {@code ./mvnw verify -Dit.test=OrderItemInsertBenchmarkIT -Dbenchmark=true}.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderItemInsertBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OrderItemInsertBenchmarkIT.class);
+
+    private static final int ROWS = 20_000;
+
+    private static final int ROWS_PER_TRANSACTION = 1_000;
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    private long lastId;
+
+    @BeforeEach
+    void rememberLastId() {
+        lastId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from order_item", Long.class);
+    }
+
+    @AfterEach
+    void deleteOrderItems() {
+        jdbcTemplate.update("delete from order_item where id > ?", lastId);
+    }
+
+    @Test
+    void compareBatchSizes() {
+        // warm up both settings, then measure
+        insert(1);
+        insert(BATCH_SIZE);
+        long sequenceStart = currentSequenceValue();
+        long unbatchedNanos = insert(1);
+        long batchedNanos = insert(BATCH_SIZE);
+        long roundTrips = (currentSequenceValue() - sequenceStart) / applicationProperties.getDatabase().getSequenceAllocationSize();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from order_item where id > ?", Long.class, lastId)).isEqualTo(4L * ROWS);
+        // one round trip per block of ids, instead of one per row
+        assertThat(roundTrips).isLessThanOrEqualTo(2L * ROWS / applicationProperties.getDatabase().getSequenceAllocationSize() + 1);
+
+        LOG.info(
+            "OrderItem insert of {} rows with {} sequence round trips: batch size 1 {} rows/s, batch size {} {} rows/s",
+            2 * ROWS,
+            roundTrips,
+            rowsPerSecond(unbatchedNanos),
+            BATCH_SIZE,
+            rowsPerSecond(batchedNanos)
+        );
+    }
+
+    private long currentSequenceValue() {
+        return jdbcTemplate.queryForObject("select last_value from order_item_seq", Long.class);
+    }
+
+    private long insert(int batchSize) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long start = System.nanoTime();
+        for (int first = 0; first < ROWS; first += ROWS_PER_TRANSACTION) {
+            transaction.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                for (int i = 0; i < ROWS_PER_TRANSACTION; i++) {
+                    entityManager.persist(new OrderItem().quantity(1).totalPrice(BigDecimal.TEN));
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / nanos;
+    }
+}
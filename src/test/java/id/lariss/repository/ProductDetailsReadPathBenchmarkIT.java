@@ -0,0 +1,170 @@
+package id.lariss.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import id.lariss.IntegrationTest;
+import id.lariss.service.dto.ProductDetailsDTO;
+import id.lariss.service.mapper.ProductDetailsMapper;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Benchmark comparing the 12-way join fetch of {@link ProductDetailsRepository#findAllWithEagerRelationships(Pageable)}
+ * with the batch-assembled {@link ProductDetailsRepository#findAllWithAssembledRelationships(Pageable)} on a 100k-row catalog.
+ * <p>
+ * Run with {@code ./mvnw verify -Dit.test=ProductDetailsReadPathBenchmarkIT -Dbenchmark=true}.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductDetailsReadPathBenchmarkIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProductDetailsReadPathBenchmarkIT.class);
+
+    private static final int CATALOG_SIZE = 100_000;
+
+    private static final int ROWS_PER_RELATED_TABLE = 200;
+
+    private static final long FIRST_ID = 10_000_000L;
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int PAGES = 200;
+
+    private static final String[] RELATED_TABLES = {
+        "product",
+        "description",
+        "color",
+        "processor",
+        "memory",
+        "storage",
+        "screen",
+        "connectivity",
+        "material",
+        "case_size",
+        "strap_color",
+        "strap_size",
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductDetailsRepository productDetailsRepository;
+
+    @Autowired
+    private ProductDetailsMapper productDetailsMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void seedCatalog() {
+        for (String table : RELATED_TABLES) {
+            List<Object[]> rows = new ArrayList<>();
+            for (int i = 0; i < ROWS_PER_RELATED_TABLE; i++) {
+                rows.add(new Object[] { FIRST_ID + i, table + "-" + i });
+            }
+            jdbcTemplate.batchUpdate("insert into " + table + " (id, name) values (?, ?)", rows);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            Object[] row = new Object[4 + RELATED_TABLES.length];
+            row[0] = FIRST_ID + i;
+            row[1] = "product-details-" + i;
+            row[2] = BigDecimal.valueOf(i, 2);
+            row[3] = "thumbnail-" + i;
+            for (int t = 0; t < RELATED_TABLES.length; t++) {
+                row[4 + t] = FIRST_ID + ((i + t) % ROWS_PER_RELATED_TABLE);
+            }
+            rows.add(row);
+            if (rows.size() == 1_000) {
+                insertProductDetails(rows);
+                rows.clear();
+            }
+        }
+        insertProductDetails(rows);
+    }
+
+    private void insertProductDetails(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(
+            "insert into product_details (id, name, price, thumbnail, " +
+            String.join("_id, ", RELATED_TABLES) +
+            "_id) values (?, ?, ?, ?" +
+            ", ?".repeat(RELATED_TABLES.length) +
+            ")",
+            rows
+        );
+    }
+
+    @AfterEach
+    void deleteCatalog() {
+        jdbcTemplate.update("delete from product_details where id >= ?", FIRST_ID);
+        for (String table : RELATED_TABLES) {
+            jdbcTemplate.update("delete from " + table + " where id >= ?", FIRST_ID);
+        }
+    }
+
+    @Test
+    void compareReadPaths() {
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        Function<Pageable, Page<ProductDetailsDTO>> joinFetch = pageable ->
+            readOnlyTransaction.execute(status ->
+                productDetailsRepository.findAllWithEagerRelationships(pageable).map(productDetailsMapper::toDto)
+            );
+        Function<Pageable, Page<ProductDetailsDTO>> assembled = pageable ->
+            readOnlyTransaction.execute(status ->
+                productDetailsRepository.findAllWithAssembledRelationships(pageable).map(productDetailsMapper::toDto)
+            );
+
+        // both paths must return the same page content, field by field
+        for (int page = 0; page < CATALOG_SIZE / PAGE_SIZE; page += CATALOG_SIZE / PAGE_SIZE / 10) {
+            Pageable pageable = PageRequest.of(page, PAGE_SIZE, Sort.by("id"));
+            Page<ProductDetailsDTO> expected = joinFetch.apply(pageable);
+            Page<ProductDetailsDTO> actual = assembled.apply(pageable);
+            assertThat(actual.getTotalElements()).isEqualTo(expected.getTotalElements());
+            assertThat(actual.getContent()).usingRecursiveComparison().isEqualTo(expected.getContent());
+        }
+
+        // warm up both paths, then measure
+        run(joinFetch);
+        run(assembled);
+        long joinFetchNanos = run(joinFetch);
+        long assembledNanos = run(assembled);
+
+        LOG.info(
+            "ProductDetails eager read over {} pages of {} ({} rows): join fetch {} ms, batch-assembled {} ms",
+            PAGES,
+            PAGE_SIZE,
+            CATALOG_SIZE,
+            joinFetchNanos / 1_000_000,
+            assembledNanos / 1_000_000
+        );
+    }
+
+    private long run(Function<Pageable, Page<ProductDetailsDTO>> readPath) {
+        long start = System.nanoTime();
+        for (int i = 0; i < PAGES; i++) {
+            int page = (i * 7919) % (CATALOG_SIZE / PAGE_SIZE);
+            assertThat(readPath.apply(PageRequest.of(page, PAGE_SIZE, Sort.by("id"))).getContent()).hasSize(PAGE_SIZE);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,15 @@
+package id.lariss.repository;
+
+import org.springframework.stereotype.Repository;
+
+/**
+ * Minimal repository for the {@code LoggingAspectBenchmark}, living in the repository package so that the logging
+ * aspect's pointcut matches it.
+ */
+@Repository
+public class SampleRepository {
+
+    public long findOneById(long id) {
+        return id + 1;
+    }
+}
@@ -0,0 +1,169 @@
+package id.lariss.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.config.SecurityConfiguration;
+import id.lariss.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Test class for the {@link BoundedPasswordEncoder} class, and for the password encoder built from it.
+ */
+class BoundedPasswordEncoderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SecurityMetersService metersService;
+
+    private CountDownLatch release;
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metersService = new SecurityMetersService(meterRegistry);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+
+    private void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double queued() {
+        return meterRegistry.get(SecurityMetersService.PASSWORD_HASHING_QUEUE_METER_NAME).gauge().value();
+    }
+
+    private double rejected() {
+        return meterRegistry.get(SecurityMetersService.PASSWORD_HASHING_REJECTED_METER_NAME).counter().count();
+    }
+
+    @Test
+    void shouldHashOnTheExecutor() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(10), metersService);
+
+        String hash = encoder.encode("password");
+
+        assertThat(encoder.matches("password", hash)).isTrue();
+        assertThat(encoder.matches("other", hash)).isFalse();
+        assertThat(queued()).isZero();
+    }
+
+    @Test
+    void shouldRejectWhenTheQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, Duration.ofSeconds(10), metersService);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        CompletableFuture<Boolean> queuedMatch = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queued() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(queued()).isEqualTo(1);
+
+        assertThatThrownBy(() -> encoder.matches("c", "c")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(rejected()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queuedMatch.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldRejectWhenHashingTimesOut() {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), 1, 1, Duration.ofMillis(50), metersService);
+
+        assertThatThrownBy(() -> encoder.encode("password")).isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPropagateDelegateFailures() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(10), metersService);
+
+        assertThatThrownBy(() -> encoder.encode(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(rejected()).isZero();
+    }
+
+    @Test
+    void shouldUpgradeLegacyAndOutdatedHashes() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getPassword().setBcryptStrength(5);
+        PasswordEncoder passwordEncoder = new SecurityConfiguration(null, null, null, null).passwordEncoder(
+            applicationProperties,
+            metersService
+        );
+        encoder = (BoundedPasswordEncoder) passwordEncoder;
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password");
+
+        assertThat(passwordEncoder.matches("password", legacyHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(legacyHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding("{bcrypt}" + legacyHash)).isTrue();
+
+        String hash = passwordEncoder.encode("password");
+        assertThat(hash).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.matches("password", hash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void shouldMigrateToArgon2() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSecurity().getPassword().setBcryptStrength(4);
+        applicationProperties.getSecurity().getPassword().setEncoder("argon2");
+        applicationProperties.getSecurity().getPassword().setArgon2Memory(1024);
+        PasswordEncoder passwordEncoder = new SecurityConfiguration(null, null, null, null).passwordEncoder(
+            applicationProperties,
+            metersService
+        );
+        encoder = (BoundedPasswordEncoder) passwordEncoder;
+        String bcryptHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password");
+
+        assertThat(passwordEncoder.matches("password", bcryptHash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(bcryptHash)).isTrue();
+
+        String hash = passwordEncoder.encode("password");
+        assertThat(hash).startsWith("{argon2}$argon2id$").hasSizeLessThanOrEqualTo(255);
+        assertThat(passwordEncoder.matches("password", hash)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(hash)).isFalse();
+    }
+}
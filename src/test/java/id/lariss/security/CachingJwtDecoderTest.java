@@ -0,0 +1,96 @@
+package id.lariss.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import id.lariss.management.SecurityMetersService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+/**
+ * Test class for the {@link CachingJwtDecoder} class.
+ */
+class CachingJwtDecoderTest {
+
+    private JwtDecoder delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(JwtDecoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        decoder = new CachingJwtDecoder(delegate, 100, new SecurityMetersService(meterRegistry));
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+            .header("alg", "HS512")
+            .subject("user")
+            .issuedAt(Instant.now().minusSeconds(10))
+            .expiresAt(expiresAt)
+            .build();
+    }
+
+    private double lookups(String result) {
+        return meterRegistry.get(SecurityMetersService.TOKEN_CACHE_METER_NAME).tag("result", result).counter().count();
+    }
+
+    @Test
+    void shouldVerifyATokenOnlyOnce() {
+        Jwt jwt = jwt("token", Instant.now().plusSeconds(60));
+        when(delegate.decode("token")).thenReturn(jwt);
+
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+        assertThat(decoder.decode("token")).isSameAs(jwt);
+
+        verify(delegate, times(1)).decode("token");
+        assertThat(lookups("hit")).isEqualTo(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheFailures() {
+        when(delegate.decode(anyString())).thenThrow(new BadJwtException("invalid"));
+
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("token")).isInstanceOf(BadJwtException.class);
+
+        verify(delegate, times(2)).decode("token");
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void shouldEvictTokensAtTheirExpiry() throws InterruptedException {
+        when(delegate.decode("token")).thenReturn(jwt("token", Instant.now().plusMillis(100)));
+
+        decoder.decode("token");
+        Thread.sleep(200);
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+
+    @Test
+    void shouldNotCacheTokensWithoutExpiry() {
+        when(delegate.decode("token")).thenReturn(Jwt.withTokenValue("token").header("alg", "HS512").subject("user").build());
+
+        decoder.decode("token");
+        decoder.decode("token");
+
+        verify(delegate, times(2)).decode("token");
+    }
+}
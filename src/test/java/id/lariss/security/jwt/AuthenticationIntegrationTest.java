@@ -1,15 +1,22 @@
 package id.lariss.security.jwt;
 
+import id.lariss.config.ApplicationProperties;
 import id.lariss.config.SecurityConfiguration;
 import id.lariss.config.SecurityJwtConfiguration;
 import id.lariss.config.WebConfigurer;
 import id.lariss.management.SecurityMetersService;
+import id.lariss.repository.CatalogRevisionRepository;
+import id.lariss.service.CatalogSnapshotService;
+import id.lariss.service.CatalogVersionService;
+import id.lariss.service.IdempotencyService;
 import id.lariss.web.rest.AuthenticateController;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import tech.jhipster.config.JHipsterProperties;
 
 @Target(ElementType.TYPE)
@@ -21,13 +28,17 @@ import tech.jhipster.config.JHipsterProperties;
     },
     classes = {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
         SecurityMetersService.class,
+        CatalogVersionService.class,
         AuthenticateController.class,
         JwtAuthenticationTestUtils.class,
+        JacksonAutoConfiguration.class,
     }
 )
+@MockBean({ IdempotencyService.class, CatalogRevisionRepository.class, CatalogSnapshotService.class })
 public @interface AuthenticationIntegrationTest {
 }
@@ -3,6 +3,11 @@ package id.lariss.security.jwt;
 import static id.lariss.security.SecurityUtils.AUTHORITIES_KEY;
 import static id.lariss.security.SecurityUtils.JWT_ALGORITHM;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.MACSigner;
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
 import com.nimbusds.jose.util.Base64;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -79,6 +84,15 @@ public class JwtAuthenticationTestUtils {
         return encoder.encode(JwtEncoderParameters.from(jwsHeader, claims)).getTokenValue();
     }
 
+    public static String createTokenWithMalformedClaims(String jwtKey) throws Exception {
+        JWSObject jws = new JWSObject(
+            new JWSHeader(JWSAlgorithm.parse(JWT_ALGORITHM.getName())),
+            new Payload("{\"sub\":\"anonymous\",\"exp\":\"tomorrow\"}")
+        );
+        jws.sign(new MACSigner(getSecretKey(jwtKey)));
+        return jws.serialize();
+    }
+
     public static String createInvalidToken(String jwtKey) {
         return createValidToken(jwtKey).substring(1);
     }
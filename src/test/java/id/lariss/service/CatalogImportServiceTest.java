@@ -0,0 +1,240 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.Color;
+import id.lariss.domain.Product;
+import id.lariss.domain.ProductDetails;
+import id.lariss.repository.ProductDetailsRepository;
+import id.lariss.service.dto.CatalogImportDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.TypedQuery;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link CatalogImportService}.
+ */
+class CatalogImportServiceTest {
+
+    private static final String HEADER = "name,price,thumbnail,product,category,color,memory\n";
+
+    private ProductDetailsRepository productDetailsRepository;
+
+    private EntityManager entityManager;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private ApplicationProperties applicationProperties;
+
+    private JobService jobService;
+
+    private CatalogImportService catalogImportService;
+
+    private final Map<String, List<Object[]>> names = new HashMap<>();
+
+    private final List<Object> persisted = new ArrayList<>();
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    private CatalogImportDTO catalogImport;
+
+    private boolean failNextProductDetails;
+
+    @BeforeEach
+    void setUp() {
+        productDetailsRepository = mock(ProductDetailsRepository.class);
+        entityManager = mock(EntityManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        applicationProperties = new ApplicationProperties();
+        jobService = mock(JobService.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        when(entityManager.createQuery(anyString(), eq(Object[].class))).thenAnswer(invocation -> {
+            String entityName = invocation.<String>getArgument(0).split(" ")[4];
+            TypedQuery<?> query = mock(TypedQuery.class);
+            doAnswer(call -> names.getOrDefault(entityName, List.of()).stream()).when(query).getResultStream();
+            return query;
+        });
+        doAnswer(invocation -> {
+            Object entity = invocation.getArgument(0);
+            if (entity instanceof ProductDetails && failNextProductDetails) {
+                failNextProductDetails = false;
+                throw new IllegalStateException("Connection lost");
+            }
+            entity.getClass().getMethod("setId", Long.class).invoke(entity, ids.incrementAndGet());
+            persisted.add(entity);
+            return null;
+        })
+            .when(entityManager)
+            .persist(any());
+        when(entityManager.getReference(any(), any())).thenAnswer(invocation -> {
+            Object entity = invocation.<Class<?>>getArgument(0).getDeclaredConstructor().newInstance();
+            entity.getClass().getMethod("setId", Long.class).invoke(entity, invocation.<Long>getArgument(1));
+            return entity;
+        });
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        PersistenceUnitUtil persistenceUnitUtil = mock(PersistenceUnitUtil.class);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        when(persistenceUnitUtil.getIdentifier(any())).thenAnswer(invocation ->
+            invocation.getArgument(0).getClass().getMethod("getId").invoke(invocation.getArgument(0))
+        );
+        names.put("Product", List.<Object[]>of(new Object[] { 10L, "Watch" }));
+        names.put("Color", List.<Object[]>of(new Object[] { 1L, "Silver" }));
+        catalogImport = new CatalogImportDTO();
+    }
+
+    private CatalogImportService newCatalogImportService() {
+        return new CatalogImportService(
+            productDetailsRepository,
+            entityManager,
+            mock(PlatformTransactionManager.class),
+            Runnable::run,
+            new ObjectMapper(),
+            eventPublisher,
+            applicationProperties,
+            jobService
+        );
+    }
+
+    private void importProductDetails(ExportFormat format, String content) throws Exception {
+        catalogImportService = newCatalogImportService();
+        ByteArrayInputStream in = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        catalogImportService.importProductDetails(catalogImport, format, in);
+    }
+
+    private <T> List<T> persisted(Class<T> type) {
+        return persisted.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+
+    @Test
+    void shouldCreateAndUpdateProductDetails() throws Exception {
+        ProductDetails existing = new ProductDetails().id(5L).name("41mm").price(BigDecimal.ONE).product(new Product().id(10L));
+        when(productDetailsRepository.findAllByProductIdInAndNameIn(anyCollection(), anyCollection())).thenReturn(List.of(existing));
+
+        importProductDetails(
+            ExportFormat.CSV,
+            HEADER + "41mm,199.99,watch.jpg,Watch,,Silver,\n\"45mm, \"\"Sport\"\"\",249.99,watch.jpg,Watch,,Blue,64 GB\r\n"
+        );
+
+        assertThat(catalogImport.getReadRows()).isEqualTo(2);
+        assertThat(catalogImport.getCreatedRows()).isEqualTo(1);
+        assertThat(catalogImport.getUpdatedRows()).isEqualTo(1);
+        assertThat(catalogImport.getFailedRows()).isZero();
+        assertThat(existing.getPrice()).isEqualByComparingTo("199.99");
+        assertThat(existing.getColor().getId()).isEqualTo(1L);
+        assertThat(existing.getMemory()).isNull();
+        ProductDetails created = persisted(ProductDetails.class).get(0);
+        assertThat(created.getName()).isEqualTo("45mm, \"Sport\"");
+        assertThat(created.getProduct().getId()).isEqualTo(10L);
+        assertThat(created.getColor().getName()).isEqualTo("Blue");
+        assertThat(persisted(Color.class)).hasSize(1);
+        assertThat(persisted(Product.class)).isEmpty();
+    }
+
+    @Test
+    void shouldReportTheRowsInError() throws Exception {
+        when(productDetailsRepository.findAllByProductIdInAndNameIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        applicationProperties.getCatalogImport().setMaxErrors(2);
+
+        importProductDetails(
+            ExportFormat.CSV,
+            HEADER +
+            "41mm,,watch.jpg,Watch,,,\n" +
+            "41mm,cheap,watch.jpg,Watch,,,\n" +
+            "\"41mm\nSport\",1,watch.jpg,Watch,,,,extra\n" +
+            "45mm,1,watch.jpg,Watch,,,\n"
+        );
+
+        assertThat(catalogImport.getReadRows()).isEqualTo(4);
+        assertThat(catalogImport.getCreatedRows()).isEqualTo(1);
+        assertThat(catalogImport.getFailedRows()).isEqualTo(3);
+        assertThat(catalogImport.getErrors()).containsExactly("Line 2: the price is required", "Line 3: the price is not a number");
+    }
+
+    @Test
+    void shouldCreateTheMissingProductsOnce() throws Exception {
+        when(productDetailsRepository.findAllByProductIdInAndNameIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        applicationProperties.getCatalogImport().setChunkSize(1);
+
+        importProductDetails(
+            ExportFormat.NDJSON,
+            "{\"name\":\"41mm\",\"price\":199.99,\"thumbnail\":\"ring.jpg\",\"product\":\"Ring\",\"category\":\"Wearables\"}\n\n" +
+            "{\"name\":\"45mm\",\"price\":249,\"thumbnail\":\"ring.jpg\",\"product\":\"Ring\",\"category\":\"Wearables\"}\n" +
+            "{\"name\":\n"
+        );
+
+        assertThat(catalogImport.getCreatedRows()).isEqualTo(2);
+        assertThat(catalogImport.getFailedRows()).isEqualTo(1);
+        assertThat(catalogImport.getErrors()).singleElement().asString().startsWith("Line 4: ");
+        assertThat(persisted(Product.class)).singleElement().satisfies(product -> {
+            assertThat(product.getName()).isEqualTo("Ring");
+            assertThat(product.getCategory().getName()).isEqualTo("Wearables");
+        });
+        assertThat(persisted(ProductDetails.class)).extracting(ProductDetails::getPrice).containsExactly(
+            new BigDecimal("199.99"),
+            new BigDecimal("249")
+        );
+    }
+
+    @Test
+    void shouldSkipAFailedChunk() throws Exception {
+        when(productDetailsRepository.findAllByProductIdInAndNameIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        applicationProperties.getCatalogImport().setChunkSize(1);
+        failNextProductDetails = true;
+
+        importProductDetails(ExportFormat.CSV, HEADER + "41mm,1,watch.jpg,Watch,,Blue,\n45mm,1,watch.jpg,Watch,,Blue,\n");
+
+        assertThat(catalogImport.getCreatedRows()).isEqualTo(1);
+        assertThat(catalogImport.getFailedRows()).isEqualTo(1);
+        assertThat(catalogImport.getErrors()).containsExactly("Lines 2 to 2: Connection lost");
+        assertThat(persisted(Color.class)).extracting(Color::getName).containsExactly("Blue", "Blue");
+    }
+
+    @Test
+    void shouldNotifyTheCatalogChangeOnce() throws Exception {
+        when(productDetailsRepository.findAllByProductIdInAndNameIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        applicationProperties.getCatalogImport().setChunkSize(1);
+
+        importProductDetails(ExportFormat.CSV, HEADER + "41mm,1,watch.jpg,Watch,,,\n45mm,1,watch.jpg,Watch,,,\n");
+
+        verify(eventPublisher).publishEvent(new CatalogChangedEvent("ProductDetails"));
+    }
+
+    @Test
+    void shouldNotImportWhileAnotherInstanceIsImporting() throws Exception {
+        when(jobService.start(eq(CatalogImportService.IMPORT_JOB), any(), any())).thenReturn(false);
+        catalogImportService = newCatalogImportService();
+        Path file = Files.createTempFile("product-details-import-", ".csv");
+
+        assertThat(catalogImportService.startImport(ExportFormat.CSV, file)).isFalse();
+
+        assertThat(file).doesNotExist();
+        assertThat(catalogImportService.getLastImport()).isEmpty();
+    }
+}
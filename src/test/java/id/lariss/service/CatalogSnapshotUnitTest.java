@@ -0,0 +1,71 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import id.lariss.domain.Category;
+import id.lariss.domain.Product;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link CatalogSnapshot} class.
+ */
+class CatalogSnapshotUnitTest {
+
+    private final Category phones = new Category().id(2L).name("iPhone");
+    private final Category watches = new Category().id(1L).name("Watch");
+    private final Category empty = new Category().id(3L).name("Mac");
+
+    private CatalogSnapshot buildSnapshot() {
+        return CatalogSnapshot.of(
+            7L,
+            List.of(phones, watches, empty),
+            List.of(
+                new Product().id(12L).name("iPhone 15").category(phones),
+                new Product().id(10L).name("Watch Ultra").category(watches),
+                new Product().id(11L).name("iPhone 14").category(phones),
+                new Product().id(13L).name("Orphan")
+            )
+        );
+    }
+
+    @Test
+    void testCategoriesAreOrderedById() {
+        CatalogSnapshot snapshot = buildSnapshot();
+
+        assertThat(snapshot.getVersion()).isEqualTo(7L);
+        assertThat(snapshot.getCategoryCount()).isEqualTo(3);
+        assertThat(snapshot.getCategoryId(0)).isEqualTo(1L);
+        assertThat(snapshot.getCategoryName(1)).isEqualTo("iPhone");
+    }
+
+    @Test
+    void testFindCategoryIndexByNameIgnoresCase() {
+        CatalogSnapshot snapshot = buildSnapshot();
+
+        assertThat(snapshot.findCategoryIndexByName("IPHONE")).isEqualTo(snapshot.findCategoryIndexById(2L));
+        assertThat(snapshot.findCategoryIndexByName("watch")).isEqualTo(0);
+        assertThat(snapshot.findCategoryIndexByName("unknown")).isEqualTo(-1);
+        assertThat(snapshot.findCategoryIndexByName(null)).isEqualTo(-1);
+        assertThat(snapshot.findCategoryIndexById(99L)).isEqualTo(-1);
+    }
+
+    @Test
+    void testProductsAreGroupedByCategory() {
+        CatalogSnapshot snapshot = buildSnapshot();
+
+        int[] phoneProducts = snapshot.getProductIndexes(snapshot.findCategoryIndexById(2L));
+        assertThat(phoneProducts).hasSize(2);
+        assertThat(snapshot.getProductId(phoneProducts[0])).isEqualTo(11L);
+        assertThat(snapshot.getProductName(phoneProducts[1])).isEqualTo("iPhone 15");
+        assertThat(snapshot.getProductIndexes(snapshot.findCategoryIndexById(3L))).isEmpty();
+        assertThat(snapshot.getProductIndexes(-1)).isEmpty();
+        assertThat(snapshot.getProductCount()).isEqualTo(4);
+    }
+
+    @Test
+    void testEmptySnapshot() {
+        assertThat(CatalogSnapshot.EMPTY.getCategoryCount()).isZero();
+        assertThat(CatalogSnapshot.EMPTY.findCategoryIndexByName("iPhone")).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,193 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.Customer;
+import id.lariss.domain.Order;
+import id.lariss.repository.CustomerRepository;
+import id.lariss.repository.OrderRepository;
+import id.lariss.service.dto.CustomerMergeDTO;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link CustomerMergeService}.
+ */
+class CustomerMergeServiceTest {
+
+    private CustomerRepository customerRepository;
+
+    private OrderRepository orderRepository;
+
+    private JobService jobService;
+
+    private CustomerMergeService customerMergeService;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        when(customerRepository.findOneByPhoneKey(anyString())).thenReturn(Optional.empty());
+        when(customerRepository.findOneByEmailKey(anyString())).thenReturn(Optional.empty());
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCustomerMerge().setChunkSize(2);
+        jobService = mock(JobService.class);
+        when(jobService.start(eq(CustomerMergeService.MERGE_JOB), any(), any())).thenAnswer(invocation -> {
+            invocation.<Executor>getArgument(1).execute(() -> invocation.<IntSupplier>getArgument(2).getAsInt());
+            return true;
+        });
+        customerMergeService = new CustomerMergeService(
+            customerRepository,
+            orderRepository,
+            mock(PlatformTransactionManager.class),
+            Runnable::run,
+            applicationProperties,
+            jobService
+        );
+    }
+
+    /**
+     * A customer as loaded from a row written before the keys existed.
+     */
+    private static Customer unkeyed(long id, String firstName, String phoneNumber, String emailAddress) throws Exception {
+        Customer customer = new Customer().id(id).firstName(firstName).phoneNumber(phoneNumber).emailAddress(emailAddress);
+        for (String key : List.of("phoneKey", "emailKey")) {
+            Field field = Customer.class.getDeclaredField(key);
+            field.setAccessible(true);
+            field.set(customer, null);
+        }
+        return customer;
+    }
+
+    @Test
+    void shouldSetTheKeysOfACustomerWithoutDuplicate() throws Exception {
+        Customer customer = unkeyed(1L, "Jane", "0812 3456 7890", "Jane@Example.com");
+
+        assertThat(customerMergeService.mergeOrKey(customer)).isFalse();
+
+        assertThat(customer.getPhoneKey()).isEqualTo("6281234567890");
+        assertThat(customer.getEmailKey()).isEqualTo("jane@example.com");
+        verify(orderRepository, never()).reassignCustomer(anyLong(), anyLong());
+        verify(customerRepository, never()).delete(any());
+    }
+
+    @Test
+    void shouldMergeALaterDuplicateIntoTheCustomerOfItsPhone() throws Exception {
+        Customer survivor = new Customer().id(1L).firstName("Jane").phoneNumber("+6281234567890");
+        when(customerRepository.findOneByPhoneKey("6281234567890")).thenReturn(Optional.of(survivor));
+        Customer duplicate = unkeyed(5L, "Jane Doe", "0812-3456-7890", "jane@example.com");
+        duplicate.setDeliveryAddress("Jl. Thamrin 2, Jakarta");
+
+        assertThat(customerMergeService.mergeOrKey(duplicate)).isTrue();
+
+        verify(orderRepository).reassignCustomer(5L, 1L);
+        verify(customerRepository).delete(duplicate);
+        assertThat(survivor.getFirstName()).isEqualTo("Jane Doe");
+        assertThat(survivor.getDeliveryAddress()).isEqualTo("Jl. Thamrin 2, Jakarta");
+        assertThat(survivor.getEmailKey()).isEqualTo("jane@example.com");
+    }
+
+    @Test
+    void shouldKeepTheDetailsOfANewerCustomer() throws Exception {
+        Customer survivor = new Customer().id(9L).firstName("Jane").emailAddress("jane@example.com").deliveryAddress("Jl. Thamrin 2");
+        when(customerRepository.findOneByEmailKey("jane@example.com")).thenReturn(Optional.of(survivor));
+        Customer duplicate = unkeyed(5L, "J.", "0812-3456-7890", "JANE@example.com");
+        duplicate.setDeliveryAddress("Jl. Sudirman 1");
+
+        assertThat(customerMergeService.mergeOrKey(duplicate)).isTrue();
+
+        verify(orderRepository).reassignCustomer(5L, 9L);
+        assertThat(survivor.getFirstName()).isEqualTo("Jane");
+        assertThat(survivor.getDeliveryAddress()).isEqualTo("Jl. Thamrin 2");
+        assertThat(survivor.getPhoneKey()).isEqualTo("6281234567890");
+    }
+
+    @Test
+    void shouldNotTakeAContactKeyedByAnotherCustomer() throws Exception {
+        Customer survivor = new Customer().id(1L).phoneNumber("+6281234567890");
+        Customer other = new Customer().id(2L).emailAddress("jane@example.com");
+        when(customerRepository.findOneByPhoneKey("6281234567890")).thenReturn(Optional.of(survivor));
+        when(customerRepository.findOneByEmailKey("jane@example.com")).thenReturn(Optional.of(other));
+
+        assertThat(customerMergeService.mergeOrKey(unkeyed(5L, "Jane", "081234567890", "jane@example.com"))).isTrue();
+
+        verify(orderRepository).reassignCustomer(5L, 1L);
+        assertThat(survivor.getEmailAddress()).isNull();
+    }
+
+    @Test
+    void shouldNotMergeACustomerWithABlankEmailIntoItself() throws Exception {
+        Customer customer = unkeyed(7L, "Jane", null, "");
+        customer.setPhoneNumber("081234567890");
+        when(customerRepository.findOneByPhoneKey("6281234567890")).thenReturn(Optional.of(customer));
+
+        assertThat(customerMergeService.mergeOrKey(customer)).isFalse();
+
+        assertThat(customer.getPhoneKey()).isEqualTo("6281234567890");
+        assertThat(customer.getEmailKey()).isNull();
+        verify(orderRepository, never()).reassignCustomer(anyLong(), anyLong());
+        verify(customerRepository, never()).delete(any());
+    }
+
+    @Test
+    void shouldNotMergeACustomerWithOrdersIntoItself() throws Exception {
+        Customer customer = unkeyed(8L, "Jane", "n/a", null);
+        customer.setEmailAddress("jane@example.com");
+        customer.addOrder(new Order().id(3L));
+        when(customerRepository.findOneByEmailKey("jane@example.com")).thenReturn(Optional.of(customer));
+
+        assertThat(customerMergeService.mergeOrKey(customer)).isFalse();
+
+        assertThat(customer.getOrders()).hasSize(1);
+        verify(orderRepository, never()).reassignCustomer(anyLong(), anyLong());
+        verify(customerRepository, never()).delete(any());
+    }
+
+    @Test
+    void shouldWalkTheCustomersWithoutKeysByChunks() throws Exception {
+        Customer first = unkeyed(1L, "Jane", "081234567890", null);
+        Customer second = unkeyed(3L, "Budi", "081200000000", null);
+        Customer third = unkeyed(4L, "Jane", "+62 812 3456 7890", null);
+        when(customerRepository.findUnkeyedAfter(eq(0L), any(PageRequest.class))).thenReturn(List.of(first, second));
+        when(customerRepository.findUnkeyedAfter(eq(3L), any(PageRequest.class))).thenReturn(List.of(third));
+        when(customerRepository.findUnkeyedAfter(eq(4L), any(PageRequest.class))).thenReturn(List.of());
+        when(customerRepository.findOneByPhoneKey("6281234567890")).thenReturn(Optional.empty(), Optional.of(first));
+
+        assertThat(customerMergeService.startMerge()).isTrue();
+
+        CustomerMergeDTO merge = customerMergeService.getLastMerge().orElseThrow();
+        assertThat(merge.isRunning()).isFalse();
+        assertThat(merge.getError()).isNull();
+        assertThat(merge.getProcessedCustomers()).isEqualTo(3);
+        assertThat(merge.getMergedCustomers()).isEqualTo(1);
+        verify(orderRepository).reassignCustomer(4L, 1L);
+        verify(customerRepository).delete(third);
+    }
+
+    @Test
+    void shouldNotMergeWhileAnotherInstanceIsMerging() {
+        when(jobService.start(eq(CustomerMergeService.MERGE_JOB), any(), any())).thenReturn(false);
+
+        assertThat(customerMergeService.startMerge()).isFalse();
+        assertThat(customerMergeService.startMerge()).isFalse();
+
+        assertThat(customerMergeService.getLastMerge()).isEmpty();
+        verify(customerRepository, never()).findUnkeyedAfter(anyLong(), any());
+    }
+}
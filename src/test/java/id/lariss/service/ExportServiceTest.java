@@ -0,0 +1,171 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.lariss.domain.Category;
+import id.lariss.domain.Color;
+import id.lariss.domain.Customer;
+import id.lariss.domain.Product;
+import id.lariss.domain.ProductDetails;
+import id.lariss.repository.CustomerRepository;
+import id.lariss.repository.OrderRepository;
+import id.lariss.repository.ProductDetailsRepository;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+/**
+ * Test class for the {@link ExportService}.
+ */
+class ExportServiceTest {
+
+    private static final Instant ORDER_DATE = Instant.parse("2025-03-01T10:15:30Z");
+
+    private OrderRepository orderRepository;
+
+    private CustomerRepository customerRepository;
+
+    private ProductDetailsRepository productDetailsRepository;
+
+    private EntityManager entityManager;
+
+    private ExportService exportService;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        customerRepository = mock(CustomerRepository.class);
+        productDetailsRepository = mock(ProductDetailsRepository.class);
+        entityManager = mock(EntityManager.class);
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new ExportService(orderRepository, customerRepository, productDetailsRepository, entityManager, objectMapper);
+    }
+
+    private static OrderRepository.OrderExportView orderRow(Long id, Long itemId, String productDetailsName) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("status", "PENDING");
+        row.put("totalPrice", new BigDecimal("30.00"));
+        row.put("orderDate", ORDER_DATE);
+        row.put("customerId", 7L);
+        if (itemId != null) {
+            row.put("itemId", itemId);
+            row.put("quantity", 1);
+            row.put("itemTotalPrice", new BigDecimal("15.00"));
+            row.put("productDetailsId", 3L);
+            row.put("productDetailsName", productDetailsName);
+        }
+        return new SpelAwareProxyProjectionFactory().createProjection(OrderRepository.OrderExportView.class, row);
+    }
+
+    private String output() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldExportOrdersAsOneCsvLinePerItem() throws Exception {
+        when(orderRepository.streamAllForExport()).thenReturn(
+            Stream.of(orderRow(1L, 10L, "Watch, 41mm"), orderRow(1L, 11L, "Strap \"Sport\""), orderRow(2L, null, null))
+        );
+
+        exportService.exportOrders(ExportFormat.CSV, out);
+
+        assertThat(output()).isEqualTo(
+            "id,status,totalPrice,orderDate,customerId,itemId,quantity,itemTotalPrice,productDetailsId,productDetailsName\r\n" +
+            "1,PENDING,30.00,2025-03-01T10:15:30Z,7,10,1,15.00,3,\"Watch, 41mm\"\r\n" +
+            "1,PENDING,30.00,2025-03-01T10:15:30Z,7,11,1,15.00,3,\"Strap \"\"Sport\"\"\"\r\n" +
+            "2,PENDING,30.00,2025-03-01T10:15:30Z,7,,,,,\r\n"
+        );
+    }
+
+    @Test
+    void shouldExportOrdersAsOneJsonObjectPerOrder() throws Exception {
+        when(orderRepository.streamAllForExport()).thenReturn(
+            Stream.of(orderRow(1L, 10L, "Watch"), orderRow(1L, 11L, "Strap"), orderRow(2L, null, null))
+        );
+
+        exportService.exportOrders(ExportFormat.NDJSON, out);
+
+        assertThat(output().split("\n")).containsExactly(
+            "{\"id\":1,\"status\":\"PENDING\",\"totalPrice\":30.00,\"orderDate\":\"2025-03-01T10:15:30Z\",\"customerId\":7,\"items\":[" +
+            "{\"id\":10,\"quantity\":1,\"totalPrice\":15.00,\"productDetailsId\":3,\"productDetailsName\":\"Watch\"}," +
+            "{\"id\":11,\"quantity\":1,\"totalPrice\":15.00,\"productDetailsId\":3,\"productDetailsName\":\"Strap\"}]}",
+            "{\"id\":2,\"status\":\"PENDING\",\"totalPrice\":30.00,\"orderDate\":\"2025-03-01T10:15:30Z\",\"customerId\":7,\"items\":[]}"
+        );
+    }
+
+    @Test
+    void shouldWriteTheCsvHeaderOfAnEmptyExport() throws Exception {
+        when(orderRepository.streamAllForExport()).thenReturn(Stream.empty());
+
+        exportService.exportOrders(ExportFormat.CSV, out);
+
+        assertThat(output()).isEqualTo(String.join(",", ExportService.ORDER_COLUMNS) + "\r\n");
+    }
+
+    @Test
+    void shouldDetachTheExportedCustomers() throws Exception {
+        Customer customer = new Customer().id(1L).firstName("Ana").lastName("Putri").deliveryAddress("Jl. Merdeka 1,\nJakarta");
+        when(customerRepository.streamAll()).thenReturn(Stream.of(customer));
+
+        exportService.exportCustomers(ExportFormat.CSV, out);
+
+        assertThat(output()).isEqualTo(
+            "id,firstName,lastName,phoneNumber,emailAddress,deliveryAddress\r\n1,Ana,Putri,,,\"Jl. Merdeka 1,\nJakarta\"\r\n"
+        );
+        verify(entityManager).detach(customer);
+    }
+
+    @Test
+    void shouldExportTheCustomersWithoutOrder() throws Exception {
+        Customer customer = new Customer().id(2L).firstName("Budi").emailAddress("budi@example.com");
+        when(customerRepository.streamAllWhereOrderIsNull()).thenReturn(Stream.of(customer));
+
+        exportService.exportCustomersWhereOrderIsNull(ExportFormat.NDJSON, out);
+
+        assertThat(output()).isEqualTo(
+            "{\"id\":2,\"firstName\":\"Budi\",\"lastName\":null,\"phoneNumber\":null,\"emailAddress\":\"budi@example.com\"," +
+            "\"deliveryAddress\":null}\n"
+        );
+        verify(entityManager).detach(customer);
+    }
+
+    @Test
+    void shouldExportTheAttributeNamesOfTheProductDetails() throws Exception {
+        Product product = new Product().name("Apple Watch").category(new Category().name("Watch"));
+        ProductDetails details = new ProductDetails()
+            .id(3L)
+            .name("Apple Watch Series 10")
+            .price(new BigDecimal("6999000.00"))
+            .product(product)
+            .color(new Color().name("Silver").value("#f0f2f2"));
+        when(productDetailsRepository.streamAllWithToOneRelationships()).thenReturn(Stream.of(details));
+
+        exportService.exportProductDetails(ExportFormat.NDJSON, out);
+
+        assertThat(output()).isEqualTo(
+            "{\"id\":3,\"name\":\"Apple Watch Series 10\",\"price\":6999000.00,\"thumbnail\":null,\"product\":\"Apple Watch\"," +
+            "\"category\":\"Watch\",\"description\":null,\"color\":\"Silver\",\"processor\":null,\"memory\":null,\"storage\":null," +
+            "\"screen\":null,\"connectivity\":null,\"material\":null,\"caseSize\":null,\"strapColor\":null,\"strapSize\":null}\n"
+        );
+        verify(entityManager).detach(details);
+    }
+}
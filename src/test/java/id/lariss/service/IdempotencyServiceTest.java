@@ -0,0 +1,165 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.IdempotencyRecord;
+import id.lariss.repository.IdempotencyRecordRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link IdempotencyService}.
+ */
+class IdempotencyServiceTest {
+
+    private static final String SCOPE = "user POST /api/orders";
+
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private IdempotencyService idempotencyService;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+        when(idempotencyRecordRepository.findOneByScopeAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        when(idempotencyRecordRepository.saveAndFlush(any())).then(invocation -> invocation.getArgument(0));
+        idempotencyService = new IdempotencyService(
+            idempotencyRecordRepository,
+            mock(PlatformTransactionManager.class),
+            new ApplicationProperties(),
+            mock(JobService.class)
+        );
+    }
+
+    private IdempotencyService.IdempotentResponse created() {
+        executions.incrementAndGet();
+        return new IdempotencyService.IdempotentResponse(
+            201,
+            Map.of("Location", List.of("/api/orders/" + executions.get())),
+            "{}".getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void shouldExecuteOnceAndReplay() throws Exception {
+        IdempotencyService.Outcome first = idempotencyService.execute(SCOPE, "key", "hash", this::created);
+        IdempotencyService.Outcome retry = idempotencyService.execute(SCOPE, "key", "hash", this::created);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response()).isSameAs(first.response());
+        assertThat(executions).hasValue(1);
+        verify(idempotencyRecordRepository).save(any());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentDuplicates() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotencyService.Outcome> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return idempotencyService.execute(SCOPE, "key", "hash", () -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return created();
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<IdempotencyService.Outcome> duplicate = CompletableFuture.supplyAsync(() -> {
+            try {
+                return idempotencyService.execute(SCOPE, "key", "hash", this::created);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+        assertThat(duplicate.get().response()).isSameAs(first.get().response());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void shouldRejectAKeyReusedForAnotherRequest() throws Exception {
+        idempotencyService.execute(SCOPE, "key", "hash", this::created);
+
+        assertThatThrownBy(() -> idempotencyService.execute(SCOPE, "key", "other-hash", this::created)).isInstanceOf(
+            IdempotencyKeyReusedException.class
+        );
+        assertThat(idempotencyService.execute("admin POST /api/orders", "key", "other-hash", this::created).replayed()).isFalse();
+    }
+
+    @Test
+    void shouldReplayTheResponseStoredByAnotherInstance() throws Exception {
+        IdempotencyRecord stored = new IdempotencyRecord();
+        stored.setRequestHash("hash");
+        stored.setResponseStatus(201);
+        stored.setResponseHeaders("Location: /api/orders/1\n");
+        stored.setResponseBody(new byte[] { 1, 2, 3 });
+        stored.setExpiresAt(Instant.now().plusSeconds(60));
+        when(idempotencyRecordRepository.findOneByScopeAndIdempotencyKey(SCOPE, "key")).thenReturn(Optional.of(stored));
+
+        IdempotencyService.Outcome outcome = idempotencyService.execute(SCOPE, "key", "hash", this::created);
+
+        assertThat(outcome.replayed()).isTrue();
+        assertThat(outcome.response().status()).isEqualTo(201);
+        assertThat(outcome.response().headers()).containsEntry("Location", List.of("/api/orders/1"));
+        assertThat(outcome.response().body()).containsExactly(1, 2, 3);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void shouldNotReplayWhileAnotherInstanceExecutes() {
+        IdempotencyRecord pending = new IdempotencyRecord();
+        pending.setRequestHash("hash");
+        pending.setExpiresAt(Instant.now().plusSeconds(60));
+        when(idempotencyRecordRepository.findOneByScopeAndIdempotencyKey(SCOPE, "key")).thenReturn(Optional.of(pending));
+
+        assertThatThrownBy(() -> idempotencyService.execute(SCOPE, "key", "hash", this::created)).isInstanceOf(
+            IdempotentRequestInProgressException.class
+        );
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void shouldExecuteAgainAfterAServerError() throws Exception {
+        IdempotencyService.Outcome failed = idempotencyService.execute(SCOPE, "key", "hash", () ->
+            new IdempotencyService.IdempotentResponse(503, Map.of(), new byte[0])
+        );
+        IdempotencyService.Outcome retry = idempotencyService.execute(SCOPE, "key", "hash", this::created);
+
+        assertThat(failed.replayed()).isFalse();
+        assertThat(retry.replayed()).isFalse();
+        assertThat(retry.response().status()).isEqualTo(201);
+    }
+
+    @Test
+    void shouldEncodeHeaders() {
+        Map<String, List<String>> headers = Map.of("X-larissAsst-alert", List.of("a", "b"));
+
+        assertThat(IdempotencyService.decodeHeaders(IdempotencyService.encodeHeaders(headers))).isEqualTo(headers);
+    }
+}
@@ -0,0 +1,82 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import id.lariss.IntegrationTest;
+import id.lariss.repository.JobLockRepository;
+import java.time.Duration;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Integration tests for {@link JobLockService}, with a second service standing for another instance.
+ */
+@IntegrationTest
+class JobLockServiceIT {
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JobLockService otherInstance;
+
+    private String job;
+
+    @BeforeEach
+    void init() {
+        otherInstance = new JobLockService(jobLockRepository, transactionManager);
+        job = "job-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void cleanup() {
+        jobLockRepository.deleteById(job);
+    }
+
+    @Test
+    void shouldLockAJobForOneInstanceAtATime() {
+        assertThat(jobLockService.tryLock(job, Duration.ofMinutes(1))).isTrue();
+        assertThat(otherInstance.tryLock(job, Duration.ofMinutes(1))).isFalse();
+        assertThat(jobLockService.tryLock(job, Duration.ofMinutes(1))).isFalse();
+
+        jobLockService.unlock(job);
+
+        assertThat(otherInstance.tryLock(job, Duration.ofMinutes(1))).isTrue();
+    }
+
+    @Test
+    void shouldNotReleaseTheLockOfAnotherInstance() {
+        assertThat(otherInstance.tryLock(job, Duration.ofMinutes(1))).isTrue();
+
+        jobLockService.unlock(job);
+
+        assertThat(jobLockService.tryLock(job, Duration.ofMinutes(1))).isFalse();
+    }
+
+    @Test
+    void shouldTakeALockWhoseLeaseEnded() {
+        assertThat(otherInstance.tryLock(job, Duration.ZERO)).isTrue();
+
+        assertThat(jobLockService.tryLock(job, Duration.ofMinutes(1))).isTrue();
+    }
+
+    @Test
+    void shouldExtendTheLeaseOfALockHeldByThisInstanceOnly() {
+        assertThat(jobLockService.tryLock(job, Duration.ofSeconds(5))).isTrue();
+
+        assertThat(otherInstance.extend(job, Duration.ofMinutes(1))).isFalse();
+        assertThat(jobLockService.extend(job, Duration.ofMinutes(1))).isTrue();
+        assertThat(jobLockRepository.findById(job))
+            .get()
+            .satisfies(jobLock -> assertThat(jobLock.getHeartbeatAt()).isNotNull());
+    }
+}
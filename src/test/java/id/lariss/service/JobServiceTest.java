@@ -0,0 +1,164 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.JobRun;
+import id.lariss.domain.enumeration.JobRunStatus;
+import id.lariss.repository.JobLockRepository;
+import id.lariss.repository.JobRunRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link JobService}.
+ */
+class JobServiceTest {
+
+    private static final String JOB = "purgeSomething";
+
+    private JobLockService jobLockService;
+
+    private JobRunRepository jobRunRepository;
+
+    private JobRun jobRun;
+
+    private JobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobLockService = mock(JobLockService.class);
+        when(jobLockService.getOwner()).thenReturn("node-1");
+        jobRunRepository = mock(JobRunRepository.class);
+        when(jobRunRepository.save(any())).thenAnswer(invocation -> {
+            jobRun = invocation.getArgument(0);
+            jobRun.setId(1L);
+            return jobRun;
+        });
+        when(jobRunRepository.findById(1L)).thenAnswer(invocation -> Optional.of(jobRun));
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getJobs().setHeartbeatInterval(Duration.ofMillis(10));
+        jobService = new JobService(
+            jobLockService,
+            mock(JobLockRepository.class),
+            jobRunRepository,
+            mock(PlatformTransactionManager.class),
+            applicationProperties
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.destroy();
+    }
+
+    @Test
+    void shouldRecordTheRunOfAJobThenReleaseItsLock() {
+        when(jobLockService.tryLock(eq(JOB), any())).thenReturn(true);
+
+        assertThat(jobService.run(JOB, () -> 42)).hasValue(42);
+
+        assertThat(jobRun.getJobName()).isEqualTo(JOB);
+        assertThat(jobRun.getNode()).isEqualTo("node-1");
+        assertThat(jobRun.getStatus()).isEqualTo(JobRunStatus.SUCCEEDED);
+        assertThat(jobRun.getRowsAffected()).isEqualTo(42);
+        assertThat(jobRun.getFinishedAt()).isAfterOrEqualTo(jobRun.getStartedAt());
+        verify(jobRunRepository).abandonRunning(eq(JOB), any(), eq(JobRunStatus.RUNNING), eq(JobRunStatus.ABANDONED));
+        verify(jobLockService).unlock(JOB);
+    }
+
+    @Test
+    void shouldSkipAJobLockedByAnotherInstance() {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        OptionalInt rowsAffected = jobService.run(JOB, () -> {
+            ran.set(true);
+            return 1;
+        });
+
+        assertThat(rowsAffected).isEmpty();
+        assertThat(ran).isFalse();
+        verify(jobRunRepository, never()).save(any());
+        verify(jobLockService, never()).unlock(anyString());
+    }
+
+    @Test
+    void shouldRecordTheFailureOfAJob() {
+        when(jobLockService.tryLock(eq(JOB), any())).thenReturn(true);
+
+        assertThatThrownBy(() ->
+            jobService.run(JOB, () -> {
+                throw new IllegalStateException("database down");
+            })
+        ).isInstanceOf(IllegalStateException.class);
+
+        assertThat(jobRun.getStatus()).isEqualTo(JobRunStatus.FAILED);
+        assertThat(jobRun.getError()).contains("database down");
+        verify(jobLockService).unlock(JOB);
+    }
+
+    @Test
+    void shouldExtendTheLockWhileTheJobRuns() throws Exception {
+        when(jobLockService.tryLock(eq(JOB), any())).thenReturn(true);
+        CountDownLatch extended = new CountDownLatch(2);
+        when(jobLockService.extend(eq(JOB), any())).thenAnswer(invocation -> {
+            extended.countDown();
+            return true;
+        });
+
+        jobService.run(JOB, () -> {
+            try {
+                return extended.await(5, TimeUnit.SECONDS) ? 0 : -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        });
+
+        assertThat(jobRun.getRowsAffected()).isZero();
+        verify(jobLockService, timeout(1000).atLeast(2)).extend(eq(JOB), any());
+    }
+
+    @Test
+    void shouldStartAJobInTheBackgroundUnderItsLock() {
+        when(jobLockService.tryLock(eq(JOB), any())).thenReturn(true);
+        List<Runnable> tasks = new ArrayList<>();
+
+        assertThat(jobService.start(JOB, tasks::add, () -> 7)).isTrue();
+
+        verify(jobLockService, never()).unlock(anyString());
+        assertThat(tasks).singleElement().satisfies(Runnable::run);
+        assertThat(jobRun.getStatus()).isEqualTo(JobRunStatus.SUCCEEDED);
+        assertThat(jobRun.getRowsAffected()).isEqualTo(7);
+        verify(jobLockService).unlock(JOB);
+    }
+
+    @Test
+    void shouldNotStartAJobLockedByAnotherInstance() {
+        List<Runnable> tasks = new ArrayList<>();
+
+        assertThat(jobService.start(JOB, tasks::add, () -> 7)).isFalse();
+
+        assertThat(tasks).isEmpty();
+        verify(jobLockService, never()).unlock(anyString());
+    }
+}
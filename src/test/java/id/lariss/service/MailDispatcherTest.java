@@ -0,0 +1,131 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.MailMessage;
+import id.lariss.repository.MailMessageRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Test class for the {@link MailDispatcher}.
+ */
+class MailDispatcherTest {
+
+    private MailMessageRepository mailMessageRepository;
+
+    private JavaMailSender javaMailSender;
+
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailMessageRepository = mock(MailMessageRepository.class);
+        javaMailSender = mock(JavaMailSender.class);
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getMail().setFrom("lariss@localhost");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getMail().setBatchSize(2);
+        dispatcher = new MailDispatcher(
+            mailMessageRepository,
+            javaMailSender,
+            jHipsterProperties,
+            mock(PlatformTransactionManager.class),
+            applicationProperties,
+            mock(JobService.class)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.destroy();
+    }
+
+    private static List<MailMessage> mailMessages(long... ids) {
+        return LongStream.of(ids)
+            .mapToObj(id -> {
+                MailMessage mailMessage = new MailMessage();
+                mailMessage.setId(id);
+                mailMessage.setRecipient("user" + id + "@example.com");
+                mailMessage.setSubject("Subject " + id);
+                mailMessage.setContent("Content " + id);
+                mailMessage.setCreatedDate(Instant.now());
+                mailMessage.setNextAttemptAt(Instant.now());
+                return mailMessage;
+            })
+            .toList();
+    }
+
+    @Test
+    void shouldSendEachBatchAtOnceAndMarkItSent() throws Exception {
+        when(mailMessageRepository.findDueForUpdate(any(), any())).thenReturn(mailMessages(1, 2), mailMessages(3), List.of());
+
+        assertThat(dispatcher.sendDue()).isEqualTo(3);
+
+        ArgumentCaptor<MimeMessage[]> batches = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(javaMailSender, times(2)).send(batches.capture());
+        assertThat(batches.getAllValues().get(0)).hasSize(2);
+        assertThat(batches.getAllValues().get(0)[1].getAllRecipients()[0]).hasToString("user2@example.com");
+        verify(mailMessageRepository).markSent(eq(List.of(1L, 2L)), any());
+        verify(mailMessageRepository).markSent(eq(List.of(3L)), any());
+    }
+
+    @Test
+    void shouldRetryOnlyTheRefusedEmails() {
+        List<MailMessage> batch = mailMessages(1, 2);
+        when(mailMessageRepository.findDueForUpdate(any(), any())).thenReturn(batch, List.of());
+        when(mailMessageRepository.findAllById(any())).thenReturn(List.of(batch.get(1)));
+        doAnswer(invocation -> {
+            MimeMessage refused = invocation.getArgument(1);
+            throw new MailSendException(Map.of(refused, new MessagingException("550 mailbox unavailable")));
+        })
+            .when(javaMailSender)
+            .send(any(MimeMessage[].class));
+
+        assertThat(dispatcher.sendDue()).isEqualTo(1);
+
+        verify(mailMessageRepository).markSent(eq(List.of(1L)), any());
+        assertThat(batch.get(1).getAttempts()).isEqualTo(1);
+        assertThat(batch.get(1).getLastError()).contains("550 mailbox unavailable");
+        assertThat(batch.get(1).getNextAttemptAt()).isAfter(Instant.now().plusSeconds(20));
+    }
+
+    @Test
+    void shouldStopAfterAFailedConnection() {
+        List<MailMessage> batch = mailMessages(1, 2);
+        when(mailMessageRepository.findDueForUpdate(any(), any())).thenReturn(batch);
+        when(mailMessageRepository.findAllById(any())).thenReturn(batch);
+        doThrow(new MailSendException("Mail server connection failed")).when(javaMailSender).send(any(MimeMessage[].class));
+
+        assertThat(dispatcher.sendDue()).isZero();
+
+        verify(mailMessageRepository, times(1)).findDueForUpdate(any(), any());
+        verify(mailMessageRepository, never()).markSent(anyCollection(), any());
+        assertThat(batch).allSatisfy(mailMessage -> assertThat(mailMessage.getAttempts()).isEqualTo(1));
+    }
+}
@@ -0,0 +1,117 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.domain.OrderEvent;
+import id.lariss.domain.enumeration.OrderEventType;
+import id.lariss.domain.enumeration.OrderStatus;
+import id.lariss.repository.OrderEventRepository;
+import id.lariss.service.dto.OrderEventDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link OrderEventDispatcher}.
+ */
+class OrderEventDispatcherTest {
+
+    private OrderEventRepository orderEventRepository;
+
+    private OrderEventSink sink;
+
+    private ApplicationProperties applicationProperties;
+
+    private OrderEventDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository = mock(OrderEventRepository.class);
+        sink = mock(OrderEventSink.class);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getOutbox().setBatchSize(2);
+        dispatcher = new OrderEventDispatcher(
+            orderEventRepository,
+            List.of(sink),
+            mock(PlatformTransactionManager.class),
+            applicationProperties,
+            mock(JobService.class)
+        );
+    }
+
+    private static List<OrderEvent> events(long... ids) {
+        return LongStream.of(ids)
+            .mapToObj(id -> {
+                OrderEvent event = new OrderEvent();
+                event.setId(id);
+                event.setOrderId(id * 10);
+                event.setEventType(OrderEventType.CREATED);
+                event.setStatus(OrderStatus.PENDING);
+                event.setCreatedDate(Instant.now());
+                event.setNextAttemptAt(Instant.now());
+                return event;
+            })
+            .toList();
+    }
+
+    @Test
+    void shouldPublishAndMarkTheDueEvents() throws Exception {
+        List<OrderEvent> due = events(1, 2);
+        when(orderEventRepository.findDueForUpdate(any(), any())).thenReturn(due, events(3), List.of());
+
+        dispatcher.dispatch();
+
+        verify(sink, times(2)).publish(anyList());
+        verify(orderEventRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(orderEventRepository).markPublished(eq(List.of(3L)), any());
+        assertThat(due).allSatisfy(event -> assertThat(event.getNextAttemptAt()).isAfter(Instant.now().plusSeconds(30)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDeliverTheEventsInOrder() throws Exception {
+        when(orderEventRepository.findDueForUpdate(any(), any())).thenReturn(events(4, 5), List.of());
+        ArgumentCaptor<List<OrderEventDTO>> published = ArgumentCaptor.forClass(List.class);
+
+        dispatcher.dispatch();
+
+        verify(sink).publish(published.capture());
+        assertThat(published.getValue()).extracting(OrderEventDTO::getId).containsExactly(4L, 5L);
+        assertThat(published.getValue()).extracting(OrderEventDTO::getOrderId).containsExactly(40L, 50L);
+        assertThat(published.getValue()).allSatisfy(event -> assertThat(event.getStatus()).isEqualTo(OrderStatus.PENDING));
+    }
+
+    @Test
+    void shouldRescheduleAFailedBatch() throws Exception {
+        List<OrderEvent> due = events(1, 2);
+        due.get(1).setAttempts(3);
+        when(orderEventRepository.findDueForUpdate(any(), any())).thenReturn(due);
+        when(orderEventRepository.findAllById(List.of(1L, 2L))).thenReturn(due);
+        doThrow(new IllegalStateException("webhook down")).when(sink).publish(anyList());
+
+        Instant before = Instant.now();
+        dispatcher.dispatch();
+
+        verify(orderEventRepository, times(1)).findDueForUpdate(any(), any());
+        verify(orderEventRepository, never()).markPublished(any(), any());
+        assertThat(due.get(0).getAttempts()).isEqualTo(1);
+        assertThat(due.get(0).getNextAttemptAt()).isBetween(before.plusSeconds(1), Instant.now().plusSeconds(1));
+        assertThat(due.get(0).getLastError()).contains("webhook down");
+        assertThat(due.get(1).getAttempts()).isEqualTo(4);
+        assertThat(due.get(1).getNextAttemptAt()).isBetween(before.plusSeconds(8), Instant.now().plusSeconds(8));
+    }
+}
@@ -0,0 +1,127 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ProductSearchIndex} class.
+ */
+class ProductSearchIndexUnitTest {
+
+    private static ProductSearchIndex.Document document(long id, String name, String color, String storage) {
+        return new ProductSearchIndex.Document(
+            id,
+            name,
+            BigDecimal.TEN,
+            "thumbnail",
+            1L,
+            Map.of(ProductSearchIndex.FACET_PRODUCT, "iPhone 15 Pro", ProductSearchIndex.FACET_COLOR, color, ProductSearchIndex.FACET_STORAGE, storage)
+        );
+    }
+
+    private ProductSearchIndex buildIndex() {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.put(document(1L, "iPhone 15 Pro 256GB Blue Titanium", "Blue Titanium", "256GB"));
+        index.put(document(2L, "iPhone 15 Pro 128GB Blue Titanium", "Blue Titanium", "128GB"));
+        index.put(document(3L, "iPhone 15 Pro 256GB Natural Titanium", "Natural Titanium", "256GB"));
+        return index;
+    }
+
+    @Test
+    void testTokenization() {
+        assertThat(ProductSearchIndex.indexTerms("iPhone 15-Pro 256GB")).containsExactly("iphone", "15", "pro", "256gb", "256", "gb");
+        assertThat(ProductSearchIndex.queryTokens("256gb, 256 GB")).containsExactly("256", "gb");
+        assertThat(ProductSearchIndex.queryTokens("  ")).isEmpty();
+        assertThat(ProductSearchIndex.queryTokens(null)).isEmpty();
+    }
+
+    @Test
+    void testAllTokensMustMatch() {
+        ProductSearchIndex.Result result = buildIndex().search("iphone 15 pro 256 blue", 10);
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.hits().get(0).document().id()).isEqualTo(1L);
+    }
+
+    @Test
+    void testUnknownTokensAreIgnored() {
+        assertThat(buildIndex().search("blue iphone please", 10).total()).isEqualTo(2);
+        assertThat(buildIndex().search("please", 10).total()).isZero();
+    }
+
+    @Test
+    void testPrefixAndTypoTolerantMatching() {
+        ProductSearchIndex index = buildIndex();
+
+        assertThat(index.search("nat", 10).total()).isEqualTo(1);
+        assertThat(index.search("iphnoe natrual", 10).total()).isEqualTo(1);
+        assertThat(index.search("titanum", 10).total()).isEqualTo(3);
+        // numbers only match exactly
+        assertThat(index.search("iphone 25", 10).total()).isEqualTo(3);
+        assertThat(index.search("iphone 258", 10).total()).isEqualTo(3);
+    }
+
+    @Test
+    void testExactMatchesRankFirst() {
+        ProductSearchIndex index = buildIndex();
+        index.put(document(4L, "iPhone 15 Bluetooth case", "Black", "None"));
+
+        ProductSearchIndex.Result result = index.search("blue", 10);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.hits().get(0).score()).isEqualTo(ProductSearchIndex.EXACT_SCORE);
+        assertThat(result.hits().get(2).document().id()).isEqualTo(4L);
+        assertThat(result.hits().get(2).score()).isEqualTo(ProductSearchIndex.PREFIX_SCORE);
+    }
+
+    @Test
+    void testFacetCountsCoverAllMatches() {
+        ProductSearchIndex.Result result = buildIndex().search("titanium", 1);
+
+        assertThat(result.hits()).hasSize(1);
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.facets().get(ProductSearchIndex.FACET_COLOR)).containsExactly(
+            Map.entry("Blue Titanium", 2),
+            Map.entry("Natural Titanium", 1)
+        );
+        assertThat(result.facets().get(ProductSearchIndex.FACET_STORAGE)).containsExactly(Map.entry("256GB", 2), Map.entry("128GB", 1));
+        assertThat(result.facets().keySet()).containsExactly(
+            ProductSearchIndex.FACET_PRODUCT,
+            ProductSearchIndex.FACET_COLOR,
+            ProductSearchIndex.FACET_STORAGE
+        );
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        ProductSearchIndex index = buildIndex();
+
+        index.put(document(3L, "iPhone 15 Pro 256GB Black Titanium", "Black Titanium", "256GB"));
+        index.remove(2L);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.search("natural", 10).total()).isZero();
+        assertThat(index.search("natrual", 10).total()).isZero();
+        assertThat(index.search("black", 10).total()).isEqualTo(1);
+        assertThat(index.search("balck", 10).total()).isEqualTo(1);
+        assertThat(index.search("128", 10).total()).isZero();
+    }
+
+    @Test
+    void testDeletions() {
+        assertThat(ProductSearchIndex.deletions("blue", 1)).containsExactlyInAnyOrder("blue", "lue", "bue", "ble", "blu");
+        assertThat(ProductSearchIndex.deletions("blue", 2)).contains("bl", "ue").doesNotContain("b");
+        assertThat(ProductSearchIndex.deletions("a", 1)).isEmpty();
+    }
+
+    @Test
+    void testEditDistance() {
+        assertThat(ProductSearchIndex.editDistance("iphone", "iphone", 1)).isZero();
+        assertThat(ProductSearchIndex.editDistance("iphnoe", "iphone", 1)).isEqualTo(1);
+        assertThat(ProductSearchIndex.editDistance("ipone", "iphone", 1)).isEqualTo(1);
+        assertThat(ProductSearchIndex.editDistance("ipad", "iphone", 2)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,24 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link RetryBackoff}.
+ */
+class RetryBackoffTest {
+
+    @Test
+    void shouldDoubleTheDelayUpToTheMaximum() {
+        Duration initial = Duration.ofSeconds(1);
+        Duration max = Duration.ofMinutes(10);
+
+        assertThat(RetryBackoff.delay(1, initial, max)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(RetryBackoff.delay(2, initial, max)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(RetryBackoff.delay(5, initial, max)).isEqualTo(Duration.ofSeconds(16));
+        assertThat(RetryBackoff.delay(11, initial, max)).isEqualTo(max);
+        assertThat(RetryBackoff.delay(1000, initial, max)).isEqualTo(max);
+    }
+}
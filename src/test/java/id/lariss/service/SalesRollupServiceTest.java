@@ -0,0 +1,147 @@
+package id.lariss.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.repository.OrderItemRepository;
+import id.lariss.repository.SalesDailyRollupRepository;
+import id.lariss.service.dto.SalesRollupBackfillDTO;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link SalesRollupService}.
+ */
+class SalesRollupServiceTest {
+
+    private static final Instant ORDER_DATE = Instant.parse("2025-03-01T20:00:00Z");
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    private SalesDailyRollupRepository salesDailyRollupRepository;
+
+    private OrderItemRepository orderItemRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private JobService jobService;
+
+    private SalesRollupService salesRollupService;
+
+    @BeforeEach
+    void setUp() {
+        salesDailyRollupRepository = mock(SalesDailyRollupRepository.class);
+        orderItemRepository = mock(OrderItemRepository.class);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getAnalytics().setBackfillChunkSize(2);
+        jobService = mock(JobService.class);
+        when(jobService.start(eq(SalesRollupService.BACKFILL_JOB), any(), any())).thenAnswer(invocation -> {
+            invocation.<Executor>getArgument(1).execute(() -> invocation.<IntSupplier>getArgument(2).getAsInt());
+            return true;
+        });
+        salesRollupService = new SalesRollupService(
+            salesDailyRollupRepository,
+            orderItemRepository,
+            mock(PlatformTransactionManager.class),
+            Runnable::run,
+            applicationProperties,
+            jobService
+        );
+    }
+
+    private static SalesRollupService.SalesLine line(Long productDetailsId, long units, String revenue) {
+        return new SalesRollupService.SalesLine(ORDER_DATE, productDetailsId, units, new BigDecimal(revenue));
+    }
+
+    private static OrderItemRepository.SalesLineView view(long id) {
+        OrderItemRepository.SalesLineView view = mock(OrderItemRepository.SalesLineView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getOrderDate()).thenReturn(ORDER_DATE);
+        when(view.getProductDetailsId()).thenReturn(1L);
+        when(view.getQuantity()).thenReturn(1);
+        when(view.getTotalPrice()).thenReturn(BigDecimal.TEN);
+        return view;
+    }
+
+    @Test
+    void shouldAddTheLinesOfAProductOnADayAtOnce() {
+        salesRollupService.add(List.of(line(2L, 1, "5.00"), line(1L, 2, "20.00"), line(2L, 3, "15.00")));
+
+        InOrder upserts = inOrder(salesDailyRollupRepository);
+        upserts.verify(salesDailyRollupRepository).add(DAY, 1L, 2, new BigDecimal("20.00"));
+        upserts.verify(salesDailyRollupRepository).add(DAY, 2L, 4, new BigDecimal("20.00"));
+        upserts.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void shouldSubtractTheLines() {
+        salesRollupService.subtract(List.of(line(1L, 2, "20.00")));
+
+        verify(salesDailyRollupRepository).add(DAY, 1L, -2, new BigDecimal("-20.00"));
+    }
+
+    @Test
+    void shouldBucketTheDaysInTheConfiguredZone() {
+        applicationProperties.getAnalytics().setZone(ZoneId.of("Asia/Jakarta"));
+
+        salesRollupService.add(List.of(line(1L, 1, "10.00")));
+
+        verify(salesDailyRollupRepository).add(DAY.plusDays(1), 1L, 1, new BigDecimal("10.00"));
+    }
+
+    @Test
+    void shouldIgnoreLinesWithoutProductDetails() {
+        salesRollupService.add(List.of(line(null, 1, "10.00"), new SalesRollupService.SalesLine(null, 1L, 1, BigDecimal.ONE)));
+
+        verify(salesDailyRollupRepository, never()).add(any(), any(), anyLong(), any());
+    }
+
+    @Test
+    void shouldBackfillByChunks() {
+        when(orderItemRepository.findMaxId()).thenReturn(Optional.of(3L));
+        List<OrderItemRepository.SalesLineView> first = List.of(view(1), view(2));
+        List<OrderItemRepository.SalesLineView> second = List.of(view(3));
+        when(orderItemRepository.findSalesLines(eq(0L), eq(3L), any())).thenReturn(first);
+        when(orderItemRepository.findSalesLines(eq(2L), eq(3L), any())).thenReturn(second);
+
+        assertThat(salesRollupService.startBackfill()).isTrue();
+
+        SalesRollupBackfillDTO backfill = salesRollupService.getLastBackfill().orElseThrow();
+        assertThat(backfill.isRunning()).isFalse();
+        assertThat(backfill.getProcessedItems()).isEqualTo(3);
+        assertThat(backfill.getError()).isNull();
+        InOrder writes = inOrder(salesDailyRollupRepository);
+        writes.verify(salesDailyRollupRepository).deleteAllRollups();
+        writes.verify(salesDailyRollupRepository).add(DAY, 1L, 2, new BigDecimal(20));
+        writes.verify(salesDailyRollupRepository).add(DAY, 1L, 1, BigDecimal.TEN);
+    }
+
+    @Test
+    void shouldNotBackfillWhileAnotherInstanceIsBackfilling() {
+        when(jobService.start(eq(SalesRollupService.BACKFILL_JOB), any(), any())).thenReturn(false);
+
+        assertThat(salesRollupService.startBackfill()).isFalse();
+        assertThat(salesRollupService.startBackfill()).isFalse();
+
+        assertThat(salesRollupService.getLastBackfill()).isEmpty();
+        verify(salesDailyRollupRepository, never()).deleteAllRollups();
+    }
+}
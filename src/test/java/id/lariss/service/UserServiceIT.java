@@ -4,13 +4,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import id.lariss.IntegrationTest;
+import id.lariss.config.ApplicationProperties;
 import id.lariss.domain.User;
+import id.lariss.repository.AuthorityRepository;
 import id.lariss.repository.UserRepository;
+import id.lariss.security.AuthoritiesConstants;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,9 +48,15 @@ class UserServiceIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Autowired
     private AuditingHandler auditingHandler;
 
@@ -193,4 +203,33 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersAreDeletedByChunks() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        List<User> notActivatedUsers = List.of("purge_1", "purge_2", "purge_3")
+            .stream()
+            .map(login -> {
+                User notActivatedUser = new User();
+                notActivatedUser.setLogin(login);
+                notActivatedUser.setPassword(RandomStringUtils.randomAlphanumeric(60));
+                notActivatedUser.setActivated(false);
+                notActivatedUser.setActivationKey(RandomUtil.generateActivationKey());
+                notActivatedUser.setAuthorities(Set.of(authorityRepository.findById(AuthoritiesConstants.USER).orElseThrow()));
+                return userRepository.saveAndFlush(notActivatedUser);
+            })
+            .toList();
+        int chunkSize = applicationProperties.getUserPurge().getChunkSize();
+        applicationProperties.getUserPurge().setChunkSize(2);
+        try {
+            assertThat(userService.removeNotActivatedUsers()).isGreaterThanOrEqualTo(3);
+        } finally {
+            applicationProperties.getUserPurge().setChunkSize(chunkSize);
+        }
+        assertThat(notActivatedUsers).allSatisfy(notActivatedUser ->
+            assertThat(userRepository.findOneWithAuthoritiesByLogin(notActivatedUser.getLogin())).isEmpty()
+        );
+    }
 }
@@ -0,0 +1,203 @@
+package id.lariss.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.repository.CatalogRevisionRepository;
+import id.lariss.service.CatalogChangedEvent;
+import id.lariss.service.CatalogRevisionChangedEvent;
+import id.lariss.service.CatalogSnapshot;
+import id.lariss.service.CatalogSnapshotService;
+import id.lariss.service.CatalogVersionService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Test class for the {@link CatalogETagFilter}.
+ */
+class CatalogETagFilterTest {
+
+    private CatalogRevisionRepository catalogRevisionRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private CatalogVersionService catalogVersionService;
+
+    private CatalogSnapshotService catalogSnapshotService;
+
+    private CatalogETagFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        catalogRevisionRepository = mock(CatalogRevisionRepository.class);
+        when(catalogRevisionRepository.findRevision()).thenReturn(Optional.of(7L));
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCatalog().setRevisionTtl(Duration.ofHours(1));
+        applicationEventPublisher = mock(ApplicationEventPublisher.class);
+        catalogVersionService = new CatalogVersionService(catalogRevisionRepository, applicationEventPublisher, applicationProperties);
+        catalogSnapshotService = mock(CatalogSnapshotService.class);
+        when(catalogSnapshotService.getSnapshot()).thenReturn(CatalogSnapshot.of(5L, List.of(), List.of()));
+        filter = new CatalogETagFilter(catalogVersionService, catalogSnapshotService);
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    void shouldSetETagOnCatalogEndpoints() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = get("/api/public/search", null, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"" + catalogVersionService.getCurrentVersion().getETag() + "\"");
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache, private");
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldSetETagOfTheSnapshotRevisionOnMenuEndpoints() throws Exception {
+        MockHttpServletResponse response = get("/api/public/menu/by-name", null, new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"m5\"");
+    }
+
+    @Test
+    void shouldChangeMenuETagWithTheSnapshot() throws Exception {
+        String etag = get("/api/public/menu/by-number", null, new MockFilterChain()).getHeader(HttpHeaders.ETAG);
+        when(catalogSnapshotService.getSnapshot()).thenReturn(CatalogSnapshot.of(8L, List.of(), List.of()));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = get("/api/public/menu/by-number", etag, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"m8\"");
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldSetETagOfTheDatabaseRevisionOnDatabaseEndpoints() throws Exception {
+        MockHttpServletResponse response = get("/api/categories", null, new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"r7\"");
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWithoutCallingTheChain() throws Exception {
+        String etag = get("/api/products", null, new MockFilterChain()).getHeader(HttpHeaders.ETAG);
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = get("/api/products", etag, chain);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void shouldAnswerNotModifiedToAStrongTagOfTheSameVersion() throws Exception {
+        String etag = get("/api/public/menu", null, new MockFilterChain()).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse response = get("/api/public/menu", etag.substring(2), new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    void shouldChangeETagAfterCatalogChange() throws Exception {
+        String etag = get("/api/public/search", null, new MockFilterChain()).getHeader(HttpHeaders.ETAG);
+        catalogVersionService.onCatalogChanged(new CatalogChangedEvent("Color"));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = get("/api/public/search", etag, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldReadTheRevisionOncePerTtl() throws Exception {
+        get("/api/categories", null, new MockFilterChain());
+        when(catalogRevisionRepository.findRevision()).thenReturn(Optional.of(8L));
+
+        MockHttpServletResponse response = get("/api/products", null, new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"r7\"");
+        verify(catalogRevisionRepository, times(1)).findRevision();
+    }
+
+    @Test
+    void shouldReadTheRevisionAgainAfterCatalogChange() throws Exception {
+        get("/api/categories", null, new MockFilterChain());
+        when(catalogRevisionRepository.findRevision()).thenReturn(Optional.of(8L));
+        catalogVersionService.onCatalogChanged(new CatalogChangedEvent("Category"));
+
+        MockHttpServletResponse response = get("/api/categories", null, new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("W/\"r8\"");
+    }
+
+    @Test
+    void shouldChangeETagAfterCatalogWriteOfAnotherInstance() throws Exception {
+        applicationProperties.getCatalog().setRevisionTtl(Duration.ZERO);
+        catalogVersionService = new CatalogVersionService(catalogRevisionRepository, applicationEventPublisher, applicationProperties);
+        filter = new CatalogETagFilter(catalogVersionService, catalogSnapshotService);
+        String etag = get("/api/product-details/1", null, new MockFilterChain()).getHeader(HttpHeaders.ETAG);
+        when(catalogRevisionRepository.findRevision()).thenReturn(Optional.of(8L));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = get("/api/product-details/1", etag, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void shouldPublishEveryNewRevision() {
+        catalogVersionService.pollRevision();
+        catalogVersionService.pollRevision();
+        when(catalogRevisionRepository.findRevision()).thenReturn(Optional.of(8L));
+        catalogVersionService.onCatalogChanged(new CatalogChangedEvent("Category"));
+        catalogVersionService.pollRevision();
+
+        verify(applicationEventPublisher).publishEvent(new CatalogRevisionChangedEvent(7L));
+        verify(applicationEventPublisher).publishEvent(new CatalogRevisionChangedEvent(8L));
+        verify(applicationEventPublisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldIgnoreOtherEndpoints() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = get("/api/product-detailsx", null, chain);
+        MockHttpServletResponse orders = get("/api/orders", "*", new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(orders.getStatus()).isEqualTo(200);
+        assertThat(orders.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+}
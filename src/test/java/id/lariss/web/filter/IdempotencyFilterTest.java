@@ -0,0 +1,190 @@
+package id.lariss.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import id.lariss.config.ApplicationProperties;
+import id.lariss.repository.IdempotencyRecordRepository;
+import id.lariss.service.IdempotencyService;
+import id.lariss.service.JobService;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Test class for the {@link IdempotencyFilter}.
+ */
+class IdempotencyFilterTest {
+
+    private IdempotencyFilter filter;
+
+    private final AtomicInteger orders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyRecordRepository idempotencyRecordRepository = mock(IdempotencyRecordRepository.class);
+        when(idempotencyRecordRepository.findOneByScopeAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        filter = new IdempotencyFilter(
+            new IdempotencyService(
+                idempotencyRecordRepository,
+                mock(PlatformTransactionManager.class),
+                new ApplicationProperties(),
+                mock(JobService.class)
+            ),
+            Jackson2ObjectMapperBuilder.json().build()
+        );
+    }
+
+    /**
+     * Resource creating an order, echoing the request body.
+     */
+    private final HttpServlet createOrder = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            String body = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
+            int id = orders.incrementAndGet();
+            response.setStatus(201);
+            response.setContentType("application/json");
+            response.setHeader(HttpHeaders.LOCATION, "/api/orders/" + id);
+            response.setHeader("X-larissAsst-alert", "larissAsst.order.created");
+            response.setHeader("X-Frame-Options", "SAMEORIGIN");
+            response.getWriter().write("{\"id\":" + id + ",\"request\":" + body + "}");
+        }
+    };
+
+    private MockHttpServletResponse post(String path, String idempotencyKey, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteUser("user");
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(createOrder));
+        return response;
+    }
+
+    @Test
+    void shouldReplayTheOriginalResponse() throws Exception {
+        MockHttpServletResponse first = post("/api/orders", "key", "{\"total\":1}");
+        MockHttpServletResponse retry = post("/api/orders", "key", "{\"total\":1}");
+
+        assertThat(orders).hasValue(1);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getContentAsString()).isEqualTo("{\"id\":1,\"request\":{\"total\":1}}");
+        assertThat(first.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(retry.getContentType()).isEqualTo("application/json");
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/orders/1");
+        assertThat(retry.getHeader("X-larissAsst-alert")).isEqualTo("larissAsst.order.created");
+        assertThat(retry.getHeader("X-Frame-Options")).isNull();
+        assertThat(retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void shouldRejectAKeyReusedForAnotherRequest() throws Exception {
+        post("/api/checkout", "key", "{\"total\":1}");
+
+        MockHttpServletResponse response = post("/api/checkout", "key", "{\"total\":2}");
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentType()).isEqualTo(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        assertThat(response.getContentAsString())
+            .contains("\"status\":422")
+            .contains("\"message\":\"error.http.422\"")
+            .contains("\"path\":\"/api/checkout\"");
+        assertThat(orders).hasValue(1);
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        post("/api/orders", null, "{}");
+        post("/api/orders", null, "{}");
+
+        assertThat(orders).hasValue(2);
+    }
+
+    @Test
+    void shouldIgnoreOtherEndpoints() throws Exception {
+        post("/api/customers", "key", "{}");
+        post("/api/customers", "key", "{}");
+
+        assertThat(orders).hasValue(2);
+    }
+
+    @Test
+    void shouldNotHashAMissingQueryString() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        MockHttpServletRequest withQuery = new MockHttpServletRequest("POST", "/api/orders");
+        withQuery.setQueryString("null");
+
+        assertThat(IdempotencyFilter.requestHash(request, new byte[0])).isNotEqualTo(
+            IdempotencyFilter.requestHash(withQuery, new byte[0])
+        );
+    }
+
+    @Test
+    void shouldReadTheBodyAsynchronously() throws Exception {
+        HttpServlet readAsynchronously = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                ServletInputStream input = request.getInputStream();
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                input.setReadListener(
+                    new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            while (input.isReady() && !input.isFinished()) {
+                                body.write(input.read());
+                            }
+                        }
+
+                        @Override
+                        public void onAllDataRead() throws IOException {
+                            response.getOutputStream().write(body.toByteArray());
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {}
+                    }
+                );
+            }
+        };
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.setContent("{\"total\":1}".getBytes(StandardCharsets.UTF_8));
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(readAsynchronously));
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"total\":1}");
+    }
+
+    @Test
+    void shouldRejectInvalidKeys() throws Exception {
+        assertThat(post("/api/orders", " ", "{}").getStatus()).isEqualTo(400);
+        assertThat(post("/api/orders", "k".repeat(IdempotencyFilter.MAX_KEY_LENGTH + 1), "{}").getStatus()).isEqualTo(400);
+        assertThat(orders).hasValue(0);
+    }
+}
@@ -0,0 +1,136 @@
+package id.lariss.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.lariss.IntegrationTest;
+import id.lariss.domain.Product;
+import id.lariss.repository.ColorRepository;
+import id.lariss.repository.JobLockRepository;
+import id.lariss.repository.ProductDetailsRepository;
+import id.lariss.repository.ProductRepository;
+import id.lariss.security.AuthoritiesConstants;
+import id.lariss.service.CatalogImportService;
+import id.lariss.service.dto.CatalogImportDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link CatalogImportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class CatalogImportResourceIT {
+
+    private static final String API_URL = "/api/admin/imports/product-details";
+
+    private static final String PRODUCT = "Imported Watch";
+
+    @Autowired
+    private ProductDetailsRepository productDetailsRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ColorRepository colorRepository;
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private MockMvc restCatalogImportMockMvc;
+
+    @AfterEach
+    public void cleanup() {
+        List<Long> productIds = productRepository
+            .findAll()
+            .stream()
+            .filter(product -> PRODUCT.equals(product.getName()))
+            .map(Product::getId)
+            .toList();
+        productDetailsRepository.deleteAll(
+            productDetailsRepository
+                .findAll()
+                .stream()
+                .filter(productDetails -> productDetails.getProduct() != null && productIds.contains(productDetails.getProduct().getId()))
+                .toList()
+        );
+        productRepository.deleteAllById(productIds);
+        colorRepository.findAll().stream().filter(color -> "Imported Silver".equals(color.getName())).forEach(colorRepository::delete);
+    }
+
+    private CatalogImportDTO awaitImport() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (true) {
+            String body = restCatalogImportMockMvc
+                .perform(get(API_URL))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+            CatalogImportDTO catalogImport = om.readValue(body, CatalogImportDTO.class);
+            // the job lock is released right after the import
+            boolean unlocked = jobLockRepository
+                .findById(CatalogImportService.IMPORT_JOB)
+                .filter(jobLock -> jobLock.getLockedUntil().isAfter(Instant.now()))
+                .isEmpty();
+            if ((!catalogImport.isRunning() && unlocked) || System.nanoTime() > deadline) {
+                return catalogImport;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void importProductDetails() throws Exception {
+        String csv =
+            "name,price,thumbnail,product,category,color\n" +
+            "41mm,199.99,watch.jpg," + PRODUCT + ",,Imported Silver\n" +
+            "45mm,249.99,watch.jpg," + PRODUCT + ",,Imported Silver\n" +
+            "49mm,,watch.jpg," + PRODUCT + ",,Imported Silver\n";
+
+        restCatalogImportMockMvc.perform(post(API_URL).contentType("text/csv").content(csv)).andExpect(status().isAccepted());
+
+        CatalogImportDTO catalogImport = awaitImport();
+        assertThat(catalogImport.isRunning()).isFalse();
+        assertThat(catalogImport.getCreatedRows()).isEqualTo(2);
+        assertThat(catalogImport.getFailedRows()).isEqualTo(1);
+        assertThat(catalogImport.getErrors()).containsExactly("Line 4: the price is required");
+
+        restCatalogImportMockMvc
+            .perform(post(API_URL).contentType("text/csv").content(csv.replace("199.99", "189.99")))
+            .andExpect(status().isAccepted());
+
+        catalogImport = awaitImport();
+        assertThat(catalogImport.getCreatedRows()).isZero();
+        assertThat(catalogImport.getUpdatedRows()).isEqualTo(2);
+        assertThat(colorRepository.findAll()).filteredOn(color -> "Imported Silver".equals(color.getName())).hasSize(1);
+    }
+
+    @Test
+    void importProductDetailsWithUnsupportedContentType() throws Exception {
+        restCatalogImportMockMvc
+            .perform(post(API_URL).contentType("application/json").content("[]"))
+            .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    @WithMockUser
+    void importProductDetailsAsUser() throws Exception {
+        restCatalogImportMockMvc.perform(post(API_URL).contentType("text/csv").content("name\n")).andExpect(status().isForbidden());
+    }
+}
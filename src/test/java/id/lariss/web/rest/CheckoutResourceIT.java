@@ -0,0 +1,223 @@
+package id.lariss.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.lariss.IntegrationTest;
+import id.lariss.domain.Customer;
+import id.lariss.domain.Order;
+import id.lariss.domain.OrderItem;
+import id.lariss.domain.ProductDetails;
+import id.lariss.domain.enumeration.OrderStatus;
+import id.lariss.repository.CustomerRepository;
+import id.lariss.repository.OrderItemRepository;
+import id.lariss.repository.OrderRepository;
+import id.lariss.service.dto.CartDTO;
+import id.lariss.service.dto.CartItemDTO;
+import id.lariss.service.dto.CheckoutDTO;
+import id.lariss.service.dto.CustomerDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link CheckoutResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class CheckoutResourceIT {
+
+    private static final String API_URL = "/api/checkout";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restCheckoutMockMvc;
+
+    private ProductDetails watch;
+
+    private ProductDetails strap;
+
+    @BeforeEach
+    public void initTest() {
+        watch = new ProductDetails().name("Watch").price(new BigDecimal("199.99"));
+        strap = new ProductDetails().name("Strap").price(new BigDecimal("24.50"));
+    }
+
+    private static CartDTO cart(CartItemDTO... items) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setFirstName("Jane");
+        customer.setPhoneNumber("+6281234567890");
+        customer.setDeliveryAddress("Jl. Sudirman 1, Jakarta");
+        return CartDTO.builder().customer(customer).items(List.of(items)).build();
+    }
+
+    private static CartItemDTO item(ProductDetails productDetails, int quantity) {
+        return CartItemDTO.builder().productDetailsId(productDetails.getId()).quantity(quantity).build();
+    }
+
+    @Test
+    @Transactional
+    void checkout() throws Exception {
+        em.persist(watch);
+        em.persist(strap);
+        long ordersBefore = orderRepository.count();
+        long orderItemsBefore = orderItemRepository.count();
+
+        CartDTO cart = cart(item(watch, 1), item(strap, 2), item(strap, 1));
+        CheckoutDTO checkout = om.readValue(
+            restCheckoutMockMvc
+                .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cart)))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Location"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CheckoutDTO.class
+        );
+
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore + 1);
+        assertThat(orderItemRepository.count()).isEqualTo(orderItemsBefore + 2);
+
+        assertThat(checkout.getOrder().getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(checkout.getOrder().getTotalPrice()).isEqualByComparingTo("273.49");
+        assertThat(checkout.getOrder().getCustomer().getFirstName()).isEqualTo("Jane");
+        assertThat(customerRepository.findOneByPhoneKey("6281234567890"))
+            .map(Customer::getId)
+            .contains(checkout.getOrder().getCustomer().getId());
+        assertThat(checkout.getOrderItems()).hasSize(2);
+
+        em.flush();
+        em.clear();
+        Order order = orderRepository.findById(checkout.getOrder().getId()).orElseThrow();
+        assertThat(order.getTotalPrice()).isEqualByComparingTo("273.49");
+        assertThat(order.getCustomer().getId()).isEqualTo(checkout.getOrder().getCustomer().getId());
+        assertThat(order.getOrderItems())
+            .extracting(OrderItem::getQuantity, OrderItem::getTotalPrice)
+            .containsExactlyInAnyOrder(tuple(1, new BigDecimal("199.99")), tuple(3, new BigDecimal("73.50")));
+    }
+
+    @Test
+    @Transactional
+    void checkoutTwiceAsTheSameCustomer() throws Exception {
+        em.persist(watch);
+        CartDTO firstCart = cart(item(watch, 1));
+        firstCart.getCustomer().setEmailAddress("Jane.Doe@Example.com");
+        CheckoutDTO first = checkout(firstCart);
+        long customersBefore = customerRepository.count();
+
+        CartDTO secondCart = cart(item(watch, 1));
+        secondCart.getCustomer().setPhoneNumber("0812-3456-7890");
+        secondCart.getCustomer().setEmailAddress(" jane.doe@example.com");
+        secondCart.getCustomer().setDeliveryAddress("Jl. Thamrin 2, Jakarta");
+        CheckoutDTO second = checkout(secondCart);
+
+        assertThat(customerRepository.count()).isEqualTo(customersBefore);
+        assertThat(second.getOrder().getCustomer().getId()).isEqualTo(first.getOrder().getCustomer().getId());
+        assertThat(second.getOrder().getCustomer().getDeliveryAddress()).isEqualTo("Jl. Thamrin 2, Jakarta");
+        assertThat(customerRepository.findOneByEmailKey("jane.doe@example.com"))
+            .map(Customer::getId)
+            .contains(first.getOrder().getCustomer().getId());
+        assertThat(orderRepository.findById(second.getOrder().getId()))
+            .map(order -> order.getCustomer().getId())
+            .contains(first.getOrder().getCustomer().getId());
+    }
+
+    private CheckoutDTO checkout(CartDTO cart) throws Exception {
+        return om.readValue(
+            restCheckoutMockMvc
+                .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cart)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            CheckoutDTO.class
+        );
+    }
+
+    @Test
+    @Transactional
+    void checkoutWithUnknownProductDetails() throws Exception {
+        em.persist(watch);
+        long ordersBefore = orderRepository.count();
+
+        CartDTO cart = cart(item(watch, 1), CartItemDTO.builder().productDetailsId(Long.MAX_VALUE).quantity(1).build());
+        restCheckoutMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cart)))
+            .andExpect(status().isBadRequest());
+
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore);
+    }
+
+    @Test
+    @Transactional
+    void checkoutWithInvalidQuantity() throws Exception {
+        em.persist(watch);
+
+        restCheckoutMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cart(item(watch, 0)))))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void checkoutWithQuantityOverTheMaximum() throws Exception {
+        em.persist(watch);
+
+        restCheckoutMockMvc
+            .perform(
+                post(API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(cart(item(watch, CartItemDTO.MAX_QUANTITY + 1))))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void checkoutWithLinesSummingOverTheMaximum() throws Exception {
+        em.persist(watch);
+        long ordersBefore = orderRepository.count();
+
+        CartDTO cart = cart(item(watch, CartItemDTO.MAX_QUANTITY), item(watch, 1));
+        restCheckoutMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cart)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidcart"));
+
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore);
+    }
+
+    @Test
+    @Transactional
+    void checkoutEmptyCart() throws Exception {
+        restCheckoutMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(cart())))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -4,6 +4,7 @@ import static id.lariss.domain.CustomerAsserts.*;
 import static id.lariss.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -159,6 +160,44 @@ class CustomerResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createCustomerWithExistingPhoneNumber() throws Exception {
+        // Initialize the database
+        insertedCustomer = customerRepository.saveAndFlush(customer.phoneNumber("+62 812-3456-7890"));
+        CustomerDTO customerDTO = customerMapper.toDto(createUpdatedEntity().phoneNumber("0812 3456 7890"));
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // The phone number normalizes to the key of the existing customer, so this API call must fail
+        restCustomerMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(customerDTO)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.phoneexists"));
+
+        // Validate the Customer in the database
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void createCustomerWithExistingEmailAddress() throws Exception {
+        // Initialize the database
+        insertedCustomer = customerRepository.saveAndFlush(customer);
+        CustomerDTO customerDTO = customerMapper.toDto(createUpdatedEntity().emailAddress(" aaaaaaaaaa"));
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // The email address normalizes to the key of the existing customer, so this API call must fail
+        restCustomerMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(customerDTO)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.emailexists"));
+
+        // Validate the Customer in the database
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void getAllCustomers() throws Exception {
@@ -178,6 +217,45 @@ class CustomerResourceIT {
             .andExpect(jsonPath("$.[*].deliveryAddress").value(hasItem(DEFAULT_DELIVERY_ADDRESS)));
     }
 
+    @Test
+    @Transactional
+    void getAllCustomersWhereOrderIsNull() throws Exception {
+        // Initialize the database
+        insertedCustomer = customerRepository.saveAndFlush(customer);
+        Customer orderedCustomer = customerRepository.saveAndFlush(createUpdatedEntity());
+        em.persist(OrderResourceIT.createEntity().customer(orderedCustomer));
+        em.flush();
+        em.clear();
+
+        // Get the customers without an order
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "?filter=order-is-null&sort=id,desc&size=1000"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(customer.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(orderedCustomer.getId().intValue()))));
+
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "/count?filter=order-is-null"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(String.valueOf(customerRepository.countWhereOrderIsNull())));
+        assertThat(customerRepository.countWhereOrderIsNull()).isEqualTo(customerRepository.count() - countCustomersWithOrder());
+    }
+
+    private long countCustomersWithOrder() {
+        return em.createQuery("select count(distinct o.customer) from Order o", Long.class).getSingleResult();
+    }
+
+    @Test
+    @Transactional
+    void getAllCustomersAfterWithFilter() throws Exception {
+        // Keyset pagination does not filter, rather than listing all the customers
+        restCustomerMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&filter=order-is-null&sort=id,desc"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.filterunsupported"));
+    }
+
     @Test
     @Transactional
     void getCustomer() throws Exception {
@@ -237,6 +315,57 @@ class CustomerResourceIT {
         assertPersistedCustomerToMatchAllProperties(updatedCustomer);
     }
 
+    @Test
+    @Transactional
+    void putCustomerWithEmailAddressOfAnotherCustomer() throws Exception {
+        // Initialize the database
+        insertedCustomer = customerRepository.saveAndFlush(customer);
+        Customer otherCustomer = customerRepository.saveAndFlush(createUpdatedEntity());
+
+        // Update the other customer with the email address of the first one
+        Customer updatedCustomer = customerRepository.findById(otherCustomer.getId()).orElseThrow();
+        em.detach(updatedCustomer);
+        updatedCustomer.emailAddress(DEFAULT_EMAIL_ADDRESS);
+        CustomerDTO customerDTO = customerMapper.toDto(updatedCustomer);
+
+        restCustomerMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, customerDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(customerDTO))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.emailexists"));
+
+        // Validate the Customer in the database
+        assertThat(customerRepository.findById(otherCustomer.getId()).orElseThrow().getEmailAddress()).isEqualTo(UPDATED_EMAIL_ADDRESS);
+    }
+
+    @Test
+    @Transactional
+    void patchCustomerWithPhoneNumberOfAnotherCustomer() throws Exception {
+        // Initialize the database
+        insertedCustomer = customerRepository.saveAndFlush(customer.phoneNumber("081234567890"));
+        Customer otherCustomer = customerRepository.saveAndFlush(createUpdatedEntity());
+
+        // Update the phone number of the other customer only
+        Customer partialUpdatedCustomer = new Customer();
+        partialUpdatedCustomer.setId(otherCustomer.getId());
+        partialUpdatedCustomer.phoneNumber("+6281234567890");
+
+        restCustomerMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedCustomer.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(customerMapper.toDto(partialUpdatedCustomer)))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.phoneexists"));
+
+        // Validate the Customer in the database
+        assertThat(customerRepository.findById(otherCustomer.getId()).orElseThrow().getPhoneNumber()).isEqualTo(UPDATED_PHONE_NUMBER);
+    }
+
     @Test
     @Transactional
     void putNonExistingCustomer() throws Exception {
@@ -0,0 +1,140 @@
+package id.lariss.web.rest;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import id.lariss.IntegrationTest;
+import id.lariss.domain.Category;
+import id.lariss.domain.Color;
+import id.lariss.domain.Product;
+import id.lariss.domain.ProductDetails;
+import id.lariss.security.AuthoritiesConstants;
+import id.lariss.service.CheckoutService;
+import id.lariss.service.dto.CartDTO;
+import id.lariss.service.dto.CartItemDTO;
+import id.lariss.service.dto.CustomerDTO;
+import id.lariss.service.dto.OrderDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ExportResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class ExportResourceIT {
+
+    private static final String API_URL = "/api/admin/exports";
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restExportMockMvc;
+
+    private ProductDetails watch;
+
+    private OrderDTO order;
+
+    @BeforeEach
+    public void initTest() {
+        Category category = new Category().name("Watches");
+        Color color = new Color().name("Silver").value("#f0f2f2");
+        Product product = new Product().name("Apple Watch").category(category);
+        watch = new ProductDetails().name("Apple Watch Series 10").price(new BigDecimal("199.99")).product(product).color(color);
+    }
+
+    private void checkout() {
+        em.persist(watch.getProduct().getCategory());
+        em.persist(watch.getProduct());
+        em.persist(watch.getColor());
+        em.persist(watch);
+        CustomerDTO customer = new CustomerDTO();
+        customer.setFirstName("Jane");
+        customer.setPhoneNumber("+6289900000001");
+        customer.setDeliveryAddress("Jl. Sudirman 1, Jakarta");
+        CartItemDTO item = CartItemDTO.builder().productDetailsId(watch.getId()).quantity(2).build();
+        order = checkoutService.checkout(CartDTO.builder().customer(customer).items(List.of(item)).build()).getOrder();
+        em.flush();
+    }
+
+    @Test
+    @Transactional
+    void exportOrdersAsCsv() throws Exception {
+        checkout();
+
+        restExportMockMvc
+            .perform(get(API_URL + "/orders"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, startsWith("attachment; filename=\"orders-")))
+            .andExpect(content().string(startsWith("id,status,totalPrice,orderDate,customerId,itemId,")))
+            .andExpect(content().string(containsString("\r\n" + order.getId() + ",PENDING,399.98,")))
+            .andExpect(content().string(containsString(",2,399.98," + watch.getId() + ",Apple Watch Series 10\r\n")));
+    }
+
+    @Test
+    @Transactional
+    void exportOrdersAsNdjson() throws Exception {
+        checkout();
+
+        restExportMockMvc
+            .perform(get(API_URL + "/orders").param("format", "ndjson"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string(containsString("{\"id\":" + order.getId() + ",\"status\":\"PENDING\",\"totalPrice\":399.98,")))
+            .andExpect(content().string(containsString("\"productDetailsName\":\"Apple Watch Series 10\"}]}\n")));
+    }
+
+    @Test
+    @Transactional
+    void exportCustomers() throws Exception {
+        checkout();
+
+        restExportMockMvc
+            .perform(get(API_URL + "/customers"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(",Jane,,+6289900000001,,\"Jl. Sudirman 1, Jakarta\"\r\n")));
+    }
+
+    @Test
+    @Transactional
+    void exportProductDetails() throws Exception {
+        checkout();
+
+        restExportMockMvc
+            .perform(get(API_URL + "/product-details").param("format", "ndjson"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("\"product\":\"Apple Watch\",\"category\":\"Watches\"")))
+            .andExpect(content().string(containsString("\"color\":\"Silver\"")));
+    }
+
+    @Test
+    void exportWithUnknownFormat() throws Exception {
+        restExportMockMvc
+            .perform(get(API_URL + "/customers").param("format", "xlsx"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidformat"));
+    }
+
+    @Test
+    @WithMockUser
+    void exportAsUser() throws Exception {
+        restExportMockMvc.perform(get(API_URL + "/orders")).andExpect(status().isForbidden());
+    }
+}
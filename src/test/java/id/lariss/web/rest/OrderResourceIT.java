@@ -4,6 +4,7 @@ import static id.lariss.domain.OrderAsserts.*;
 import static id.lariss.web.rest.TestUtil.createUpdateProxyForBean;
 import static id.lariss.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -12,13 +13,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import id.lariss.IntegrationTest;
 import id.lariss.domain.Order;
 import id.lariss.domain.enumeration.OrderStatus;
+import id.lariss.repository.OrderEventRepository;
 import id.lariss.repository.OrderRepository;
+import id.lariss.security.AuthoritiesConstants;
 import id.lariss.service.dto.OrderDTO;
+import id.lariss.service.dto.OrderStatusTransitionDTO;
 import id.lariss.service.mapper.OrderMapper;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -63,6 +68,9 @@ class OrderResourceIT {
     @Autowired
     private OrderMapper orderMapper;
 
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -393,6 +401,185 @@ class OrderResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    void createOrderNotPending() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        order.setStatus(OrderStatus.SHIPPED);
+        OrderDTO orderDTO = orderMapper.toDto(order);
+
+        restOrderMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(orderDTO)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidstatustransition"));
+
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void putOrderWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedOrder = orderRepository.saveAndFlush(order);
+
+        Order updatedOrder = orderRepository.findById(order.getId()).orElseThrow();
+        em.detach(updatedOrder);
+        updatedOrder.status(UPDATED_STATUS);
+        OrderDTO orderDTO = orderMapper.toDto(updatedOrder);
+        orderDTO.setVersion(updatedOrder.getVersion() - 1);
+
+        restOrderMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, orderDTO.getId()).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(orderDTO))
+            )
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Transactional
+    void patchOrderWithStaleVersion() throws Exception {
+        // Initialize the database
+        insertedOrder = orderRepository.saveAndFlush(order);
+
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(order.getId());
+        orderDTO.setStatus(UPDATED_STATUS);
+        orderDTO.setVersion(order.getVersion() + 1);
+
+        restOrderMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, orderDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(orderDTO))
+            )
+            .andExpect(status().isConflict());
+
+        assertThat(getPersistedOrder(order).getStatus()).isEqualTo(DEFAULT_STATUS);
+    }
+
+    @Test
+    @Transactional
+    void patchOrderWithInvalidTransition() throws Exception {
+        // Initialize the database
+        insertedOrder = orderRepository.saveAndFlush(order);
+
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(order.getId());
+        orderDTO.setStatus(OrderStatus.DELIVERED);
+
+        restOrderMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, orderDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(orderDTO))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.invalidstatustransition"));
+
+        assertThat(getPersistedOrder(order).getStatus()).isEqualTo(DEFAULT_STATUS);
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void transitionOrderStatusInBulk() throws Exception {
+        // Not transactional: each chunk of orders is moved in its own transaction
+        Order pending = orderRepository.saveAndFlush(createEntity());
+        Order confirmed = orderRepository.saveAndFlush(createEntity().status(UPDATED_STATUS));
+        Order delivered = orderRepository.saveAndFlush(createEntity().status(OrderStatus.DELIVERED));
+        List<Long> ids = List.of(pending.getId(), confirmed.getId(), delivered.getId());
+        try {
+            OrderStatusTransitionDTO transition = new OrderStatusTransitionDTO(
+                UPDATED_STATUS,
+                List.of(pending.getId(), confirmed.getId(), delivered.getId(), longCount.incrementAndGet())
+            );
+
+            restOrderMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/status-transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(transition))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value(UPDATED_STATUS.toString()))
+                .andExpect(jsonPath("$.transitioned").value(1))
+                .andExpect(jsonPath("$.unchanged").value(1))
+                .andExpect(jsonPath("$.conflicts[*].reason").value(containsInAnyOrder("INVALID_TRANSITION", "NOT_FOUND")));
+
+            Order moved = orderRepository.findById(pending.getId()).orElseThrow();
+            assertThat(moved.getStatus()).isEqualTo(UPDATED_STATUS);
+            assertThat(moved.getVersion()).isEqualTo(pending.getVersion() + 1);
+            assertThat(orderRepository.findById(delivered.getId()).orElseThrow().getStatus()).isEqualTo(OrderStatus.DELIVERED);
+            assertThat(orderEventRepository.findAll())
+                .filteredOn(event -> event.getOrderId().equals(pending.getId()))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getPreviousStatus()).isEqualTo(DEFAULT_STATUS);
+                    assertThat(event.getStatus()).isEqualTo(UPDATED_STATUS);
+                });
+        } finally {
+            orderEventRepository.deleteAll(
+                orderEventRepository.findAll().stream().filter(event -> ids.contains(event.getOrderId())).toList()
+            );
+            orderRepository.deleteAllById(ids);
+        }
+    }
+
+    @Test
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void transitionOrderWithoutStatusInBulk() throws Exception {
+        // Not transactional: each chunk of orders is moved in its own transaction
+        Order withoutStatus = orderRepository.saveAndFlush(createEntity().status(null));
+        Order otherWithoutStatus = orderRepository.saveAndFlush(createEntity().status(null));
+        List<Long> ids = List.of(withoutStatus.getId(), otherWithoutStatus.getId());
+        try {
+            restOrderMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/status-transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new OrderStatusTransitionDTO(OrderStatus.DELIVERED, List.of(withoutStatus.getId()))))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned").value(0))
+                .andExpect(jsonPath("$.conflicts[0].reason").value("INVALID_TRANSITION"));
+            restOrderMockMvc
+                .perform(
+                    post(ENTITY_API_URL + "/status-transitions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new OrderStatusTransitionDTO(DEFAULT_STATUS, List.of(otherWithoutStatus.getId()))))
+                )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transitioned").value(1));
+
+            assertThat(orderRepository.findById(withoutStatus.getId()).orElseThrow().getStatus()).isNull();
+            assertThat(orderRepository.findById(otherWithoutStatus.getId()).orElseThrow().getStatus()).isEqualTo(DEFAULT_STATUS);
+            assertThat(orderEventRepository.findAll())
+                .filteredOn(event -> event.getOrderId().equals(otherWithoutStatus.getId()))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getPreviousStatus()).isNull();
+                    assertThat(event.getStatus()).isEqualTo(DEFAULT_STATUS);
+                });
+        } finally {
+            orderEventRepository.deleteAll(
+                orderEventRepository.findAll().stream().filter(event -> ids.contains(event.getOrderId())).toList()
+            );
+            orderRepository.deleteAllById(ids);
+        }
+    }
+
+    @Test
+    void transitionOrderStatusInBulkAsUser() throws Exception {
+        OrderStatusTransitionDTO transition = new OrderStatusTransitionDTO(UPDATED_STATUS, List.of(longCount.incrementAndGet()));
+
+        restOrderMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/status-transitions")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(transition))
+            )
+            .andExpect(status().isForbidden());
+    }
+
     @Test
     @Transactional
     void deleteOrder() throws Exception {
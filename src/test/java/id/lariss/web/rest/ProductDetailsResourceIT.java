@@ -228,6 +228,36 @@ class ProductDetailsResourceIT {
             .andExpect(jsonPath("$.[*].thumbnail").value(hasItem(DEFAULT_THUMBNAIL)));
     }
 
+    @Test
+    @Transactional
+    void getAllProductDetailsAfter() throws Exception {
+        // Initialize the database
+        insertedProductDetails = productDetailsRepository.saveAndFlush(productDetails);
+
+        restProductDetailsMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&sort=id,desc&size=1000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(productDetails.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductDetailsAfterWithNestedSort() throws Exception {
+        restProductDetailsMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&sort=product.name,asc"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.sortnested"));
+    }
+
+    @Test
+    @Transactional
+    void getAllProductDetailsAfterWithEagerload() throws Exception {
+        restProductDetailsMockMvc
+            .perform(get(ENTITY_API_URL + "?after=&eagerload=true"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.eagerloadunsupported"));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllProductDetailsWithEagerRelationshipsIsEnabled() throws Exception {
         when(productDetailsServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -0,0 +1,135 @@
+package id.lariss.web.rest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import id.lariss.IntegrationTest;
+import id.lariss.domain.Category;
+import id.lariss.domain.Product;
+import id.lariss.domain.ProductDetails;
+import id.lariss.security.AuthoritiesConstants;
+import id.lariss.service.CheckoutService;
+import id.lariss.service.dto.CartDTO;
+import id.lariss.service.dto.CartItemDTO;
+import id.lariss.service.dto.CustomerDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link SalesAnalyticsResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class SalesAnalyticsResourceIT {
+
+    private static final String API_URL = "/api/admin/sales";
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restSalesMockMvc;
+
+    private ProductDetails watch;
+
+    private ProductDetails strap;
+
+    private Category category;
+
+    private String today;
+
+    @BeforeEach
+    public void initTest() {
+        category = new Category().name("Watches");
+        Product product = new Product().name("Watch").category(category);
+        watch = new ProductDetails().name("Watch").price(new BigDecimal("199.99")).product(product);
+        strap = new ProductDetails().name("Strap").price(new BigDecimal("24.50"));
+        today = LocalDate.now(ZoneOffset.UTC).toString();
+    }
+
+    private void checkout(ProductDetails productDetails, int quantity) {
+        CustomerDTO customer = new CustomerDTO();
+        customer.setFirstName("Jane");
+        customer.setPhoneNumber("+6281234567890");
+        customer.setDeliveryAddress("Jl. Sudirman 1, Jakarta");
+        CartItemDTO item = CartItemDTO.builder().productDetailsId(productDetails.getId()).quantity(quantity).build();
+        checkoutService.checkout(CartDTO.builder().customer(customer).items(List.of(item)).build());
+    }
+
+    private void persistCatalog() {
+        em.persist(category);
+        em.persist(watch.getProduct());
+        em.persist(watch);
+        em.persist(strap);
+    }
+
+    @Test
+    @Transactional
+    void getTopProductDetails() throws Exception {
+        persistCatalog();
+        checkout(watch, 1);
+        checkout(strap, 2);
+        checkout(strap, 8);
+
+        restSalesMockMvc
+            .perform(get(API_URL + "/top-products?from={from}&to={to}&limit=1", today, today))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].id").value(strap.getId()))
+            .andExpect(jsonPath("$[0].units").value(10))
+            .andExpect(jsonPath("$[0].revenue").value(245.0));
+    }
+
+    @Test
+    @Transactional
+    void getCategorySales() throws Exception {
+        persistCatalog();
+        checkout(watch, 2);
+
+        restSalesMockMvc
+            .perform(get(API_URL + "/categories?from={from}&to={to}", today, today))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == %d)].units", category.getId()).value(2))
+            .andExpect(jsonPath("$[?(@.id == %d)].revenue", category.getId()).value(399.98));
+    }
+
+    @Test
+    @Transactional
+    void getDailySales() throws Exception {
+        restSalesMockMvc
+            .perform(get(API_URL + "/daily?from={from}&to={to}", "2000-01-01", "2000-01-31"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void getSalesWithInvalidRange() throws Exception {
+        restSalesMockMvc
+            .perform(get(API_URL + "/daily?from={from}&to={to}", "2025-02-01", "2025-01-01"))
+            .andExpect(status().isBadRequest());
+        restSalesMockMvc
+            .perform(get(API_URL + "/daily?from={from}&to={to}", "2020-01-01", "2025-01-01"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getSalesAsUser() throws Exception {
+        restSalesMockMvc.perform(get(API_URL + "/daily?from={from}&to={to}", today, today)).andExpect(status().isForbidden());
+    }
+}
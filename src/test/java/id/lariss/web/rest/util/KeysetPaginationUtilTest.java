@@ -0,0 +1,135 @@
+package id.lariss.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import id.lariss.domain.Customer;
+import id.lariss.domain.Order;
+import id.lariss.domain.ProductDetails;
+import id.lariss.web.rest.errors.BadRequestAlertException;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link KeysetPaginationUtil} utility class.
+ */
+class KeysetPaginationUtilTest {
+
+    private static final Sort SORT = Sort.by("name", "price");
+
+    private static KeysetScrollPosition samplePosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "iPhone 15 Pro 256GB & Blue = Titanium");
+        keys.put("price", new BigDecimal("1999.90"));
+        keys.put("id", 1051L);
+        return ScrollPosition.forward(keys);
+    }
+
+    @Test
+    void cursorRoundTripRestoresTypedKeys() {
+        String cursor = KeysetPaginationUtil.encodeCursor(samplePosition());
+
+        KeysetScrollPosition position = KeysetPaginationUtil.decodeCursor(cursor, SORT, ProductDetails.class, "productDetails");
+
+        assertThat(cursor).doesNotContain("=", "&", "+", "/");
+        assertThat(position.getKeys()).isEqualTo(samplePosition().getKeys());
+        assertThat(position.scrollsForward()).isTrue();
+    }
+
+    @Test
+    void emptyCursorStartsFromTheFirstWindow() {
+        assertThat(KeysetPaginationUtil.decodeCursor("", SORT, ProductDetails.class, "productDetails").isInitial()).isTrue();
+        assertThat(KeysetPaginationUtil.decodeCursor(null, SORT, ProductDetails.class, "productDetails").isInitial()).isTrue();
+    }
+
+    @Test
+    void invalidCursorIsRejected() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("not a cursor!", SORT, ProductDetails.class, "productDetails"))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "cursorinvalid");
+        String unknownProperty = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("unknown", 1L, "id", 1L)));
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor(unknownProperty, Sort.unsorted(), Order.class, "order")).isInstanceOf(
+            BadRequestAlertException.class
+        );
+    }
+
+    @Test
+    void cursorMustMatchTheSort() {
+        String cursor = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(Map.of("id", 1051L)));
+
+        assertThat(KeysetPaginationUtil.decodeCursor(cursor, Sort.unsorted(), Order.class, "order").getKeys()).containsEntry("id", 1051L);
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor(cursor, SORT, ProductDetails.class, "productDetails")).isInstanceOf(
+            BadRequestAlertException.class
+        );
+    }
+
+    @Test
+    void nullableSortIsRejected() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("", Sort.by("orderDate"), Order.class, "order"))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "sortinvalid");
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("", Sort.by("firstName"), Customer.class, "customer"))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "sortinvalid");
+        assertThat(KeysetPaginationUtil.decodeCursor("", Sort.by("version", "id"), Order.class, "order").isInitial()).isTrue();
+    }
+
+    @Test
+    void cursorWithNullValueIsRejected() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", null);
+        keys.put("id", 1051L);
+        String cursor = KeysetPaginationUtil.encodeCursor(ScrollPosition.forward(keys));
+
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor(cursor, Sort.by("name"), ProductDetails.class, "productDetails"))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "cursorinvalid");
+    }
+
+    @Test
+    void nestedOrUnknownSortIsRejected() {
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("", Sort.by("customer.firstName"), Order.class, "order"))
+            .isInstanceOf(BadRequestAlertException.class)
+            .hasFieldOrPropertyWithValue("errorKey", "sortnested");
+        assertThatThrownBy(() -> KeysetPaginationUtil.decodeCursor("", Sort.by("unknown"), Order.class, "order")).isInstanceOf(
+            BadRequestAlertException.class
+        );
+    }
+
+    @Test
+    void generateKeysetHttpHeadersLinksToTheNextWindow() {
+        Window<String> window = Window.from(List.of("a", "b"), index -> samplePosition(), true);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            UriComponentsBuilder.fromUriString("/api/product-details?after=&page=3&size=2&sort=name,asc"),
+            window
+        );
+
+        String cursor = KeysetPaginationUtil.encodeCursor(samplePosition());
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(
+            "</api/product-details?size=2&sort=name%2Casc&after=" + cursor + ">; rel=\"next\""
+        );
+        assertThat(headers.containsKey("X-Total-Count")).isFalse();
+    }
+
+    @Test
+    void generateKeysetHttpHeadersOnLastWindow() {
+        Window<String> window = Window.from(List.of("a"), index -> samplePosition(), false);
+
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            UriComponentsBuilder.fromUriString("/api/orders?after="),
+            window
+        );
+
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+}
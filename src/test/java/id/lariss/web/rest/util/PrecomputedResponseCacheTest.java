@@ -0,0 +1,94 @@
+package id.lariss.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Test class for the {@link PrecomputedResponseCache} utility class.
+ */
+class PrecomputedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicInteger encodings = new AtomicInteger();
+
+    private Object body(Object value) {
+        encodings.incrementAndGet();
+        return value;
+    }
+
+    @Test
+    void encodesOncePerVersionAndKey() {
+        PrecomputedResponseCache cache = new PrecomputedResponseCache(objectMapper, 10);
+
+        cache.get(1L, "a", () -> body(Map.of("items", List.of())));
+        PrecomputedResponseCache.PrecomputedResponse response = cache.get(1L, "a", () -> body(Map.of("items", List.of())));
+
+        assertThat(encodings).hasValue(1);
+        assertThat(new String(response.json())).isEqualTo("{\"items\":[]}");
+        assertThat(response.gzip()).isNull();
+    }
+
+    @Test
+    void dropsEntriesOfPreviousVersions() {
+        PrecomputedResponseCache cache = new PrecomputedResponseCache(objectMapper, 10);
+        cache.get(1L, "a", () -> body("old"));
+        cache.get(1L, "b", () -> body("old"));
+
+        PrecomputedResponseCache.PrecomputedResponse response = cache.get(2L, "a", () -> body("new"));
+        cache.get(1L, "a", () -> body("late"));
+
+        assertThat(new String(response.json())).isEqualTo("\"new\"");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(new String(cache.get(2L, "a", () -> body("again")).json())).isEqualTo("\"new\"");
+    }
+
+    @Test
+    void boundsTheNumberOfEntries() {
+        PrecomputedResponseCache cache = new PrecomputedResponseCache(objectMapper, 2);
+
+        for (int i = 0; i < 5; i++) {
+            String key = "key-" + i;
+            cache.get(1L, key, () -> body(key));
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void gzipsLargeBodiesForClientsAcceptingIt() throws Exception {
+        PrecomputedResponseCache cache = new PrecomputedResponseCache(objectMapper, 10);
+        String large = "x".repeat(PrecomputedResponseCache.MIN_GZIP_SIZE);
+        PrecomputedResponseCache.PrecomputedResponse response = cache.get(1L, "a", () -> body(large));
+
+        ResponseEntity<byte[]> gzipped = response.toResponseEntity("deflate, gzip;q=0.8");
+        ResponseEntity<byte[]> plain = response.toResponseEntity(null);
+
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertThat(input.readAllBytes()).isEqualTo(response.json());
+        }
+        assertThat(plain.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(plain.getBody()).isEqualTo(response.json());
+    }
+
+    @Test
+    void parsesAcceptEncoding() {
+        assertThat(PrecomputedResponseCache.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(PrecomputedResponseCache.acceptsGzip("GZIP;q=1.0")).isTrue();
+        assertThat(PrecomputedResponseCache.acceptsGzip("*")).isTrue();
+        assertThat(PrecomputedResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(PrecomputedResponseCache.acceptsGzip("identity")).isFalse();
+        assertThat(PrecomputedResponseCache.acceptsGzip(null)).isFalse();
+    }
+}